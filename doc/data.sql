@@ -3,7 +3,7 @@ USE poseidon_demo;
 
 
 CREATE TABLE BidList (
-  BidListId tinyint(4) NOT NULL AUTO_INCREMENT,
+  BidListId BIGINT NOT NULL,
   account VARCHAR(30) NOT NULL,
   type VARCHAR(30) NOT NULL,
   bidQuantity DOUBLE,
@@ -29,8 +29,12 @@ CREATE TABLE BidList (
   PRIMARY KEY (BidListId)
 );
 
+# keyset pagination sorted by account or type then id reads the index range, no filesort
+CREATE INDEX bidlist_account_idx ON BidList (account, BidListId);
+CREATE INDEX bidlist_type_idx ON BidList (type, BidListId);
+
 CREATE TABLE Trade (
-  TradeId tinyint(4) NOT NULL AUTO_INCREMENT,
+  TradeId BIGINT NOT NULL,
   account VARCHAR(30) NOT NULL,
   type VARCHAR(30) NOT NULL,
   buyQuantity DOUBLE,
@@ -55,9 +59,26 @@ CREATE TABLE Trade (
   PRIMARY KEY (TradeId)
 );
 
+# keyset pagination sorted by account or type then id reads the index range, no filesort
+CREATE INDEX trade_account_idx ON Trade (account, TradeId);
+CREATE INDEX trade_type_idx ON Trade (type, TradeId);
+
+# Trade, BidList and CurvePoint ids are allocated by Hibernate by blocks of 50 (pooled table generator)
+# when migrating an existing database set next_val to max(id) + 50 of each table (next block is next_val - 49 to next_val)
+CREATE TABLE id_generator (
+  sequence_name VARCHAR(30) NOT NULL,
+  next_val BIGINT NOT NULL,
+
+  PRIMARY KEY (sequence_name)
+);
+
+insert into id_generator(sequence_name, next_val) values('trade', 1);
+insert into id_generator(sequence_name, next_val) values('bidlist', 1);
+insert into id_generator(sequence_name, next_val) values('curvepoint', 1);
+
 CREATE TABLE CurvePoint (
-  Id tinyint(4) NOT NULL AUTO_INCREMENT,
-  CurveId tinyint NOT NULL UNIQUE,
+  Id BIGINT NOT NULL,
+  CurveId tinyint NOT NULL,
   asOfDate TIMESTAMP,
   term DOUBLE ,
   value DOUBLE ,
@@ -66,8 +87,11 @@ CREATE TABLE CurvePoint (
   PRIMARY KEY (Id)
 );
 
+# a curve (CurveId, asOfDate) holds one point by term, all its points are read by one index range scan ordered by term
+CREATE UNIQUE INDEX curvepoint_curve_idx ON CurvePoint (CurveId, asOfDate, term);
+
 CREATE TABLE Rating (
-  Id tinyint(4) NOT NULL AUTO_INCREMENT,
+  Id BIGINT NOT NULL AUTO_INCREMENT,
   moodysRating VARCHAR(125),
   sandPRating VARCHAR(125),
   fitchRating VARCHAR(125),
@@ -77,7 +101,7 @@ CREATE TABLE Rating (
 );
 
 CREATE TABLE RuleName (
-  Id tinyint(4) NOT NULL AUTO_INCREMENT,
+  Id BIGINT NOT NULL AUTO_INCREMENT,
   name VARCHAR(125),
   description VARCHAR(125),
   json VARCHAR(125),
@@ -89,7 +113,7 @@ CREATE TABLE RuleName (
 );
 
 CREATE TABLE Users (
-  Id tinyint(4) NOT NULL AUTO_INCREMENT,
+  Id BIGINT NOT NULL AUTO_INCREMENT,
   username VARCHAR(125) NOT NULL UNIQUE,
   password VARCHAR(125),
   fullname VARCHAR(125),
@@ -0,0 +1,42 @@
+USE poseidon_demo;
+
+# Migration of an existing poseidon_demo database created with tinyint(4) ids
+
+# Ids of all tables are BIGINT
+ALTER TABLE BidList MODIFY BidListId BIGINT NOT NULL;
+ALTER TABLE Trade MODIFY TradeId BIGINT NOT NULL;
+ALTER TABLE CurvePoint MODIFY Id BIGINT NOT NULL AUTO_INCREMENT;
+ALTER TABLE Rating MODIFY Id BIGINT NOT NULL AUTO_INCREMENT;
+ALTER TABLE RuleName MODIFY Id BIGINT NOT NULL AUTO_INCREMENT;
+ALTER TABLE Users MODIFY Id BIGINT NOT NULL AUTO_INCREMENT;
+
+# Trade and BidList ids are allocated by Hibernate by blocks of 50 (pooled table generator)
+CREATE TABLE id_generator (
+  sequence_name VARCHAR(30) NOT NULL,
+  next_val BIGINT NOT NULL,
+
+  PRIMARY KEY (sequence_name)
+);
+
+insert into id_generator(sequence_name, next_val) select 'trade', coalesce(max(TradeId), 0) + 50 from Trade;
+insert into id_generator(sequence_name, next_val) select 'bidlist', coalesce(max(BidListId), 0) + 50 from BidList;
+
+# keyset pagination sorted by account or type then id reads the index range, no filesort
+CREATE INDEX bidlist_account_idx ON BidList (account, BidListId);
+CREATE INDEX bidlist_type_idx ON BidList (type, BidListId);
+CREATE INDEX trade_account_idx ON Trade (account, TradeId);
+CREATE INDEX trade_type_idx ON Trade (type, TradeId);
+
+# Multi-point curves : CurveId is no more unique, a curve (CurveId, asOfDate) holds one point by term
+# CurvePoint ids are allocated by Hibernate by blocks of 50 (pooled table generator)
+ALTER TABLE CurvePoint DROP INDEX CurveId;
+ALTER TABLE CurvePoint MODIFY Id BIGINT NOT NULL;
+# asOfDate and term are part of the unique key and NOT NULL, NULLs being distinct in a unique index
+# CurveId was unique so a point without date gets the date it was created on without duplicating a key
+UPDATE CurvePoint SET asOfDate = coalesce(creationDate, CURRENT_TIMESTAMP) WHERE asOfDate IS NULL;
+# a point without term is not on its curve, it is ignored by curve reads, interpolation and bootstrap
+DELETE FROM CurvePoint WHERE term IS NULL;
+ALTER TABLE CurvePoint MODIFY asOfDate TIMESTAMP NOT NULL;
+ALTER TABLE CurvePoint MODIFY term DOUBLE NOT NULL;
+CREATE UNIQUE INDEX curvepoint_curve_idx ON CurvePoint (CurveId, asOfDate, term);
+insert into id_generator(sequence_name, next_val) select 'curvepoint', coalesce(max(Id), 0) + 50 from CurvePoint;
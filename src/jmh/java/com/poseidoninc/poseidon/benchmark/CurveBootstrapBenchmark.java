@@ -0,0 +1,61 @@
+package com.poseidoninc.poseidon.benchmark;
+
+import com.poseidoninc.poseidon.curve.BootstrappedCurve;
+import com.poseidoninc.poseidon.curve.CurveBootstrapJob;
+import com.poseidoninc.poseidon.curve.CurveSnapshot;
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of the end of day curve bootstrap (POST /admin/curvePoint/bootstrap) : 500 curves of 100 points,
+ * serial then on fork-join pools of increasing parallelism
+ * @author olivier morel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurveBootstrapBenchmark {
+
+	@Param({"1", "2", "4", "8"})
+	private int parallelism;
+
+	private List<CurveSnapshot> curves;
+
+	private ForkJoinPool forkJoinPool;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		curves = new ArrayList<>();
+		for (int curveId = 1; curveId <= 500; curveId++) {
+			List<CurvePoint> curvePoints = new ArrayList<>();
+			for (int i = 1; i <= 100; i++) {
+				CurvePoint curvePoint = new CurvePoint();
+				curvePoint.setTerm(i * 0.25);
+				curvePoint.setValue(0.02 + 0.01 * Math.log(i) + random.nextDouble() * 0.001);
+				curvePoints.add(curvePoint);
+			}
+			curves.add(CurveSnapshot.of(curveId, null, curvePoints));
+		}
+		forkJoinPool = new ForkJoinPool(parallelism);
+	}
+
+	@TearDown
+	public void tearDown() {
+		forkJoinPool.shutdown();
+	}
+
+	@Benchmark
+	public List<BootstrappedCurve> bootstrapAll() {
+		return CurveBootstrapJob.bootstrapAll(curves, forkJoinPool);
+	}
+}
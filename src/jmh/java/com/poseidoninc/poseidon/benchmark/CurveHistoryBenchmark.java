@@ -0,0 +1,70 @@
+package com.poseidoninc.poseidon.benchmark;
+
+import com.poseidoninc.poseidon.curve.CurveHistory;
+import com.poseidoninc.poseidon.curve.CurveHistorySegment;
+import com.poseidoninc.poseidon.curve.CurveSnapshot;
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of the curve history : 10 years of daily curves of 100 points,
+ * a range query of one year (GET /api/curvePoint/{curveId}/history) and the read of the segment at startup
+ * @author olivier morel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurveHistoryBenchmark {
+
+	private static final LocalDateTime FIRST_DATE = LocalDateTime.of(2015, 1, 1, 0, 0);
+
+	private CurveHistory curveHistory;
+
+	private byte[] segment;
+
+	@Setup
+	public void setUp() throws IOException {
+		Random random = new Random(42);
+		CurveHistory.Builder builder = CurveHistory.builder();
+		double[] values = new double[100];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = 0.02 + 0.01 * Math.log(i + 1);
+		}
+		for (int day = 0; day < 3650; day++) {
+			for (int i = 0; i < values.length; i++) {
+				values[i] += (random.nextInt(3) - 1) * 0.0001;
+				CurvePoint curvePoint = new CurvePoint();
+				curvePoint.setCurveId(1);
+				curvePoint.setAsOfDate(FIRST_DATE.plusDays(day));
+				curvePoint.setTerm((i + 1) * 0.25);
+				curvePoint.setValue(values[i]);
+				builder.add(curvePoint);
+			}
+		}
+		curveHistory = builder.build();
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		CurveHistorySegment.write(curveHistory, outputStream);
+		segment = outputStream.toByteArray();
+	}
+
+	@Benchmark
+	public List<CurveSnapshot> rangeOneYear() {
+		return curveHistory.range(1, FIRST_DATE.plusYears(5), FIRST_DATE.plusYears(6));
+	}
+
+	@Benchmark
+	public CurveHistory readSegment() throws IOException {
+		return CurveHistorySegment.read(new ByteArrayInputStream(segment));
+	}
+}
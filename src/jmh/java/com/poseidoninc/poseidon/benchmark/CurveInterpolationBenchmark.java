@@ -0,0 +1,63 @@
+package com.poseidoninc.poseidon.benchmark;
+
+import com.poseidoninc.poseidon.curve.CurveSnapshot;
+import com.poseidoninc.poseidon.curve.Interpolation;
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of curve interpolation (each call of /api/curvePoint/{curveId}/interpolate) : 1000 random terms on a curve of 100 points
+ * @author olivier morel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurveInterpolationBenchmark {
+
+	@Param({"LINEAR", "LOG_LINEAR", "MONOTONE_CUBIC"})
+	private Interpolation interpolation;
+
+	private List<CurvePoint> curvePoints;
+
+	private CurveSnapshot curveSnapshot;
+
+	private double[] terms;
+
+	@Setup
+	public void setUp() {
+		curvePoints = new ArrayList<>();
+		for (int i = 1; i <= 100; i++) {
+			CurvePoint curvePoint = new CurvePoint();
+			curvePoint.setTerm(i * 0.25);
+			curvePoint.setValue(0.02 + 0.01 * Math.log(i));
+			curvePoints.add(curvePoint);
+		}
+		curveSnapshot = CurveSnapshot.of(1, null, curvePoints);
+		Random random = new Random(42);
+		terms = new double[1000];
+		for (int i = 0; i < terms.length; i++) {
+			terms[i] = random.nextDouble() * 26;
+		}
+	}
+
+	@Benchmark
+	public double[] interpolate() {
+		return curveSnapshot.interpolate(terms, interpolation);
+	}
+
+	/*
+	 * snapshot build from the entities of the curve, once per write of the curve since snapshots are cached
+	 */
+	@Benchmark
+	public CurveSnapshot buildSnapshot() {
+		return CurveSnapshot.of(1, null, curvePoints);
+	}
+}
@@ -0,0 +1,87 @@
+package com.poseidoninc.poseidon.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.domain.BidList;
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.error.ApiError;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of the api responses : Jackson serialization of pages of 20 trades or bids and of ApiError
+ * @author olivier morel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+
+	private ObjectMapper objectMapper;
+
+	private Page<Trade> tradePage;
+
+	private Page<BidList> bidListPage;
+
+	private IllegalArgumentException exception;
+
+	@Setup
+	public void setUp() {
+		//same date format as spring.jackson.date-format of application.properties
+		objectMapper = Jackson2ObjectMapperBuilder.json().simpleDateFormat("MM/dd/yyyy HH:mm:ss").build();
+		List<Trade> trades = new ArrayList<>(PAGE_SIZE);
+		List<BidList> bidLists = new ArrayList<>(PAGE_SIZE);
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			Trade trade = new Trade();
+			trade.setTradeId((long) i + 1);
+			trade.setAccount("account " + i);
+			trade.setType("type " + i);
+			trade.setBuyQuantity(10.0 * i);
+			trade.setTradeDate(LocalDateTime.now());
+			trades.add(trade);
+			BidList bidList = new BidList();
+			bidList.setBidListId((long) i + 1);
+			bidList.setAccount("account " + i);
+			bidList.setType("type " + i);
+			bidList.setBidQuantity(10.0 * i);
+			bidLists.add(bidList);
+		}
+		tradePage = new PageImpl<>(trades, PageRequest.of(0, PAGE_SIZE), 100);
+		bidListPage = new PageImpl<>(bidLists, PageRequest.of(0, PAGE_SIZE), 100);
+		exception = new IllegalArgumentException("Trade not found");
+	}
+
+	@Benchmark
+	public byte[] serializeTradePage() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(tradePage);
+	}
+
+	@Benchmark
+	public byte[] serializeBidListPage() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(bidListPage);
+	}
+
+	@Benchmark
+	public ApiError newApiError() {
+		return new ApiError(HttpStatus.NOT_FOUND, exception);
+	}
+
+	@Benchmark
+	public byte[] serializeNewApiError() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(new ApiError(HttpStatus.NOT_FOUND, exception));
+	}
+}
@@ -0,0 +1,60 @@
+package com.poseidoninc.poseidon.benchmark;
+
+import com.poseidoninc.poseidon.annotation.ValidPasswordGroup;
+import com.poseidoninc.poseidon.domain.User;
+import com.poseidoninc.poseidon.validator.ValidPasswordGenerator;
+import com.poseidoninc.poseidon.validator.ValidPasswordValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of password validation (each user form or api post) and generation (each OAuth2 first login)
+ * @author olivier morel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+	private ValidPasswordValidator validPasswordValidator;
+
+	private ValidPasswordGenerator validPasswordGenerator;
+
+	private Validator validator;
+
+	@Setup
+	public void setUp() {
+		validPasswordValidator = new ValidPasswordValidator();
+		validPasswordGenerator = new ValidPasswordGenerator();
+		validator = Validation.buildDefaultValidatorFactory().getValidator();
+	}
+
+	/*
+	 * a valid password doesn't use the ConstraintValidatorContext
+	 */
+	@Benchmark
+	public boolean isValidWithValidPassword() {
+		return validPasswordValidator.isValid("apw1=Passwd", null);
+	}
+
+	/*
+	 * an invalid password builds the violation messages, through Hibernate Validator as in a request
+	 */
+	@Benchmark
+	public Set<ConstraintViolation<User>> validateInvalidPassword() {
+		return validator.validateValue(User.class, "password", "abcdefgh", ValidPasswordGroup.class);
+	}
+
+	@Benchmark
+	public String generatePassword() {
+		return validPasswordGenerator.generatePassword();
+	}
+}
@@ -0,0 +1,55 @@
+package com.poseidoninc.poseidon.benchmark;
+
+import com.poseidoninc.poseidon.logging.RequestDescription;
+import com.poseidoninc.poseidon.service.RequestService;
+import com.poseidoninc.poseidon.service.RequestServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of the request description of log lines, on each request
+ * @author olivier morel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestServiceBenchmark {
+
+	private RequestService requestService;
+
+	private WebRequest request;
+
+	@Setup
+	public void setUp() {
+		requestService = new RequestServiceImpl();
+		MockHttpServletRequest requestMock = new MockHttpServletRequest("POST", "/user/validate");
+		requestMock.setParameter("username", "Aaa");
+		requestMock.setParameter("password", "apw1=Passwd");
+		requestMock.setParameter("fullname", "AAA");
+		requestMock.setParameter("role", "USER");
+		request = new ServletWebRequest(requestMock);
+	}
+
+	/*
+	 * first log line of a request
+	 */
+	@Benchmark
+	public String describeFirstLogLine() {
+		return new RequestDescription(request).toString();
+	}
+
+	/*
+	 * next log lines of the request
+	 */
+	@Benchmark
+	public String requestToStringNextLogLines() {
+		return requestService.requestToString(request);
+	}
+}
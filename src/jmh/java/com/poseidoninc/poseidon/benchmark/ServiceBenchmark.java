@@ -0,0 +1,98 @@
+package com.poseidoninc.poseidon.benchmark;
+
+import com.poseidoninc.poseidon.Application;
+import com.poseidoninc.poseidon.domain.Rating;
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.repository.RatingRepository;
+import com.poseidoninc.poseidon.repository.TradeRepository;
+import com.poseidoninc.poseidon.service.RatingService;
+import com.poseidoninc.poseidon.service.TradeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of service methods against the in-memory H2 database of the mytest profile (src/test/resources)
+ * Runs from the project directory, application needs db.properties and OAuth2.properties,
+ * it is a servlet application on a random port because security filter chains need OAuth2 client registrations
+ * @author olivier morel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+	private static final int ROWS = 1000;
+
+	private ConfigurableApplicationContext context;
+
+	private TradeService tradeService;
+
+	private RatingService ratingService;
+
+	private Long tradeId;
+
+	private Long ratingId;
+
+	private Pageable firstPage;
+
+	@Setup
+	public void setUp() {
+		context = new SpringApplicationBuilder(Application.class)
+				.profiles("mytest")
+				.web(WebApplicationType.SERVLET)
+				.run("--server.port=0", "--logging.level.com.poseidoninc.poseidon=warn");
+		tradeService = context.getBean(TradeService.class);
+		ratingService = context.getBean(RatingService.class);
+		List<Trade> trades = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			Trade trade = new Trade();
+			trade.setAccount("account");
+			trade.setType("type");
+			trade.setBuyQuantity((double) i);
+			trades.add(trade);
+		}
+		tradeId = tradeService.saveTrades(trades).get(ROWS / 2).getTradeId();
+		Rating rating = new Rating();
+		rating.setMoodysRating("Moodys");
+		rating.setOrderNumber(1);
+		ratingId = ratingService.saveRating(rating).getId();
+		firstPage = PageRequest.of(0, 20);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.getBean(TradeRepository.class).deleteAllInBatch();
+		context.getBean(RatingRepository.class).deleteAllInBatch();
+		context.close();
+	}
+
+	@Benchmark
+	public Trade getTradeById() {
+		return tradeService.getTradeById(tradeId);
+	}
+
+	@Benchmark
+	public Page<Trade> getTradesFirstPage() {
+		return tradeService.getTrades(firstPage);
+	}
+
+	/*
+	 * Rating is in second-level cache
+	 */
+	@Benchmark
+	public Rating getRatingById() {
+		return ratingService.getRatingById(ratingId);
+	}
+}
@@ -2,10 +2,7 @@ package com.poseidoninc.poseidon;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
  * main entry point for the application.
@@ -16,11 +13,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @PropertySource({"file:./db.properties", "file:./OAuth2.properties"})
 public class Application {
 	
-	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
-	}
-
 	public static void main(String[] args) {
 		SpringApplication.run(Application.class, args);
 	}
@@ -0,0 +1,23 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sizes of the /api/../batch endpoints, read from application.properties (poseidon.api.batch.*)
+ * Rows are flushed to the database by chunks of flush size, which should be hibernate.jdbc.batch_size.
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.api.batch")
+@Getter
+@Setter
+public class BatchProperties {
+
+	private int maxSize = 5000;
+
+	private int flushSize = 50;
+}
@@ -0,0 +1,40 @@
+package com.poseidoninc.poseidon.configuration;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring caches, backed by the Caffeine JCache provider also used by Hibernate second-level cache.
+ * Caches are configured (size, expiry, statistics) in application.conf
+ *
+ * @author olivier morel
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+	/**
+	 * UserDetails by normalized username, evicted after commit when a user is written
+	 * @see com.poseidoninc.poseidon.security.UserDetailsCache
+	 */
+	public static final String USER_DETAILS_CACHE = "userDetails";
+
+	/**
+	 * Primary email of GitHub users by user id, short-lived
+	 */
+	public static final String GITHUB_EMAIL_CACHE = "gitHubEmails";
+
+	/**
+	 * Evictions and puts made in a transaction are applied after commit.
+	 * UserDetailsCache bypasses it : its versioned puts and evictions must be applied in the order they are made.
+	 *
+	 * @return CacheManagerCustomizer
+	 */
+	@Bean
+	public CacheManagerCustomizer<JCacheCacheManager> transactionAwareCacheManagerCustomizer() {
+		return cacheManager -> cacheManager.setTransactionAware(true);
+	}
+}
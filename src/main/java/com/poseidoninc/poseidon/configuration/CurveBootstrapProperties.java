@@ -0,0 +1,21 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Fork-join pool of the curve bootstrap job, read from application.properties (poseidon.curve.bootstrap.*)
+ * The pool is dedicated to the job, parallel streams of the common pool are not slowed down by a run.
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.curve.bootstrap")
+@Getter
+@Setter
+public class CurveBootstrapProperties {
+
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+}
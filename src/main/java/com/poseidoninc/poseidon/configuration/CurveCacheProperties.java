@@ -0,0 +1,26 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Bounds of the curve snapshot cache, read from application.properties (poseidon.curve.cache.*)
+ * The cache is local to each instance : expireAfterWrite bounds how long a curve written on another instance is stale here.
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.curve.cache")
+@Getter
+@Setter
+public class CurveCacheProperties {
+
+	//curve points over all cached snapshots, least used curves are evicted first
+	private long maxPoints = 500_000;
+
+	private Duration expireAfterWrite = Duration.ofMinutes(5);
+}
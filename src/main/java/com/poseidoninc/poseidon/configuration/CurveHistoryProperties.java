@@ -0,0 +1,24 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Segment file of the curve history and bound of its reads, read from application.properties (poseidon.curve.history.*)
+ * The segment is loaded at startup if it exists and replaced by each rebuild.
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.curve.history")
+@Getter
+@Setter
+public class CurveHistoryProperties {
+
+	private String segmentFile = "curve-history.seg";
+
+	//dates read by GET /api/curvePoint/{curveId}/history, a range of more dates is rejected before it is copied
+	private int maxDates = 5000;
+}
@@ -0,0 +1,45 @@
+package com.poseidoninc.poseidon.configuration;
+
+import com.poseidoninc.poseidon.metrics.SqlMetricsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Class for the DataSource proxy configuration : every JDBC statement and result set goes through SqlMetricsListener
+ *
+ * @author olivier morel
+ */
+@Configuration
+public class DataSourceProxyConfiguration {
+
+	/**
+	 * Wraps the DataSource built by Spring Boot (Hikari pool) in a datasource-proxy
+	 * Static : a BeanPostProcessor is created before other beans, the listener is looked up when the DataSource is created
+	 *
+	 * @param sqlMetricsListener listener of statements and result sets
+	 * @return the BeanPostProcessor
+	 */
+	@Bean
+	public static BeanPostProcessor dataSourceProxyBeanPostProcessor(ObjectProvider<SqlMetricsListener> sqlMetricsListener) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+					SqlMetricsListener listener = sqlMetricsListener.getObject();
+					return ProxyDataSourceBuilder.create(beanName, dataSource)
+							.listener(listener)
+							.methodListener(listener)
+							.proxyResultSet()
+							.build();
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,91 @@
+package com.poseidoninc.poseidon.configuration;
+
+import com.poseidoninc.poseidon.datasource.ReplicaLagGuard;
+import com.poseidoninc.poseidon.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Class for the configuration of the read replica, when poseidon.datasource.replica.url is set :
+ * read-only transactions go to the replica pool, writes to the primary pool (spring.datasource.*).
+ * Replaces the DataSource of Spring Boot, which is still wrapped by DataSourceProxyConfiguration.
+ *
+ * @see ReplicaRoutingDataSource
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "poseidon.datasource.replica", name = "url")
+public class DataSourceRoutingConfiguration {
+
+	/**
+	 * Registered by Spring Boot on the transaction manager as a TransactionExecutionListener
+	 *
+	 * @param replicaDataSourceProperties read your writes duration
+	 * @return the read your writes guard
+	 */
+	@Bean
+	public ReplicaLagGuard replicaLagGuard(ReplicaDataSourceProperties replicaDataSourceProperties) {
+		return new ReplicaLagGuard(replicaDataSourceProperties.getReadYourWrites());
+	}
+
+	/**
+	 * Primary and replica Hikari pools (spring.datasource.hikari.* and poseidon.datasource.replica.hikari.*) behind the routing DataSource
+	 *
+	 * @param dataSourceProperties spring.datasource.* properties of the primary
+	 * @param replicaDataSourceProperties poseidon.datasource.replica.* properties
+	 * @param replicaLagGuard the read your writes guard
+	 * @param environment to bind pool properties
+	 * @param meterRegistry for hikaricp metrics of both pools
+	 * @return the routing DataSource
+	 */
+	@Bean
+	public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaDataSourceProperties replicaDataSourceProperties,
+			ReplicaLagGuard replicaLagGuard, Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+		Binder binder = Binder.get(environment);
+		HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		primary.setPoolName("primary");
+		binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+		HikariDataSource replica = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.url(replicaDataSourceProperties.getUrl())
+				.username(replicaDataSourceProperties.getUsername())
+				.password(replicaDataSourceProperties.getPassword())
+				.build();
+		replica.setPoolName("replica");
+		replica.setReadOnly(true);
+		binder.bind("poseidon.datasource.replica.hikari", Bindable.ofInstance(replica));
+		meterRegistry.ifAvailable(registry -> {
+			primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+			replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+		});
+		return new ReplicaRoutingDataSource(primary, replica, replicaLagGuard);
+	}
+
+	/**
+	 * With OSIV the Hibernate session of a request would hold the connection of its first transaction (DELAYED_ACQUISITION_AND_HOLD),
+	 * connections are released after each transaction so that each one is routed.
+	 *
+	 * @return the customizer of Hibernate properties
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer connectionHandlingHibernatePropertiesCustomizer() {
+		return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+				PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+	}
+}
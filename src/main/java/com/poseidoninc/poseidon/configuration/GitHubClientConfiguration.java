@@ -0,0 +1,63 @@
+package com.poseidoninc.poseidon.configuration;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+
+/**
+ * Class for the GitHub API client configuration, used by OAuth2 login to get the user's primary email
+ * @see com.poseidoninc.poseidon.service.GitHubEmailService
+ *
+ * @author olivier morel
+ */
+@Configuration
+@AllArgsConstructor
+public class GitHubClientConfiguration {
+
+	private final GitHubProperties gitHubProperties;
+
+	/**
+	 * Shared client : the JDK HttpClient keeps connections alive and reuses them between logins
+	 * Connect and read timeouts bound the time a login waits for GitHub
+	 *
+	 * @return the RestClient of GitHub API
+	 */
+	@Bean
+	public RestClient gitHubRestClient() {
+		HttpClient httpClient = HttpClient.newBuilder()
+				.connectTimeout(gitHubProperties.getConnectTimeout())
+				.build();
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(gitHubProperties.getReadTimeout());
+		return RestClient.builder()
+				.baseUrl(gitHubProperties.getBaseUrl())
+				.requestFactory(requestFactory)
+				.defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github+json")
+				.build();
+	}
+
+	/**
+	 * Fails logins fast while GitHub is down or too slow, client errors (bad token) are not failures of GitHub
+	 *
+	 * @return the CircuitBreaker of GitHub API calls
+	 */
+	@Bean
+	public CircuitBreaker gitHubCircuitBreaker() {
+		CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+				.slidingWindowSize(gitHubProperties.getSlidingWindowSize())
+				.minimumNumberOfCalls(gitHubProperties.getSlidingWindowSize())
+				.failureRateThreshold(gitHubProperties.getFailureRateThreshold())
+				.waitDurationInOpenState(gitHubProperties.getOpenDuration())
+				.ignoreExceptions(HttpClientErrorException.class)
+				.build();
+		return CircuitBreaker.of("gitHub", config);
+	}
+}
@@ -0,0 +1,34 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * GitHub API client settings, read from application.properties (poseidon.github.*)
+ * The circuit breaker opens when failure rate of the last sliding window size calls reaches the threshold (%),
+ * then lets calls through again after open duration.
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.github")
+@Getter
+@Setter
+public class GitHubProperties {
+
+	private String baseUrl = "https://api.github.com";
+
+	private Duration connectTimeout = Duration.ofSeconds(2);
+
+	private Duration readTimeout = Duration.ofSeconds(3);
+
+	private float failureRateThreshold = 50;
+
+	private int slidingWindowSize = 20;
+
+	private Duration openDuration = Duration.ofSeconds(30);
+}
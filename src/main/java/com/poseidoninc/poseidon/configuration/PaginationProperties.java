@@ -0,0 +1,23 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Page sizes of the /api/../list endpoints, read from application.properties (poseidon.api.page.*)
+ * The max size is enforced by the server whatever the size asked by the client.
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.api.page")
+@Getter
+@Setter
+public class PaginationProperties {
+
+	private int defaultSize = 20;
+
+	private int maxSize = 100;
+}
@@ -0,0 +1,39 @@
+package com.poseidoninc.poseidon.configuration;
+
+import com.poseidoninc.poseidon.security.BoundedPasswordEncoder;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Class for the password encoder configuration : BCrypt on its own bounded pool
+ *
+ * @author olivier morel
+ */
+@Configuration
+@AllArgsConstructor
+@Slf4j
+public class PasswordEncoderConfiguration {
+
+	private final PasswordProperties passwordProperties;
+
+	/**
+	 * BCrypt password encoder, strength is the configured one or else calibrated at startup
+	 * Passwords hashed with a lower strength are rehashed on login
+	 * @see SecurityConfiguration#authenticationManager()
+	 *
+	 * @return a BoundedPasswordEncoder, closed with the application context
+	 */
+	@Bean
+	public PasswordEncoder passwordEncoder() {
+		int strength = passwordProperties.getStrength();
+		if (strength <= 0) {
+			strength = BoundedPasswordEncoder.calibrateStrength(passwordProperties.getTargetMillis(), passwordProperties.getMinStrength(), passwordProperties.getMaxStrength());
+			log.info("BCrypt strength calibrated to {} for a target of {} ms", strength, passwordProperties.getTargetMillis());
+		}
+		return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordProperties.getThreads(), passwordProperties.getQueueCapacity());
+	}
+}
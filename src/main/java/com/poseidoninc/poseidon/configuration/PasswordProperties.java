@@ -0,0 +1,31 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * BCrypt pool size and strength, read from application.properties (poseidon.password.*)
+ * A strength of 0 means calibrated at startup for the target hashing time.
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.password")
+@Getter
+@Setter
+public class PasswordProperties {
+
+	private int threads = Math.max(Runtime.getRuntime().availableProcessors() / 2, 1);
+
+	private int queueCapacity = 50;
+
+	private int strength = 0;
+
+	private long targetMillis = 100;
+
+	private int minStrength = 10;
+
+	private int maxStrength = 14;
+}
@@ -0,0 +1,32 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Read replica of the database, read from application.properties (poseidon.datasource.replica.*)
+ * Without url, there is a single DataSource. Pool settings are poseidon.datasource.replica.hikari.*
+ * After a write, reads of the same client go to the primary for read your writes duration (replication lag).
+ *
+ * @see DataSourceRoutingConfiguration
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.datasource.replica")
+@Getter
+@Setter
+public class ReplicaDataSourceProperties {
+
+	private String url;
+
+	private String username;
+
+	private String password;
+
+	private Duration readYourWrites = Duration.ofSeconds(2);
+}
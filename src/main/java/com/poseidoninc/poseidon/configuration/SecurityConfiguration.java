@@ -4,22 +4,31 @@ import com.poseidoninc.poseidon.service.CustomOAuth2UserService;
 import com.poseidoninc.poseidon.service.CustomOidcUserService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Class for security configuration of the application.
  * filter chain, login/logout configurations, and OAuth2 login configurations.
@@ -36,24 +45,78 @@ public class SecurityConfiguration  {
 
     private final UserDetailsService userDetailsService;
 
+    private final UserDetailsPasswordService userDetailsPasswordService;
+
     private final CustomOAuth2UserService customOAuth2UserService;
 
     private final CustomOidcUserService customOidcUserService;
 
     /**
      * sets up the authentication manager bean (Username Password Authentication)
+     * A password hashed with a lower strength than the current one is rehashed on successful login.
+     * When the password encoder pool is overloaded, login fails at once (redirect to login page with error), known user or not,
+     * but a successful login whose rehash is rejected keeps the old hash.
      * @see com.poseidoninc.poseidon.service.UserDetailsServiceImpl
+     * @see com.poseidoninc.poseidon.security.BoundedPasswordEncoder
      *
      * @return an instance of {@link AuthenticationManager}
      */
     @Bean
     public AuthenticationManager authenticationManager() {
-        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider() {
+            @Override
+            public Authentication authenticate(Authentication authentication) {
+                try {
+                    //rejected checks of the password of a known user and of the dummy hash of an unknown one (timing attacks)
+                    return super.authenticate(authentication);
+                } catch (RejectedExecutionException ree) {
+                    log.error("Login of {} rejected : {}", authentication.getName(), ree.toString());
+                    throw new AuthenticationServiceException("Too many logins, try again later");
+                }
+            }
+
+            @Override
+            protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+                try {
+                    return super.createSuccessAuthentication(principal, authentication, user);
+                } catch (RejectedExecutionException ree) {
+                    //the password is checked, its rehash waits for a next login
+                    log.warn("Upgrade of password of {} skipped : {}", user.getUsername(), ree.toString());
+                    UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(principal, authentication.getCredentials(), user.getAuthorities());
+                    result.setDetails(authentication.getDetails());
+                    return result;
+                }
+            }
+        };
         provider.setPasswordEncoder(passwordEncoder);
         provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
         return new ProviderManager(provider);
     }
 
+    /**
+     * builds the SecurityFilterChain of actuator endpoints, applied before the application one.
+     * Health is public, other endpoints (prometheus, servicemetrics) need an ADMIN,
+     * authenticated with HTTP basic so that metrics can be scraped, without session nor CSRF token
+     *
+     * @param http the HttpSecurity object to build the SecurityFilterChain for
+     * @return the built SecurityFilterChain
+     * @throws Exception
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .authorizeHttpRequests(authz -> authz
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole("ADMIN"))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(csrf -> csrf.disable())
+                .build();
+    }
+
     /**
      * builds a SecurityFilterChain bean for the provided HttpSecurity.
      *
@@ -72,7 +135,7 @@ public class SecurityConfiguration  {
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/","/home", "/user/add", "/user/validate").permitAll()
                         .requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll()
-                        .requestMatchers( "/user/**").hasRole("ADMIN")
+                        .requestMatchers( "/user/**", "/admin/**").hasRole("ADMIN")
                         .requestMatchers( "/curvePoint/**", "/bidList/**", "/rating/**", "/ruleName/**", "/trade/**").hasAnyRole("ADMIN", "USER")
                         .anyRequest().authenticated())
                 .formLogin(form -> form
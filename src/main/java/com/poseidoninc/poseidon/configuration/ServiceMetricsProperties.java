@@ -0,0 +1,21 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Timers of service and repository calls, read from application.properties (poseidon.metrics.*)
+ * Enabled is the value at startup, it can be switched at runtime by the servicemetrics actuator endpoint.
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.metrics")
+@Getter
+@Setter
+public class ServiceMetricsProperties {
+
+	private boolean enabled = true;
+}
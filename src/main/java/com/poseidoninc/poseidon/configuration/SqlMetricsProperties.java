@@ -0,0 +1,26 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * SQL statements instrumentation, read from application.properties (poseidon.sql.*)
+ * A statement is logged as slow from the threshold duration,
+ * a select executed at least n plus one threshold times in a request is logged as a N+1 query.
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.sql")
+@Getter
+@Setter
+public class SqlMetricsProperties {
+
+	private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+	private int nPlusOneThreshold = 5;
+}
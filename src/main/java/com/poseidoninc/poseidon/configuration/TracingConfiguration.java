@@ -0,0 +1,107 @@
+package com.poseidoninc.poseidon.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.tracing.ObservedJpaTransactionManager;
+import com.poseidoninc.poseidon.tracing.ObservedMappingJackson2HttpMessageConverter;
+import com.poseidoninc.poseidon.tracing.ObservedMethodValidationPostProcessor;
+import com.poseidoninc.poseidon.tracing.Phase;
+import com.poseidoninc.poseidon.tracing.PhaseObserver;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.validation.beanvalidation.MethodValidationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
+
+/**
+ * Class for the configuration of request phases observed in place of Spring Boot beans :
+ * validation (@Valid form objects and @Validated controllers), transaction commit and Hibernate flush, JSON serialization.
+ * Controllers, services and repositories are observed by PhaseObservationAspect.
+ *
+ * @see com.poseidoninc.poseidon.tracing.TraceRecorder
+ *
+ * @author olivier morel
+ */
+@Configuration
+public class TracingConfiguration {
+
+	/**
+	 * JPA transaction manager of Spring Boot, observing commits and flushes
+	 *
+	 * @param phaseObserver the phase observer
+	 * @param transactionManagerCustomizers customizers of Spring Boot (spring.transaction.* properties)
+	 * @return the transaction manager
+	 */
+	@Bean
+	public PlatformTransactionManager transactionManager(PhaseObserver phaseObserver, ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+		ObservedJpaTransactionManager transactionManager = new ObservedJpaTransactionManager(phaseObserver);
+		transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize((TransactionManager) transactionManager));
+		return transactionManager;
+	}
+
+	/**
+	 * JSON converter of Spring Boot (its ObjectMapper), observing serialization of responses
+	 *
+	 * @param objectMapper the ObjectMapper built from spring.jackson.* properties
+	 * @param phaseObserver the phase observer
+	 * @return the converter, replaces the default one
+	 */
+	@Bean
+	public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper, PhaseObserver phaseObserver) {
+		return new ObservedMappingJackson2HttpMessageConverter(objectMapper, phaseObserver);
+	}
+
+	/**
+	 * method validation post processor of Spring Boot, observing validation of @Validated controllers
+	 * Static : a BeanPostProcessor is created before other beans
+	 *
+	 * @param environment to read spring.aop.proxy-target-class
+	 * @param validator the validator of Spring Boot
+	 * @param excludeFilters beans not validated
+	 * @param phaseObserver the phase observer, looked up at each validation
+	 * @return the post processor
+	 */
+	@Bean
+	public static MethodValidationPostProcessor methodValidationPostProcessor(Environment environment, ObjectProvider<jakarta.validation.Validator> validator,
+			ObjectProvider<MethodValidationExcludeFilter> excludeFilters, ObjectProvider<PhaseObserver> phaseObserver) {
+		ObservedMethodValidationPostProcessor processor = new ObservedMethodValidationPostProcessor(excludeFilters.orderedStream(), phaseObserver);
+		processor.setProxyTargetClass(environment.getProperty("spring.aop.proxy-target-class", Boolean.class, true));
+		processor.setValidatorProvider(validator);
+		return processor;
+	}
+
+	/**
+	 * Wraps the validator of Spring MVC (@Valid form objects of Thymeleaf controllers) to observe validations
+	 * Static : a BeanPostProcessor is created before other beans
+	 *
+	 * @param phaseObserver the phase observer, looked up at each validation
+	 * @return the BeanPostProcessor
+	 */
+	@Bean
+	public static BeanPostProcessor mvcValidatorObservationBeanPostProcessor(ObjectProvider<PhaseObserver> phaseObserver) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof Validator && "mvcValidator".equals(beanName)) {
+					ProxyFactory proxyFactory = new ProxyFactory(bean);
+					proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+						if (!"validate".equals(invocation.getMethod().getName())) {
+							return invocation.proceed();
+						}
+						return phaseObserver.getObject().observe(Phase.VALIDATION, invocation.getArguments()[0].getClass().getSimpleName(), invocation::proceed);
+					});
+					return proxyFactory.getProxy();
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,25 @@
+package com.poseidoninc.poseidon.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Phases of requests (poseidon.phase observations) recorded in memory, read from application.properties (poseidon.tracing.*)
+ * Capacity is the number of last requests kept, max spans the number of phases kept per request.
+ *
+ * @author olivier morel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "poseidon.tracing")
+@Getter
+@Setter
+public class TracingProperties {
+
+	private boolean enabled = true;
+
+	private int capacity = 1000;
+
+	private int maxSpans = 256;
+}
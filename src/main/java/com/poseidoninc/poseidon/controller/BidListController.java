@@ -1,6 +1,7 @@
 package com.poseidoninc.poseidon.controller;
 
 import com.poseidoninc.poseidon.domain.BidList;
+import com.poseidoninc.poseidon.projection.BidListSummary;
 import com.poseidoninc.poseidon.service.BidListService;
 import com.poseidoninc.poseidon.service.RequestService;
 import jakarta.validation.Valid;
@@ -33,15 +34,15 @@ public class BidListController {
     @GetMapping("/bidList/list")
     public String home(Model model, WebRequest request) throws UnexpectedRollbackException {
 		Pageable pageRequest = Pageable.unpaged();
-        Page<BidList> pageBidList;
+        Page<BidListSummary> pageBidList;
         try {
-            pageBidList = bidListService.getBidLists(pageRequest);
+            pageBidList = bidListService.getBidListSummaries(pageRequest);
         } catch(UnexpectedRollbackException urbe) {
-            log.error("{} : {} ", requestService.requestToString(request), urbe.toString());
+            log.error("{} : {} ", requestService.describe(request), urbe);
             throw new UnexpectedRollbackException("Error while getting bidLists");
         }
         log.info("{} : bidLists page number : {} of {}",
-                requestService.requestToString(request),
+                requestService.describe(request),
                 pageBidList.getNumber()+1,
                 pageBidList.getTotalPages());
         model.addAttribute("bidLists", pageBidList);
@@ -56,30 +57,30 @@ public class BidListController {
     @PostMapping("/bidList/validate")
     public String validate(@Valid BidList bidList, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
 		if (result.hasErrors()) {
-            log.error("{} : bidList = {} : {} ", requestService.requestToString(request), bidList.toString(), result.toString());
+            log.error("{} : bidList = {} : {} ", requestService.describe(request), bidList, result);
 			return "bidList/add";
 		}
         BidList bidListSaved;
 		try {
             bidListSaved = bidListService.saveBidList(bidList);
         } catch (UnexpectedRollbackException urbe) {
-           log.error("{} : bidList = {} : {} ", requestService.requestToString(request), bidList.toString(), urbe.toString());
+           log.error("{} : bidList = {} : {} ", requestService.describe(request), bidList, urbe);
            throw new UnexpectedRollbackException("Error while saving bidList");
         }
-        log.info("{} : bidList = {} persisted", requestService.requestToString(request), bidListSaved.toString());
+        log.info("{} : bidList = {} persisted", requestService.describe(request), bidListSaved);
         return "redirect:/bidList/list";
     }
 
     @GetMapping("/bidList/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model, WebRequest request) throws UnexpectedRollbackException {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model, WebRequest request) throws UnexpectedRollbackException {
 		BidList bidList;
         try {
             bidList = bidListService.getBidListById(id);
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : bidList = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : bidList = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while getting bidList");
         }
-        log.info("{} : bidList = {} gotten",  requestService.requestToString(request), bidList.toString());
+        log.info("{} : bidList = {} gotten",  requestService.describe(request), bidList);
         model.addAttribute("bidList", bidList);
         return "bidList/update";
     }
@@ -87,29 +88,29 @@ public class BidListController {
     @PostMapping("/bidList/update")
     public String updateBid(@Valid BidList bidList, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
 		if (result.hasErrors()) {
-            log.error("{} : bidList = {} : {} ", requestService.requestToString(request), bidList.toString(), result.toString());
+            log.error("{} : bidList = {} : {} ", requestService.describe(request), bidList, result);
 			return "bidList/update";
 		}
         BidList bidListUpdated;
         try {
             bidListUpdated = bidListService.saveBidList(bidList);
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : bidList = {} : {} ", requestService.requestToString(request), bidList.toString(), urbe.toString());
+            log.error("{} : bidList = {} : {} ", requestService.describe(request), bidList, urbe);
             throw new UnexpectedRollbackException("Error while saving bidList");
         }
-        log.info("{} : bidList = {} persisted", requestService.requestToString(request), bidListUpdated.toString());
+        log.info("{} : bidList = {} persisted", requestService.describe(request), bidListUpdated);
         return "redirect:/bidList/list";
     }
 
     @GetMapping("/bidList/delete/{id}")
-    public String deleteBid(@PathVariable("id") Integer id, WebRequest request) throws  UnexpectedRollbackException {
+    public String deleteBid(@PathVariable("id") Long id, WebRequest request) throws  UnexpectedRollbackException {
 		try {
             bidListService.deleteBidListById(id);
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : bidList = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : bidList = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while deleting bidList");
         }
-        log.info("{} : bidList = {} deleted", requestService.requestToString(request), id);
+        log.info("{} : bidList = {} deleted", requestService.describe(request), id);
         return "redirect:/bidList/list";
     }   
 }
\ No newline at end of file
@@ -34,7 +34,7 @@ public class ControllerExceptionHandler {
 	public String unexpectedRollbackException(UnexpectedRollbackException urex, WebRequest request, Model model) {
 		String errorMessage = urex.getMessage();
 		log.error("{} : {} : {}",
-				requestService.requestToString(request),
+				requestService.describe(request),
 				((ServletWebRequest) request).getHttpMethod(),
 				errorMessage);
 		model.addAttribute("errorMessage", errorMessage);
@@ -51,7 +51,7 @@ public class ControllerExceptionHandler {
 	@ExceptionHandler(Exception.class)
 	public String unexpectedException(Exception e, WebRequest request, Model model) {
 		log.error("{} : {} : {}",
-				requestService.requestToString(request),
+				requestService.describe(request),
 				((ServletWebRequest) request).getHttpMethod(),
 				e.getMessage());
 		model.addAttribute("errorMessage", "Internal Server Error");
@@ -39,11 +39,11 @@ public class CurveController {
         try {
             pageCurvePoint = curvePointService.getCurvePoints(pageRequest);
         } catch(UnexpectedRollbackException urbe) {
-            log.error("{} : {} ", requestService.requestToString(request), urbe.toString());
+            log.error("{} : {} ", requestService.describe(request), urbe);
             throw new UnexpectedRollbackException("Error while getting curvePoints");
         }
         log.info("{} : curvePoints page number : {} of {}",
-                requestService.requestToString(request),
+                requestService.describe(request),
                 pageCurvePoint.getNumber()+1,
                 pageCurvePoint.getTotalPages());
         model.addAttribute("curvePoints", pageCurvePoint);
@@ -58,34 +58,34 @@ public class CurveController {
     @PostMapping("/curvePoint/validate")
     public String validate(@Valid CurvePoint curvePoint, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
 		if (result.hasErrors()) {
-            log.error("{} : curvePoint = {} : {} ", requestService.requestToString(request), curvePoint.toString(), result.toString());
+            log.error("{} : curvePoint = {} : {} ", requestService.describe(request), curvePoint, result);
             return "curvePoint/add";
 		}
         CurvePoint curvePointSaved;
         try {
             curvePointSaved = curvePointService.saveCurvePoint(curvePoint);
         } catch (DataIntegrityViolationException dive) {
-            log.error("{} : curvePoint = {} : {} ", requestService.requestToString(request), curvePoint.toString(), dive.toString());
-            result.addError(new FieldError("CurvePoint", "curveId", dive.getMessage()));
+            log.error("{} : curvePoint = {} : {} ", requestService.describe(request), curvePoint, dive);
+            result.addError(new FieldError("CurvePoint", "term", dive.getMessage()));
             return "curvePoint/add";
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : curvePoint = {} : {} ", requestService.requestToString(request), curvePoint.toString(), urbe.toString());
+            log.error("{} : curvePoint = {} : {} ", requestService.describe(request), curvePoint, urbe);
             throw new UnexpectedRollbackException("Error while saving curvePoint");
         }
-        log.info("{} : curvePoint = {} persisted", requestService.requestToString(request), curvePointSaved.toString());
+        log.info("{} : curvePoint = {} persisted", requestService.describe(request), curvePointSaved);
 		return "redirect:/curvePoint/list";
     }
 
     @GetMapping("/curvePoint/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model, WebRequest request) throws UnexpectedRollbackException {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model, WebRequest request) throws UnexpectedRollbackException {
     	CurvePoint curvePoint;
         try {
             curvePoint = curvePointService.getCurvePointById(id);
         }  catch (UnexpectedRollbackException urbe) {
-        log.error("{} : curvePoint = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+        log.error("{} : curvePoint = {} : {} ", requestService.describe(request), id, urbe);
         throw new UnexpectedRollbackException("Error while getting curvePoint");
         }
-        log.info("{} : curvePoint = {} gotten",  requestService.requestToString(request), curvePoint.toString());
+        log.info("{} : curvePoint = {} gotten",  requestService.describe(request), curvePoint);
         model.addAttribute("curvePoint", curvePoint);
         return "curvePoint/update";
     }
@@ -93,33 +93,33 @@ public class CurveController {
     @PostMapping("/curvePoint/update")
     public String updateCurvePoint(@Valid CurvePoint curvePoint, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
 		if (result.hasErrors()) {
-            log.error("{} : curvePoint = {} : {} ", requestService.requestToString(request), curvePoint.toString(), result.toString());
+            log.error("{} : curvePoint = {} : {} ", requestService.describe(request), curvePoint, result);
             return "curvePoint/update";
 		}
         CurvePoint curvePointUpdated;
         try {
             curvePointUpdated = curvePointService.saveCurvePoint(curvePoint);
         } catch (DataIntegrityViolationException dive) {
-            log.error("{} : curvePoint = {} : {} ", requestService.requestToString(request), curvePoint.toString(), dive.toString());
-            result.addError(new FieldError("CurvePoint", "curveId", dive.getMessage()));
+            log.error("{} : curvePoint = {} : {} ", requestService.describe(request), curvePoint, dive);
+            result.addError(new FieldError("CurvePoint", "term", dive.getMessage()));
             return "curvePoint/update";
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : curvePoint = {} : {} ", requestService.requestToString(request), curvePoint.toString(), urbe.toString());
+            log.error("{} : curvePoint = {} : {} ", requestService.describe(request), curvePoint, urbe);
             throw new UnexpectedRollbackException("Error while saving curvePoint");
         }
-        log.info("{} : curvePoint = {} persisted", requestService.requestToString(request), curvePointUpdated.toString());
+        log.info("{} : curvePoint = {} persisted", requestService.describe(request), curvePointUpdated);
         return "redirect:/curvePoint/list";
     }
 
     @GetMapping("/curvePoint/delete/{id}")
-    public String deleteCurvePoint(@PathVariable("id") Integer id, WebRequest request) throws UnexpectedRollbackException {
+    public String deleteCurvePoint(@PathVariable("id") Long id, WebRequest request) throws UnexpectedRollbackException {
 		try {
             curvePointService.deleteCurvePointById(id);
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : curvePoint = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : curvePoint = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while deleting curvePoint");
         }
-        log.info("{} : curvePoint = {} deleted", requestService.requestToString(request), id);
+        log.info("{} : curvePoint = {} deleted", requestService.describe(request), id);
         return "redirect:/curvePoint/list";
     }
 }
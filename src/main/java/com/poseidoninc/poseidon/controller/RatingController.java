@@ -37,11 +37,11 @@ public class RatingController {
         try {
             pageRating = ratingService.getRatings(pageRequest);
         } catch(UnexpectedRollbackException urbe) {
-            log.error("{} : {} ", requestService.requestToString(request), urbe.toString());
+            log.error("{} : {} ", requestService.describe(request), urbe);
             throw new UnexpectedRollbackException("Error while getting ratings");
         }
         log.info("{} : ratings page number : {} of {}",
-                requestService.requestToString(request),
+                requestService.describe(request),
                 pageRating.getNumber()+1,
                 pageRating.getTotalPages());
         model.addAttribute("ratings", pageRating);
@@ -56,30 +56,30 @@ public class RatingController {
     @PostMapping("/rating/validate")
     public String validate(@Valid Rating rating, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
 		if (result.hasErrors()) {
-            log.error("{} : rating = {} : {} ", requestService.requestToString(request), rating.toString(), result.toString());
+            log.error("{} : rating = {} : {} ", requestService.describe(request), rating, result);
             return "rating/add";
 		}
         Rating ratingSaved;
         try  {
 		    ratingSaved = ratingService.saveRating(rating);
         }  catch (UnexpectedRollbackException urbe) {
-            log.error("{} : rating = {} : {} ", requestService.requestToString(request), rating.toString(), urbe.toString());
+            log.error("{} : rating = {} : {} ", requestService.describe(request), rating, urbe);
             throw new UnexpectedRollbackException("Error while saving rating");
         }
-        log.info("{} : rating = {} persisted", requestService.requestToString(request), ratingSaved.toString());
+        log.info("{} : rating = {} persisted", requestService.describe(request), ratingSaved);
         return "redirect:/rating/list";
     }
 
     @GetMapping("/rating/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model, WebRequest request)  throws UnexpectedRollbackException {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model, WebRequest request)  throws UnexpectedRollbackException {
         Rating rating;
         try {
             rating = ratingService.getRatingById(id);
         }  catch (UnexpectedRollbackException urbe) {
-            log.error("{} : rating = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : rating = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while getting rating");
         }
-        log.info("{} : rating = {} gotten",  requestService.requestToString(request), rating.toString());
+        log.info("{} : rating = {} gotten",  requestService.describe(request), rating);
         model.addAttribute("rating", rating);
         return "rating/update";
     }
@@ -87,29 +87,29 @@ public class RatingController {
     @PostMapping("/rating/update")
     public String updateRating(@Valid Rating rating, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
 		if (result.hasErrors()) {
-            log.error("{} : rating = {} : {} ", requestService.requestToString(request), rating.toString(), result.toString());
+            log.error("{} : rating = {} : {} ", requestService.describe(request), rating, result);
             return "rating/update";
 		}
         Rating ratingUpdated;
         try {
 		    ratingUpdated = ratingService.saveRating(rating);
         }  catch (UnexpectedRollbackException urbe) {
-            log.error("{} : rating = {} : {} ", requestService.requestToString(request), rating.toString(), urbe.toString());
+            log.error("{} : rating = {} : {} ", requestService.describe(request), rating, urbe);
             throw new UnexpectedRollbackException("Error while saving rating");
         }
-        log.info("{} : rating = {} persisted", requestService.requestToString(request), ratingUpdated.toString());
+        log.info("{} : rating = {} persisted", requestService.describe(request), ratingUpdated);
         return "redirect:/rating/list";
     }
 
     @GetMapping("/rating/delete/{id}")
-    public String deleteRating(@PathVariable("id") Integer id, WebRequest request) throws  UnexpectedRollbackException {
+    public String deleteRating(@PathVariable("id") Long id, WebRequest request) throws  UnexpectedRollbackException {
         try {
             ratingService.deleteRatingById(id);
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : rating = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : rating = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while deleting rating");
         }
-        log.info("{} : rating = {} deleted", requestService.requestToString(request), id);
+        log.info("{} : rating = {} deleted", requestService.describe(request), id);
         return "redirect:/rating/list";
     }
 }
@@ -37,11 +37,11 @@ public class RuleNameController {
         try {
             pageRuleName = ruleNameService.getRuleNames(pageRequest);
         } catch(UnexpectedRollbackException urbe) {
-            log.error("{} : {} ", requestService.requestToString(request), urbe.toString());
+            log.error("{} : {} ", requestService.describe(request), urbe);
             throw new UnexpectedRollbackException("Error while getting ruleNames");
         }
         log.info("{} : ruleNames page number : {} of {}",
-                requestService.requestToString(request),
+                requestService.describe(request),
                 pageRuleName.getNumber()+1,
                 pageRuleName.getTotalPages());
         model.addAttribute("ruleNames", pageRuleName);
@@ -56,30 +56,30 @@ public class RuleNameController {
     @PostMapping("/ruleName/validate")
     public String validate(@Valid RuleName ruleName, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
 		if (result.hasErrors()) {
-            log.error("{} : ruleName = {} : {} ", requestService.requestToString(request), ruleName.toString(), result.toString());
+            log.error("{} : ruleName = {} : {} ", requestService.describe(request), ruleName, result);
             return "ruleName/add";
 		}
         RuleName ruleNameSaved;
         try  {
             ruleNameSaved = ruleNameService.saveRuleName(ruleName);
         }  catch (UnexpectedRollbackException urbe) {
-            log.error("{} : ruleName = {} : {} ", requestService.requestToString(request), ruleName.toString(), urbe.toString());
+            log.error("{} : ruleName = {} : {} ", requestService.describe(request), ruleName, urbe);
             throw new UnexpectedRollbackException("Error while saving ruleName");
         }
-        log.info("{} : ruleName = {} persisted", requestService.requestToString(request), ruleNameSaved.toString());
+        log.info("{} : ruleName = {} persisted", requestService.describe(request), ruleNameSaved);
 		return "redirect:/ruleName/list";
     }
 
     @GetMapping("/ruleName/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model, WebRequest request) throws UnexpectedRollbackException{
+    public String showUpdateForm(@PathVariable("id") Long id, Model model, WebRequest request) throws UnexpectedRollbackException{
         RuleName ruleName;
         try {
             ruleName = ruleNameService.getRuleNameById(id);
         }  catch (UnexpectedRollbackException urbe) {
-            log.error("{} : ruleName = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : ruleName = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while getting ruleName");
         }
-        log.info("{} : ruleName = {} gotten",  requestService.requestToString(request), ruleName.toString());
+        log.info("{} : ruleName = {} gotten",  requestService.describe(request), ruleName);
 		model.addAttribute("ruleName", ruleName);
         return "ruleName/update";
     }
@@ -87,29 +87,29 @@ public class RuleNameController {
     @PostMapping("/ruleName/update")
     public String updateRuleName(@Valid RuleName ruleName, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
 		if (result.hasErrors()) {
-            log.error("{} : ruleName = {} : {} ", requestService.requestToString(request), ruleName.toString(), result.toString());
+            log.error("{} : ruleName = {} : {} ", requestService.describe(request), ruleName, result);
 			return "ruleName/update";
 		}
         RuleName ruleNameUpdated;
         try {
             ruleNameUpdated = ruleNameService.saveRuleName(ruleName);
         }  catch (UnexpectedRollbackException urbe) {
-            log.error("{} : ruleName = {} : {} ", requestService.requestToString(request), ruleName.toString(), urbe.toString());
+            log.error("{} : ruleName = {} : {} ", requestService.describe(request), ruleName, urbe);
             throw new UnexpectedRollbackException("Error while saving ruleName");
         }
-        log.info("{} : ruleName = {} persisted", requestService.requestToString(request), ruleNameUpdated.toString());
+        log.info("{} : ruleName = {} persisted", requestService.describe(request), ruleNameUpdated);
         return "redirect:/ruleName/list";
     }
 
     @GetMapping("/ruleName/delete/{id}")
-    public String deleteRuleName(@PathVariable("id") Integer id, WebRequest request) throws UnexpectedRollbackException {
+    public String deleteRuleName(@PathVariable("id") Long id, WebRequest request) throws UnexpectedRollbackException {
         try {
             ruleNameService.deleteRuleNameById(id);
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : ruleName = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : ruleName = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while deleting ruleName");
         }
-        log.info("{} : ruleName = {} deleted", requestService.requestToString(request), id);
+        log.info("{} : ruleName = {} deleted", requestService.describe(request), id);
         return "redirect:/ruleName/list";
     }   
 }
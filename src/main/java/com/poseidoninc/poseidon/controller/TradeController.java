@@ -1,6 +1,7 @@
 package com.poseidoninc.poseidon.controller;
 
 import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.projection.TradeSummary;
 import com.poseidoninc.poseidon.service.RequestService;
 import com.poseidoninc.poseidon.service.TradeService;
 import jakarta.validation.Valid;
@@ -33,15 +34,15 @@ public class TradeController {
     @GetMapping("/trade/list")
     public String home(Model model, WebRequest request) throws UnexpectedRollbackException {
 		Pageable pageRequest = Pageable.unpaged();
-        Page<Trade> pageTrade;
+        Page<TradeSummary> pageTrade;
         try {
-            pageTrade = tradeService.getTrades(pageRequest);
+            pageTrade = tradeService.getTradeSummaries(pageRequest);
         } catch(UnexpectedRollbackException urbe) {
-            log.error("{} : {} ", requestService.requestToString(request), urbe.toString());
+            log.error("{} : {} ", requestService.describe(request), urbe);
             throw new UnexpectedRollbackException("Error while getting trades");
         }
         log.info("{} : trades page number : {} of {}",
-                requestService.requestToString(request),
+                requestService.describe(request),
                 pageTrade.getNumber()+1,
                 pageTrade.getTotalPages());
         model.addAttribute("trades", pageTrade);
@@ -56,31 +57,31 @@ public class TradeController {
     @PostMapping("/trade/validate")
     public String validate(@Valid Trade trade, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
 		if (result.hasErrors()) {
-            log.error("{} : trade = {} : {} ", requestService.requestToString(request), trade.toString(), result.toString());
+            log.error("{} : trade = {} : {} ", requestService.describe(request), trade, result);
             return "trade/add";
 		}
         Trade tradeSaved;
         try  {
             tradeSaved = tradeService.saveTrade(trade);
         }  catch (UnexpectedRollbackException urbe) {
-            log.error("{} : trade = {} : {} ", requestService.requestToString(request), trade.toString(), urbe.toString());
+            log.error("{} : trade = {} : {} ", requestService.describe(request), trade, urbe);
             throw new UnexpectedRollbackException("Error while saving trade");
         }
-        log.info("{} : trade = {} persisted", requestService.requestToString(request), tradeSaved.toString());
+        log.info("{} : trade = {} persisted", requestService.describe(request), tradeSaved);
         return "redirect:/trade/list";
 
     }
 
     @GetMapping("/trade/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model, WebRequest request) throws UnexpectedRollbackException {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model, WebRequest request) throws UnexpectedRollbackException {
         Trade trade;
         try {
             trade = tradeService.getTradeById(id);
         }  catch (UnexpectedRollbackException urbe) {
-            log.error("{} : trade = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : trade = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while getting trade");
         }
-        log.info("{} : trade = {} gotten",  requestService.requestToString(request), trade.toString());
+        log.info("{} : trade = {} gotten",  requestService.describe(request), trade);
         model.addAttribute("trade", trade);
         return "trade/update";
     }
@@ -88,29 +89,29 @@ public class TradeController {
     @PostMapping("/trade/update")
     public String updateTrade(@Valid Trade trade, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
 		if (result.hasErrors()) {
-            log.error("{} : trade = {} : {} ", requestService.requestToString(request), trade.toString(), result.toString());
+            log.error("{} : trade = {} : {} ", requestService.describe(request), trade, result);
 			return "trade/update";
 		}
         Trade tradeUpdated;
         try {
             tradeUpdated = tradeService.saveTrade(trade);
         }  catch (UnexpectedRollbackException urbe) {
-            log.error("{} : trade = {} : {} ", requestService.requestToString(request), trade.toString(), urbe.toString());
+            log.error("{} : trade = {} : {} ", requestService.describe(request), trade, urbe);
             throw new UnexpectedRollbackException("Error while saving trade");
         }
-        log.info("{} : trade = {} persisted", requestService.requestToString(request), tradeUpdated.toString());
+        log.info("{} : trade = {} persisted", requestService.describe(request), tradeUpdated);
         return "redirect:/trade/list";
     }
 
     @GetMapping("/trade/delete/{id}")
-    public String deleteTrade(@PathVariable("id") Integer id, WebRequest request) throws UnexpectedRollbackException {
+    public String deleteTrade(@PathVariable("id") Long id, WebRequest request) throws UnexpectedRollbackException {
         try {
             tradeService.deleteTradeById(id);
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : trade = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : trade = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while deleting trade");
         }
-        log.info("{} : trade = {} deleted", requestService.requestToString(request), id);
+        log.info("{} : trade = {} deleted", requestService.describe(request), id);
         return "redirect:/trade/list";
     }   
 }
@@ -39,11 +39,11 @@ public class UserController {
         try {
             pageUser = userService.getUsers(pageRequest);
         } catch(UnexpectedRollbackException urbe) {
-            log.error("{} : {} ", requestService.requestToString(request), urbe.toString());
+            log.error("{} : {} ", requestService.describe(request), urbe);
             throw new UnexpectedRollbackException("Error while getting users");
         }
         log.info("{} : users page number : {} of {}",
-                requestService.requestToString(request),
+                requestService.describe(request),
                 pageUser.getNumber()+1,
                 pageUser.getTotalPages());
         model.addAttribute("users", pageUser);
@@ -58,34 +58,34 @@ public class UserController {
     @PostMapping("/user/validate")
     public String validate(@Valid User user, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
         if (result.hasErrors()) {
-            log.error("{} : user = {} : {} ", requestService.requestToString(request), user.toString(), result.toString());
+            log.error("{} : user = {} : {} ", requestService.describe(request), user, result);
             return "user/add";
         }
         User userSaved;
         try {
             userSaved = userService.saveUser(user);
         } catch (DataIntegrityViolationException dive) {
-            log.error("{} : user = {} : {} ", requestService.requestToString(request), user.toString(), dive.toString());
+            log.error("{} : user = {} : {} ", requestService.describe(request), user, dive);
             result.addError(new FieldError("User", "username", dive.getMessage()));
             return "user/add";
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : user = {} : {} ", requestService.requestToString(request), user.toString(), urbe.toString());
+            log.error("{} : user = {} : {} ", requestService.describe(request), user, urbe);
             throw new UnexpectedRollbackException("Error while saving user");
         }
-        log.info("{} : user = {} persisted", requestService.requestToString(request), userSaved.toString());
+        log.info("{} : user = {} persisted", requestService.describe(request), userSaved);
         return "redirect:/user/list";
     }
 
     @GetMapping("/user/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model, WebRequest request) throws UnexpectedRollbackException {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model, WebRequest request) throws UnexpectedRollbackException {
         User user;
         try {
             user = userService.getUserByIdWithBlankPasswd(id);
         }  catch (UnexpectedRollbackException urbe) {
-            log.error("{} : user = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : user = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while getting user");
         }
-        log.info("{} : user = {} gotten",  requestService.requestToString(request), user.toString());
+        log.info("{} : user = {} gotten",  requestService.describe(request), user);
         model.addAttribute("user", user);
         return "user/update";
     }
@@ -93,33 +93,33 @@ public class UserController {
     @PostMapping("/user/update")
     public String updateUser(@Valid User user, BindingResult result, WebRequest request) throws UnexpectedRollbackException {
         if (result.hasErrors()) {
-            log.error("{} : user = {} : {} ", requestService.requestToString(request), user.toString(), result.toString());
+            log.error("{} : user = {} : {} ", requestService.describe(request), user, result);
             return "user/update";
         }
         User userUpdated;
         try {
             userUpdated = userService.saveUser(user);
         } catch (DataIntegrityViolationException dive) {
-            log.error("{} : user = {} : {} ", requestService.requestToString(request), user.toString(), dive.toString());
+            log.error("{} : user = {} : {} ", requestService.describe(request), user, dive);
             result.addError(new FieldError("User", "username", dive.getMessage()));
             return "user/update";
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : user = {} : {} ", requestService.requestToString(request), user.toString(), urbe.toString());
+            log.error("{} : user = {} : {} ", requestService.describe(request), user, urbe);
             throw new UnexpectedRollbackException("Error while saving user");
         }
-        log.info("{} : user = {} persisted", requestService.requestToString(request), userUpdated.toString());
+        log.info("{} : user = {} persisted", requestService.describe(request), userUpdated);
         return "redirect:/user/list";
     }
 
     @GetMapping("/user/delete/{id}")
-    public String deleteUser(@PathVariable("id") Integer id, WebRequest request) throws UnexpectedRollbackException {
+    public String deleteUser(@PathVariable("id") Long id, WebRequest request) throws UnexpectedRollbackException {
         try {
             userService.deleteUserById(id);
         } catch (UnexpectedRollbackException urbe) {
-            log.error("{} : user = {} : {} ", requestService.requestToString(request), id, urbe.toString());
+            log.error("{} : user = {} : {} ", requestService.describe(request), id, urbe);
             throw new UnexpectedRollbackException("Error while deleting user");
         }
-        log.info("{} : user = {} deleted", requestService.requestToString(request), id);
+        log.info("{} : user = {} deleted", requestService.describe(request), id);
         return "redirect:/user/list";
     }
 }
@@ -1,17 +1,22 @@
 package com.poseidoninc.poseidon.controller.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.BatchProperties;
 import com.poseidoninc.poseidon.domain.BidList;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
 import com.poseidoninc.poseidon.service.BidListService;
 import com.poseidoninc.poseidon.service.RequestService;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.UnexpectedRollbackException;
@@ -20,8 +25,14 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ApiBidListController class represents the API endpoints (CRUD) for managing Bid List.
@@ -33,20 +44,61 @@ import java.util.Optional;
 @Slf4j
 @Validated //for constraints on PathVariable
 public class ApiBidListController {
+
+    /**
+     * not null columns allowed in sort request parameter, keyset predicate can't compare null values
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("account", "type");
 	
 	private final BidListService bidListService;
     private final RequestService requestService;
+    private final ScrollPositionService scrollPositionService;
+    private final ObjectMapper objectMapper;
+    private final BatchProperties batchProperties;
 
     @GetMapping("/api/bidList/list")
-    public ResponseEntity<Iterable<BidList>> getBidLists(WebRequest request) throws UnexpectedRollbackException {
-		Pageable pageRequest = Pageable.unpaged();
-        Page<BidList> pageBidList = bidListService.getBidLists(pageRequest); //throws UnexpectedRollbackException
-        log.info("{} : {} : bidLists page number : {} of {}",
-                requestService.requestToString(request),
+    public ResponseEntity<ApiWindow<BidList>> getBidLists(@RequestParam(name = "token", required = false) String token,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "sort", required = false) String sort,
+            WebRequest request) throws BadRequestException, UnexpectedRollbackException {
+        Sort keysetSort = scrollPositionService.getSort(sort, SORTABLE_PROPERTIES); //throws BadRequestException
+        ScrollPosition position = scrollPositionService.getScrollPosition(token, keysetSort, BidList.class); //throws BadRequestException
+        Window<BidList> windowBidList = bidListService.getBidLists(position, keysetSort, scrollPositionService.getLimit(size)); //throws UnexpectedRollbackException
+        log.info("{} : {} : bidLists window size : {} has next : {}",
+                requestService.describe(request),
                 ((ServletWebRequest) request).getHttpMethod(),
-                pageBidList.getNumber()+1,
-                pageBidList.getTotalPages());
-        return new ResponseEntity<>(pageBidList, HttpStatus.OK);
+                windowBidList.size(),
+                windowBidList.hasNext());
+        return new ResponseEntity<>(scrollPositionService.getApiWindow(windowBidList), HttpStatus.OK);
+    }
+
+    /**
+     * Streams all bidLists as newline delimited json, one bidList per line.
+     * Response is written asynchronously while rows are read, without loading the table in memory.
+     *
+     * @param request web request to log uri
+     * @return ResponseEntity with StreamingResponseBody
+     */
+    @GetMapping(value = "/api/bidList/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportBidLists(WebRequest request) {
+        String requestString = requestService.requestToString(request);
+        StreamingResponseBody responseBody = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                //don't close response output stream, don't separate root values with a space
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                long exported = bidListService.exportBidLists(bidList -> {
+                    try {
+                        generator.writeObject(bidList);
+                        generator.writeRaw('\n');
+                    } catch (IOException ioe) {
+                        throw new UncheckedIOException(ioe);
+                    }
+                }); //throws UnexpectedRollbackException
+                log.info("{} : {} exported", requestString, exported);
+            }
+        };
+        return new ResponseEntity<>(responseBody, HttpStatus.OK);
     }
 
     @PostMapping("/api/bidList/create")
@@ -55,14 +107,42 @@ public class ApiBidListController {
             throw new BadRequestException("Correct request should be a json BidList body");
 		}
         BidList bidListSaved = bidListService.saveBidList(optionalBidList.get());
-        log.info("{} : {} : bidList = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), bidListSaved.toString());
+        log.info("{} : {} : bidList = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), bidListSaved);
         return new ResponseEntity<>(bidListSaved, HttpStatus.OK);
     }
 
-    @GetMapping("/api/bidList/update/{id}")  //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public ResponseEntity<BidList> getBidListById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+    /**
+     * Creates (null id) or updates all bidLists of the json array in one transaction with JDBC batches.
+     * Each bidList is validated, array size is limited to poseidon.api.batch.max-size
+     *
+     * @param optionalBidLists json array of BidList
+     * @param request web request to log uri
+     * @return ResponseEntity with bidLists saved with their ids
+     */
+    @PostMapping("/api/bidList/batch")
+    public ResponseEntity<List<BidList>> saveBidLists(@RequestBody Optional<List<@Valid BidList>> optionalBidLists, WebRequest request) throws ConstraintViolationException, BadRequestException, UnexpectedRollbackException {
+        if (optionalBidLists.isEmpty() || optionalBidLists.get().isEmpty()) {
+            throw new BadRequestException("Correct request should be a json array of BidList body");
+        }
+        if (optionalBidLists.get().size() > batchProperties.getMaxSize()) {
+            throw new BadRequestException("Batch should have at most " + batchProperties.getMaxSize() + " bidLists");
+        }
+        long start = System.nanoTime();
+        List<BidList> bidListsSaved = bidListService.saveBidLists(optionalBidLists.get()); //throws UnexpectedRollbackException
+        long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+        log.info("{} : {} : {} bidLists persisted in {} ms ({} rows/s)",
+                requestService.describe(request),
+                ((ServletWebRequest) request).getHttpMethod(),
+                bidListsSaved.size(),
+                elapsedMillis,
+                bidListsSaved.size() * 1000L / elapsedMillis);
+        return new ResponseEntity<>(bidListsSaved, HttpStatus.OK);
+    }
+
+    @GetMapping("/api/bidList/update/{id}")
+    public ResponseEntity<BidList> getBidListById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
 		BidList bidList = bidListService.getBidListById(id); //Throws UnexpectedRollbackException
-        log.info("{} : {} : bidList = {} gotten",  requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), bidList.toString());
+        log.info("{} : {} : bidList = {} gotten",  requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), bidList);
         return new ResponseEntity<>(bidList, HttpStatus.OK);
     }
 
@@ -72,14 +152,14 @@ public class ApiBidListController {
             throw new BadRequestException("Correct request should be a json BidList body");
         }
         BidList bidListUpdated = bidListService.saveBidList(optionalBidList.get());
-        log.info("{} : {} : bidList = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), bidListUpdated.toString());
+        log.info("{} : {} : bidList = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), bidListUpdated);
         return new ResponseEntity<>(bidListUpdated, HttpStatus.OK);
     }
 
     @DeleteMapping("/api/bidList/delete/{id}")
-    public HttpStatus deleteBidListById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+    public HttpStatus deleteBidListById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
         bidListService.deleteBidListById(id); //Throws UnexpectedRollbackException
-        log.info("{} : {} : bidList = {} deleted",  requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), id);
+        log.info("{} : {} : bidList = {} deleted",  requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), id);
         return HttpStatus.OK;
     }   
 }
\ No newline at end of file
@@ -17,6 +17,8 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * ApiControlExceptionHandlerController class handles All Exception thrown by all classes annotated @RestController
  *
@@ -39,7 +41,7 @@ public class ApiControllerExceptionHandler {
 	public ResponseEntity<ApiError> methodArgumentNotValidException(MethodArgumentNotValidException manvex, WebRequest request) {
 		ApiError error = new ApiError(HttpStatus.BAD_REQUEST, manvex);
         log.error("{} : {} : {}",
-                requestService.requestToString(request),
+                requestService.describe(request),
                 ((ServletWebRequest) request).getHttpMethod(),
                 error.getMessage());
         return new ResponseEntity<>(error, error.getStatus());
@@ -55,7 +57,7 @@ public class ApiControllerExceptionHandler {
 	public ResponseEntity<ApiError> badRequestException(BadRequestException brex, WebRequest request) {
 		ApiError error = new ApiError(HttpStatus.BAD_REQUEST, brex);
         log.error("{} : {} : {}",
-                requestService.requestToString(request),
+                requestService.describe(request),
                 ((ServletWebRequest) request).getHttpMethod(),
                 error.getMessage());
         return new ResponseEntity<>(error, error.getStatus());
@@ -71,7 +73,7 @@ public class ApiControllerExceptionHandler {
 	public ResponseEntity<ApiError> constraintViolationException(ConstraintViolationException cve, WebRequest request) {
 		ApiError error = new ApiError(HttpStatus.BAD_REQUEST, cve);
 		log.error("{} : {} : {}",
-				requestService.requestToString(request),
+				requestService.describe(request),
 				((ServletWebRequest) request).getHttpMethod(),
 				error.getMessage());
 		return new ResponseEntity<>(error, error.getStatus());
@@ -90,13 +92,31 @@ public class ApiControllerExceptionHandler {
 	public ResponseEntity<ApiError> dataIntegrityViolationException(DataIntegrityViolationException dive, WebRequest request) {
 		ApiError error = new ApiError(HttpStatus.CONFLICT, dive);
 		log.error("{} : {} : {}",
-				requestService.requestToString(request),
+				requestService.describe(request),
 				((ServletWebRequest) request).getHttpMethod(),
 				error.getMessage());
 		return new ResponseEntity<>(error, error.getStatus());
 
 	}
 
+	/**
+	 * Handle RejectedExecutionException thrown by the password encoder when its pool is overloaded
+	 * @see com.poseidoninc.poseidon.security.BoundedPasswordEncoder
+	 *
+	 * @param ree the RejectedExecutionException
+	 * @param request web request to log uri
+	 * @return return a Service Unavailable ResponseEntity with ApiError in body
+	 */
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<ApiError> rejectedExecutionException(RejectedExecutionException ree, WebRequest request) {
+		ApiError error = new ApiError(HttpStatus.SERVICE_UNAVAILABLE, "Server busy, try again later");
+		log.error("{} : {} : {}",
+				requestService.describe(request),
+				((ServletWebRequest) request).getHttpMethod(),
+				ree.getMessage());
+		return new ResponseEntity<>(error, error.getStatus());
+	}
+
 	/**
 	 * Handle UnexpectedRollBackException thrown by services
 	 * @param urex the UnexpectedRollBackException
@@ -107,7 +127,7 @@ public class ApiControllerExceptionHandler {
 	public ResponseEntity<ApiError> unexpectedRollbackException(UnexpectedRollbackException urex, WebRequest request) {
 		ApiError error = new ApiError(HttpStatus.INTERNAL_SERVER_ERROR, urex);
 		log.error("{} : {} : {}",
-				requestService.requestToString(request),
+				requestService.describe(request),
 				((ServletWebRequest) request).getHttpMethod(),
 				error.getMessage());
 		return new ResponseEntity<>(error, error.getStatus());
@@ -122,7 +142,7 @@ public class ApiControllerExceptionHandler {
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ApiError> unexpectedException(Exception e, WebRequest request) {
 		log.error("{} : {} : {}",
-				requestService.requestToString(request),
+				requestService.describe(request),
 				((ServletWebRequest) request).getHttpMethod(),
 				e.getMessage());
 		ApiError error = new ApiError(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error");
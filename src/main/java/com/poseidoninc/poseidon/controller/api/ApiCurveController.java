@@ -1,9 +1,21 @@
 package com.poseidoninc.poseidon.controller.api;
 
+import com.poseidoninc.poseidon.configuration.BatchProperties;
+import com.poseidoninc.poseidon.configuration.CurveHistoryProperties;
+import com.poseidoninc.poseidon.curve.BootstrappedCurve;
+import com.poseidoninc.poseidon.curve.CurveHistory;
+import com.poseidoninc.poseidon.curve.CurveHistorySummary;
+import com.poseidoninc.poseidon.curve.CurveSnapshot;
+import com.poseidoninc.poseidon.curve.HistoricalCurve;
+import com.poseidoninc.poseidon.curve.InterpolatedCurve;
+import com.poseidoninc.poseidon.curve.Interpolation;
+import com.poseidoninc.poseidon.curve.InterpolationRequest;
 import com.poseidoninc.poseidon.domain.CurvePoint;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
 import com.poseidoninc.poseidon.service.CurvePointService;
 import com.poseidoninc.poseidon.service.RequestService;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
@@ -11,8 +23,10 @@ import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.UnexpectedRollbackException;
@@ -22,7 +36,13 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * ApiCurveController class represents the API endpoints (CRUD) for managing Curve Point.
@@ -35,19 +55,214 @@ import java.util.Optional;
 @Validated //for constraints on PathVariable
 public class ApiCurveController {
 
+    /**
+     * not null columns allowed in sort request parameter, keyset predicate can't compare null values
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("curveId");
+
 	private final CurvePointService curvePointService;
     private final RequestService requestService;
+    private final ScrollPositionService scrollPositionService;
+    private final BatchProperties batchProperties;
+    private final CurveHistoryProperties curveHistoryProperties;
 	
     @GetMapping("/api/curvePoint/list")
-    public ResponseEntity<Iterable<CurvePoint>> getCurvePoints(WebRequest request) throws UnexpectedRollbackException {
-		Pageable pageRequest = Pageable.unpaged();
-        Page<CurvePoint> pageCurvePoint = curvePointService.getCurvePoints(pageRequest); //throws UnexpectedRollbackException
-        log.info("{} : {} : curvePoints page number : {} of {}",
-                requestService.requestToString(request),
+    public ResponseEntity<ApiWindow<CurvePoint>> getCurvePoints(@RequestParam(name = "token", required = false) String token,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "sort", required = false) String sort,
+            WebRequest request) throws BadRequestException, UnexpectedRollbackException {
+        Sort keysetSort = scrollPositionService.getSort(sort, SORTABLE_PROPERTIES); //throws BadRequestException
+        ScrollPosition position = scrollPositionService.getScrollPosition(token, keysetSort, CurvePoint.class); //throws BadRequestException
+        Window<CurvePoint> windowCurvePoint = curvePointService.getCurvePoints(position, keysetSort, scrollPositionService.getLimit(size)); //throws UnexpectedRollbackException
+        log.info("{} : {} : curvePoints window size : {} has next : {}",
+                requestService.describe(request),
+                ((ServletWebRequest) request).getHttpMethod(),
+                windowCurvePoint.size(),
+                windowCurvePoint.hasNext());
+        return new ResponseEntity<>(scrollPositionService.getApiWindow(windowCurvePoint), HttpStatus.OK);
+    }
+
+    /**
+     * Gets all points of a curve in one query
+     *
+     * @param curveId the curve
+     * @param asOfDate ISO date time of the curve
+     * @param request web request to log uri
+     * @return ResponseEntity with points of the curve ordered by term, empty if the curve doesn't exist
+     */
+    @GetMapping("/api/curvePoint/curve/{curveId}")
+    public ResponseEntity<List<CurvePoint>> getCurve(@PathVariable("curveId") @Min(1) @Max(127) Integer curveId,
+            @RequestParam(name = "asOfDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOfDate,
+            WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+        List<CurvePoint> curve = curvePointService.getCurve(curveId, asOfDate); //throws UnexpectedRollbackException
+        log.info("{} : {} : curve = {} at {} gotten with {} points",
+                requestService.describe(request),
+                ((ServletWebRequest) request).getHttpMethod(),
+                curveId,
+                asOfDate,
+                curve.size());
+        return new ResponseEntity<>(curve, HttpStatus.OK);
+    }
+
+    /**
+     * Creates or updates the points of one curve in one transaction with JDBC batches, a point is identified by its term in the curve.
+     * Each point is validated, all points must have the same curveId and asOfDate and distinct terms,
+     * array size is limited to poseidon.api.batch.max-size
+     *
+     * @param optionalCurvePoints json array of CurvePoint
+     * @param request web request to log uri
+     * @return ResponseEntity with points saved with their ids ordered by term
+     */
+    @PutMapping("/api/curvePoint/curve")
+    public ResponseEntity<List<CurvePoint>> saveCurve(@RequestBody Optional<List<@Valid CurvePoint>> optionalCurvePoints, WebRequest request) throws ConstraintViolationException, BadRequestException, DataIntegrityViolationException, UnexpectedRollbackException {
+        if (optionalCurvePoints.isEmpty() || optionalCurvePoints.get().isEmpty()) {
+            throw new BadRequestException("Correct request should be a json array of CurvePoint body");
+        }
+        List<CurvePoint> curvePoints = optionalCurvePoints.get();
+        if (curvePoints.size() > batchProperties.getMaxSize()) {
+            throw new BadRequestException("Curve should have at most " + batchProperties.getMaxSize() + " points");
+        }
+        CurvePoint first = curvePoints.get(0);
+        Set<Double> terms = new HashSet<>();
+        for (CurvePoint curvePoint : curvePoints) {
+            if (!Objects.equals(curvePoint.getCurveId(), first.getCurveId()) || !Objects.equals(curvePoint.getAsOfDate(), first.getAsOfDate())) {
+                throw new BadRequestException("All points should have the same curveId and asOfDate");
+            }
+            if (curvePoint.getTerm() == null || !terms.add(curvePoint.getTerm())) {
+                throw new BadRequestException("Each point should have a distinct term");
+            }
+        }
+        List<CurvePoint> curveSaved = curvePointService.saveCurve(curvePoints); //Throws DataIntegrityViolationException, UnexpectedRollbackException
+        log.info("{} : {} : curve = {} at {} persisted with {} points",
+                requestService.describe(request),
+                ((ServletWebRequest) request).getHttpMethod(),
+                first.getCurveId(),
+                first.getAsOfDate(),
+                curveSaved.size());
+        return new ResponseEntity<>(curveSaved, HttpStatus.OK);
+    }
+
+    /**
+     * Interpolates the curve at all terms of the request, the curve is read once into a primitive snapshot.
+     * Number of terms is limited to poseidon.api.batch.max-size
+     *
+     * @param curveId the curve
+     * @param optionalInterpolationRequest json with asOfDate, method (LINEAR, LOG_LINEAR, MONOTONE_CUBIC) and terms array
+     * @param request web request to log uri
+     * @return ResponseEntity with values at the terms, in the same order
+     */
+    @PostMapping("/api/curvePoint/{curveId}/interpolate")
+    public ResponseEntity<InterpolatedCurve> interpolateCurve(@PathVariable("curveId") @Min(1) @Max(127) Integer curveId,
+            @RequestBody Optional<InterpolationRequest> optionalInterpolationRequest,
+            WebRequest request) throws ConstraintViolationException, BadRequestException, UnexpectedRollbackException {
+        if (optionalInterpolationRequest.isEmpty() || optionalInterpolationRequest.get().terms() == null || optionalInterpolationRequest.get().terms().length == 0) {
+            throw new BadRequestException("Correct request should be a json body with a terms array");
+        }
+        InterpolationRequest interpolationRequest = optionalInterpolationRequest.get();
+        if (interpolationRequest.terms().length > batchProperties.getMaxSize()) {
+            throw new BadRequestException("Interpolation should have at most " + batchProperties.getMaxSize() + " terms");
+        }
+        Interpolation method = Optional.ofNullable(interpolationRequest.method()).orElse(Interpolation.LINEAR);
+        CurveSnapshot curveSnapshot = curvePointService.getCurveSnapshot(curveId, interpolationRequest.asOfDate()); //throws UnexpectedRollbackException
+        if (curveSnapshot.isEmpty()) {
+            throw new BadRequestException("Curve " + curveId + " has no point");
+        }
+        double[] values = curveSnapshot.interpolate(interpolationRequest.terms(), method);
+        log.info("{} : {} : curve = {} at {} interpolated {} at {} terms",
+                requestService.describe(request),
+                ((ServletWebRequest) request).getHttpMethod(),
+                curveId,
+                interpolationRequest.asOfDate(),
+                method,
+                values.length);
+        return new ResponseEntity<>(new InterpolatedCurve(curveId, interpolationRequest.asOfDate(), method, interpolationRequest.terms(), values), HttpStatus.OK);
+    }
+
+    /**
+     * Gets the dates of a curve between from and to from the curve history, as of its last rebuild.
+     * Number of dates is limited to poseidon.curve.history.max-dates, checked before the dates are read
+     *
+     * @param curveId the curve
+     * @param from ISO date time of the first date included, absent from the first date of the curve
+     * @param to ISO date time of the last date included, absent up to the last date of the curve
+     * @param request web request to log uri
+     * @return ResponseEntity with the terms and values of the curve at each date, in date order
+     */
+    @GetMapping("/api/curvePoint/{curveId}/history")
+    public ResponseEntity<List<HistoricalCurve>> getCurveHistory(@PathVariable("curveId") @Min(1) @Max(127) Integer curveId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            WebRequest request) throws ConstraintViolationException, BadRequestException, UnexpectedRollbackException {
+        //counted by binary search before any snapshot is copied
+        if (curvePointService.countCurveHistory(curveId, from, to) > curveHistoryProperties.getMaxDates()) { //throws UnexpectedRollbackException
+            throw new BadRequestException("Curve history should have at most " + curveHistoryProperties.getMaxDates() + " dates, narrow from and to");
+        }
+        List<CurveSnapshot> curveHistory = curvePointService.getCurveHistory(curveId, from, to); //throws UnexpectedRollbackException
+        log.info("{} : {} : curve = {} history from {} to {} gotten with {} dates",
+                requestService.describe(request),
+                ((ServletWebRequest) request).getHttpMethod(),
+                curveId,
+                from,
+                to,
+                curveHistory.size());
+        return new ResponseEntity<>(curveHistory.stream().map(HistoricalCurve::of).toList(), HttpStatus.OK);
+    }
+
+    /**
+     * Rebuilds the curve history from the database and saves its segment file, for an ADMIN
+     *
+     * @param request web request to log uri
+     * @return ResponseEntity with the number of curves, dates and points of the new history
+     */
+    @PostMapping("/admin/curvePoint/history")
+    public ResponseEntity<CurveHistorySummary> rebuildCurveHistory(WebRequest request) throws UnexpectedRollbackException {
+        CurveHistory curveHistory = curvePointService.rebuildCurveHistory(); //throws UnexpectedRollbackException
+        CurveHistorySummary curveHistorySummary = CurveHistorySummary.of(curveHistory);
+        log.info("{} : {} : curve history rebuilt : {}",
+                requestService.describe(request),
+                ((ServletWebRequest) request).getHttpMethod(),
+                curveHistorySummary);
+        return new ResponseEntity<>(curveHistorySummary, HttpStatus.OK);
+    }
+
+    /**
+     * Bootstraps zero rates and discount factors of all curves dated on the day, in parallel, for an ADMIN
+     *
+     * @param day ISO date of the curves
+     * @param request web request to log uri
+     * @return ResponseEntity with the bootstrapped curves ordered by (CurveId, asOfDate)
+     */
+    @PostMapping("/admin/curvePoint/bootstrap")
+    public ResponseEntity<List<BootstrappedCurve>> bootstrapCurves(@RequestParam(name = "day") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            WebRequest request) throws UnexpectedRollbackException {
+        List<BootstrappedCurve> bootstrappedCurves = curvePointService.bootstrapCurves(day); //throws UnexpectedRollbackException
+        log.info("{} : {} : {} curves of {} bootstrapped",
+                requestService.describe(request),
+                ((ServletWebRequest) request).getHttpMethod(),
+                bootstrappedCurves.size(),
+                day);
+        return new ResponseEntity<>(bootstrappedCurves, HttpStatus.OK);
+    }
+
+    /**
+     * Gets the zero rates and discount factors of a curve stored by the last bootstrap of its day
+     *
+     * @param curveId the curve
+     * @param asOfDate ISO date time of the curve
+     * @param request web request to log uri
+     * @return ResponseEntity with the bootstrapped curve
+     */
+    @GetMapping("/api/curvePoint/{curveId}/bootstrapped")
+    public ResponseEntity<BootstrappedCurve> getBootstrappedCurve(@PathVariable("curveId") @Min(1) @Max(127) Integer curveId,
+            @RequestParam(name = "asOfDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOfDate,
+            WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+        BootstrappedCurve bootstrappedCurve = curvePointService.getBootstrappedCurve(curveId, asOfDate); //throws UnexpectedRollbackException
+        log.info("{} : {} : bootstrapped curve = {} at {} gotten",
+                requestService.describe(request),
                 ((ServletWebRequest) request).getHttpMethod(),
-                pageCurvePoint.getNumber()+1,
-                pageCurvePoint.getTotalPages());
-        return new ResponseEntity<>(pageCurvePoint, HttpStatus.OK);
+                curveId,
+                asOfDate);
+        return new ResponseEntity<>(bootstrappedCurve, HttpStatus.OK);
     }
 
     @PostMapping("/api/curvePoint/create")
@@ -56,14 +271,14 @@ public class ApiCurveController {
             throw new BadRequestException("Correct request should be a json CurvePoint body");
         }
         CurvePoint curvePointSaved = curvePointService.saveCurvePoint(optionalCurvePoint.get()); //Throws DataIntegrityViolationException, UnexpectedRollbackException
-        log.info("{} : {} : curvePoint = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), curvePointSaved.toString());
+        log.info("{} : {} : curvePoint = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), curvePointSaved);
 		return new ResponseEntity<>(curvePointSaved, HttpStatus.OK);
     }
 
-    @GetMapping("/api/curvePoint/update/{id}") //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public ResponseEntity<CurvePoint> getCurvePointById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+    @GetMapping("/api/curvePoint/update/{id}")
+    public ResponseEntity<CurvePoint> getCurvePointById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
     	CurvePoint curvePoint = curvePointService.getCurvePointById(id);
-        log.info("{} : {} : curvePoint = {} gotten",  requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), curvePoint.toString());
+        log.info("{} : {} : curvePoint = {} gotten",  requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), curvePoint);
         return new ResponseEntity<>(curvePoint, HttpStatus.OK);
     }
 
@@ -73,14 +288,14 @@ public class ApiCurveController {
             throw new BadRequestException("Correct request should be a json CurvePoint body");
         }
         CurvePoint curvePointUpdated = curvePointService.saveCurvePoint(optionalCurvePoint.get()); //Throws DataIntegrityViolationException, UnexpectedRollbackException
-        log.info("{} : {} : curvePoint = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), curvePointUpdated.toString());
+        log.info("{} : {} : curvePoint = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), curvePointUpdated);
         return new ResponseEntity<>(curvePointUpdated, HttpStatus.OK);
     }
 
-    @DeleteMapping("/api/curvePoint/delete/{id}") //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public HttpStatus deleteCurvePointById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+    @DeleteMapping("/api/curvePoint/delete/{id}")
+    public HttpStatus deleteCurvePointById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
         curvePointService.deleteCurvePointById(id);
-        log.info("{} : {} : curvePoint = {} deleted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), id);
+        log.info("{} : {} : curvePoint = {} deleted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), id);
         return HttpStatus.OK;
     }
 }
\ No newline at end of file
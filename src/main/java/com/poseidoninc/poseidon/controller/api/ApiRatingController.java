@@ -2,16 +2,18 @@ package com.poseidoninc.poseidon.controller.api;
 
 import com.poseidoninc.poseidon.domain.Rating;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
 import com.poseidoninc.poseidon.service.RatingService;
 import com.poseidoninc.poseidon.service.RequestService;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.UnexpectedRollbackException;
@@ -22,6 +24,7 @@ import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * ApiRatingController class represents the API endpoints (CRUD) for managing Rating.
@@ -33,20 +36,30 @@ import java.util.Optional;
 @Slf4j
 @Validated //for constraints on PathVariable
 public class ApiRatingController {
+
+    /**
+     * no not null column to sort on except primary key, keyset predicate can't compare null values
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of();
     
 	private final RatingService ratingService;
     private final RequestService requestService;
+    private final ScrollPositionService scrollPositionService;
 
     @GetMapping("/api/rating/list")
-    public ResponseEntity<Iterable<Rating>> getRatings(WebRequest request) throws UnexpectedRollbackException {
-		Pageable pageRequest = Pageable.unpaged();
-        Page<Rating> pageRating = ratingService.getRatings(pageRequest); //throws UnexpectedRollbackException
-        log.info("{} : {} : ratings page number : {} of {}",
-                requestService.requestToString(request),
+    public ResponseEntity<ApiWindow<Rating>> getRatings(@RequestParam(name = "token", required = false) String token,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "sort", required = false) String sort,
+            WebRequest request) throws BadRequestException, UnexpectedRollbackException {
+        Sort keysetSort = scrollPositionService.getSort(sort, SORTABLE_PROPERTIES); //throws BadRequestException
+        ScrollPosition position = scrollPositionService.getScrollPosition(token, keysetSort, Rating.class); //throws BadRequestException
+        Window<Rating> windowRating = ratingService.getRatings(position, keysetSort, scrollPositionService.getLimit(size)); //throws UnexpectedRollbackException
+        log.info("{} : {} : ratings window size : {} has next : {}",
+                requestService.describe(request),
                 ((ServletWebRequest) request).getHttpMethod(),
-                pageRating.getNumber()+1,
-                pageRating.getTotalPages());
-		return new ResponseEntity<>(pageRating, HttpStatus.OK);
+                windowRating.size(),
+                windowRating.hasNext());
+        return new ResponseEntity<>(scrollPositionService.getApiWindow(windowRating), HttpStatus.OK);
     }
 
     @PostMapping("/api/rating/create")
@@ -55,14 +68,14 @@ public class ApiRatingController {
             throw new BadRequestException("Correct request should be a json Rating body");
 		}
         Rating ratingSaved = ratingService.saveRating(optionalRating.get());
-        log.info("{} : {} : rating = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), ratingSaved.toString());
+        log.info("{} : {} : rating = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), ratingSaved);
         return new ResponseEntity<>(ratingSaved, HttpStatus.OK);
     }
 
-    @GetMapping("/api/rating/update/{id}") //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public ResponseEntity<Rating> getRatingById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request)  throws ConstraintViolationException, UnexpectedRollbackException {
+    @GetMapping("/api/rating/update/{id}")
+    public ResponseEntity<Rating> getRatingById(@PathVariable("id") @Min(1) Long id, WebRequest request)  throws ConstraintViolationException, UnexpectedRollbackException {
         Rating rating = ratingService.getRatingById(id);
-        log.info("{} : {} : rating = {} gotten", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), rating.toString());
+        log.info("{} : {} : rating = {} gotten", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), rating);
         return new ResponseEntity<>(rating, HttpStatus.OK);
     }
 
@@ -72,14 +85,14 @@ public class ApiRatingController {
             throw new BadRequestException("Correct request should be a json Rating body");
         }
         Rating ratingUpdated = ratingService.saveRating(optionalRating.get());
-        log.info("{} : {} : rating = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), ratingUpdated.toString());
+        log.info("{} : {} : rating = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), ratingUpdated);
         return new ResponseEntity<>(ratingUpdated, HttpStatus.OK);
     }
 
-    @DeleteMapping("/api/rating/delete/{id}") //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public HttpStatus deleteRatingById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+    @DeleteMapping("/api/rating/delete/{id}")
+    public HttpStatus deleteRatingById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
         ratingService.deleteRatingById(id);
-        log.info("{} : {} : rating = {} deleted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), id);
+        log.info("{} : {} : rating = {} deleted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), id);
         return HttpStatus.OK;
     }
 }
\ No newline at end of file
@@ -2,16 +2,18 @@ package com.poseidoninc.poseidon.controller.api;
 
 import com.poseidoninc.poseidon.domain.RuleName;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
 import com.poseidoninc.poseidon.service.RequestService;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
 import com.poseidoninc.poseidon.service.RuleNameService;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.UnexpectedRollbackException;
@@ -22,6 +24,7 @@ import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * ApiRuleNameController class represents the API endpoints (CRUD) for managing RuleName.
@@ -33,20 +36,30 @@ import java.util.Optional;
 @Slf4j
 @Validated //for constraints on PathVariable
 public class ApiRuleNameController {
+
+    /**
+     * no not null column to sort on except primary key, keyset predicate can't compare null values
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of();
 	
 	private final RuleNameService ruleNameService;
     private final RequestService requestService;
+    private final ScrollPositionService scrollPositionService;
 
     @GetMapping("/api/ruleName/list")
-    public ResponseEntity<Iterable<RuleName>> getRuleNames(WebRequest request) throws UnexpectedRollbackException {
-		Pageable pageRequest = Pageable.unpaged();
-        Page<RuleName> pageRuleName = ruleNameService.getRuleNames(pageRequest);
-        log.info("{} : {} : ruleNames page number : {} of {}",
-                requestService.requestToString(request),
+    public ResponseEntity<ApiWindow<RuleName>> getRuleNames(@RequestParam(name = "token", required = false) String token,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "sort", required = false) String sort,
+            WebRequest request) throws BadRequestException, UnexpectedRollbackException {
+        Sort keysetSort = scrollPositionService.getSort(sort, SORTABLE_PROPERTIES); //throws BadRequestException
+        ScrollPosition position = scrollPositionService.getScrollPosition(token, keysetSort, RuleName.class); //throws BadRequestException
+        Window<RuleName> windowRuleName = ruleNameService.getRuleNames(position, keysetSort, scrollPositionService.getLimit(size)); //throws UnexpectedRollbackException
+        log.info("{} : {} : ruleNames window size : {} has next : {}",
+                requestService.describe(request),
                 ((ServletWebRequest) request).getHttpMethod(),
-                pageRuleName.getNumber()+1,
-                pageRuleName.getTotalPages());
-       return new ResponseEntity<>(pageRuleName, HttpStatus.OK);
+                windowRuleName.size(),
+                windowRuleName.hasNext());
+        return new ResponseEntity<>(scrollPositionService.getApiWindow(windowRuleName), HttpStatus.OK);
     }
 
     @PostMapping("/api/ruleName/create")
@@ -55,14 +68,14 @@ public class ApiRuleNameController {
             throw new BadRequestException("Correct request should be a json RuleName body");
         }
         RuleName ruleNameSaved = ruleNameService.saveRuleName(optionalRuleName.get());
-        log.info("{} : {} : ruleName = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), ruleNameSaved.toString());
+        log.info("{} : {} : ruleName = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), ruleNameSaved);
 		return new ResponseEntity<>(ruleNameSaved, HttpStatus.OK);
     }
 
-    @GetMapping("/api/ruleName/update/{id}") //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public ResponseEntity<RuleName> getRuleNameById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException{
+    @GetMapping("/api/ruleName/update/{id}")
+    public ResponseEntity<RuleName> getRuleNameById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException{
         RuleName ruleName = ruleNameService.getRuleNameById(id);
-        log.info("{} : {} : ruleName = {} gotten",  requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), ruleName.toString());
+        log.info("{} : {} : ruleName = {} gotten",  requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), ruleName);
         return new ResponseEntity<>(ruleName, HttpStatus.OK);
     }
 
@@ -72,14 +85,14 @@ public class ApiRuleNameController {
             throw new BadRequestException("Correct request should be a json RuleName body");
         }
         RuleName ruleNameUpdated = ruleNameService.saveRuleName(optionalRuleName.get());
-        log.info("{} : {} : ruleName = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), ruleNameUpdated.toString());
+        log.info("{} : {} : ruleName = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), ruleNameUpdated);
         return new ResponseEntity<>(ruleNameUpdated, HttpStatus.OK);
     }
 
-    @DeleteMapping("/api/ruleName/delete/{id}") //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public HttpStatus deleteRuleNameById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+    @DeleteMapping("/api/ruleName/delete/{id}")
+    public HttpStatus deleteRuleNameById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
         ruleNameService.deleteRuleNameById(id);
-        log.info("{} : {} : ruleName = {} deleted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), id);
+        log.info("{} : {} : ruleName = {} deleted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), id);
         return HttpStatus.OK;
     }   
 }
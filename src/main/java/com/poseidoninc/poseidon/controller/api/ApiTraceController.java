@@ -0,0 +1,45 @@
+package com.poseidoninc.poseidon.controller.api;
+
+import com.poseidoninc.poseidon.service.RequestService;
+import com.poseidoninc.poseidon.tracing.Trace;
+import com.poseidoninc.poseidon.tracing.TraceRecorder;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * ApiTraceController class represents the admin endpoint of the slowest recent requests, broken down by phase.
+ *
+ * @see TraceRecorder
+ *
+ * @author olivier morel
+ */
+@RestController
+@AllArgsConstructor
+@Slf4j
+@Validated //for constraints on RequestParam
+public class ApiTraceController {
+
+    private final TraceRecorder traceRecorder;
+    private final RequestService requestService;
+
+    @GetMapping("/admin/traces")
+    public ResponseEntity<List<Trace>> getSlowestTraces(@RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(100) int limit,
+            WebRequest request) throws ConstraintViolationException {
+        List<Trace> traces = traceRecorder.getSlowestTraces(limit);
+        log.info("{} : {} : {} slowest traces", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), traces.size());
+        return new ResponseEntity<>(traces, HttpStatus.OK);
+    }
+}
@@ -1,17 +1,22 @@
 package com.poseidoninc.poseidon.controller.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.BatchProperties;
 import com.poseidoninc.poseidon.domain.Trade;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
 import com.poseidoninc.poseidon.service.RequestService;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
 import com.poseidoninc.poseidon.service.TradeService;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.UnexpectedRollbackException;
@@ -20,8 +25,14 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ApiTradeController class represents the API endpoints (CRUD) for managing Trade.
@@ -33,20 +44,61 @@ import java.util.Optional;
 @Slf4j
 @Validated //for constraints on PathVariable
 public class ApiTradeController {
+
+    /**
+     * not null columns allowed in sort request parameter, keyset predicate can't compare null values
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("account", "type");
 	
 	private final TradeService tradeService;
     private final RequestService requestService;
+    private final ScrollPositionService scrollPositionService;
+    private final ObjectMapper objectMapper;
+    private final BatchProperties batchProperties;
 
     @GetMapping("/api/trade/list")
-    public ResponseEntity<Iterable<Trade>> getTrades(WebRequest request) throws UnexpectedRollbackException {
-		Pageable pageRequest = Pageable.unpaged();
-        Page<Trade> pageTrade = tradeService.getTrades(pageRequest);
-        log.info("{} : {} : trades page number : {} of {}",
-                requestService.requestToString(request),
+    public ResponseEntity<ApiWindow<Trade>> getTrades(@RequestParam(name = "token", required = false) String token,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "sort", required = false) String sort,
+            WebRequest request) throws BadRequestException, UnexpectedRollbackException {
+        Sort keysetSort = scrollPositionService.getSort(sort, SORTABLE_PROPERTIES); //throws BadRequestException
+        ScrollPosition position = scrollPositionService.getScrollPosition(token, keysetSort, Trade.class); //throws BadRequestException
+        Window<Trade> windowTrade = tradeService.getTrades(position, keysetSort, scrollPositionService.getLimit(size)); //throws UnexpectedRollbackException
+        log.info("{} : {} : trades window size : {} has next : {}",
+                requestService.describe(request),
                 ((ServletWebRequest) request).getHttpMethod(),
-                pageTrade.getNumber()+1,
-                pageTrade.getTotalPages());
-        return new ResponseEntity<>(pageTrade, HttpStatus.OK);
+                windowTrade.size(),
+                windowTrade.hasNext());
+        return new ResponseEntity<>(scrollPositionService.getApiWindow(windowTrade), HttpStatus.OK);
+    }
+
+    /**
+     * Streams all trades as newline delimited json, one trade per line.
+     * Response is written asynchronously while rows are read, without loading the table in memory.
+     *
+     * @param request web request to log uri
+     * @return ResponseEntity with StreamingResponseBody
+     */
+    @GetMapping(value = "/api/trade/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTrades(WebRequest request) {
+        String requestString = requestService.requestToString(request);
+        StreamingResponseBody responseBody = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                //don't close response output stream, don't separate root values with a space
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                long exported = tradeService.exportTrades(trade -> {
+                    try {
+                        generator.writeObject(trade);
+                        generator.writeRaw('\n');
+                    } catch (IOException ioe) {
+                        throw new UncheckedIOException(ioe);
+                    }
+                }); //throws UnexpectedRollbackException
+                log.info("{} : {} exported", requestString, exported);
+            }
+        };
+        return new ResponseEntity<>(responseBody, HttpStatus.OK);
     }
 
     @PostMapping("/api/trade/create")
@@ -55,14 +107,42 @@ public class ApiTradeController {
             throw new BadRequestException("Correct request should be a json Trade body");
         }
         Trade tradeSaved = tradeService.saveTrade(optionalTrade.get());
-        log.info("{} : {} : trade = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), tradeSaved.toString());
+        log.info("{} : {} : trade = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), tradeSaved);
         return new ResponseEntity<>(tradeSaved, HttpStatus.OK);
     }
 
-    @GetMapping("/api/trade/update/{id}") //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public ResponseEntity<Trade> getTradeById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+    /**
+     * Creates (null id) or updates all trades of the json array in one transaction with JDBC batches.
+     * Each trade is validated, array size is limited to poseidon.api.batch.max-size
+     *
+     * @param optionalTrades json array of Trade
+     * @param request web request to log uri
+     * @return ResponseEntity with trades saved with their ids
+     */
+    @PostMapping("/api/trade/batch")
+    public ResponseEntity<List<Trade>> saveTrades(@RequestBody Optional<List<@Valid Trade>> optionalTrades, WebRequest request) throws ConstraintViolationException, BadRequestException, UnexpectedRollbackException {
+        if (optionalTrades.isEmpty() || optionalTrades.get().isEmpty()) {
+            throw new BadRequestException("Correct request should be a json array of Trade body");
+        }
+        if (optionalTrades.get().size() > batchProperties.getMaxSize()) {
+            throw new BadRequestException("Batch should have at most " + batchProperties.getMaxSize() + " trades");
+        }
+        long start = System.nanoTime();
+        List<Trade> tradesSaved = tradeService.saveTrades(optionalTrades.get()); //throws UnexpectedRollbackException
+        long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+        log.info("{} : {} : {} trades persisted in {} ms ({} rows/s)",
+                requestService.describe(request),
+                ((ServletWebRequest) request).getHttpMethod(),
+                tradesSaved.size(),
+                elapsedMillis,
+                tradesSaved.size() * 1000L / elapsedMillis);
+        return new ResponseEntity<>(tradesSaved, HttpStatus.OK);
+    }
+
+    @GetMapping("/api/trade/update/{id}")
+    public ResponseEntity<Trade> getTradeById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
         Trade trade = tradeService.getTradeById(id);
-        log.info("{} : {} : trade = {} gotten",  requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), trade.toString());
+        log.info("{} : {} : trade = {} gotten",  requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), trade);
         return new ResponseEntity<>(trade, HttpStatus.OK);
     }
 
@@ -72,14 +152,14 @@ public class ApiTradeController {
             throw new BadRequestException("Correct request should be a json Trade body");
         }
         Trade tradeUpdated = tradeService.saveTrade(optionalTrade.get());
-        log.info("{} : {} : trade = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), tradeUpdated.toString());
+        log.info("{} : {} : trade = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), tradeUpdated);
         return new ResponseEntity<>(tradeUpdated, HttpStatus.OK);
     }
 
-    @DeleteMapping("/api/trade/delete/{id}") //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public  HttpStatus deleteTradeById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+    @DeleteMapping("/api/trade/delete/{id}")
+    public  HttpStatus deleteTradeById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
         tradeService.deleteTradeById(id);
-        log.info("{} : {} : trade = {} deleted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), id);
+        log.info("{} : {} : trade = {} deleted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), id);
         return HttpStatus.OK;
     }   
 }
@@ -1,18 +1,23 @@
 package com.poseidoninc.poseidon.controller.api;
 
+import com.poseidoninc.poseidon.configuration.BatchProperties;
 import com.poseidoninc.poseidon.domain.User;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
+import com.poseidoninc.poseidon.service.PasswordValidationService;
 import com.poseidoninc.poseidon.service.RequestService;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
 import com.poseidoninc.poseidon.service.UserService;
+import com.poseidoninc.poseidon.validator.PasswordCheck;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.UnexpectedRollbackException;
@@ -22,7 +27,10 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ApiUserController class represents the API endpoints (CRUD) for managing User.
@@ -35,19 +43,31 @@ import java.util.Optional;
 @Validated //for constraints on PathVariable
 public class ApiUserController {
 
+    /**
+     * not null columns allowed in sort request parameter, keyset predicate can't compare null values
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("username");
+
     private final UserService userService;
     private final RequestService requestService;
+    private final ScrollPositionService scrollPositionService;
+    private final PasswordValidationService passwordValidationService;
+    private final BatchProperties batchProperties;
 
     @GetMapping("/api/user/list")
-    public ResponseEntity<Iterable<User>> getUsers(WebRequest request) throws UnexpectedRollbackException {
-        Pageable pageRequest = Pageable.unpaged();
-        Page<User> pageUser = userService.getUsers(pageRequest); //throws UnexpectedRollbackException
-        log.info("{} : {} : users page number : {} of {}",
-                requestService.requestToString(request),
+    public ResponseEntity<ApiWindow<User>> getUsers(@RequestParam(name = "token", required = false) String token,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "sort", required = false) String sort,
+            WebRequest request) throws BadRequestException, UnexpectedRollbackException {
+        Sort keysetSort = scrollPositionService.getSort(sort, SORTABLE_PROPERTIES); //throws BadRequestException
+        ScrollPosition position = scrollPositionService.getScrollPosition(token, keysetSort, User.class); //throws BadRequestException
+        Window<User> windowUser = userService.getUsers(position, keysetSort, scrollPositionService.getLimit(size)); //throws UnexpectedRollbackException
+        log.info("{} : {} : users window size : {} has next : {}",
+                requestService.describe(request),
                 ((ServletWebRequest) request).getHttpMethod(),
-                pageUser.getNumber()+1,
-                pageUser.getTotalPages());
-        return new ResponseEntity<>(pageUser, HttpStatus.OK);
+                windowUser.size(),
+                windowUser.hasNext());
+        return new ResponseEntity<>(scrollPositionService.getApiWindow(windowUser), HttpStatus.OK);
     }
 
     @PostMapping("/api/user/create")
@@ -56,14 +76,38 @@ public class ApiUserController {
             throw new BadRequestException("Correct request should be a json User body");
         }
         User userSaved = userService.saveUser(optionalUser.get()); //Throws DataIntegrityViolationException, UnexpectedRollbackException
-        log.info("{} : {} : user = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), userSaved.toString());
+        log.info("{} : {} : user = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), userSaved);
         return new ResponseEntity<>(userSaved, HttpStatus.OK);
     }
 
-    @GetMapping("/api/user/update/{id}") //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public ResponseEntity<User> getUserById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+    /**
+     * Checks all candidate passwords of the json array against the password policy, array size is limited to poseidon.api.batch.max-size
+     * Checks are in the order of the array, passwords are neither echoed nor logged.
+     */
+    @PostMapping("/api/user/password/validate")
+    public ResponseEntity<List<PasswordCheck>> validatePasswords(@RequestBody Optional<List<String>> optionalPasswords, WebRequest request) throws BadRequestException {
+        if (optionalPasswords.isEmpty() || optionalPasswords.get().isEmpty()) {
+            throw new BadRequestException("Correct request should be a json array of passwords");
+        }
+        if (optionalPasswords.get().size() > batchProperties.getMaxSize()) {
+            throw new BadRequestException("Batch should have at most " + batchProperties.getMaxSize() + " passwords");
+        }
+        long start = System.nanoTime();
+        List<PasswordCheck> passwordChecks = passwordValidationService.checkPasswords(optionalPasswords.get());
+        long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+        log.info("{} : {} : {} passwords checked, {} valid, in {} ms",
+                requestService.describe(request),
+                ((ServletWebRequest) request).getHttpMethod(),
+                passwordChecks.size(),
+                passwordChecks.stream().filter(PasswordCheck::valid).count(),
+                elapsedMillis);
+        return new ResponseEntity<>(passwordChecks, HttpStatus.OK);
+    }
+
+    @GetMapping("/api/user/update/{id}")
+    public ResponseEntity<User> getUserById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
         User user = userService.getUserByIdWithBlankPasswd(id); //Throws UnexpectedRollbackException
-        log.info("{} : {} : user = {} gotten",  requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), user.toString());
+        log.info("{} : {} : user = {} gotten",  requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), user);
         return new ResponseEntity<>(user, HttpStatus.OK);
     }
 
@@ -73,14 +117,14 @@ public class ApiUserController {
             throw new BadRequestException("Correct request should be a json User body");
         }
         User userUpdated = userService.saveUser(optionalUser.get()); //Throws DataIntegrityViolationException, UnexpectedRollbackException
-        log.info("{} : {} : user = {} persisted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), userUpdated.toString());
+        log.info("{} : {} : user = {} persisted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), userUpdated);
         return new ResponseEntity<>(userUpdated, HttpStatus.OK);
     }
 
-    @DeleteMapping("/api/user/delete/{id}") //SQL tinyint(4) = -128 to 127 so 1 to 127 for id
-    public HttpStatus deleteUserById(@PathVariable("id") @Min(1) @Max(127) Integer id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
+    @DeleteMapping("/api/user/delete/{id}")
+    public HttpStatus deleteUserById(@PathVariable("id") @Min(1) Long id, WebRequest request) throws ConstraintViolationException, UnexpectedRollbackException {
         userService.deleteUserById(id); //Throws UnexpectedRollbackException
-        log.info("{} : {} : user = {} deleted", requestService.requestToString(request), ((ServletWebRequest) request).getHttpMethod(), id);
+        log.info("{} : {} : user = {} deleted", requestService.describe(request), ((ServletWebRequest) request).getHttpMethod(), id);
         return HttpStatus.OK;
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.poseidoninc.poseidon.curve;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Zero rates and discount factors of a curve, from the discount factors bootstrapped from its par rates by its CurveSnapshot,
+ * the ones LOG_LINEAR interpolates. Arrays are copied by the accessors, so callers can't change a stored curve.
+ *
+ * @param curveId the curve
+ * @param asOfDate the date of the curve
+ * @param terms ordered positive terms, in years
+ * @param zeroRates continuously compounded zero rates, in the order of the terms
+ * @param discountFactors discount factors, in the order of the terms
+ *
+ * @author olivier morel
+ */
+public record BootstrappedCurve(Integer curveId, LocalDateTime asOfDate, double[] terms, double[] zeroRates, double[] discountFactors) {
+
+	/**
+	 * Terms up to 0 are ignored.
+	 *
+	 * @param curveSnapshot the curve, values as decimal par rates (see CurvePoint value)
+	 * @return zero rates and discount factors at the positive terms of the curve, NaN zero rates after a discount factor not positive
+	 */
+	public static BootstrappedCurve of(CurveSnapshot curveSnapshot) {
+		double[] terms = curveSnapshot.terms;
+		//the bootstrap of the curve runs here, on the thread building the BootstrappedCurve
+		CurveSnapshot.DiscountCurve discountCurve = curveSnapshot.discountCurve();
+		int first = 0;
+		while (first < terms.length && terms[first] <= 0) {
+			first++;
+		}
+		int size = terms.length - first;
+		double[] zeroRates = new double[size];
+		for (int i = 0; i < size; i++) {
+			zeroRates[i] = -discountCurve.logDiscountFactors()[first + i] / terms[first + i];
+		}
+		return new BootstrappedCurve(curveSnapshot.getCurveId(), curveSnapshot.getAsOfDate(), Arrays.copyOfRange(terms, first, terms.length),
+				zeroRates, Arrays.copyOfRange(discountCurve.discountFactors(), first, terms.length));
+	}
+
+	/**
+	 * @return a copy of the terms
+	 */
+	@Override
+	public double[] terms() {
+		return terms.clone();
+	}
+
+	/**
+	 * @return a copy of the zero rates
+	 */
+	@Override
+	public double[] zeroRates() {
+		return zeroRates.clone();
+	}
+
+	/**
+	 * @return a copy of the discount factors
+	 */
+	@Override
+	public double[] discountFactors() {
+		return discountFactors.clone();
+	}
+}
@@ -0,0 +1,228 @@
+package com.poseidoninc.poseidon.curve;
+
+import com.poseidoninc.poseidon.configuration.CurveBootstrapProperties;
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import com.poseidoninc.poseidon.repository.CurvePointRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * End of day job bootstrapping the zero rates and discount factors of all curves of a day.
+ * The curves are read in one streamed scan of the curve index, then bootstrapped in parallel on a dedicated fork-join pool,
+ * each curve by one task, and stored in memory by (CurveId, asOfDate) for reads without computation.
+ * A curve bootstrapped again replaces the previous result, curves of other days are kept.
+ * A write of a curve removes it after the commit, it is read as not bootstrapped until the next run of its day.
+ * @see BootstrappedCurve
+ *
+ * @author olivier morel
+ */
+@Component
+@Slf4j
+public class CurveBootstrapJob implements AutoCloseable {
+
+	/*
+	 * curves bootstrapped by a task without splitting : a curve takes microseconds, less than a fork
+	 */
+	private static final int CURVES_PER_TASK = 8;
+
+	private final CurvePointRepository curvePointRepository;
+
+	private final EntityManager entityManager;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ForkJoinPool forkJoinPool;
+
+	//one run at a time, a second run waits for the scan and the bootstrap of the first one
+	private final ReentrantLock runLock = new ReentrantLock();
+
+	private final ConcurrentMap<CurveKey, BootstrappedCurve> bootstrappedCurves = new ConcurrentHashMap<>();
+
+	/*
+	 * sequence of the last write of curves written since the start of the run, a run doesn't keep a curve written after it started its scan
+	 */
+	private final AtomicLong writes = new AtomicLong();
+
+	private final ConcurrentMap<CurveKey, Long> lastWrites = new ConcurrentHashMap<>();
+
+	public CurveBootstrapJob(CurvePointRepository curvePointRepository, EntityManager entityManager,
+			PlatformTransactionManager transactionManager, CurveBootstrapProperties curveBootstrapProperties) {
+		this.curvePointRepository = curvePointRepository;
+		this.entityManager = entityManager;
+		//not read only : curves written at end of day may not be on the replica yet
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.forkJoinPool = new ForkJoinPool(curveBootstrapProperties.getParallelism(), pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("curve-bootstrap-" + threadNumber.incrementAndGet());
+			return thread;
+		}, null, false);
+	}
+
+	/**
+	 * Bootstraps all curves dated on the day then stores them
+	 *
+	 * @param day the day of the curves
+	 * @return the bootstrapped curves ordered by (CurveId, asOfDate)
+	 */
+	public List<BootstrappedCurve> run(LocalDate day) {
+		runLock.lock();
+		try {
+			long start = System.nanoTime();
+			long startWrite = writes.get();
+			List<CurveSnapshot> curves = transactionTemplate.execute(status -> readCurves(day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+			long read = System.nanoTime();
+			List<BootstrappedCurve> bootstrapped = bootstrapAll(curves, forkJoinPool);
+			bootstrapped.forEach(curve -> {
+				CurveKey key = new CurveKey(curve.curveId(), curve.asOfDate());
+				bootstrappedCurves.put(key, curve);
+				//checked after the put : a write invalidating the curve before it is removed here, after it removes the curve itself
+				if (lastWrites.getOrDefault(key, 0L) > startWrite) {
+					bootstrappedCurves.remove(key, curve);
+				}
+			});
+			lastWrites.values().removeIf(write -> write <= startWrite);
+			log.info("{} curves of {} bootstrapped on {} threads : read in {} ms, bootstrapped in {} ms",
+					bootstrapped.size(), day, forkJoinPool.getParallelism(), (read - start) / 1_000_000, (System.nanoTime() - read) / 1_000_000);
+			return bootstrapped;
+		} finally {
+			runLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the bootstrapped curve after the commit of the current transaction, at once without transaction
+	 *
+	 * @param curveId the curve written
+	 * @param asOfDate the date of the curve written
+	 */
+	public void invalidateAfterCommit(Integer curveId, LocalDateTime asOfDate) {
+		CurveKey key = new CurveKey(curveId, asOfDate);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					invalidate(key);
+				}
+			});
+		} else {
+			invalidate(key);
+		}
+	}
+
+	private void invalidate(CurveKey key) {
+		lastWrites.put(key, writes.incrementAndGet());
+		bootstrappedCurves.remove(key);
+	}
+
+	/**
+	 * @param curveId the curve
+	 * @param asOfDate the date of the curve
+	 * @return the curve as of the last run of its day, empty if not bootstrapped or written since
+	 */
+	public Optional<BootstrappedCurve> getBootstrappedCurve(Integer curveId, LocalDateTime asOfDate) {
+		return Optional.ofNullable(bootstrappedCurves.get(new CurveKey(curveId, asOfDate)));
+	}
+
+	/**
+	 * Bootstraps curves on a fork-join pool, each result at the index of its curve :
+	 * the results and their order don't depend on the parallelism
+	 *
+	 * @param curves the curves
+	 * @param forkJoinPool the pool
+	 * @return the bootstrapped curves, in the order of the curves
+	 */
+	public static List<BootstrappedCurve> bootstrapAll(List<CurveSnapshot> curves, ForkJoinPool forkJoinPool) {
+		BootstrappedCurve[] bootstrapped = new BootstrappedCurve[curves.size()];
+		forkJoinPool.invoke(new BootstrapTask(curves, bootstrapped, 0, curves.size()));
+		return List.of(bootstrapped);
+	}
+
+	private List<CurveSnapshot> readCurves(LocalDateTime from, LocalDateTime to) {
+		List<CurveSnapshot> curves = new ArrayList<>();
+		List<CurvePoint> curvePoints = new ArrayList<>();
+		//Stream holds an open JDBC ResultSet, closed by try-with-resources
+		try (Stream<CurvePoint> streamCurvePoint = curvePointRepository.streamCurves(from, to)) {
+			Iterator<CurvePoint> iterator = streamCurvePoint.iterator();
+			while (iterator.hasNext()) {
+				CurvePoint curvePoint = iterator.next();
+				//rows come grouped by curve, the previous curve is complete
+				if (!curvePoints.isEmpty() && !isSameCurve(curvePoints.get(0), curvePoint)) {
+					curves.add(CurveSnapshot.of(curvePoints.get(0).getCurveId(), curvePoints.get(0).getAsOfDate(), curvePoints));
+					curvePoints.clear();
+				}
+				curvePoints.add(curvePoint);
+				//copied to the snapshot, so no need to keep it in persistence context
+				entityManager.detach(curvePoint);
+			}
+		}
+		if (!curvePoints.isEmpty()) {
+			curves.add(CurveSnapshot.of(curvePoints.get(0).getCurveId(), curvePoints.get(0).getAsOfDate(), curvePoints));
+		}
+		return curves;
+	}
+
+	private static boolean isSameCurve(CurvePoint curvePoint, CurvePoint other) {
+		return Objects.equals(curvePoint.getCurveId(), other.getCurveId()) && Objects.equals(curvePoint.getAsOfDate(), other.getAsOfDate());
+	}
+
+	@Override
+	public void close() {
+		forkJoinPool.shutdown();
+	}
+
+	/*
+	 * splits the range of curves in halves down to CURVES_PER_TASK, idle threads steal the other halves
+	 */
+	private static final class BootstrapTask extends RecursiveAction {
+
+		private final List<CurveSnapshot> curves;
+
+		private final BootstrappedCurve[] bootstrapped;
+
+		private final int from;
+
+		private final int to;
+
+		private BootstrapTask(List<CurveSnapshot> curves, BootstrappedCurve[] bootstrapped, int from, int to) {
+			this.curves = curves;
+			this.bootstrapped = bootstrapped;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= CURVES_PER_TASK) {
+				for (int i = from; i < to; i++) {
+					bootstrapped[i] = BootstrappedCurve.of(curves.get(i));
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new BootstrapTask(curves, bootstrapped, from, middle), new BootstrapTask(curves, bootstrapped, middle, to));
+			}
+		}
+	}
+}
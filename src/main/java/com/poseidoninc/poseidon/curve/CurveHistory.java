@@ -0,0 +1,158 @@
+package com.poseidoninc.poseidon.curve;
+
+import com.poseidoninc.poseidon.domain.CurvePoint;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable history of all curves by asOfDate, one CurveSeries of primitive columns per curve.
+ * Built in one pass over the rows ordered by (CurveId, asOfDate, term), saved and read as a segment file.
+ * @see CurveSeries
+ * @see CurveHistorySegment
+ *
+ * @author olivier morel
+ */
+public final class CurveHistory {
+
+	public static final CurveHistory EMPTY = new CurveHistory(Map.of());
+
+	private final Map<Integer, CurveSeries> series;
+
+	CurveHistory(Map<Integer, CurveSeries> series) {
+		this.series = series;
+	}
+
+	/**
+	 * @param curveId the curve
+	 * @param from first date included, null from the first date of the curve
+	 * @param to last date included, null up to the last date of the curve
+	 * @return snapshots of the curve at each of its dates between from and to, in date order
+	 */
+	public List<CurveSnapshot> range(Integer curveId, LocalDateTime from, LocalDateTime to) {
+		CurveSeries curveSeries = series.get(curveId);
+		return curveSeries == null ? List.of() : curveSeries.range(from, to);
+	}
+
+	/**
+	 * @param curveId the curve
+	 * @param from first date included, null from the first date of the curve
+	 * @param to last date included, null up to the last date of the curve
+	 * @return number of dates of the curve between from and to, without copying them
+	 */
+	public int count(Integer curveId, LocalDateTime from, LocalDateTime to) {
+		CurveSeries curveSeries = series.get(curveId);
+		return curveSeries == null ? 0 : curveSeries.count(from, to);
+	}
+
+	/**
+	 * @return series of each curve, ordered by curveId
+	 */
+	public Collection<CurveSeries> getSeries() {
+		return series.values();
+	}
+
+	/**
+	 * @return number of curve dates over all curves
+	 */
+	public int size() {
+		return series.values().stream().mapToInt(CurveSeries::size).sum();
+	}
+
+	/**
+	 * @return number of points over all curves and dates
+	 */
+	public long pointCount() {
+		return series.values().stream().mapToLong(CurveSeries::pointCount).sum();
+	}
+
+	/**
+	 * @return a builder taking rows ordered by (CurveId, asOfDate, term)
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Appends rows to growing primitive columns of their curve.
+	 * Rows without asOfDate, term or value are ignored, the first row of a duplicated term is kept.
+	 */
+	public static final class Builder {
+
+		private final Map<Integer, SeriesBuilder> seriesBuilders = new TreeMap<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * @param curvePoint next row, in (CurveId, asOfDate, term) order within its curve
+		 * @return this builder
+		 * @throws IllegalArgumentException if the row is before the previous row of its curve
+		 */
+		public Builder add(CurvePoint curvePoint) {
+			if (curvePoint.getCurveId() != null && curvePoint.getAsOfDate() != null && curvePoint.getTerm() != null && curvePoint.getValue() != null) {
+				seriesBuilders.computeIfAbsent(curvePoint.getCurveId(), SeriesBuilder::new)
+						.add(CurveSeries.toEpochSecond(curvePoint.getAsOfDate()), curvePoint.getTerm(), curvePoint.getValue());
+			}
+			return this;
+		}
+
+		public CurveHistory build() {
+			Map<Integer, CurveSeries> series = new TreeMap<>();
+			seriesBuilders.forEach((curveId, seriesBuilder) -> series.put(curveId, seriesBuilder.build()));
+			return new CurveHistory(Collections.unmodifiableMap(series));
+		}
+	}
+
+	private static final class SeriesBuilder {
+
+		private final Integer curveId;
+
+		private long[] dates = new long[16];
+
+		private int[] offsets = new int[17];
+
+		private double[] terms = new double[256];
+
+		private double[] values = new double[256];
+
+		private int dateCount;
+
+		private int pointCount;
+
+		private SeriesBuilder(Integer curveId) {
+			this.curveId = curveId;
+		}
+
+		private void add(long date, double term, double value) {
+			if (dateCount == 0 || date > dates[dateCount - 1]) {
+				if (dateCount == dates.length) {
+					dates = Arrays.copyOf(dates, dateCount * 2);
+					offsets = Arrays.copyOf(offsets, dateCount * 2 + 1);
+				}
+				dates[dateCount++] = date;
+			} else if (date < dates[dateCount - 1] || term < terms[pointCount - 1]) {
+				throw new IllegalArgumentException("Rows of curve " + curveId + " should be ordered by asOfDate and term");
+			} else if (term == terms[pointCount - 1]) {
+				return;
+			}
+			if (pointCount == terms.length) {
+				terms = Arrays.copyOf(terms, pointCount * 2);
+				values = Arrays.copyOf(values, pointCount * 2);
+			}
+			terms[pointCount] = term;
+			values[pointCount] = value;
+			offsets[dateCount] = ++pointCount;
+		}
+
+		private CurveSeries build() {
+			return new CurveSeries(curveId, Arrays.copyOf(dates, dateCount), Arrays.copyOf(offsets, dateCount + 1),
+					Arrays.copyOf(terms, pointCount), Arrays.copyOf(values, pointCount));
+		}
+	}
+}
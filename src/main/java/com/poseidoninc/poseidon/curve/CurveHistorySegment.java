@@ -0,0 +1,191 @@
+package com.poseidoninc.poseidon.curve;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Segment file of a CurveHistory, read in one sequential pass at startup.
+ *
+ * Layout : magic, format version, number of curves, then for each curve its id, number of dates and number of points,
+ * dates as deltas from the previous date (varints), number of points of each date (varints),
+ * then the term column and the value column, and a CRC32 of all previous bytes.
+ * Each double is XORed with the double at the same index of the previous date (0 for the first date) :
+ * terms repeat from one date to the next and values move a little, so the XOR has leading and trailing zero bytes.
+ * It is written as one header byte with the number of leading and trailing zero bytes, then the remaining bytes only,
+ * an unchanged double is one byte.
+ *
+ * @author olivier morel
+ */
+public final class CurveHistorySegment {
+
+	private static final int MAGIC = 0x50434853; //PCHS
+
+	private static final byte FORMAT_VERSION = 1;
+
+	private static final int UNCHANGED = 0xFF;
+
+	private CurveHistorySegment() {
+	}
+
+	/**
+	 * @param curveHistory the history to write
+	 * @param outputStream the segment, not closed
+	 * @throws IOException on write error
+	 */
+	public static void write(CurveHistory curveHistory, OutputStream outputStream) throws IOException {
+		CRC32 crc = new CRC32();
+		DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(outputStream, 1 << 16), crc));
+		out.writeInt(MAGIC);
+		out.writeByte(FORMAT_VERSION);
+		writeVarLong(out, curveHistory.getSeries().size());
+		for (CurveSeries curveSeries : curveHistory.getSeries()) {
+			writeVarLong(out, curveSeries.getCurveId());
+			writeVarLong(out, curveSeries.size());
+			writeVarLong(out, curveSeries.pointCount());
+			long previousDate = 0;
+			for (long date : curveSeries.dates) {
+				//dates are ascending, the first one is the only one which can be negative
+				writeVarLong(out, zigZag(date - previousDate));
+				previousDate = date;
+			}
+			for (int i = 0; i < curveSeries.size(); i++) {
+				writeVarLong(out, curveSeries.offsets[i + 1] - curveSeries.offsets[i]);
+			}
+			writeColumn(out, curveSeries, curveSeries.terms);
+			writeColumn(out, curveSeries, curveSeries.values);
+		}
+		out.flush();
+		//checksum of the bytes above, written after them
+		new DataOutputStream(outputStream).writeLong(crc.getValue());
+		outputStream.flush();
+	}
+
+	/**
+	 * @param inputStream the segment, not closed
+	 * @return the history read
+	 * @throws IOException on read error, or if the segment is not a curve history or is corrupted
+	 */
+	public static CurveHistory read(InputStream inputStream) throws IOException {
+		CRC32 crc = new CRC32();
+		BufferedInputStream buffered = new BufferedInputStream(inputStream, 1 << 16);
+		DataInputStream in = new DataInputStream(new CheckedInputStream(buffered, crc));
+		if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+			throw new IOException("Not a curve history segment");
+		}
+		int curveCount = (int) readVarLong(in);
+		Map<Integer, CurveSeries> series = new TreeMap<>();
+		for (int c = 0; c < curveCount; c++) {
+			int curveId = (int) readVarLong(in);
+			int dateCount = (int) readVarLong(in);
+			int pointCount = (int) readVarLong(in);
+			long[] dates = new long[dateCount];
+			long previousDate = 0;
+			for (int i = 0; i < dateCount; i++) {
+				previousDate += unZigZag(readVarLong(in));
+				dates[i] = previousDate;
+			}
+			int[] offsets = new int[dateCount + 1];
+			for (int i = 0; i < dateCount; i++) {
+				offsets[i + 1] = offsets[i] + (int) readVarLong(in);
+			}
+			if (offsets[dateCount] != pointCount) {
+				throw new IOException("Curve history segment is corrupted");
+			}
+			double[] terms = readColumn(in, offsets, pointCount);
+			double[] values = readColumn(in, offsets, pointCount);
+			series.put(curveId, new CurveSeries(curveId, dates, offsets, terms, values));
+		}
+		long expectedCrc = crc.getValue();
+		if (new DataInputStream(buffered).readLong() != expectedCrc) {
+			throw new IOException("Curve history segment is corrupted");
+		}
+		return new CurveHistory(Collections.unmodifiableMap(series));
+	}
+
+	private static void writeColumn(DataOutputStream out, CurveSeries curveSeries, double[] column) throws IOException {
+		for (int d = 0; d < curveSeries.size(); d++) {
+			for (int i = curveSeries.offsets[d]; i < curveSeries.offsets[d + 1]; i++) {
+				long xor = Double.doubleToRawLongBits(column[i]) ^ reference(column, curveSeries.offsets, d, i);
+				if (xor == 0) {
+					out.writeByte(UNCHANGED);
+				} else {
+					int leading = Long.numberOfLeadingZeros(xor) / 8;
+					int trailing = Long.numberOfTrailingZeros(xor) / 8;
+					out.writeByte(leading << 3 | trailing);
+					for (int b = 7 - leading; b >= trailing; b--) {
+						out.writeByte((int) (xor >>> (b * 8)));
+					}
+				}
+			}
+		}
+	}
+
+	private static double[] readColumn(DataInputStream in, int[] offsets, int pointCount) throws IOException {
+		double[] column = new double[pointCount];
+		for (int d = 0; d < offsets.length - 1; d++) {
+			for (int i = offsets[d]; i < offsets[d + 1]; i++) {
+				int header = in.readUnsignedByte();
+				long xor = 0;
+				if (header != UNCHANGED) {
+					int leading = header >>> 3;
+					int trailing = header & 7;
+					for (int b = 7 - leading; b >= trailing; b--) {
+						xor |= (long) in.readUnsignedByte() << (b * 8);
+					}
+				}
+				column[i] = Double.longBitsToDouble(xor ^ reference(column, offsets, d, i));
+			}
+		}
+		return column;
+	}
+
+	/*
+	 * bits of the double at the same index in the previous date, 0 if none
+	 */
+	private static long reference(double[] column, int[] offsets, int date, int index) {
+		if (date == 0) {
+			return 0;
+		}
+		int previous = offsets[date - 1] + index - offsets[date];
+		return previous < offsets[date] ? Double.doubleToRawLongBits(column[previous]) : 0;
+	}
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	private static long readVarLong(DataInputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Curve history segment is corrupted");
+	}
+}
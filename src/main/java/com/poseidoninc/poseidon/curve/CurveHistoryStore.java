@@ -0,0 +1,125 @@
+package com.poseidoninc.poseidon.curve;
+
+import com.poseidoninc.poseidon.configuration.CurveHistoryProperties;
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import com.poseidoninc.poseidon.repository.CurvePointRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Holds the CurveHistory of all curves, loaded from its segment file at startup instead of row by row from the database.
+ * A rebuild streams the curvepoint table once, writes a new segment next to the current one then moves it in place,
+ * and only then replaces the history read by the queries : readers see the previous history until the new one is complete.
+ * The history is as of the last rebuild, writes of curves after it are not in the history.
+ *
+ * @author olivier morel
+ */
+@Component
+@Slf4j
+public class CurveHistoryStore {
+
+	private final CurvePointRepository curvePointRepository;
+
+	private final EntityManager entityManager;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final Path segmentFile;
+
+	//one rebuild at a time, held during the scan and the write of the segment
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+
+	private volatile CurveHistory curveHistory = CurveHistory.EMPTY;
+
+	public CurveHistoryStore(CurvePointRepository curvePointRepository, EntityManager entityManager,
+			PlatformTransactionManager transactionManager, CurveHistoryProperties curveHistoryProperties) {
+		this.curvePointRepository = curvePointRepository;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		//a history of past dates can be read from the replica
+		transactionTemplate.setReadOnly(true);
+		this.segmentFile = Path.of(curveHistoryProperties.getSegmentFile());
+		load();
+	}
+
+	private void load() {
+		if (!Files.exists(segmentFile)) {
+			log.info("No curve history segment {}", segmentFile.toAbsolutePath());
+			return;
+		}
+		long start = System.nanoTime();
+		try (InputStream inputStream = Files.newInputStream(segmentFile)) {
+			curveHistory = CurveHistorySegment.read(inputStream);
+			log.info("Curve history segment {} loaded : {} curves, {} dates in {} ms",
+					segmentFile.toAbsolutePath(), curveHistory.getSeries().size(), curveHistory.size(), (System.nanoTime() - start) / 1_000_000);
+		} catch (Exception e) {
+			//the application starts without history, a rebuild writes a new segment
+			log.error("Error while loading curve history segment {} : {}", segmentFile.toAbsolutePath(), e.toString());
+		}
+	}
+
+	/**
+	 * @return the history as of the last rebuild, empty if none
+	 */
+	public CurveHistory getCurveHistory() {
+		return curveHistory;
+	}
+
+	/**
+	 * Builds the history from the curvepoint table, saves its segment then publishes it
+	 *
+	 * @return the new history
+	 * @throws IOException if the segment can't be written, the previous history is kept
+	 */
+	public CurveHistory rebuild() throws IOException {
+		rebuildLock.lock();
+		try {
+			long start = System.nanoTime();
+			CurveHistory rebuilt = transactionTemplate.execute(status -> {
+				CurveHistory.Builder builder = CurveHistory.builder();
+				//Stream holds an open JDBC ResultSet, closed by try-with-resources
+				try (Stream<CurvePoint> streamCurvePoint = curvePointRepository.streamHistory()) {
+					Iterator<CurvePoint> iterator = streamCurvePoint.iterator();
+					while (iterator.hasNext()) {
+						CurvePoint curvePoint = iterator.next();
+						builder.add(curvePoint);
+						//copied to the columns, so no need to keep it in persistence context
+						entityManager.detach(curvePoint);
+					}
+				}
+				return builder.build();
+			});
+			Path directory = segmentFile.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			Path temporaryFile = Files.createTempFile(directory, segmentFile.getFileName().toString(), ".tmp");
+			try {
+				try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+					CurveHistorySegment.write(rebuilt, outputStream);
+				}
+				//readers of the segment see the previous file or the new one, never a partial one
+				Files.move(temporaryFile, segmentFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+			curveHistory = rebuilt;
+			log.info("Curve history segment {} rebuilt : {} curves, {} dates, {} bytes in {} ms",
+					segmentFile.toAbsolutePath(), rebuilt.getSeries().size(), rebuilt.size(), Files.size(segmentFile), (System.nanoTime() - start) / 1_000_000);
+			return rebuilt;
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.poseidoninc.poseidon.curve;
+
+/**
+ * Size of a curve history
+ *
+ * @param curves number of curves
+ * @param dates number of curve dates over all curves
+ * @param points number of points over all curves and dates
+ *
+ * @author olivier morel
+ */
+public record CurveHistorySummary(int curves, int dates, long points) {
+
+	public static CurveHistorySummary of(CurveHistory curveHistory) {
+		return new CurveHistorySummary(curveHistory.getSeries().size(), curveHistory.size(), curveHistory.pointCount());
+	}
+}
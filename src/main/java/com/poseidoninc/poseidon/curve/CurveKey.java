@@ -0,0 +1,14 @@
+package com.poseidoninc.poseidon.curve;
+
+import java.time.LocalDateTime;
+
+/**
+ * Key of a curve in memory
+ *
+ * @param curveId the curve
+ * @param asOfDate the date of the curve
+ *
+ * @author olivier morel
+ */
+record CurveKey(Integer curveId, LocalDateTime asOfDate) {
+}
@@ -0,0 +1,124 @@
+package com.poseidoninc.poseidon.curve;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable history of one curve : its points at each asOfDate in columns of primitives.
+ * Dates are epoch seconds (asOfDate read as UTC) in ascending order, the points of the date at index i
+ * are terms[offsets[i]] to terms[offsets[i + 1] - 1], ordered by term, and their values at the same indexes.
+ * A range of dates is found by binary search then read from contiguous slices of the term and value columns.
+ * @see CurveHistory
+ *
+ * @author olivier morel
+ */
+public final class CurveSeries {
+
+	private final Integer curveId;
+
+	final long[] dates;
+
+	final int[] offsets;
+
+	final double[] terms;
+
+	final double[] values;
+
+	CurveSeries(Integer curveId, long[] dates, int[] offsets, double[] terms, double[] values) {
+		this.curveId = curveId;
+		this.dates = dates;
+		this.offsets = offsets;
+		this.terms = terms;
+		this.values = values;
+	}
+
+	static long toEpochSecond(LocalDateTime asOfDate) {
+		return asOfDate.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	static LocalDateTime toAsOfDate(long epochSecond) {
+		return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+	}
+
+	/**
+	 * @param from first date included, null from the first date of the curve
+	 * @param to last date included, null up to the last date of the curve
+	 * @return snapshots of the curve at each of its dates between from and to, in date order
+	 */
+	public List<CurveSnapshot> range(LocalDateTime from, LocalDateTime to) {
+		int first = first(from);
+		int last = last(to);
+		List<CurveSnapshot> curveSnapshots = new ArrayList<>(Math.max(last - first, 0));
+		for (int i = first; i < last; i++) {
+			curveSnapshots.add(CurveSnapshot.of(curveId, toAsOfDate(dates[i]),
+					Arrays.copyOfRange(terms, offsets[i], offsets[i + 1]),
+					Arrays.copyOfRange(values, offsets[i], offsets[i + 1])));
+		}
+		return curveSnapshots;
+	}
+
+	/**
+	 * Counts the dates of a range by binary search only, to bound a range before copying it
+	 *
+	 * @param from first date included, null from the first date of the curve
+	 * @param to last date included, null up to the last date of the curve
+	 * @return number of dates of the curve between from and to
+	 */
+	public int count(LocalDateTime from, LocalDateTime to) {
+		return Math.max(last(to) - first(from), 0);
+	}
+
+	private int first(LocalDateTime from) {
+		return from == null ? 0 : indexOf(toEpochSecond(from), false);
+	}
+
+	private int last(LocalDateTime to) {
+		return to == null ? dates.length : indexOf(toEpochSecond(to), true);
+	}
+
+	/*
+	 * index of the first date >= epochSecond, or > epochSecond when after
+	 */
+	private int indexOf(long epochSecond, boolean after) {
+		int index = Arrays.binarySearch(dates, epochSecond);
+		if (index < 0) {
+			return -index - 1;
+		}
+		return after ? index + 1 : index;
+	}
+
+	public Integer getCurveId() {
+		return curveId;
+	}
+
+	/**
+	 * @return number of dates of the curve
+	 */
+	public int size() {
+		return dates.length;
+	}
+
+	/**
+	 * @return number of points of the curve over all its dates
+	 */
+	public int pointCount() {
+		return terms.length;
+	}
+
+	/**
+	 * @return first date of the curve, null if it has none
+	 */
+	public LocalDateTime getFirstDate() {
+		return dates.length == 0 ? null : toAsOfDate(dates[0]);
+	}
+
+	/**
+	 * @return last date of the curve, null if it has none
+	 */
+	public LocalDateTime getLastDate() {
+		return dates.length == 0 ? null : toAsOfDate(dates[dates.length - 1]);
+	}
+}
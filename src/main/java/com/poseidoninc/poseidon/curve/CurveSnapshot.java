@@ -0,0 +1,308 @@
+package com.poseidoninc.poseidon.curve;
+
+import com.poseidoninc.poseidon.domain.CurvePoint;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of a curve (CurveId, asOfDate) : its terms and values as primitive arrays ordered by term.
+ * Built once from CurvePoint rows, interpolation then neither touches JPA entities nor boxes doubles,
+ * and a snapshot can be shared by any number of threads without locking.
+ * Values are flat outside of the terms of the curve.
+ * The snapshot also keeps copies of the rows of the curve, returned as new CurvePoint so callers can't change it,
+ * and the version given by the CurveSnapshotCache when it was read.
+ * @see CurveSnapshotCache
+ *
+ * @author olivier morel
+ */
+public final class CurveSnapshot {
+
+	private final Integer curveId;
+
+	private final LocalDateTime asOfDate;
+
+	private final long version;
+
+	/*
+	 * copies of the rows ordered by term, points without term or value included
+	 */
+	final List<CurvePoint> curvePoints;
+
+	final double[] terms;
+
+	final double[] values;
+
+	/*
+	 * discount factors bootstrapped from the par rates, for BootstrappedCurve and LOG_LINEAR,
+	 * computed on first use : a snapshot is built by copying its terms and par rates only
+	 */
+	private volatile DiscountCurve discountCurve;
+
+	/*
+	 * Fritsch-Carlson tangents, for MONOTONE_CUBIC, computed on first use
+	 */
+	private volatile double[] tangents;
+
+	private CurveSnapshot(Integer curveId, LocalDateTime asOfDate, long version, List<CurvePoint> curvePoints, double[] terms, double[] values) {
+		this.curveId = curveId;
+		this.asOfDate = asOfDate;
+		this.version = version;
+		this.curvePoints = curvePoints;
+		this.terms = terms;
+		this.values = values;
+	}
+
+	/**
+	 * Builds the snapshot of a curve, points without term or value are ignored, the first point of a duplicated term is kept
+	 *
+	 * @param curveId the curve
+	 * @param asOfDate the date of the curve
+	 * @param curvePoints points of the curve
+	 * @return the snapshot, empty if no point has a term and a value
+	 */
+	public static CurveSnapshot of(Integer curveId, LocalDateTime asOfDate, List<CurvePoint> curvePoints) {
+		return of(curveId, asOfDate, 0, curvePoints);
+	}
+
+	/**
+	 * Builds the snapshot of a curve read at a version
+	 *
+	 * @param curveId the curve
+	 * @param asOfDate the date of the curve
+	 * @param version the version, the snapshot of a higher version replaces this one
+	 * @param curvePoints points of the curve
+	 * @return the snapshot
+	 */
+	public static CurveSnapshot of(Integer curveId, LocalDateTime asOfDate, long version, List<CurvePoint> curvePoints) {
+		List<CurvePoint> points = curvePoints.stream()
+				.filter(point -> point.getTerm() != null && point.getValue() != null)
+				.sorted(Comparator.comparing(CurvePoint::getTerm))
+				.toList();
+		double[] terms = new double[points.size()];
+		double[] values = new double[points.size()];
+		int size = 0;
+		for (CurvePoint point : points) {
+			if (size == 0 || point.getTerm() > terms[size - 1]) {
+				terms[size] = point.getTerm();
+				values[size] = point.getValue();
+				size++;
+			}
+		}
+		List<CurvePoint> copies = curvePoints.stream()
+				.sorted(Comparator.comparing(CurvePoint::getTerm, Comparator.nullsFirst(Comparator.naturalOrder())))
+				.map(CurveSnapshot::copy)
+				.toList();
+		return new CurveSnapshot(curveId, asOfDate, version, copies, Arrays.copyOf(terms, size), Arrays.copyOf(values, size));
+	}
+
+	/**
+	 * Builds the snapshot of a curve from columns already ordered by term without duplicate, kept without copy
+	 *
+	 * @param curveId the curve
+	 * @param asOfDate the date of the curve
+	 * @param terms ordered terms
+	 * @param values values in the order of the terms
+	 * @return the snapshot, without rows
+	 */
+	static CurveSnapshot of(Integer curveId, LocalDateTime asOfDate, double[] terms, double[] values) {
+		return new CurveSnapshot(curveId, asOfDate, 0, List.of(), terms, values);
+	}
+
+	private static CurvePoint copy(CurvePoint curvePoint) {
+		CurvePoint copy = new CurvePoint();
+		copy.setId(curvePoint.getId());
+		copy.setCurveId(curvePoint.getCurveId());
+		copy.setAsOfDate(curvePoint.getAsOfDate());
+		copy.setTerm(curvePoint.getTerm());
+		copy.setValue(curvePoint.getValue());
+		copy.setCreationDate(curvePoint.getCreationDate());
+		return copy;
+	}
+
+	/**
+	 * Discount factors of the curve, 1 up to term 0, their logs and the annuities : sums of period * discount factor of the coupons up to each term
+	 */
+	record DiscountCurve(double[] discountFactors, double[] logDiscountFactors, double[] annuities) {
+	}
+
+	/*
+	 * computed once by the first thread, a concurrent first use computes the same arrays
+	 */
+	DiscountCurve discountCurve() {
+		DiscountCurve computed = discountCurve;
+		if (computed == null) {
+			computed = bootstrap(terms, values);
+			discountCurve = computed;
+		}
+		return computed;
+	}
+
+	double[] tangents() {
+		double[] computed = tangents;
+		if (computed == null) {
+			computed = tangents(terms, values);
+			tangents = computed;
+		}
+		return computed;
+	}
+
+	/*
+	 * Bootstraps the par rates term after term : a par bond is worth 1,
+	 * so DF(t_i) = (1 - S_i * annuity(t_i-1)) / (1 + S_i * (t_i - t_i-1)) and annuity(t_i) = annuity(t_i-1) + (t_i - t_i-1) * DF(t_i).
+	 * Terms up to 0 are ignored, with a discount factor of 1. Terms are computed in order, so the result doesn't depend on the thread.
+	 */
+	private static DiscountCurve bootstrap(double[] terms, double[] parRates) {
+		double[] discountFactors = new double[terms.length];
+		double[] logDiscountFactors = new double[terms.length];
+		double[] annuities = new double[terms.length];
+		double annuity = 0;
+		double previousTerm = 0;
+		for (int i = 0; i < terms.length; i++) {
+			double discountFactor = 1;
+			if (terms[i] > 0) {
+				double period = terms[i] - previousTerm;
+				discountFactor = (1 - parRates[i] * annuity) / (1 + parRates[i] * period);
+				annuity += period * discountFactor;
+				previousTerm = terms[i];
+			}
+			discountFactors[i] = discountFactor;
+			logDiscountFactors[i] = Math.log(discountFactor);
+			annuities[i] = annuity;
+		}
+		return new DiscountCurve(discountFactors, logDiscountFactors, annuities);
+	}
+
+	/*
+	 * Fritsch-Carlson : secants average at interior points, 0 at local extrema,
+	 * then scaled down in each segment where they would overshoot
+	 */
+	private static double[] tangents(double[] terms, double[] values) {
+		int n = terms.length;
+		double[] tangents = new double[n];
+		if (n < 2) {
+			return tangents;
+		}
+		double[] secants = new double[n - 1];
+		for (int i = 0; i < n - 1; i++) {
+			secants[i] = (values[i + 1] - values[i]) / (terms[i + 1] - terms[i]);
+		}
+		tangents[0] = secants[0];
+		tangents[n - 1] = secants[n - 2];
+		for (int i = 1; i < n - 1; i++) {
+			tangents[i] = secants[i - 1] * secants[i] <= 0 ? 0 : (secants[i - 1] + secants[i]) / 2;
+		}
+		for (int i = 0; i < n - 1; i++) {
+			if (secants[i] == 0) {
+				tangents[i] = 0;
+				tangents[i + 1] = 0;
+			} else {
+				double alpha = tangents[i] / secants[i];
+				double beta = tangents[i + 1] / secants[i];
+				double norm = alpha * alpha + beta * beta;
+				if (norm > 9) {
+					double tau = 3 / Math.sqrt(norm);
+					tangents[i] = tau * alpha * secants[i];
+					tangents[i + 1] = tau * beta * secants[i];
+				}
+			}
+		}
+		return tangents;
+	}
+
+	/**
+	 * @param term the term
+	 * @param interpolation the method between two points
+	 * @return the value at term, NaN for a NaN term
+	 * @throws IllegalStateException if the curve is empty
+	 */
+	public double interpolate(double term, Interpolation interpolation) {
+		int last = terms.length - 1;
+		if (last < 0) {
+			throw new IllegalStateException("Curve " + curveId + " has no point");
+		}
+		if (Double.isNaN(term)) {
+			return Double.NaN;
+		}
+		if (term <= terms[0]) {
+			return values[0];
+		}
+		if (term >= terms[last]) {
+			return values[last];
+		}
+		int index = Arrays.binarySearch(terms, term);
+		if (index >= 0) {
+			return values[index];
+		}
+		//insertion point is -index - 1, the segment starts just before it
+		return interpolation.interpolate(this, -index - 2, term);
+	}
+
+	/**
+	 * @param terms the terms, in any order
+	 * @param interpolation the method between two points
+	 * @return the values at terms, in the same order
+	 * @throws IllegalStateException if the curve is empty
+	 */
+	public double[] interpolate(double[] terms, Interpolation interpolation) {
+		Objects.requireNonNull(interpolation);
+		double[] interpolated = new double[terms.length];
+		for (int i = 0; i < terms.length; i++) {
+			interpolated[i] = interpolate(terms[i], interpolation);
+		}
+		return interpolated;
+	}
+
+	public Integer getCurveId() {
+		return curveId;
+	}
+
+	public LocalDateTime getAsOfDate() {
+		return asOfDate;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return new CurvePoint of each row of the curve, ordered by term
+	 */
+	public List<CurvePoint> getCurvePoints() {
+		return curvePoints.stream().map(CurveSnapshot::copy).toList();
+	}
+
+	/**
+	 * @param id the id of a point
+	 * @return a new CurvePoint of the row, empty if the point is not in this curve
+	 */
+	public Optional<CurvePoint> getCurvePoint(Long id) {
+		return curvePoints.stream().filter(curvePoint -> id.equals(curvePoint.getId())).findFirst().map(CurveSnapshot::copy);
+	}
+
+	public int size() {
+		return terms.length;
+	}
+
+	public boolean isEmpty() {
+		return terms.length == 0;
+	}
+
+	/**
+	 * @return a copy of the terms, ordered
+	 */
+	public double[] getTerms() {
+		return terms.clone();
+	}
+
+	/**
+	 * @return a copy of the values, in the order of the terms
+	 */
+	public double[] getValues() {
+		return values.clone();
+	}
+}
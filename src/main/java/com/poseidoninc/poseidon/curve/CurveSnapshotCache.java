@@ -0,0 +1,184 @@
+package com.poseidoninc.poseidon.curve;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.poseidoninc.poseidon.configuration.CurveCacheProperties;
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import com.poseidoninc.poseidon.repository.CurvePointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Copy-on-write cache of immutable curve snapshots by (CurveId, asOfDate) : a snapshot is never changed,
+ * a write of a curve publishes a new snapshot which replaces the previous one with one atomic map update.
+ * Readers get a consistent curve with a lock-free read, without transaction nor connection.
+ *
+ * Each load takes a version before reading the curve, a snapshot only replaces a snapshot of a lower version,
+ * so a slow reader can't publish a curve older than the one read after a later commit.
+ * Writes publish after commit, a rolled back write leaves the cache unchanged.
+ * Loads read the primary : a lagging replica would publish a stale curve for every client.
+ * The cache is local to this instance : it is bounded by poseidon.curve.cache.max-points, least used curves evicted first,
+ * and a snapshot expires poseidon.curve.cache.expire-after-write after it is published, so a curve written
+ * on another instance is read again from the database at the latest after this delay.
+ *
+ * @author olivier morel
+ */
+@Component
+@Slf4j
+public class CurveSnapshotCache {
+
+	private final CurvePointRepository curvePointRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final Cache<CurveKey, CurveSnapshot> snapshots;
+
+	/*
+	 * curve of each cached point, for getCurvePoint by id, entries removed with their snapshot
+	 */
+	private final ConcurrentMap<Long, CurveKey> curveKeysById = new ConcurrentHashMap<>();
+
+	private final AtomicLong versions = new AtomicLong();
+
+	@Autowired
+	public CurveSnapshotCache(CurvePointRepository curvePointRepository, PlatformTransactionManager transactionManager, CurveCacheProperties curveCacheProperties) {
+		this(curvePointRepository, transactionManager, curveCacheProperties, Ticker.systemTicker(), ForkJoinPool.commonPool());
+	}
+
+	/*
+	 * ticker and executor of evictions given by tests
+	 */
+	CurveSnapshotCache(CurvePointRepository curvePointRepository, PlatformTransactionManager transactionManager, CurveCacheProperties curveCacheProperties,
+			Ticker ticker, Executor executor) {
+		this.curvePointRepository = curvePointRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		//own transaction, also when called after the commit of a write transaction which resources are still bound
+		transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.snapshots = Caffeine.newBuilder()
+				.maximumWeight(curveCacheProperties.getMaxPoints())
+				.weigher((CurveKey key, CurveSnapshot curveSnapshot) -> curveSnapshot.curvePoints.size() + 1)
+				.expireAfterWrite(curveCacheProperties.getExpireAfterWrite())
+				//called atomically with the removal of the snapshot, before the key can be published again
+				.evictionListener((CurveKey key, CurveSnapshot curveSnapshot, RemovalCause cause) -> unmap(key, curveSnapshot))
+				.ticker(ticker)
+				.executor(executor)
+				.build();
+	}
+
+	/**
+	 * Gets the snapshot of a curve, read in one query and cached on the first call.
+	 * A curve without point is not cached, unless it was emptied by a write.
+	 *
+	 * @param curveId the curve
+	 * @param asOfDate the date of the curve
+	 * @return the snapshot of the curve
+	 */
+	public CurveSnapshot get(Integer curveId, LocalDateTime asOfDate) {
+		CurveKey key = new CurveKey(curveId, asOfDate);
+		CurveSnapshot curveSnapshot = snapshots.getIfPresent(key);
+		if (curveSnapshot == null) {
+			curveSnapshot = load(key);
+			if (!curveSnapshot.curvePoints.isEmpty()) {
+				curveSnapshot = publish(key, curveSnapshot);
+			}
+		}
+		return curveSnapshot;
+	}
+
+	/**
+	 * @param id the id of a point
+	 * @return a new CurvePoint of the row if its curve is cached
+	 */
+	public Optional<CurvePoint> getCurvePoint(Long id) {
+		CurveKey key = curveKeysById.get(id);
+		CurveSnapshot curveSnapshot = key == null ? null : snapshots.getIfPresent(key);
+		return curveSnapshot == null ? Optional.empty() : curveSnapshot.getCurvePoint(id);
+	}
+
+	/**
+	 * Reads the curve again then publishes its new snapshot after the commit of the current transaction,
+	 * at once without transaction
+	 *
+	 * @param curveId the curve written
+	 * @param asOfDate the date of the curve written
+	 */
+	public void publishAfterCommit(Integer curveId, LocalDateTime asOfDate) {
+		CurveKey key = new CurveKey(curveId, asOfDate);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					reload(key);
+				}
+			});
+		} else {
+			reload(key);
+		}
+	}
+
+	private void reload(CurveKey key) {
+		try {
+			publish(key, load(key));
+		} catch (Exception e) {
+			//the write is committed, the next read loads the curve again
+			log.error("Error while publishing curve = {} at {} : {}", key.curveId(), key.asOfDate(), e.toString());
+			snapshots.asMap().computeIfPresent(key, (current, curveSnapshot) -> {
+				unmap(key, curveSnapshot);
+				return null;
+			});
+		}
+	}
+
+	private void unmap(CurveKey key, CurveSnapshot curveSnapshot) {
+		if (key != null && curveSnapshot != null) {
+			curveSnapshot.curvePoints.forEach(curvePoint -> curveKeysById.remove(curvePoint.getId(), key));
+		}
+	}
+
+	private CurveSnapshot load(CurveKey key) {
+		//version taken before the read : a higher version has read a later state of the database
+		long version = versions.incrementAndGet();
+		return transactionTemplate.execute(status ->
+				CurveSnapshot.of(key.curveId(), key.asOfDate(), version, curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(key.curveId(), key.asOfDate())));
+	}
+
+	/**
+	 * @return the snapshot in the cache, the given one unless the cached one has a higher version
+	 */
+	private CurveSnapshot publish(CurveKey key, CurveSnapshot curveSnapshot) {
+		//ids are mapped in the atomic update of the key, an eviction of the snapshot can't run in between
+		return snapshots.asMap().compute(key, (curveKey, current) -> {
+			if (current != null && curveSnapshot.getVersion() <= current.getVersion()) {
+				return current;
+			}
+			Set<Long> ids = curveSnapshot.curvePoints.stream().map(CurvePoint::getId).collect(Collectors.toSet());
+			ids.forEach(id -> curveKeysById.put(id, key));
+			if (current != null) {
+				//points deleted or moved to another curve
+				current.curvePoints.stream()
+						.map(CurvePoint::getId)
+						.filter(id -> !ids.contains(id))
+						.forEach(id -> curveKeysById.remove(id, key));
+			}
+			return curveSnapshot;
+		});
+	}
+}
@@ -0,0 +1,20 @@
+package com.poseidoninc.poseidon.curve;
+
+import java.time.LocalDateTime;
+
+/**
+ * Points of a curve at one date of its history
+ *
+ * @param curveId the curve
+ * @param asOfDate the date of the curve
+ * @param terms ordered terms
+ * @param values values, in the order of the terms
+ *
+ * @author olivier morel
+ */
+public record HistoricalCurve(Integer curveId, LocalDateTime asOfDate, double[] terms, double[] values) {
+
+	public static HistoricalCurve of(CurveSnapshot curveSnapshot) {
+		return new HistoricalCurve(curveSnapshot.getCurveId(), curveSnapshot.getAsOfDate(), curveSnapshot.getTerms(), curveSnapshot.getValues());
+	}
+}
@@ -0,0 +1,17 @@
+package com.poseidoninc.poseidon.curve;
+
+import java.time.LocalDateTime;
+
+/**
+ * Values of a curve interpolated at the requested terms
+ *
+ * @param curveId the curve
+ * @param asOfDate the date of the curve
+ * @param method interpolation method
+ * @param terms requested terms
+ * @param values interpolated values, in the order of the terms
+ *
+ * @author olivier morel
+ */
+public record InterpolatedCurve(Integer curveId, LocalDateTime asOfDate, Interpolation method, double[] terms, double[] values) {
+}
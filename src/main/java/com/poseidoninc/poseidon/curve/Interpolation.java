@@ -0,0 +1,69 @@
+package com.poseidoninc.poseidon.curve;
+
+/**
+ * Interpolation methods between two points of a curve, values are par rates (see CurvePoint value).
+ * Each method interpolates in the segment [terms[segment], terms[segment + 1]] with the arrays computed once by the CurveSnapshot.
+ * @see CurveSnapshot
+ *
+ * @author olivier morel
+ */
+public enum Interpolation {
+
+	/**
+	 * linear on values
+	 */
+	LINEAR {
+		@Override
+		double interpolate(CurveSnapshot curve, int segment, double term) {
+			double[] terms = curve.terms;
+			double[] values = curve.values;
+			double weight = (term - terms[segment]) / (terms[segment + 1] - terms[segment]);
+			return values[segment] + weight * (values[segment + 1] - values[segment]);
+		}
+	},
+
+	/**
+	 * linear on the logarithm of the discount factors bootstrapped from the par rates, so constant forward rate in each segment,
+	 * then the par rate of the bond paying the coupons of the curve up to terms[segment] and a last one at the term :
+	 * S(t) = (1 - DF(t)) / (annuity(terms[segment]) + (t - terms[segment]) * DF(t)), the par rates of the curve at its terms.
+	 * @see BootstrappedCurve
+	 */
+	LOG_LINEAR {
+		@Override
+		double interpolate(CurveSnapshot curve, int segment, double term) {
+			double[] terms = curve.terms;
+			CurveSnapshot.DiscountCurve discountCurve = curve.discountCurve();
+			double[] logDiscountFactors = discountCurve.logDiscountFactors();
+			double weight = (term - terms[segment]) / (terms[segment + 1] - terms[segment]);
+			double discountFactor = Math.exp(logDiscountFactors[segment] + weight * (logDiscountFactors[segment + 1] - logDiscountFactors[segment]));
+			return (1 - discountFactor) / (discountCurve.annuities()[segment] + (term - terms[segment]) * discountFactor);
+		}
+	},
+
+	/**
+	 * cubic Hermite with Fritsch-Carlson tangents, no overshoot : monotone where the points are
+	 */
+	MONOTONE_CUBIC {
+		@Override
+		double interpolate(CurveSnapshot curve, int segment, double term) {
+			double[] terms = curve.terms;
+			double[] values = curve.values;
+			double[] tangents = curve.tangents();
+			double h = terms[segment + 1] - terms[segment];
+			double s = (term - terms[segment]) / h;
+			double oneMinusS = 1 - s;
+			return values[segment] * (1 + 2 * s) * oneMinusS * oneMinusS
+					+ tangents[segment] * h * s * oneMinusS * oneMinusS
+					+ values[segment + 1] * s * s * (3 - 2 * s)
+					- tangents[segment + 1] * h * s * s * oneMinusS;
+		}
+	};
+
+	/**
+	 * @param curve the curve snapshot
+	 * @param segment index of the point just below the term
+	 * @param term strictly between terms[segment] and terms[segment + 1]
+	 * @return interpolated value
+	 */
+	abstract double interpolate(CurveSnapshot curve, int segment, double term);
+}
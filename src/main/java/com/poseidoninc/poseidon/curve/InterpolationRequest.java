@@ -0,0 +1,15 @@
+package com.poseidoninc.poseidon.curve;
+
+import java.time.LocalDateTime;
+
+/**
+ * Body of /api/curvePoint/{curveId}/interpolate, terms are read by Jackson into a primitive array
+ *
+ * @param asOfDate ISO date time of the curve
+ * @param method interpolation method, LINEAR if null
+ * @param terms terms to interpolate, in any order
+ *
+ * @author olivier morel
+ */
+public record InterpolationRequest(LocalDateTime asOfDate, Interpolation method, double[] terms) {
+}
@@ -0,0 +1,58 @@
+package com.poseidoninc.poseidon.datasource;
+
+import jakarta.servlet.http.HttpSession;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Read your writes despite the replication lag of the replica :
+ * after the commit of a write transaction, read-only transactions of the same request,
+ * then of the same HTTP session during the read your writes duration, are routed to the primary.
+ * Outside of requests, read-only transactions always go to the replica.
+ *
+ * @author olivier morel
+ */
+public class ReplicaLagGuard implements TransactionExecutionListener {
+
+	static final String LAST_WRITE = ReplicaLagGuard.class.getName() + ".LAST_WRITE";
+
+	private final long readYourWritesNanos;
+
+	public ReplicaLagGuard(Duration readYourWrites) {
+		this.readYourWritesNanos = readYourWrites.toNanos();
+	}
+
+	@Override
+	public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+		if (commitFailure != null || transaction.isReadOnly() || readYourWritesNanos <= 0
+				|| !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+			return;
+		}
+		Long now = System.nanoTime();
+		attributes.setAttribute(LAST_WRITE, now, RequestAttributes.SCOPE_REQUEST);
+		//doesn't create a session for anonymous clients
+		HttpSession session = attributes.getRequest().getSession(false);
+		if (session != null) {
+			session.setAttribute(LAST_WRITE, now);
+		}
+	}
+
+	/**
+	 * @return true if the client of the current request wrote recently, its reads should go to the primary
+	 */
+	public boolean isPrimaryRequired() {
+		if (readYourWritesNanos <= 0 || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+			return false;
+		}
+		if (attributes.getAttribute(LAST_WRITE, RequestAttributes.SCOPE_REQUEST) != null) {
+			return true;
+		}
+		Long lastWrite = (Long) attributes.getAttribute(LAST_WRITE, RequestAttributes.SCOPE_SESSION);
+		return lastWrite != null && System.nanoTime() - lastWrite < readYourWritesNanos;
+	}
+}
@@ -0,0 +1,68 @@
+package com.poseidoninc.poseidon.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * DataSource routing read-only transactions (@Transactional(readOnly = true)) to the replica pool
+ * and all other statements to the primary pool, unless ReplicaLagGuard requires the primary.
+ * Connections are fetched lazily, at the first statement, when the transaction is read-only or not :
+ * JpaTransactionManager begins the transaction before its read-only flag is set.
+ *
+ * @author olivier morel
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+	/**
+	 * Target pools
+	 */
+	public enum Route { PRIMARY, REPLICA }
+
+	private final HikariDataSource primary;
+
+	private final HikariDataSource replica;
+
+	public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica, ReplicaLagGuard replicaLagGuard) {
+		super(router(primary, replica, replicaLagGuard));
+		this.primary = primary;
+		this.replica = replica;
+	}
+
+	/**
+	 * @param replicaLagGuard the read your writes guard
+	 * @return the pool of the current transaction
+	 */
+	public static Route currentRoute(ReplicaLagGuard replicaLagGuard) {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !replicaLagGuard.isPrimaryRequired() ? Route.REPLICA : Route.PRIMARY;
+	}
+
+	@Override
+	public void close() {
+		replica.close();
+		primary.close();
+	}
+
+	private static DataSource router(DataSource primary, DataSource replica, ReplicaLagGuard replicaLagGuard) {
+		AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+			@Override
+			protected Object determineCurrentLookupKey() {
+				Route route = currentRoute(replicaLagGuard);
+				log.trace("connection from {}", route);
+				return route;
+			}
+		};
+		router.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+		router.setDefaultTargetDataSource(primary);
+		router.setLenientFallback(false);
+		router.afterPropertiesSet();
+		return router;
+	}
+}
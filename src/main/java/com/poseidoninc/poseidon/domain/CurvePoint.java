@@ -6,48 +6,65 @@ import jakarta.validation.constraints.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
-import org.hibernate.annotations.DynamicInsert;
-import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
 
+/**
+ * CurvePoint Entity, a (term, value) point of the curve CurveId at asOfDate
+ * A curve is keyed by (CurveId, asOfDate) and holds one point by term, its points are read by one range scan of the curvepoint_curve_idx index
+ * No @DynamicInsert or @DynamicUpdate : all points of a curve share the same INSERT and UPDATE statements so they can be batched
+ *
+ * @author olivier morel
+ */
 @Entity
-@DynamicInsert
-@DynamicUpdate
-@Table(name = "curvepoint")
+@Table(name = "curvepoint", uniqueConstraints = @UniqueConstraint(name = "curvepoint_curve_idx", columnNames = {"CurveId", "asOfDate", "term"}))
 @Getter
 @Setter
 @ToString(onlyExplicitlyIncluded = true, includeFieldNames=true)
 public class CurvePoint {
+	/*
+	 * Ids are taken by blocks of allocationSize from id_generator table (pooled optimizer),
+	 * unlike IDENTITY Hibernate knows the id before the insert so inserts of a curve can be sent as JDBC batches
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "curvepoint_id_generator")
+	@TableGenerator(name = "curvepoint_id_generator", table = "id_generator", pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "curvepoint", allocationSize = 50)
 	@Column(name = "Id")
 	@ToString.Include
-	Integer id;
+	Long id;
 
 	/**
-	 * The curveId variable has @Column annotation with the unique parameter set to true, indicating that the username must be unique in the table.
-	 * Throw a DataIntegrityViolationException.
+	 * (CurveId, asOfDate, term) is unique, a second point with the same term in the curve throws a DataIntegrityViolationException.
 	 */
-	@Column(name = "CurveId", unique = true)
+	@Column(name = "CurveId")
 	@NotNull(message = "must not be null")
 	@Min(value = 1, message = "CurveId min is 1")
 	@Max(value = 127, message = "CurveId is a tinyint so max is 127")
 	@ToString.Include
 	Integer curveId;
 
-	@Column(name = "asOfDate")
-	@DateTimeFormat
+	/*
+	 * asOfDate and term are NOT NULL : NULLs are distinct in a unique index, so a point without them would escape the (CurveId, asOfDate, term) unique key
+	 */
+	@Column(name = "asOfDate", nullable = false)
+	@NotNull(message = "must not be null")
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
 	@JsonFormat(shape = JsonFormat.Shape.STRING)
+	@ToString.Include
 	LocalDateTime asOfDate;
 
-	@Column(name = "term")
+	@Column(name = "term", nullable = false)
+	@NotNull(message = "must not be null")
 	@DecimalMin(value = "0.0", message = "Term must be a decimal number")
 	@DecimalMax(value = "1.7976931348623157E308", inclusive = true, message = "Term must be a decimal number")
 	@ToString.Include
 	Double term;
 
+	/**
+	 * decimal par rate (0.05 for 5%) of a bond paying a coupon at each term of the curve up to this term,
+	 * the value read by BootstrappedCurve and by the Interpolation methods.
+	 */
 	@Column(name = "`value`")
 	@DecimalMin(value = "0.0", message = "Value must be a decimal number")
 	@DecimalMax(value = "1.7976931348623157E308", inclusive = true, message = "Value must be a decimal number")
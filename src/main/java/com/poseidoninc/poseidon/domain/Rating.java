@@ -7,15 +7,20 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Rating Entity
+ * Small read-mostly reference table, kept in second-level cache region "rating" (see application.conf)
  *
  * @author olivier morel
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rating")
 @DynamicInsert
 @DynamicUpdate
 @Table(name = "rating")
@@ -28,7 +33,7 @@ public class Rating {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	@Column(name = "Id")
 	@ToString.Include
-	Integer id;
+	Long id;
 
 	@Column(name = "moodysRating")
 	@Size(max = 125, message = "MoodysRating must be maximum of 125 characters")
@@ -5,15 +5,20 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * RuleName Entity
+ * Small read-mostly reference table, kept in second-level cache region "rulename" (see application.conf)
  *
  * @author olivier morel
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rulename")
 @DynamicInsert
 @DynamicUpdate
 @Table(name = "rulename")
@@ -26,7 +31,7 @@ public class RuleName {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	@Column(name = "Id")
 	@ToString.Include
-	Integer id;
+	Long id;
 
 	@Column(name = "name")
 	@Size(max = 125, message = "Name must be maximum of 125 characters")
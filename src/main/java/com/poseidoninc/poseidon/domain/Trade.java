@@ -9,31 +9,33 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
-import org.hibernate.annotations.DynamicInsert;
-import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
 
 /**
  * Trade Entity
+ * No @DynamicInsert or @DynamicUpdate : all rows share the same INSERT and UPDATE statements so they can be batched
  *
  * @author olivier morel
  */
 @Entity
-@DynamicInsert
-@DynamicUpdate
 @Table(name = "trade")
 @Getter
 @Setter
 @ToString(onlyExplicitlyIncluded = true, includeFieldNames=true)
 public class Trade {
 
+	/*
+	 * Ids are taken by blocks of allocationSize from id_generator table (pooled optimizer),
+	 * unlike IDENTITY Hibernate knows the id before the insert so inserts can be sent as JDBC batches
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "trade_id_generator")
+	@TableGenerator(name = "trade_id_generator", table = "id_generator", pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "trade", allocationSize = 50)
 	@Column(name = "TradeId")
 	@ToString.Include
-	Integer tradeId;
+	Long tradeId;
 
 	@Column(name = "account")
 	@NotBlank(message = "Account is mandatory")
@@ -40,7 +40,7 @@ public class User {
     @GeneratedValue(strategy= GenerationType.IDENTITY)
 	@Column(name = "Id")
     @ToString.Include
-    private Integer id;
+    private Long id;
 
     /**
      * The username variable has @Column annotation with the unique parameter set to true, indicating that the username must be unique in the table.
@@ -0,0 +1,55 @@
+package com.poseidoninc.poseidon.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Puts the correlation id and the uri of the request in the logging context (Log4j2 ThreadContext) of the request thread,
+ * logged by %X{correlationId} and %X{uri} of log4j2-spring.xml.
+ * The correlation id is the X-Correlation-Id header of the request when it is valid, a new one otherwise,
+ * it is returned in the X-Correlation-Id header of the response.
+ * Runs before Spring Security so that login and access denied are logged with it.
+ *
+ * @author olivier morel
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+	public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+
+	public static final String CORRELATION_ID = "correlationId";
+
+	public static final String URI = "uri";
+
+	private static final Pattern VALID_CORRELATION_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		String correlationId = request.getHeader(CORRELATION_ID_HEADER);
+		if (correlationId == null || !VALID_CORRELATION_ID.matcher(correlationId).matches()) {
+			//not a UUID : SecureRandom is contended under load
+			correlationId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+		}
+		response.setHeader(CORRELATION_ID_HEADER, correlationId);
+		MDC.put(CORRELATION_ID, correlationId);
+		MDC.put(URI, request.getRequestURI());
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			MDC.remove(CORRELATION_ID);
+			MDC.remove(URI);
+		}
+	}
+}
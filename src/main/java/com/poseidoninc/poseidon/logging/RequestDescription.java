@@ -0,0 +1,56 @@
+package com.poseidoninc.poseidon.logging;
+
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Description of a web request (uri and parameters without password) for log lines.
+ * Built once by the first log line which is enabled : passed as a log parameter, toString is not called when the level is disabled.
+ * Must be described on the request thread, then it can be logged on any thread.
+ *
+ * @author olivier morel
+ */
+public class RequestDescription {
+
+	private static final String PASSWORD = "password";
+
+	private WebRequest request;
+
+	private volatile String description;
+
+	public RequestDescription(WebRequest request) {
+		this.request = request;
+	}
+
+	@Override
+	public String toString() {
+		String result = description;
+		if (result == null) {
+			synchronized (this) {
+				result = description;
+				if (result == null) {
+					result = describe(request);
+					description = result;
+					//recycled by the servlet container after the request
+					request = null;
+				}
+			}
+		}
+		return result;
+	}
+
+	private static String describe(WebRequest request) {
+		//uri=/path?p1=v1,v2&p2=v3
+		StringBuilder parameters = new StringBuilder(request.getDescription(false)).append('?');
+		//p = parameter key of values v = String[]
+		request.getParameterMap().forEach((p, v) -> {
+			if (!p.equals(PASSWORD)) {
+				parameters.append(p).append('=');
+				for (int i = 0; i < v.length; i++) {
+					parameters.append(v[i]).append(i < v.length - 1 ? ',' : '&');
+				}
+			}
+		});
+		parameters.setLength(parameters.length() - 1);
+		return parameters.toString();
+	}
+}
@@ -0,0 +1,153 @@
+package com.poseidoninc.poseidon.metrics;
+
+import com.poseidoninc.poseidon.configuration.ServiceMetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Times every call of services and repositories, timers poseidon.service and poseidon.repository
+ * tagged by entity, method and outcome (success, rollback, conflict, not_found or error).
+ * Outermost advice : time includes transaction commit and cache lookup.
+ * Timers are looked up once per method and outcome, when disabled a call only costs a volatile read.
+ *
+ * @author olivier morel
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+	public static final String SERVICE_TIMER = "poseidon.service";
+
+	public static final String REPOSITORY_TIMER = "poseidon.repository";
+
+	private static final String REPOSITORY_PACKAGE = "com.poseidoninc.poseidon.repository";
+
+	enum Outcome {
+		SUCCESS("success"), ROLLBACK("rollback"), CONFLICT("conflict"), NOT_FOUND("not_found"), ERROR("error");
+
+		private final String tag;
+
+		Outcome(String tag) {
+			this.tag = tag;
+		}
+
+		static Outcome of(Throwable throwable) {
+			//services rethrow a missing entity as an UnexpectedRollbackException caused by the ResourceNotFoundException
+			if (NestedExceptionUtils.getMostSpecificCause(throwable) instanceof ResourceNotFoundException) {
+				return NOT_FOUND;
+			} else if (throwable instanceof UnexpectedRollbackException) {
+				return ROLLBACK;
+			} else if (throwable instanceof DataIntegrityViolationException) {
+				return CONFLICT;
+			}
+			return ERROR;
+		}
+	}
+
+	private final MeterRegistry meterRegistry;
+
+	/*
+	 * Same method can be called on several targets (CrudRepository.findById on every repository)
+	 */
+	private final ClassValue<ConcurrentMap<Method, AtomicReferenceArray<Timer>>> timers = new ClassValue<>() {
+		@Override
+		protected ConcurrentMap<Method, AtomicReferenceArray<Timer>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private volatile boolean enabled;
+
+	public ServiceMetricsAspect(MeterRegistry meterRegistry, ServiceMetricsProperties serviceMetricsProperties) {
+		this.meterRegistry = meterRegistry;
+		this.enabled = serviceMetricsProperties.isEnabled();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@Around("within(com.poseidoninc.poseidon.service..*) && @within(org.springframework.stereotype.Service)")
+	public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(joinPoint, SERVICE_TIMER);
+	}
+
+	@Around("target(org.springframework.data.repository.Repository)")
+	public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(joinPoint, REPOSITORY_TIMER);
+	}
+
+	private Object time(ProceedingJoinPoint joinPoint, String timerName) throws Throwable {
+		if (!enabled) {
+			return joinPoint.proceed();
+		}
+		long start = System.nanoTime();
+		Outcome outcome = Outcome.SUCCESS;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable throwable) {
+			outcome = Outcome.of(throwable);
+			throw throwable;
+		} finally {
+			timer(joinPoint, timerName, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private Timer timer(ProceedingJoinPoint joinPoint, String timerName, Outcome outcome) {
+		//the proxy, target of a repository is a SimpleJpaRepository
+		Object proxy = joinPoint.getThis();
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		AtomicReferenceArray<Timer> methodTimers = timers.get(proxy.getClass()).computeIfAbsent(method, m -> new AtomicReferenceArray<>(Outcome.values().length));
+		Timer timer = methodTimers.get(outcome.ordinal());
+		if (timer == null) {
+			//registering again the same timer returns the registered one
+			timer = Timer.builder(timerName)
+					.tag("entity", entity(proxy))
+					.tag("method", method.getName())
+					.tag("outcome", outcome.tag)
+					.register(meterRegistry);
+			methodTimers.set(outcome.ordinal(), timer);
+		}
+		return timer;
+	}
+
+	/**
+	 * TradeServiceImpl, CurvePointServiceIpml -> Trade, CurvePoint
+	 * proxy of TradeRepository -> Trade
+	 *
+	 * @param proxy the proxy of a service or repository (joinPoint.getThis())
+	 * @return the entity name
+	 */
+	public static String entity(Object proxy) {
+		String name = Arrays.stream(proxy.getClass().getInterfaces())
+				.filter(type -> type.getPackageName().equals(REPOSITORY_PACKAGE))
+				.map(Class::getSimpleName)
+				.findFirst()
+				.orElseGet(() -> AopUtils.getTargetClass(proxy).getSimpleName());
+		return name.replaceFirst("^Custom", "").replaceFirst("(ServiceImpl|ServiceIpml|Service|Repository)$", "");
+	}
+}
@@ -0,0 +1,38 @@
+package com.poseidoninc.poseidon.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint /actuator/servicemetrics to read or switch at runtime the timers of services and repositories
+ * POST {"enabled": false} to disable them
+ * @see ServiceMetricsAspect
+ *
+ * @author olivier morel
+ */
+@Component
+@Endpoint(id = "servicemetrics")
+@AllArgsConstructor
+@Slf4j
+public class ServiceMetricsEndpoint {
+
+	private final ServiceMetricsAspect serviceMetricsAspect;
+
+	@ReadOperation
+	public Map<String, Boolean> status() {
+		return Map.of("enabled", serviceMetricsAspect.isEnabled());
+	}
+
+	@WriteOperation
+	public Map<String, Boolean> switchTimers(boolean enabled) {
+		serviceMetricsAspect.setEnabled(enabled);
+		log.info("Service and repository timers enabled = {}", enabled);
+		return status();
+	}
+}
@@ -0,0 +1,147 @@
+package com.poseidoninc.poseidon.metrics;
+
+import com.poseidoninc.poseidon.configuration.SqlMetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener of JDBC statements and result sets of the DataSource proxy (DataSourceProxyConfiguration) :
+ * timer poseidon.sql tagged by type (select, insert, update, delete, other) and outcome (success, error),
+ * counter poseidon.sql.rows of rows read (select) or written, statements of the current thread (SqlStatistics),
+ * WARN log of slow statements and DEBUG log of every statement (replaces spring.jpa.show-sql).
+ * Logged statements have bind parameters (?), not their values.
+ *
+ * @author olivier morel
+ */
+@Component
+@Slf4j
+public class SqlMetricsListener implements QueryExecutionListener, MethodExecutionListener {
+
+	public static final String SQL_TIMER = "poseidon.sql";
+
+	public static final String SQL_ROWS = "poseidon.sql.rows";
+
+	private static final String START = "start";
+
+	private static final QueryType[] KEYWORDS = {QueryType.SELECT, QueryType.INSERT, QueryType.UPDATE, QueryType.DELETE};
+
+	private final Map<QueryType, Timer> successTimers = new EnumMap<>(QueryType.class);
+
+	private final Map<QueryType, Timer> errorTimers = new EnumMap<>(QueryType.class);
+
+	private final Map<QueryType, Counter> rowCounters = new EnumMap<>(QueryType.class);
+
+	private final long slowQueryNanos;
+
+	public SqlMetricsListener(MeterRegistry meterRegistry, SqlMetricsProperties sqlMetricsProperties) {
+		for (QueryType type : QueryType.values()) {
+			String tag = type.name().toLowerCase();
+			successTimers.put(type, Timer.builder(SQL_TIMER).tag("type", tag).tag("outcome", "success").register(meterRegistry));
+			errorTimers.put(type, Timer.builder(SQL_TIMER).tag("type", tag).tag("outcome", "error").register(meterRegistry));
+			rowCounters.put(type, Counter.builder(SQL_ROWS).tag("type", tag).register(meterRegistry));
+		}
+		slowQueryNanos = sqlMetricsProperties.getSlowQueryThreshold().toNanos();
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		execInfo.addCustomValue(START, System.nanoTime());
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(START, Long.class);
+		String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+		QueryType type = type(sql);
+		(execInfo.isSuccess() ? successTimers : errorTimers).get(type).record(elapsedNanos, TimeUnit.NANOSECONDS);
+		long updatedRows = updatedRows(execInfo.getResult());
+		if (updatedRows > 0) {
+			rowCounters.get(type).increment(updatedRows);
+		}
+		SqlStatistics sqlStatistics = SqlStatistics.current();
+		if (sqlStatistics != null) {
+			sqlStatistics.statement(elapsedNanos, updatedRows);
+			if (type == QueryType.SELECT) {
+				sqlStatistics.select(sql);
+			}
+		}
+		if (elapsedNanos >= slowQueryNanos) {
+			log.warn("Slow {} statement : {} ms : {}", type, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql);
+		} else if (log.isDebugEnabled()) {
+			log.debug("{} statement : {} us{} : {}", type, TimeUnit.NANOSECONDS.toMicros(elapsedNanos), execInfo.isBatch() ? " batch of " + execInfo.getBatchSize() : "", sql);
+		}
+	}
+
+	@Override
+	public void beforeMethod(MethodExecutionContext executionContext) {
+	}
+
+	/*
+	 * Counts rows read by ResultSet.next()
+	 */
+	@Override
+	public void afterMethod(MethodExecutionContext executionContext) {
+		if (executionContext.getTarget() instanceof ResultSet
+				&& Boolean.TRUE.equals(executionContext.getResult())
+				&& executionContext.getMethod().getName().equals("next")) {
+			rowCounters.get(QueryType.SELECT).increment();
+			SqlStatistics sqlStatistics = SqlStatistics.current();
+			if (sqlStatistics != null) {
+				sqlStatistics.row();
+			}
+		}
+	}
+
+	/*
+	 * Type from the first keyword, without QueryUtils regex
+	 */
+	static QueryType type(String sql) {
+		int start = 0;
+		while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+			start++;
+		}
+		for (QueryType type : KEYWORDS) {
+			if (sql.regionMatches(true, start, type.name(), 0, type.name().length())) {
+				return type;
+			}
+		}
+		return QueryType.OTHER;
+	}
+
+	/*
+	 * Result of executeUpdate (int or long) or executeBatch (int[] or long[])
+	 */
+	private static long updatedRows(Object result) {
+		if (result instanceof Number number) {
+			return Math.max(number.longValue(), 0);
+		} else if (result instanceof int[] counts) {
+			long rows = 0;
+			for (int count : counts) {
+				rows += Math.max(count, 0);
+			}
+			return rows;
+		} else if (result instanceof long[] counts) {
+			long rows = 0;
+			for (long count : counts) {
+				rows += Math.max(count, 0);
+			}
+			return rows;
+		}
+		return 0;
+	}
+}
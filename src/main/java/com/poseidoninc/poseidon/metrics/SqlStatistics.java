@@ -0,0 +1,123 @@
+package com.poseidoninc.poseidon.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL statements of the current thread between start and stop : an HTTP request (SqlStatisticsFilter) or a test.
+ * Scopes can be nested, statements of a scope are added to its parent at stop.
+ *
+ * @author olivier morel
+ */
+public class SqlStatistics {
+
+	private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+	private final SqlStatistics parent;
+
+	private final int nPlusOneThreshold;
+
+	private int statements;
+
+	private long rows;
+
+	private long nanos;
+
+	//count of each select, Hibernate binds parameters so a N+1 is the same sql string
+	private final Map<String, Integer> selects = new HashMap<>();
+
+	private final List<String> nPlusOneQueries = new ArrayList<>();
+
+	private SqlStatistics(SqlStatistics parent, int nPlusOneThreshold) {
+		this.parent = parent;
+		this.nPlusOneThreshold = nPlusOneThreshold;
+	}
+
+	/**
+	 * Starts counting statements of the current thread
+	 *
+	 * @param nPlusOneThreshold count of a same select from which it is a N+1 query
+	 * @return the started SqlStatistics, to stop
+	 */
+	public static SqlStatistics start(int nPlusOneThreshold) {
+		SqlStatistics sqlStatistics = new SqlStatistics(CURRENT.get(), nPlusOneThreshold);
+		CURRENT.set(sqlStatistics);
+		return sqlStatistics;
+	}
+
+	/**
+	 * @return SqlStatistics of the current thread, null out of a request
+	 */
+	static SqlStatistics current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Stops counting, statements are added to the parent scope if any
+	 */
+	public void stop() {
+		if (parent == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(parent);
+			parent.statements += statements;
+			parent.rows += rows;
+			parent.nanos += nanos;
+			selects.forEach((sql, count) -> {
+				int parentCount = parent.selects.merge(sql, count, Integer::sum);
+				if (parentCount >= parent.nPlusOneThreshold && parentCount - count < parent.nPlusOneThreshold) {
+					parent.nPlusOneQueries.add(sql);
+				}
+			});
+		}
+	}
+
+	void statement(long elapsedNanos, long updatedRows) {
+		statements++;
+		nanos += elapsedNanos;
+		rows += updatedRows;
+	}
+
+	void select(String sql) {
+		if (selects.merge(sql, 1, Integer::sum) == nPlusOneThreshold) {
+			nPlusOneQueries.add(sql);
+		}
+	}
+
+	void row() {
+		rows++;
+	}
+
+	public int getStatements() {
+		return statements;
+	}
+
+	/**
+	 * @return rows read by selects and written by inserts, updates and deletes
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**
+	 * @return selects executed at least n plus one threshold times
+	 */
+	public List<String> getNPlusOneQueries() {
+		return Collections.unmodifiableList(nPlusOneQueries);
+	}
+
+	/**
+	 * @param sql the select
+	 * @return how many times the select was executed
+	 */
+	public int getCount(String sql) {
+		return selects.getOrDefault(sql, 0);
+	}
+}
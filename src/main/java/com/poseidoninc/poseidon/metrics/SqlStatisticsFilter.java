@@ -0,0 +1,60 @@
+package com.poseidoninc.poseidon.metrics;
+
+import com.poseidoninc.poseidon.configuration.SqlMetricsProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts SQL statements of each HTTP request : distribution summary poseidon.sql.requests tagged by uri pattern,
+ * DEBUG log of statements, rows and SQL time of the request, WARN log of N+1 queries.
+ * Runs after CorrelationIdFilter so that logs have the correlation id.
+ *
+ * @author olivier morel
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@AllArgsConstructor
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+	public static final String SQL_REQUESTS = "poseidon.sql.requests";
+
+	private final MeterRegistry meterRegistry;
+
+	private final SqlMetricsProperties sqlMetricsProperties;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		SqlStatistics sqlStatistics = SqlStatistics.start(sqlMetricsProperties.getNPlusOneThreshold());
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			sqlStatistics.stop();
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			DistributionSummary.builder(SQL_REQUESTS)
+					.baseUnit("statements")
+					.tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+					.register(meterRegistry)
+					.record(sqlStatistics.getStatements());
+			if (sqlStatistics.getStatements() > 0) {
+				log.debug("{} SQL statements, {} rows, {} ms", sqlStatistics.getStatements(), sqlStatistics.getRows(), TimeUnit.NANOSECONDS.toMillis(sqlStatistics.getNanos()));
+			}
+			sqlStatistics.getNPlusOneQueries().forEach(sql ->
+					log.warn("N+1 queries : {} executed {} times", sql, sqlStatistics.getCount(sql)));
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.poseidoninc.poseidon.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * ApiWindow class represents a window of entities returned by the /api/../list endpoints.
+ * next is the opaque continuation token to get the following window, null if it is the last one.
+ *
+ * @param <T> entity type
+ *
+ * @author olivier morel
+ */
+@Getter
+@AllArgsConstructor
+public class ApiWindow<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String next;
+}
@@ -0,0 +1,10 @@
+package com.poseidoninc.poseidon.projection;
+
+/**
+ * BidList columns shown by bidList/list.html
+ * Built by a JPQL constructor expression : not an entity, so not managed by the persistence context.
+ *
+ * @author olivier morel
+ */
+public record BidListSummary(Long bidListId, String account, String type, Double bidQuantity) {
+}
@@ -0,0 +1,10 @@
+package com.poseidoninc.poseidon.projection;
+
+/**
+ * Trade columns shown by trade/list.html
+ * Built by a JPQL constructor expression : not an entity, so not managed by the persistence context.
+ *
+ * @author olivier morel
+ */
+public record TradeSummary(Long tradeId, String account, String type, Double buyQuantity) {
+}
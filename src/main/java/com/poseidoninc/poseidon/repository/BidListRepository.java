@@ -1,14 +1,49 @@
 package com.poseidoninc.poseidon.repository;
 
 import com.poseidoninc.poseidon.domain.BidList;
+import com.poseidoninc.poseidon.projection.BidListSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
 
 /**
  * extends JpaRepository, providing CRUD operations for the BidList entity.
+ * extends JpaSpecificationExecutor, providing keyset scrolling for the BidList entity.
  * @see JpaRepository
+ * @see JpaSpecificationExecutor
  *
  * @author olivier morel
  */
-public interface BidListRepository extends JpaRepository<BidList, Integer> {
+public interface BidListRepository extends JpaRepository<BidList, Long>, JpaSpecificationExecutor<BidList> {
+
+	/**
+	 * Streams all bidLists ordered by bidListId, used by export.
+	 * Fetch size hint makes the JDBC driver read rows by batches instead of loading the whole result set
+	 * (MySQL Connector/J honors it only with useCursorFetch=true in spring.datasource.url).
+	 * Read only hint : Hibernate keeps no dirty checking snapshot of streamed entities.
+	 * Must be consumed in a transaction and closed.
+	 *
+	 * @return Stream of BidList
+	 */
+	@Query("select b from BidList b order by b.bidListId")
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+	Stream<BidList> streamAll();
 
+	/**
+	 * Page of the four columns shown by the bidList list view.
+	 * Selects only these columns, no entity hydration and no dirty checking snapshot.
+	 *
+	 * @param pageable page request
+	 * @return Page of BidListSummary
+	 */
+	@Query(value = "select new com.poseidoninc.poseidon.projection.BidListSummary(b.bidListId, b.account, b.type, b.bidQuantity) from BidList b",
+			countQuery = "select count(b) from BidList b")
+	Page<BidListSummary> findBidListSummaries(Pageable pageable);
 }
@@ -1,14 +1,61 @@
 package com.poseidoninc.poseidon.repository;
 
 import com.poseidoninc.poseidon.domain.CurvePoint;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * extends JpaRepository, providing CRUD operations for the CurvePoint entity.
+ * extends JpaSpecificationExecutor, providing keyset scrolling for the CurvePoint entity.
  * @see JpaRepository
+ * @see JpaSpecificationExecutor
  *
  * @author olivier morel
  */
 
-public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
+public interface CurvePointRepository extends JpaRepository<CurvePoint, Long>, JpaSpecificationExecutor<CurvePoint> {
+
+	/**
+	 * Points of a curve, one range scan of the (CurveId, asOfDate, term) index already ordered by term
+	 *
+	 * @param curveId the curve
+	 * @param asOfDate the date of the curve
+	 * @return points of the curve ordered by term
+	 */
+	List<CurvePoint> findByCurveIdAndAsOfDateOrderByTerm(Integer curveId, LocalDateTime asOfDate);
+
+	/**
+	 * Streams the points of all curves, ordered by (CurveId, asOfDate, term) : one scan of the curve index,
+	 * used to build the curve history.
+	 * Fetch size hint makes the JDBC driver read rows by batches instead of loading the whole result set
+	 * (MySQL Connector/J honors it only with useCursorFetch=true in spring.datasource.url).
+	 * Read only hint : Hibernate keeps no dirty checking snapshot of streamed entities.
+	 * Must be consumed in a transaction and closed.
+	 *
+	 * @return Stream of CurvePoint
+	 */
+	@Query("select c from CurvePoint c order by c.curveId, c.asOfDate, c.term")
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+	Stream<CurvePoint> streamHistory();
+
+	/**
+	 * Streams the points of all curves dated between from included and to excluded, ordered by (CurveId, asOfDate, term),
+	 * used by the curve bootstrap job. Same hints as streamHistory, must be consumed in a transaction and closed.
+	 *
+	 * @param from first date included
+	 * @param to last date excluded
+	 * @return Stream of CurvePoint
+	 */
+	@Query("select c from CurvePoint c where c.asOfDate >= :from and c.asOfDate < :to order by c.curveId, c.asOfDate, c.term")
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+	Stream<CurvePoint> streamCurves(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -1,14 +1,32 @@
 package com.poseidoninc.poseidon.repository;
 
 import com.poseidoninc.poseidon.domain.Rating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 
 /**
  * extends JpaRepository, providing CRUD operations for the Rating entity.
+ * extends JpaSpecificationExecutor, providing keyset scrolling for the Rating entity.
  * @see JpaRepository
+ * @see JpaSpecificationExecutor
  *
  * @author olivier morel
  */
-public interface RatingRepository extends JpaRepository<Rating, Integer> {
+public interface RatingRepository extends JpaRepository<Rating, Long>, JpaSpecificationExecutor<Rating> {
 
+	/**
+	 * Results are kept in the query cache, Hibernate invalidates them when the table is written.
+	 * Entities are then read from the second-level cache by id.
+	 *
+	 * @param pageable page request
+	 * @return Page of Rating
+	 */
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	Page<Rating> findAll(Pageable pageable);
 }
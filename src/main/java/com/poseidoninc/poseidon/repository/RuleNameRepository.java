@@ -1,14 +1,33 @@
 package com.poseidoninc.poseidon.repository;
 
 import com.poseidoninc.poseidon.domain.RuleName;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 
 
 /**
  * extends JpaRepository, providing CRUD operations for the RuleName entity.
+ * extends JpaSpecificationExecutor, providing keyset scrolling for the RuleName entity.
  * @see JpaRepository
+ * @see JpaSpecificationExecutor
  *
  * @author olivier morel
  */
-public interface RuleNameRepository extends JpaRepository<RuleName, Integer> {
+public interface RuleNameRepository extends JpaRepository<RuleName, Long>, JpaSpecificationExecutor<RuleName> {
+
+	/**
+	 * Results are kept in the query cache, Hibernate invalidates them when the table is written.
+	 * Entities are then read from the second-level cache by id.
+	 *
+	 * @param pageable page request
+	 * @return Page of RuleName
+	 */
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	Page<RuleName> findAll(Pageable pageable);
 }
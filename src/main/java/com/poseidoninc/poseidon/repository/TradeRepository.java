@@ -1,14 +1,50 @@
 package com.poseidoninc.poseidon.repository;
 
 import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.projection.TradeSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
 
 
 /**
  * extends JpaRepository, providing CRUD operations for the Trade entity.
+ * extends JpaSpecificationExecutor, providing keyset scrolling for the Trade entity.
  * @see JpaRepository
+ * @see JpaSpecificationExecutor
  *
  * @author olivier morel
  */
-public interface TradeRepository extends JpaRepository<Trade, Integer> {
+public interface TradeRepository extends JpaRepository<Trade, Long>, JpaSpecificationExecutor<Trade> {
+
+	/**
+	 * Streams all trades ordered by tradeId, used by export.
+	 * Fetch size hint makes the JDBC driver read rows by batches instead of loading the whole result set
+	 * (MySQL Connector/J honors it only with useCursorFetch=true in spring.datasource.url).
+	 * Read only hint : Hibernate keeps no dirty checking snapshot of streamed entities.
+	 * Must be consumed in a transaction and closed.
+	 *
+	 * @return Stream of Trade
+	 */
+	@Query("select t from Trade t order by t.tradeId")
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+	Stream<Trade> streamAll();
+
+	/**
+	 * Page of the four columns shown by the trade list view.
+	 * Selects only these columns, no entity hydration and no dirty checking snapshot.
+	 *
+	 * @param pageable page request
+	 * @return Page of TradeSummary
+	 */
+	@Query(value = "select new com.poseidoninc.poseidon.projection.TradeSummary(t.tradeId, t.account, t.type, t.buyQuantity) from Trade t",
+			countQuery = "select count(t) from Trade t")
+	Page<TradeSummary> findTradeSummaries(Pageable pageable);
 }
@@ -0,0 +1,120 @@
+package com.poseidoninc.poseidon.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder running hashing and verification of its delegate on a dedicated, size-limited pool
+ * instead of the calling request thread, so that a login burst can't take the CPU of the CRUD endpoints.
+ * When all threads are busy and the queue is full, calls are rejected at once with RejectedExecutionException.
+ *
+ * @author olivier morel
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+	private final PasswordEncoder delegate;
+
+	private final ThreadPoolExecutor executor;
+
+	public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity) {
+		this.delegate = delegate;
+		AtomicInteger threadNumber = new AtomicInteger();
+		executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				runnable -> {
+					Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Picks the highest BCrypt strength (log2 rounds) whose hashing time stays under the target.
+	 * Hashing time is measured at min strength and doubles with each round, verification costs the same.
+	 *
+	 * @param targetMillis target time of one hash or verification
+	 * @param minStrength strength returned even if slower than the target
+	 * @param maxStrength upper bound
+	 * @return the strength
+	 */
+	public static int calibrateStrength(long targetMillis, int minStrength, int maxStrength) {
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+		encoder.encode("warm-up");
+		long nanos = Long.MAX_VALUE;
+		for (int i = 0; i < 3; i++) {
+			long start = System.nanoTime();
+			encoder.encode("calibration");
+			nanos = Math.min(nanos, System.nanoTime() - start);
+		}
+		long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+		int strength = minStrength;
+		while (strength < maxStrength && nanos * 2 <= targetNanos) {
+			nanos *= 2;
+			strength++;
+		}
+		return strength;
+	}
+
+	/**
+	 * @throws RejectedExecutionException if the pool is overloaded
+	 */
+	@Override
+	public String encode(CharSequence rawPassword) throws RejectedExecutionException {
+		return call(() -> delegate.encode(rawPassword));
+	}
+
+	/**
+	 * @throws RejectedExecutionException if the pool is overloaded
+	 */
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) throws RejectedExecutionException {
+		return call(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	/**
+	 * No hashing, runs on the calling thread
+	 */
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	/**
+	 * @return number of hashing or verification calls waiting for a thread
+	 */
+	public int getQueueSize() {
+		return executor.getQueue().size();
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	private <T> T call(Callable<T> task) throws RejectedExecutionException {
+		//Throws RejectedExecutionException
+		Future<T> future = executor.submit(task);
+		try {
+			return future.get();
+		} catch (InterruptedException ie) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for password hashing", ie);
+		} catch (ExecutionException ee) {
+			if (ee.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw new IllegalStateException("Error while hashing password", ee.getCause());
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.poseidoninc.poseidon.security;
+
+import com.poseidoninc.poseidon.configuration.CacheConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+
+/**
+ * UserDetails by trimmed lower case username (usernames are case insensitive in database).
+ *
+ * A load takes the version before reading the user and puts the UserDetails only if no eviction happened since,
+ * so a login which read a user before a write commits can't cache the old row after the eviction of this write.
+ * Writes evict after commit, a rolled back write leaves the cache unchanged.
+ * Puts and evictions are applied at once, not deferred by the transaction-aware cache manager.
+ *
+ * @author olivier morel
+ */
+@Component
+public class UserDetailsCache {
+
+	private final Cache cache;
+
+	/*
+	 * guarded by this, incremented by each eviction
+	 */
+	private long version;
+
+	public UserDetailsCache(CacheManager cacheManager) {
+		Cache userDetailsCache = cacheManager.getCache(CacheConfiguration.USER_DETAILS_CACHE);
+		this.cache = userDetailsCache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : userDetailsCache;
+	}
+
+	/**
+	 * @param userName the username, any case
+	 * @return the cached UserDetails or null
+	 */
+	public UserDetails get(String userName) {
+		return cache.get(key(userName), UserDetails.class);
+	}
+
+	/**
+	 * @return the version to take before reading a user
+	 */
+	public synchronized long version() {
+		return version;
+	}
+
+	/**
+	 * Caches the UserDetails unless a user was evicted since the version was taken
+	 *
+	 * @param userName the username, any case
+	 * @param userDetails the UserDetails of the user read
+	 * @param version the version taken before reading the user
+	 */
+	public synchronized void put(String userName, UserDetails userDetails, long version) {
+		if (this.version == version) {
+			cache.put(key(userName), userDetails);
+		}
+	}
+
+	/**
+	 * Evicts the UserDetails of a user after the commit of the current transaction, at once without transaction
+	 *
+	 * @param userName the username written, any case
+	 */
+	public void evictAfterCommit(String userName) {
+		String key = key(userName);
+		afterCommit(() -> evict(key));
+	}
+
+	/**
+	 * Evicts all UserDetails after the commit of the current transaction, at once without transaction.
+	 * Username can be changed by update, so a write of a user evicts all of them, users are rarely written.
+	 */
+	public void evictAllAfterCommit() {
+		afterCommit(() -> evict(null));
+	}
+
+	private void afterCommit(Runnable eviction) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					eviction.run();
+				}
+			});
+		} else {
+			eviction.run();
+		}
+	}
+
+	private synchronized void evict(String key) {
+		version++;
+		if (key == null) {
+			cache.clear();
+		} else {
+			cache.evict(key);
+		}
+	}
+
+	private static String key(String userName) {
+		return userName.strip().toLowerCase(Locale.ROOT);
+	}
+}
@@ -1,18 +1,47 @@
 package com.poseidoninc.poseidon.service;
 
 import com.poseidoninc.poseidon.domain.BidList;
+import com.poseidoninc.poseidon.projection.BidListSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.UnexpectedRollbackException;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * Service for BidList
  *
  * @author olivier morel
  */
 public interface BidListService {
-	BidList getBidListById(Integer bidListId) throws UnexpectedRollbackException;
+	BidList getBidListById(Long bidListId) throws UnexpectedRollbackException;
 	Page<BidList> getBidLists(Pageable pageRequest) throws UnexpectedRollbackException;
+	Page<BidListSummary> getBidListSummaries(Pageable pageRequest) throws UnexpectedRollbackException;
+	Window<BidList> getBidLists(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException;
 	BidList saveBidList(BidList bidList) throws UnexpectedRollbackException;
-	void deleteBidListById(Integer bidListId) throws UnexpectedRollbackException;
+
+	/**
+	 * Creates or updates all bidLists in one transaction, flushed by chunks so inserts and updates are sent as JDBC batches
+	 * and persistence context is cleared after each chunk.
+	 *
+	 * @param bidLists to create (null id) or update
+	 * @return bidLists saved with their ids
+	 * @throws UnexpectedRollbackException
+	 */
+	List<BidList> saveBidLists(List<BidList> bidLists) throws UnexpectedRollbackException;
+	void deleteBidListById(Long bidListId) throws UnexpectedRollbackException;
+
+	/**
+	 * Streams all bidLists to the consumer, each one is detached from the persistence context once consumed
+	 * so export memory stays constant whatever the table size.
+	 *
+	 * @param bidListConsumer writes the bidList
+	 * @return number of bidLists exported
+	 * @throws UnexpectedRollbackException
+	 */
+	long exportBidLists(Consumer<BidList> bidListConsumer) throws UnexpectedRollbackException;
 }
@@ -1,16 +1,30 @@
 package com.poseidoninc.poseidon.service;
 
+import com.poseidoninc.poseidon.configuration.BatchProperties;
 import com.poseidoninc.poseidon.domain.BidList;
+import com.poseidoninc.poseidon.projection.BidListSummary;
 import com.poseidoninc.poseidon.repository.BidListRepository;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 /**
  * Implementation class for BidListService
  *
@@ -25,16 +39,20 @@ public class BidListServiceImpl implements BidListService {
 
 	private final BidListRepository bidListRepository;
 
+	private final EntityManager entityManager;
+
+	private final BatchProperties batchProperties;
+
 	@Override
 	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
-	public BidList getBidListById(Integer bidListId) throws UnexpectedRollbackException {
+	public BidList getBidListById(Long bidListId) throws UnexpectedRollbackException {
 		BidList bidList;
 		try {
 			//Throws ResourceNotFoundException | InvalidDataAccessApiUsageException
 			bidList = bidListRepository.findById(bidListId).orElseThrow(() -> new ResourceNotFoundException("BidList not found"));
 		} catch (Exception e) {
 			log.error("Error while getting bidlist = {} : {} ", bidListId, e.toString());
-			throw new UnexpectedRollbackException("Error while getting bidlist");
+			throw new UnexpectedRollbackException("Error while getting bidlist", e);
 		}
 		return bidList;
 	}
@@ -53,6 +71,37 @@ public class BidListServiceImpl implements BidListService {
 		return pageBidList;
 	}
 
+	@Override
+	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
+	public Page<BidListSummary> getBidListSummaries(Pageable pageRequest) throws UnexpectedRollbackException {
+		Page<BidListSummary> pageBidListSummary;
+		try {
+			//throws NullPointerException if pageRequest is null
+			pageBidListSummary = bidListRepository.findBidListSummaries(pageRequest);
+		} catch(Exception e) {
+			log.error("Error while getting bidLists : {} ", e.toString());
+			throw new UnexpectedRollbackException("Error while getting bidLists");
+		}
+		return pageBidListSummary;
+	}
+
+	@Override
+	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
+	public Window<BidList> getBidLists(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException {
+		Window<BidList> windowBidList;
+		try {
+			/*
+			 * Keyset predicate on sort properties then primary key, no offset and no count query
+			 * Fetches limit + 1 rows to know if there is a next window
+			 */
+			windowBidList = bidListRepository.findBy(Specification.where(null), query -> query.sortBy(sort).limit(limit).scroll(position));
+		} catch(Exception e) {
+			log.error("Error while getting bidLists : {}", e.toString());
+			throw new UnexpectedRollbackException("Error while getting bidLists");
+		}
+		return windowBidList;
+	}
+
 	@Override
 	@Transactional(rollbackFor = UnexpectedRollbackException.class)
 	public BidList saveBidList(BidList bidList) throws UnexpectedRollbackException {
@@ -60,12 +109,12 @@ public class BidListServiceImpl implements BidListService {
 		try {
 			/*
 			 * No need to test blank or null fields for update because constraint validation on each field
-			 * @DynamicUpdate, Hibernate generates an UPDATE SQL statement that sets only columns that have changed
+			 * Static UPDATE SQL statement that sets all columns, same statement for all rows so updates can be batched
 			 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException
 			 */
 			bidListSaved = bidListRepository.save(bidList);
 		} catch(Exception e) {
-			log.error("Error while saving bidList = {} : {} ", bidList.toString(), e.toString());
+			log.error("Error while saving bidList = {} : {} ", bidList, e.toString());
 			throw new UnexpectedRollbackException("Error while saving bidList");
 		}
 		return bidListSaved;
@@ -73,14 +122,62 @@ public class BidListServiceImpl implements BidListService {
 
 	@Override
 	@Transactional(rollbackFor = UnexpectedRollbackException.class)
-	public void deleteBidListById(Integer bidListId) throws UnexpectedRollbackException {
+	public List<BidList> saveBidLists(List<BidList> bidLists) throws UnexpectedRollbackException {
+		List<BidList> bidListsSaved = new ArrayList<>(bidLists.size());
+		int flushSize = Math.max(batchProperties.getFlushSize(), 1);
+		try {
+			for (int from = 0; from < bidLists.size(); from += flushSize) {
+				List<BidList> chunk = bidLists.subList(from, Math.min(from + flushSize, bidLists.size()));
+				//one select for the bidLists to update, so save (merge) finds them in persistence context
+				bidListRepository.findAllById(chunk.stream().map(BidList::getBidListId).filter(Objects::nonNull).toList());
+				/*
+				 * ids of new bidLists are allocated by the pooled table generator, nothing sent until flush
+				 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException
+				 */
+				bidListsSaved.addAll(bidListRepository.saveAll(chunk));
+				//inserts then updates of the chunk sent as JDBC batches, then persistence context is emptied
+				entityManager.flush();
+				entityManager.clear();
+			}
+		} catch(Exception e) {
+			log.error("Error while saving bidLists after {} rows : {} ", bidListsSaved.size(), e.toString());
+			throw new UnexpectedRollbackException("Error while saving bidLists");
+		}
+		return bidListsSaved;
+	}
+
+	@Override
+	@Transactional(rollbackFor = UnexpectedRollbackException.class)
+	public void deleteBidListById(Long bidListId) throws UnexpectedRollbackException {
 		try {
 			/* getBidListById throws UnexpectedRollbackException
 			 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException */
 			bidListRepository.delete(getBidListById(bidListId));
 		} catch(Exception e) {
 			log.error("Error while deleting bidList = {} : {} ", bidListId, e.toString());
-			throw new UnexpectedRollbackException("Error while deleting bidList");
+			throw new UnexpectedRollbackException("Error while deleting bidList", e);
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
+	public long exportBidLists(Consumer<BidList> bidListConsumer) throws UnexpectedRollbackException {
+		long exported = 0;
+		//Stream holds an open JDBC ResultSet, closed by try-with-resources
+		try (Stream<BidList> streamBidList = bidListRepository.streamAll()) {
+			Iterator<BidList> iterator = streamBidList.iterator();
+			while (iterator.hasNext()) {
+				BidList bidList = iterator.next();
+				//Throws UncheckedIOException if client is gone
+				bidListConsumer.accept(bidList);
+				//written, so no need to keep it in persistence context
+				entityManager.detach(bidList);
+				exported++;
+			}
+		} catch(Exception e) {
+			log.error("Error while exporting bidLists after {} rows : {} ", exported, e.toString());
+			throw new UnexpectedRollbackException("Error while exporting bidLists");
 		}
+		return exported;
 	}
 }
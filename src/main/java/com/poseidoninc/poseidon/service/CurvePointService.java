@@ -1,23 +1,103 @@
 package com.poseidoninc.poseidon.service;
 
+import com.poseidoninc.poseidon.curve.BootstrappedCurve;
+import com.poseidoninc.poseidon.curve.CurveHistory;
+import com.poseidoninc.poseidon.curve.CurveSnapshot;
 import com.poseidoninc.poseidon.domain.CurvePoint;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.UnexpectedRollbackException;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Service for CurvePoint
  *
  * @author olivier morel
  */
 public interface CurvePointService {
-	CurvePoint getCurvePointById(Integer id) throws UnexpectedRollbackException;
+	CurvePoint getCurvePointById(Long id) throws UnexpectedRollbackException;
 	Page<CurvePoint> getCurvePoints(Pageable pageRequest) throws UnexpectedRollbackException;
+	Window<CurvePoint> getCurvePoints(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException;
+
+	/**
+	 * Loads all points of a curve in one query
+	 *
+	 * @param curveId the curve
+	 * @param asOfDate the date of the curve
+	 * @return points of the curve ordered by term, empty if the curve doesn't exist
+	 * @throws UnexpectedRollbackException
+	 */
+	List<CurvePoint> getCurve(Integer curveId, LocalDateTime asOfDate) throws UnexpectedRollbackException;
+
+	/**
+	 * Loads all points of a curve in one query into an immutable primitive snapshot for interpolation
+	 *
+	 * @param curveId the curve
+	 * @param asOfDate the date of the curve
+	 * @return snapshot of the curve, empty if the curve doesn't exist
+	 * @throws UnexpectedRollbackException
+	 */
+	CurveSnapshot getCurveSnapshot(Integer curveId, LocalDateTime asOfDate) throws UnexpectedRollbackException;
+
+	/**
+	 * Counts the dates of a curve between from and to in the curve history, without reading them
+	 *
+	 * @param curveId the curve
+	 * @param from first date included, null from the first date of the curve
+	 * @param to last date included, null up to the last date of the curve
+	 * @return number of dates, 0 if the curve has no history
+	 * @throws UnexpectedRollbackException
+	 */
+	int countCurveHistory(Integer curveId, LocalDateTime from, LocalDateTime to) throws UnexpectedRollbackException;
+
+	/**
+	 * Reads the dates of a curve between from and to in the curve history, without query
+	 *
+	 * @param curveId the curve
+	 * @param from first date included, null from the first date of the curve
+	 * @param to last date included, null up to the last date of the curve
+	 * @return snapshots of the curve at each date in date order, empty if the curve has no history
+	 * @throws UnexpectedRollbackException
+	 */
+	List<CurveSnapshot> getCurveHistory(Integer curveId, LocalDateTime from, LocalDateTime to) throws UnexpectedRollbackException;
 
 	/**
+	 * Rebuilds the curve history of all dated curves from the database in one scan then saves its segment file
 	 *
-	 * Throws DataIntegrityViolationException if unique violation on CurveId
+	 * @return the new curve history
+	 * @throws UnexpectedRollbackException
+	 */
+	CurveHistory rebuildCurveHistory() throws UnexpectedRollbackException;
+
+	/**
+	 * Bootstraps zero rates and discount factors of all curves dated on the day, in parallel, then stores them
+	 *
+	 * @param day the day of the curves
+	 * @return the bootstrapped curves ordered by (CurveId, asOfDate)
+	 * @throws UnexpectedRollbackException
+	 */
+	List<BootstrappedCurve> bootstrapCurves(LocalDate day) throws UnexpectedRollbackException;
+
+	/**
+	 * Gets a curve stored by the last bootstrap of its day, without computation
+	 *
+	 * @param curveId the curve
+	 * @param asOfDate the date of the curve
+	 * @return the bootstrapped curve
+	 * @throws UnexpectedRollbackException if the curve is not bootstrapped
+	 */
+	BootstrappedCurve getBootstrappedCurve(Integer curveId, LocalDateTime asOfDate) throws UnexpectedRollbackException;
+
+	/**
+	 *
+	 * Throws DataIntegrityViolationException if unique violation on (CurveId, asOfDate, term)
 	 *
 	 * @param curvePoint
 	 * @return
@@ -25,5 +105,19 @@ public interface CurvePointService {
 	 * @throws UnexpectedRollbackException
 	 */
 	CurvePoint saveCurvePoint(CurvePoint curvePoint) throws DataIntegrityViolationException, UnexpectedRollbackException;
-	void deleteCurvePointById(Integer id) throws UnexpectedRollbackException;
+
+	/**
+	 * Upserts points of one curve in one transaction : the points of the curve are read in one query,
+	 * the value of a point with an existing term is updated, other points are created.
+	 * Inserts and updates are sent as JDBC batches. Points of the curve which are not given are kept.
+	 *
+	 * Throws DataIntegrityViolationException if unique violation on (CurveId, asOfDate, term)
+	 *
+	 * @param curvePoints points with distinct terms of the same CurveId and asOfDate
+	 * @return points saved with their ids ordered by term
+	 * @throws DataIntegrityViolationException
+	 * @throws UnexpectedRollbackException
+	 */
+	List<CurvePoint> saveCurve(List<CurvePoint> curvePoints) throws DataIntegrityViolationException, UnexpectedRollbackException;
+	void deleteCurvePointById(Long id) throws UnexpectedRollbackException;
 }
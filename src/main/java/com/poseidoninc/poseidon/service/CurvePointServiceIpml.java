@@ -1,5 +1,11 @@
 package com.poseidoninc.poseidon.service;
 
+import com.poseidoninc.poseidon.curve.BootstrappedCurve;
+import com.poseidoninc.poseidon.curve.CurveBootstrapJob;
+import com.poseidoninc.poseidon.curve.CurveHistory;
+import com.poseidoninc.poseidon.curve.CurveHistoryStore;
+import com.poseidoninc.poseidon.curve.CurveSnapshot;
+import com.poseidoninc.poseidon.curve.CurveSnapshotCache;
 import com.poseidoninc.poseidon.domain.CurvePoint;
 import com.poseidoninc.poseidon.repository.CurvePointRepository;
 import lombok.AllArgsConstructor;
@@ -7,11 +13,23 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Implementation class for CurvePointService
  *
@@ -26,16 +44,27 @@ public class CurvePointServiceIpml implements CurvePointService {
 
 	private final CurvePointRepository curvePointRepository;
 
+	private final CurveSnapshotCache curveSnapshotCache;
+
+	private final CurveHistoryStore curveHistoryStore;
+
+	private final CurveBootstrapJob curveBootstrapJob;
+
 	@Override
-	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
-	public CurvePoint getCurvePointById(Integer id) throws UnexpectedRollbackException {
+	public CurvePoint getCurvePointById(Long id) throws UnexpectedRollbackException {
 		CurvePoint curvePoint;
 		try {
-			//Throws ResourceNotFoundException | InvalidDataAccessApiUsageException
-			curvePoint = curvePointRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Curve Point not found"));
+			//from the snapshot of its curve if cached, Throws NullPointerException if id is null
+			curvePoint = curveSnapshotCache.getCurvePoint(id).orElse(null);
+			if (curvePoint == null) {
+				//Throws ResourceNotFoundException | InvalidDataAccessApiUsageException
+				curvePoint = curvePointRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Curve Point not found"));
+				//caches its curve for the next points read
+				curveSnapshotCache.get(curvePoint.getCurveId(), curvePoint.getAsOfDate());
+			}
 		} catch (Exception e) {
 			log.error("Error while getting curvePoint = {} : {} ", id, e.toString());
-			throw new UnexpectedRollbackException("Error while getting curvePoint");
+			throw new UnexpectedRollbackException("Error while getting curvePoint", e);
 		}
 		return curvePoint;
 	}
@@ -54,6 +83,114 @@ public class CurvePointServiceIpml implements CurvePointService {
 		return pageCurvePoint;
 	}
 
+	@Override
+	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
+	public Window<CurvePoint> getCurvePoints(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException {
+		Window<CurvePoint> windowCurvePoint;
+		try {
+			/*
+			 * Keyset predicate on sort properties then primary key, no offset and no count query
+			 * Fetches limit + 1 rows to know if there is a next window
+			 */
+			windowCurvePoint = curvePointRepository.findBy(Specification.where(null), query -> query.sortBy(sort).limit(limit).scroll(position));
+		} catch(Exception e) {
+			log.error("Error while getting curvePoints : {}", e.toString());
+			throw new UnexpectedRollbackException("Error while getting curvePoints");
+		}
+		return windowCurvePoint;
+	}
+
+	@Override
+	public List<CurvePoint> getCurve(Integer curveId, LocalDateTime asOfDate) throws UnexpectedRollbackException {
+		List<CurvePoint> curve;
+		try {
+			//copies of the rows of the cached snapshot, ordered by term
+			curve = curveSnapshotCache.get(curveId, asOfDate).getCurvePoints();
+		} catch(Exception e) {
+			log.error("Error while getting curve = {} at {} : {}", curveId, asOfDate, e.toString());
+			throw new UnexpectedRollbackException("Error while getting curve");
+		}
+		return curve;
+	}
+
+	@Override
+	public CurveSnapshot getCurveSnapshot(Integer curveId, LocalDateTime asOfDate) throws UnexpectedRollbackException {
+		CurveSnapshot curveSnapshot;
+		try {
+			//immutable, shared by all the threads interpolating this curve
+			curveSnapshot = curveSnapshotCache.get(curveId, asOfDate);
+		} catch(Exception e) {
+			log.error("Error while getting curve = {} at {} : {}", curveId, asOfDate, e.toString());
+			throw new UnexpectedRollbackException("Error while getting curve");
+		}
+		return curveSnapshot;
+	}
+
+	@Override
+	public int countCurveHistory(Integer curveId, LocalDateTime from, LocalDateTime to) throws UnexpectedRollbackException {
+		int count;
+		try {
+			//binary search of from and to only, no copy
+			count = curveHistoryStore.getCurveHistory().count(curveId, from, to);
+		} catch(Exception e) {
+			log.error("Error while counting curve history = {} from {} to {} : {}", curveId, from, to, e.toString());
+			throw new UnexpectedRollbackException("Error while counting curve history");
+		}
+		return count;
+	}
+
+	@Override
+	public List<CurveSnapshot> getCurveHistory(Integer curveId, LocalDateTime from, LocalDateTime to) throws UnexpectedRollbackException {
+		List<CurveSnapshot> curveHistory;
+		try {
+			//binary search of from and to then copies of contiguous slices of the columns
+			curveHistory = curveHistoryStore.getCurveHistory().range(curveId, from, to);
+		} catch(Exception e) {
+			log.error("Error while getting curve history = {} from {} to {} : {}", curveId, from, to, e.toString());
+			throw new UnexpectedRollbackException("Error while getting curve history");
+		}
+		return curveHistory;
+	}
+
+	@Override
+	public CurveHistory rebuildCurveHistory() throws UnexpectedRollbackException {
+		CurveHistory curveHistory;
+		try {
+			//Throws IOException if the segment can't be written, the previous history is kept
+			curveHistory = curveHistoryStore.rebuild();
+		} catch(Exception e) {
+			log.error("Error while rebuilding curve history : {}", e.toString());
+			throw new UnexpectedRollbackException("Error while rebuilding curve history");
+		}
+		return curveHistory;
+	}
+
+	@Override
+	public List<BootstrappedCurve> bootstrapCurves(LocalDate day) throws UnexpectedRollbackException {
+		List<BootstrappedCurve> bootstrappedCurves;
+		try {
+			//one scan in its own transaction then the curves on the fork-join pool, throws NullPointerException if day is null
+			bootstrappedCurves = curveBootstrapJob.run(day);
+		} catch(Exception e) {
+			log.error("Error while bootstrapping curves of {} : {}", day, e.toString());
+			throw new UnexpectedRollbackException("Error while bootstrapping curves");
+		}
+		return bootstrappedCurves;
+	}
+
+	@Override
+	public BootstrappedCurve getBootstrappedCurve(Integer curveId, LocalDateTime asOfDate) throws UnexpectedRollbackException {
+		BootstrappedCurve bootstrappedCurve;
+		try {
+			//Throws ResourceNotFoundException
+			bootstrappedCurve = curveBootstrapJob.getBootstrappedCurve(curveId, asOfDate).orElseThrow(() -> new ResourceNotFoundException("Curve not bootstrapped"));
+		} catch(Exception e) {
+			log.error("Error while getting bootstrapped curve = {} at {} : {}", curveId, asOfDate, e.toString());
+			throw new UnexpectedRollbackException("Error while getting bootstrapped curve", e);
+		}
+		return bootstrappedCurve;
+	}
+
 	@Override
 	@Transactional(rollbackFor = {DataIntegrityViolationException.class, UnexpectedRollbackException.class})
 	public CurvePoint saveCurvePoint(CurvePoint curvePoint) throws DataIntegrityViolationException, UnexpectedRollbackException {
@@ -61,31 +198,90 @@ public class CurvePointServiceIpml implements CurvePointService {
 		try {
 			/*
 			 * No need to test blank or null fields for update because constraint validation on each field
-			 * @DynamicUpdate, Hibernate generates an UPDATE SQL statement that sets only columns that have changed
-			 * @Column(name = "curveId", unique = true) Throws DataIntegrityViolationException
+			 * ids are allocated by the pooled table generator so the insert would wait for the commit, out of this try :
+			 * flushed here so that unique (CurveId, asOfDate, term) Throws DataIntegrityViolationException
 			 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException
 			 */
-			curvePointSaved = curvePointRepository.save(curvePoint);
+			if (curvePoint.getId() != null) {
+				//an update can move the point to another curve, the curve it leaves is refreshed too
+				curvePointRepository.findById(curvePoint.getId())
+						.ifPresent(point -> afterCommit(point.getCurveId(), point.getAsOfDate()));
+			}
+			curvePointSaved = curvePointRepository.saveAndFlush(curvePoint);
+			afterCommit(curvePointSaved.getCurveId(), curvePointSaved.getAsOfDate());
 		} catch(DataIntegrityViolationException dive) {
-			log.error("Error while saving curvePoint = {} : {} ", curvePoint.toString(), dive.toString());
-			throw new DataIntegrityViolationException("CurveId already exists");
+			log.error("Error while saving curvePoint = {} : {} ", curvePoint, dive.toString());
+			throw new DataIntegrityViolationException("Term already exists in this curve");
 		} catch(Exception e) {
-			log.error("Error while saving curvePoint = {} : {} ", curvePoint.toString(), e.toString());
+			log.error("Error while saving curvePoint = {} : {} ", curvePoint, e.toString());
 			throw new UnexpectedRollbackException("Error while saving curvePoint");
 		}
 		return curvePointSaved;
 	}
 
+	@Override
+	@Transactional(rollbackFor = {DataIntegrityViolationException.class, UnexpectedRollbackException.class})
+	public List<CurvePoint> saveCurve(List<CurvePoint> curvePoints) throws DataIntegrityViolationException, UnexpectedRollbackException {
+		List<CurvePoint> curveSaved;
+		Integer curveId = curvePoints.get(0).getCurveId();
+		LocalDateTime asOfDate = curvePoints.get(0).getAsOfDate();
+		try {
+			//one select for all the points of the curve, they are then managed entities updated in place
+			Map<Double, CurvePoint> pointsByTerm = new HashMap<>();
+			curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(curveId, asOfDate).forEach(point -> pointsByTerm.putIfAbsent(point.getTerm(), point));
+			List<CurvePoint> pointsToSave = new ArrayList<>(curvePoints.size());
+			for (CurvePoint curvePoint : curvePoints) {
+				CurvePoint point = pointsByTerm.get(curvePoint.getTerm());
+				if (point == null) {
+					curvePoint.setId(null);
+					point = curvePoint;
+				} else {
+					point.setValue(curvePoint.getValue());
+					if (curvePoint.getCreationDate() != null) {
+						point.setCreationDate(curvePoint.getCreationDate());
+					}
+				}
+				pointsToSave.add(point);
+			}
+			/*
+			 * ids of new points are allocated by the pooled table generator, nothing sent until flush
+			 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException
+			 */
+			curveSaved = new ArrayList<>(curvePointRepository.saveAll(pointsToSave));
+			//inserts then updates sent as JDBC batches, unique (CurveId, asOfDate, term) Throws DataIntegrityViolationException
+			curvePointRepository.flush();
+			afterCommit(curveId, asOfDate);
+		} catch(DataIntegrityViolationException dive) {
+			log.error("Error while saving curve = {} at {} : {} ", curveId, asOfDate, dive.toString());
+			throw new DataIntegrityViolationException("Term already exists in this curve");
+		} catch(Exception e) {
+			log.error("Error while saving curve = {} at {} : {} ", curveId, asOfDate, e.toString());
+			throw new UnexpectedRollbackException("Error while saving curve");
+		}
+		curveSaved.sort(Comparator.comparing(CurvePoint::getTerm, Comparator.nullsFirst(Comparator.naturalOrder())));
+		return curveSaved;
+	}
+
 	@Override
 	@Transactional(rollbackFor = UnexpectedRollbackException.class)
-	public void deleteCurvePointById(Integer id) throws UnexpectedRollbackException {
+	public void deleteCurvePointById(Long id) throws UnexpectedRollbackException {
 		try {
-			/* getCurvePointById throws UnexpectedRollbackException
+			/* Throws ResourceNotFoundException
 			 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException */
-			curvePointRepository.delete(getCurvePointById(id));
+			CurvePoint curvePoint = curvePointRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Curve Point not found"));
+			curvePointRepository.delete(curvePoint);
+			afterCommit(curvePoint.getCurveId(), curvePoint.getAsOfDate());
 		} catch(Exception e) {
 			log.error("Error while deleting curvePoint = {} : {} ", id, e.toString());
-			throw new UnexpectedRollbackException("Error while deleting curvePoint");
+			throw new UnexpectedRollbackException("Error while deleting curvePoint", e);
 		}
 	}
+
+	/*
+	 * after the commit of a write of the curve, its new snapshot is published and its bootstrapped curve removed
+	 */
+	private void afterCommit(Integer curveId, LocalDateTime asOfDate) {
+		curveSnapshotCache.publishAfterCommit(curveId, asOfDate);
+		curveBootstrapJob.invalidateAfterCommit(curveId, asOfDate);
+	}
 }
@@ -1,16 +1,11 @@
 package com.poseidoninc.poseidon.service;
 
 import com.poseidoninc.poseidon.domain.User;
-import com.poseidoninc.poseidon.validator.ValidPasswordGenerator;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.rest.webmvc.ResourceNotFoundException;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
@@ -19,9 +14,6 @@ import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.UnexpectedRollbackException;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.Collection;
 import java.util.List;
@@ -38,15 +30,16 @@ import java.util.Objects;
 @Slf4j
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
-    private final ParameterizedTypeReference<List<Map<String, String>>> PARAMETERIZED_RESPONSE_TYPE = new ParameterizedTypeReference<>() {};
+    private final UserProvisioningService userProvisioningService;
 
-    private final UserService userService;
+    private final GitHubEmailService gitHubEmailService;
 
-    private final ValidPasswordGenerator validPasswordGenerator;
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
 
     /**
      * Get the OAuth access token and use it to get users' email and name attributes.
-     * Then persist as new user or update it in database.
+     * Then persist as new user or update it in database, only if needed.
+     * Calls to the provider are observed as remote step of the login observation
      * Return the user (OAuth2User extends AuthenticatedPrincipal)
      *
      * @param userRequest
@@ -54,43 +47,26 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
      * @throws OAuth2AuthenticationException
      */
     @Override
-    //@Transactional(rollbackFor = {UnexpectedRollbackException.class, DataIntegrityViolationException.class})
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
-        OAuth2User oAuth2User = super.loadUser(userRequest);
-        Map<String, Object> attributes = oAuth2User.getAttributes();
-        //Get from GitHub the user access token see https://docs.github.com/fr/apps/oauth-apps/building-oauth-apps/scopes-for-oauth-apps#available-scopes
-        //Read OAuth2.properties for Github's scopes
-        String accessTokenValue = userRequest.getAccessToken().getTokenValue();
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "token " + accessTokenValue);
-        HttpEntity<String> entity = new HttpEntity<>("parameters", headers);
-        ResponseEntity<List<Map<String, String>>> response = restTemplate.exchange(
-                "https://api.github.com/user/emails",
-                HttpMethod.GET,
-                entity,
-                PARAMETERIZED_RESPONSE_TYPE);
-        String email = Objects.requireNonNull(response.getBody()).stream().filter(map -> map.get("primary").equals("true")).map(map -> map.get("email")).toList().get(0);
-        //get user if exists
-        User user = null;
+        ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+        Observation remote = Observation.createNotStarted(UserProvisioningService.LOGIN_OBSERVATION, registry)
+                .lowCardinalityKeyValue("step", "remote")
+                .start();
+        OAuth2User oAuth2User;
+        String email;
         try {
-            user = userService.getUserByUserName(email);
-            log.info("user = {} exists", user.toString());
-        } catch (ResourceNotFoundException rnfe) {
-            log.info("user does not exist");
+            oAuth2User = super.loadUser(userRequest);
+            //Read OAuth2.properties for Github's scopes
+            email = gitHubEmailService.getPrimaryEmail(oAuth2User.getName(), userRequest.getAccessToken().getTokenValue());
+        } catch (RuntimeException re) {
+            remote.error(re);
+            throw re;
+        } finally {
+            remote.stop();
         }
-        //update user if exists or save new one
-        //for update : @DynamicUpdate, Hibernate generates an UPDATE SQL statement that sets only columns that have changed
-        user = User.builder()
-                .id(user!=null?user.getId():null)
-                .username(email)
-                .password(validPasswordGenerator.generatePassword())
-                .fullname(Objects.requireNonNull(attributes.get("name").toString()))
-                .role("USER")
-                .build();
-        user = userService.saveUser(user);
+        Map<String, Object> attributes = oAuth2User.getAttributes();
+        User user = userProvisioningService.provisionUser(email, Objects.requireNonNull(attributes.get("name").toString()));
         Collection<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_"+user.getRole()));
         return new DefaultOAuth2User(authorities, attributes, "name");
     }
 }
-
@@ -1,10 +1,11 @@
 package com.poseidoninc.poseidon.service;
 
 import com.poseidoninc.poseidon.domain.User;
-import com.poseidoninc.poseidon.validator.ValidPasswordGenerator;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
@@ -13,7 +14,6 @@ import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
-import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -28,15 +28,16 @@ import java.util.*;
 @Slf4j
 public class CustomOidcUserService implements OAuth2UserService<OidcUserRequest, OidcUser> {
 
-    private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
 
     private final OidcUserService oidcUserService = new OidcUserService();
 
-    private final ValidPasswordGenerator validPasswordGenerator;
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
 
     /**
      * Get the Oidc token and use it to get users' email and name attributes.
-     * Then persist as new user or update it in database.
+     * Then persist as new user or update it in database, only if needed.
+     * Call to the provider is observed as remote step of the login observation
      * Return the user (OidcUser extends OAuth2User, AuthenticatedPrincipal)
      *
      * @param userRequest
@@ -44,29 +45,15 @@ public class CustomOidcUserService implements OAuth2UserService<OidcUserRequest,
      * @throws OAuth2AuthenticationException
      */
     @Override
-    //@Transactional(rollbackFor = {UnexpectedRollbackException.class, DataIntegrityViolationException.class})
     public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2AuthenticationException {
-        OidcUser oidcUser = (OidcUser) oidcUserService.loadUser(userRequest);
+        ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+        OidcUser oidcUser = Observation.createNotStarted(UserProvisioningService.LOGIN_OBSERVATION, registry)
+                .lowCardinalityKeyValue("step", "remote")
+                .observe(() -> oidcUserService.loadUser(userRequest));
         Map<String, Object> attributes = oidcUser.getClaims();
         String email = (String) attributes.get("email");
-        User user = null;
-        try {
-            user = userService.getUserByUserName(email);
-            log.info("user = {} exists", user.toString());
-        } catch (ResourceNotFoundException rnfe) {
-            log.info("user does not exist");
-        }
-        //update user if exists or save new one
-        //for update : @DynamicUpdate, Hibernate generates an UPDATE SQL statement that sets only columns that have changed
-        user = User.builder()
-                .id(user!=null?user.getId():null)
-                .username(email)
-                .password(validPasswordGenerator.generatePassword())
-                .fullname(Objects.requireNonNull(attributes.get("name").toString()))
-                .role("USER")
-                .build();
-        user = userService.saveUser(user);
+        User user = userProvisioningService.provisionUser(email, Objects.requireNonNull(attributes.get("name").toString()));
         Collection<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_"+user.getRole()));
         return new DefaultOidcUser(authorities, oidcUser.getIdToken(), "name");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.poseidoninc.poseidon.service;
+
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+
+/**
+ * Gets from GitHub API the email of users authenticated by GitHub OAuth2
+ *
+ * @author olivier morel
+ */
+public interface GitHubEmailService {
+
+	/**
+	 * Gets the primary email of the GitHub user, cached by user id (subject) for a short time,
+	 * concurrent first logins of a user make one call to GitHub
+	 *
+	 * @param subject GitHub user id
+	 * @param accessToken OAuth2 access token of the user
+	 * @return the primary email
+	 * @throws OAuth2AuthenticationException if GitHub fails, is too slow or circuit breaker is open
+	 */
+	String getPrimaryEmail(String subject, String accessToken) throws OAuth2AuthenticationException;
+}
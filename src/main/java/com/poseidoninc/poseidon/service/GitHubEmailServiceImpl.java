@@ -0,0 +1,114 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.configuration.CacheConfiguration;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Implementation class for GitHubEmailService
+ *
+ * @see GitHubEmailService
+ *
+ * @author olivier morel
+ */
+@Service
+@Slf4j
+public class GitHubEmailServiceImpl implements GitHubEmailService {
+
+	private static final ParameterizedTypeReference<List<Map<String, String>>> PARAMETERIZED_RESPONSE_TYPE = new ParameterizedTypeReference<>() {};
+
+	private static final String ERROR_CODE = "invalid_user_info_response";
+
+	private final RestClient gitHubRestClient;
+
+	private final CircuitBreaker gitHubCircuitBreaker;
+
+	private final Cache gitHubEmailCache;
+
+	/*
+	 * call to GitHub in flight by subject, concurrent logins of the same user wait for it.
+	 * Not @Cacheable(sync = true) : the Caffeine JCache runs the loader in a map compute, the call to GitHub
+	 * would hold the monitor of the map bin, pinning a virtual thread and blocking the other users of the bin.
+	 */
+	private final ConcurrentMap<String, CompletableFuture<String>> loads = new ConcurrentHashMap<>();
+
+	public GitHubEmailServiceImpl(RestClient gitHubRestClient, CircuitBreaker gitHubCircuitBreaker, CacheManager cacheManager) {
+		this.gitHubRestClient = gitHubRestClient;
+		this.gitHubCircuitBreaker = gitHubCircuitBreaker;
+		this.gitHubEmailCache = Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.GITHUB_EMAIL_CACHE));
+	}
+
+	@Override
+	public String getPrimaryEmail(String subject, String accessToken) throws OAuth2AuthenticationException {
+		String email = gitHubEmailCache.get(subject, String.class);
+		if (email != null) {
+			return email;
+		}
+		CompletableFuture<String> load = new CompletableFuture<>();
+		CompletableFuture<String> loadInFlight = loads.putIfAbsent(subject, load);
+		if (loadInFlight != null) {
+			//parks without holding a lock until the first login of the user gets the email
+			try {
+				return loadInFlight.join();
+			} catch (CompletionException ce) {
+				throw (RuntimeException) ce.getCause();
+			}
+		}
+		try {
+			//a load may have completed between the read of the cache and putIfAbsent
+			email = gitHubEmailCache.get(subject, String.class);
+			if (email == null) {
+				email = requestPrimaryEmail(subject, accessToken);
+				gitHubEmailCache.put(subject, email);
+			}
+			load.complete(email);
+			return email;
+		} catch (RuntimeException e) {
+			load.completeExceptionally(e);
+			throw e;
+		} finally {
+			loads.remove(subject, load);
+		}
+	}
+
+	private String requestPrimaryEmail(String subject, String accessToken) throws OAuth2AuthenticationException {
+		List<Map<String, String>> emails;
+		try {
+			//Get from GitHub the user emails see https://docs.github.com/fr/rest/users/emails#list-email-addresses-for-the-authenticated-user
+			//Throws CallNotPermittedException if circuit breaker is open | RestClientException
+			emails = gitHubCircuitBreaker.executeSupplier(() -> gitHubRestClient.get()
+					.uri("/user/emails")
+					.header(HttpHeaders.AUTHORIZATION, "token " + accessToken)
+					.retrieve()
+					.body(PARAMETERIZED_RESPONSE_TYPE));
+		} catch (CallNotPermittedException cnpe) {
+			log.error("Error while getting emails of GitHub user = {} : {} ", subject, cnpe.toString());
+			throw new OAuth2AuthenticationException(new OAuth2Error(ERROR_CODE), "GitHub is unavailable, try again later");
+		} catch (Exception e) {
+			log.error("Error while getting emails of GitHub user = {} : {} ", subject, e.toString());
+			throw new OAuth2AuthenticationException(new OAuth2Error(ERROR_CODE), "Error while getting GitHub emails");
+		}
+		return Objects.requireNonNull(emails).stream()
+				.filter(map -> "true".equals(map.get("primary")))
+				.map(map -> map.get("email"))
+				.findFirst()
+				.orElseThrow(() -> new OAuth2AuthenticationException(new OAuth2Error(ERROR_CODE), "No primary email for GitHub user"));
+	}
+}
@@ -0,0 +1,21 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.validator.PasswordCheck;
+
+import java.util.List;
+
+/**
+ * Bulk validation of candidate passwords against the PasswordPolicy
+ *
+ * @author olivier morel
+ */
+public interface PasswordValidationService {
+
+	/**
+	 * Validates each password, in parallel for large lists
+	 *
+	 * @param passwords candidate passwords
+	 * @return a check per password, in the same order
+	 */
+	List<PasswordCheck> checkPasswords(List<String> passwords);
+}
@@ -0,0 +1,38 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.validator.PasswordCheck;
+import com.poseidoninc.poseidon.validator.PasswordPolicy;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Implementation class for PasswordValidationService
+ * The compiled PasswordPolicy is thread-safe, passwords are checked on the common fork-join pool
+ * above a threshold, a few ones are checked faster on the request thread.
+ *
+ * @see PasswordValidationService
+ *
+ * @author olivier morel
+ */
+@Service
+public class PasswordValidationServiceImpl implements PasswordValidationService {
+
+	static final int PARALLEL_THRESHOLD = 64;
+
+	private final PasswordPolicy passwordPolicy = PasswordPolicy.getInstance();
+
+	@Override
+	public List<PasswordCheck> checkPasswords(List<String> passwords) {
+		IntStream indexes = IntStream.range(0, passwords.size());
+		if (passwords.size() >= PARALLEL_THRESHOLD) {
+			indexes = indexes.parallel();
+		}
+		//toList keeps the encounter order of a parallel stream
+		return indexes.mapToObj(index -> {
+			List<String> violations = passwordPolicy.violations(passwords.get(index));
+			return new PasswordCheck(index, violations.isEmpty(), violations);
+		}).toList();
+	}
+}
@@ -3,6 +3,9 @@ package com.poseidoninc.poseidon.service;
 import com.poseidoninc.poseidon.domain.Rating;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.UnexpectedRollbackException;
 
 /**
@@ -11,9 +14,10 @@ import org.springframework.transaction.UnexpectedRollbackException;
  * @author olivier morel
  */
 public interface RatingService {
-	Rating getRatingById(Integer id) throws UnexpectedRollbackException;
+	Rating getRatingById(Long id) throws UnexpectedRollbackException;
 	Page<Rating> getRatings(Pageable pageRequest) throws UnexpectedRollbackException;
+	Window<Rating> getRatings(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException;
 	Rating saveRating(Rating rating) throws UnexpectedRollbackException;
-	void deleteRatingById(Integer id) throws UnexpectedRollbackException;
+	void deleteRatingById(Long id) throws UnexpectedRollbackException;
 
 }
@@ -6,6 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.UnexpectedRollbackException;
@@ -27,14 +31,14 @@ public class RatingServiceImpl implements RatingService {
 	
 	@Override
 	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
-	public Rating getRatingById(Integer id) throws UnexpectedRollbackException {
+	public Rating getRatingById(Long id) throws UnexpectedRollbackException {
 		Rating rating;
 		try {
 			//Throws ResourceNotFoundException | InvalidDataAccessApiUsageException
 			rating = ratingRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Rating not found"));
 		} catch (Exception e) {
 			log.error("Error while getting rating = {} : {} ", id, e.toString());
-			throw new UnexpectedRollbackException("Error while getting rating");
+			throw new UnexpectedRollbackException("Error while getting rating", e);
 		}
 		return rating;
 	}
@@ -53,6 +57,23 @@ public class RatingServiceImpl implements RatingService {
 		return pageRating;
 	}
 
+	@Override
+	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
+	public Window<Rating> getRatings(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException {
+		Window<Rating> windowRating;
+		try {
+			/*
+			 * Keyset predicate on sort properties then primary key, no offset and no count query
+			 * Fetches limit + 1 rows to know if there is a next window
+			 */
+			windowRating = ratingRepository.findBy(Specification.where(null), query -> query.sortBy(sort).limit(limit).scroll(position));
+		} catch(Exception e) {
+			log.error("Error while getting ratings : {} ", e.toString());
+			throw new UnexpectedRollbackException("Error while getting ratings");
+		}
+		return windowRating;
+	}
+
 	@Override
 	@Transactional(rollbackFor = UnexpectedRollbackException.class)
 	public Rating saveRating(Rating rating) throws UnexpectedRollbackException {
@@ -65,7 +86,7 @@ public class RatingServiceImpl implements RatingService {
 			 */
 			ratingSaved = ratingRepository.save(rating);
 		} catch(Exception e) {
-			log.error("Error while saving rating = {} : {} ", rating.toString(), e.toString());
+			log.error("Error while saving rating = {} : {} ", rating, e.toString());
 			throw new UnexpectedRollbackException("Error while saving rating");
 		}
 		return ratingSaved;
@@ -73,14 +94,14 @@ public class RatingServiceImpl implements RatingService {
 
 	@Override
 	@Transactional(rollbackFor = UnexpectedRollbackException.class)
-	public void deleteRatingById(Integer id) throws UnexpectedRollbackException {
+	public void deleteRatingById(Long id) throws UnexpectedRollbackException {
 		try {
 			/* getRatingById throws UnexpectedRollbackException
 			 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException */
 			ratingRepository.delete(getRatingById(id));
 		} catch(Exception e) {
 			log.error("Error while deleting rating = {} : {} ", id, e.toString());
-			throw new UnexpectedRollbackException("Error while deleting rating");
+			throw new UnexpectedRollbackException("Error while deleting rating", e);
 		}
 	}
 }
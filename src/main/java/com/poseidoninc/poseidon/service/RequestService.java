@@ -1,5 +1,6 @@
 package com.poseidoninc.poseidon.service;
 
+import com.poseidoninc.poseidon.logging.RequestDescription;
 import org.springframework.web.context.request.WebRequest;
 
 /**
@@ -17,4 +18,12 @@ public interface RequestService {
 	 * @return String of parameters
 	 */
 	String requestToString(WebRequest request);
-}
\ No newline at end of file
+
+	/**
+	 * Lazy description of all the parameters of a Web request, the same for all log lines of the request
+	 *
+	 * @param request to describe
+	 * @return RequestDescription to pass as a log parameter
+	 */
+	RequestDescription describe(WebRequest request);
+}
@@ -1,6 +1,8 @@
 package com.poseidoninc.poseidon.service;
 
+import com.poseidoninc.poseidon.logging.RequestDescription;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
 
 /**
@@ -13,24 +15,20 @@ import org.springframework.web.context.request.WebRequest;
 @Service
 public class RequestServiceImpl implements RequestService {
 
+	private static final String REQUEST_DESCRIPTION = RequestDescription.class.getName();
+
 	@Override
 	public String requestToString(WebRequest request) {
-		//uri in StringBuffer
-		StringBuffer parameters = new StringBuffer(request.getDescription(false)+"?"); 
-		//p = parameter key of values v = String[]
-		request.getParameterMap().forEach((p,v) -> {
-			if (!p.equals("password")) {
-				parameters.append(p + "=");
-				int i = 0;
-				while (i < (v.length - 1)) {
-					parameters.append(v[i] + ",");
-					i++;
-				}
-				parameters.append(v[i] + "&");
-			}
-		});
-		int length = parameters.length();
-		parameters.delete(length-1, length);
-		return parameters.toString();
+		return describe(request).toString();
+	}
+
+	@Override
+	public RequestDescription describe(WebRequest request) {
+		RequestDescription requestDescription = (RequestDescription) request.getAttribute(REQUEST_DESCRIPTION, RequestAttributes.SCOPE_REQUEST);
+		if (requestDescription == null) {
+			requestDescription = new RequestDescription(request);
+			request.setAttribute(REQUEST_DESCRIPTION, requestDescription, RequestAttributes.SCOPE_REQUEST);
+		}
+		return requestDescription;
 	}
-}
\ No newline at end of file
+}
@@ -3,6 +3,9 @@ package com.poseidoninc.poseidon.service;
 import com.poseidoninc.poseidon.domain.RuleName;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.UnexpectedRollbackException;
 
 /**
@@ -11,8 +14,9 @@ import org.springframework.transaction.UnexpectedRollbackException;
  * @author olivier morel
  */
 public interface RuleNameService {
-	RuleName getRuleNameById(Integer id) throws UnexpectedRollbackException;
+	RuleName getRuleNameById(Long id) throws UnexpectedRollbackException;
 	Page<RuleName> getRuleNames(Pageable pageRequest) throws UnexpectedRollbackException;
+	Window<RuleName> getRuleNames(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException;
 	RuleName saveRuleName(RuleName ruleName) throws UnexpectedRollbackException;
-	void deleteRuleNameById(Integer id) throws UnexpectedRollbackException;
+	void deleteRuleNameById(Long id) throws UnexpectedRollbackException;
 }
\ No newline at end of file
@@ -6,6 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.UnexpectedRollbackException;
@@ -27,14 +31,14 @@ public class RuleNameServiceImpl implements RuleNameService {
 	
 	@Override
 	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
-	public RuleName getRuleNameById(Integer id) throws UnexpectedRollbackException {
+	public RuleName getRuleNameById(Long id) throws UnexpectedRollbackException {
 		RuleName ruleName;
 		try {
 			//Throws ResourceNotFoundException | InvalidDataAccessApiUsageException
 			ruleName = ruleNameRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("RuleName not found"));
 		} catch (Exception e) {
 			log.error("Error while getting ruleName = {} : {} ", id, e.toString());
-			throw new UnexpectedRollbackException("Error while getting ruleName");
+			throw new UnexpectedRollbackException("Error while getting ruleName", e);
 		}
 		return ruleName;
 	}
@@ -53,6 +57,23 @@ public class RuleNameServiceImpl implements RuleNameService {
 		return pageRuleName;
 	}
 
+	@Override
+	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
+	public Window<RuleName> getRuleNames(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException {
+		Window<RuleName> windowRuleName;
+		try {
+			/*
+			 * Keyset predicate on sort properties then primary key, no offset and no count query
+			 * Fetches limit + 1 rows to know if there is a next window
+			 */
+			windowRuleName = ruleNameRepository.findBy(Specification.where(null), query -> query.sortBy(sort).limit(limit).scroll(position));
+		} catch(Exception e) {
+			log.error("Error while getting ruleNames : {} ", e.toString());
+			throw new UnexpectedRollbackException("Error while getting ruleNames");
+		}
+		return windowRuleName;
+	}
+
 	@Override
 	@Transactional(rollbackFor = UnexpectedRollbackException.class)
 	public RuleName saveRuleName(RuleName ruleName) throws UnexpectedRollbackException {
@@ -65,7 +86,7 @@ public class RuleNameServiceImpl implements RuleNameService {
 			 */
 			ruleNameSaved = ruleNameRepository.save(ruleName);
 		} catch(Exception e) {
-			log.error("Error while saving ruleName = {} : {} ", ruleName.toString(), e.toString());
+			log.error("Error while saving ruleName = {} : {} ", ruleName, e.toString());
 			throw new UnexpectedRollbackException("Error while saving ruleName");
 		}
 		return ruleNameSaved;
@@ -73,14 +94,14 @@ public class RuleNameServiceImpl implements RuleNameService {
 
 	@Override
 	@Transactional(rollbackFor = UnexpectedRollbackException.class)
-	public void deleteRuleNameById(Integer id) throws UnexpectedRollbackException {
+	public void deleteRuleNameById(Long id) throws UnexpectedRollbackException {
 		try {
 			/* getRuleNameById throws UnexpectedRollbackException
 			 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException */
 			ruleNameRepository.delete(getRuleNameById(id));
 		} catch(Exception e) {
 			log.error("Error while deleting ruleName = {} : {} ", id, e.toString());
-			throw new UnexpectedRollbackException("Error while deleting ruleName");
+			throw new UnexpectedRollbackException("Error while deleting ruleName", e);
 		}
 	}
 }
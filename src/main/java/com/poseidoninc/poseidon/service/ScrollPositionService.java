@@ -0,0 +1,57 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.Set;
+
+/**
+ * Keyset pagination of the /api/../list endpoints : sort, page size and opaque continuation token
+ *
+ * @author olivier morel
+ */
+public interface ScrollPositionService {
+
+	/**
+	 * Parses sort request parameter "property" or "property,asc|desc"
+	 * Only not null columns can be sorted because a null key can't be compared in a keyset predicate.
+	 * The primary key is added as last sort property by the repository to make the keyset unique.
+	 *
+	 * @param sort request parameter, may be null or blank for primary key order
+	 * @param sortableProperties allowed properties
+	 * @return Sort
+	 * @throws BadRequestException if the property is not sortable or the direction is unknown
+	 */
+	Sort getSort(String sort, Set<String> sortableProperties) throws BadRequestException;
+
+	/**
+	 * Clamps the page size asked by the client between 1 and the server max size
+	 *
+	 * @param size request parameter, may be null for the default size
+	 * @return limit for the window
+	 */
+	int getLimit(Integer size);
+
+	/**
+	 * Decodes an opaque continuation token to the keyset position it was built from
+	 *
+	 * @param token request parameter, null or blank for the first window
+	 * @param sort the sort of the request, token keys must match its properties
+	 * @param domainClass entity class, used to convert key values to their column type
+	 * @return ScrollPosition
+	 * @throws BadRequestException if the token is malformed or doesn't match the sort
+	 */
+	ScrollPosition getScrollPosition(String token, Sort sort, Class<?> domainClass) throws BadRequestException;
+
+	/**
+	 * Builds the response body with the continuation token of the last entity
+	 *
+	 * @param window from repository
+	 * @return ApiWindow
+	 * @param <T> entity type
+	 */
+	<T> ApiWindow<T> getApiWindow(Window<T> window);
+}
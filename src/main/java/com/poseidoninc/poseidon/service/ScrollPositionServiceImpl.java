@@ -0,0 +1,123 @@
+package com.poseidoninc.poseidon.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.PaginationProperties;
+import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation class for ScrollPositionService
+ * The token is the Base64 url encoded json of the keyset (sort properties and primary key values) of the last entity read.
+ *
+ * @see ScrollPositionService
+ *
+ * @author olivier morel
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ScrollPositionServiceImpl implements ScrollPositionService {
+
+	private static final TypeReference<LinkedHashMap<String, Object>> KEYS_TYPE = new TypeReference<>() {};
+
+	private final ObjectMapper objectMapper;
+
+	private final PaginationProperties paginationProperties;
+
+	@Override
+	public Sort getSort(String sort, Set<String> sortableProperties) throws BadRequestException {
+		if (sort == null || sort.isBlank()) {
+			return Sort.unsorted();
+		}
+		String[] propertyDirection = sort.split(",");
+		String property = propertyDirection[0].trim();
+		if (propertyDirection.length > 2 || !sortableProperties.contains(property)) {
+			throw new BadRequestException("Sort should be one of " + sortableProperties + " with optional ,asc or ,desc");
+		}
+		Sort.Direction direction = Sort.Direction.ASC;
+		if (propertyDirection.length == 2) {
+			direction = Sort.Direction.fromOptionalString(propertyDirection[1].trim())
+					.orElseThrow(() -> new BadRequestException("Sort direction should be asc or desc"));
+		}
+		return Sort.by(direction, property);
+	}
+
+	@Override
+	public int getLimit(Integer size) {
+		if (size == null) {
+			return Math.min(paginationProperties.getDefaultSize(), paginationProperties.getMaxSize());
+		}
+		return Math.max(1, Math.min(size, paginationProperties.getMaxSize()));
+	}
+
+	@Override
+	public ScrollPosition getScrollPosition(String token, Sort sort, Class<?> domainClass) throws BadRequestException {
+		if (token == null || token.isBlank()) {
+			return ScrollPosition.keyset();
+		}
+		Map<String, Object> keys;
+		try {
+			//Throws IllegalArgumentException | JsonProcessingException
+			keys = objectMapper.readValue(Base64.getUrlDecoder().decode(token), KEYS_TYPE);
+		} catch (Exception e) {
+			log.error("Error while decoding token = {} : {} ", token, e.toString());
+			throw new BadRequestException("Invalid continuation token");
+		}
+		//a keyset is the sort properties then the id of the entity, no other property can be added to the query
+		Set<String> keyset = new HashSet<>();
+		sort.forEach(order -> keyset.add(order.getProperty()));
+		ReflectionUtils.doWithFields(domainClass, field -> keyset.add(field.getName()), field -> field.isAnnotationPresent(Id.class));
+		if (keys == null || !keys.keySet().equals(keyset)) {
+			throw new BadRequestException("Continuation token does not match sort");
+		}
+		Map<String, Object> typedKeys = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> key : keys.entrySet()) {
+			Field field = ReflectionUtils.findField(domainClass, key.getKey());
+			if (field == null || key.getValue() == null) {
+				throw new BadRequestException("Continuation token does not match sort");
+			}
+			try {
+				//Throws IllegalArgumentException
+				typedKeys.put(key.getKey(), objectMapper.convertValue(key.getValue(), field.getType()));
+			} catch (IllegalArgumentException iae) {
+				log.error("Error while decoding token = {} : {} ", token, iae.toString());
+				throw new BadRequestException("Invalid continuation token");
+			}
+		}
+		return ScrollPosition.forward(typedKeys);
+	}
+
+	@Override
+	public <T> ApiWindow<T> getApiWindow(Window<T> window) {
+		String next = null;
+		if (window.hasNext() && !window.isEmpty()) {
+			KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+			try {
+				//Throws JsonProcessingException
+				next = Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsString(position.getKeys()).getBytes(StandardCharsets.UTF_8));
+			} catch (Exception e) {
+				log.error("Error while encoding token = {} : {} ", position.getKeys(), e.toString());
+				throw new IllegalStateException("Error while encoding continuation token");
+			}
+		}
+		return new ApiWindow<>(window.getContent(), window.size(), window.hasNext(), next);
+	}
+}
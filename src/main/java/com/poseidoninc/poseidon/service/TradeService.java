@@ -1,18 +1,47 @@
 package com.poseidoninc.poseidon.service;
 
 import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.projection.TradeSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.UnexpectedRollbackException;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * Service for Trade
  *
  * @author olivier morel
  */
 public interface TradeService {
-	Trade getTradeById(Integer tradeId) throws UnexpectedRollbackException;
+	Trade getTradeById(Long tradeId) throws UnexpectedRollbackException;
 	Page<Trade> getTrades(Pageable pageRequest) throws UnexpectedRollbackException;
+	Page<TradeSummary> getTradeSummaries(Pageable pageRequest) throws UnexpectedRollbackException;
+	Window<Trade> getTrades(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException;
 	Trade saveTrade(Trade trade) throws UnexpectedRollbackException;
-	void deleteTradeById(Integer tradeId) throws UnexpectedRollbackException;
+
+	/**
+	 * Creates or updates all trades in one transaction, flushed by chunks so inserts and updates are sent as JDBC batches
+	 * and persistence context is cleared after each chunk.
+	 *
+	 * @param trades to create (null id) or update
+	 * @return trades saved with their ids
+	 * @throws UnexpectedRollbackException
+	 */
+	List<Trade> saveTrades(List<Trade> trades) throws UnexpectedRollbackException;
+	void deleteTradeById(Long tradeId) throws UnexpectedRollbackException;
+
+	/**
+	 * Streams all trades to the consumer, each one is detached from the persistence context once consumed
+	 * so export memory stays constant whatever the table size.
+	 *
+	 * @param tradeConsumer writes the trade
+	 * @return number of trades exported
+	 * @throws UnexpectedRollbackException
+	 */
+	long exportTrades(Consumer<Trade> tradeConsumer) throws UnexpectedRollbackException;
 }
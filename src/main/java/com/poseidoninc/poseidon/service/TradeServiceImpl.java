@@ -1,16 +1,30 @@
 package com.poseidoninc.poseidon.service;
 
+import com.poseidoninc.poseidon.configuration.BatchProperties;
 import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.projection.TradeSummary;
 import com.poseidoninc.poseidon.repository.TradeRepository;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 /**
  * Implementation class for TradeService
  *
@@ -25,16 +39,20 @@ public class TradeServiceImpl implements TradeService {
 
 	private final TradeRepository tradeRepository;
 
+	private final EntityManager entityManager;
+
+	private final BatchProperties batchProperties;
+
 	@Override
 	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
-	public Trade getTradeById(Integer tradeId) throws UnexpectedRollbackException {
+	public Trade getTradeById(Long tradeId) throws UnexpectedRollbackException {
 		Trade trade;
 		try {
 			//Throws ResourceNotFoundException | InvalidDataAccessApiUsageException
 			trade = tradeRepository.findById(tradeId).orElseThrow(() -> new ResourceNotFoundException("Trade not found"));
 		} catch (Exception e) {
 			log.error("Error while getting trade = {} : {} ", tradeId, e.toString());
-			throw new UnexpectedRollbackException("Error while getting trade");
+			throw new UnexpectedRollbackException("Error while getting trade", e);
 		}
 		return trade;
 	}
@@ -53,6 +71,37 @@ public class TradeServiceImpl implements TradeService {
 		return pageTrade;
 	}
 
+	@Override
+	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
+	public Page<TradeSummary> getTradeSummaries(Pageable pageRequest) throws UnexpectedRollbackException {
+		Page<TradeSummary> pageTradeSummary;
+		try {
+			//throws NullPointerException if pageRequest is null
+			pageTradeSummary = tradeRepository.findTradeSummaries(pageRequest);
+		} catch(Exception e) {
+			log.error("Error while getting trades : {} ", e.toString());
+			throw new UnexpectedRollbackException("Error while getting trades");
+		}
+		return pageTradeSummary;
+	}
+
+	@Override
+	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
+	public Window<Trade> getTrades(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException {
+		Window<Trade> windowTrade;
+		try {
+			/*
+			 * Keyset predicate on sort properties then primary key, no offset and no count query
+			 * Fetches limit + 1 rows to know if there is a next window
+			 */
+			windowTrade = tradeRepository.findBy(Specification.where(null), query -> query.sortBy(sort).limit(limit).scroll(position));
+		} catch(Exception e) {
+			log.error("Error while getting trades : {} ", e.toString());
+			throw new UnexpectedRollbackException("Error while getting trades");
+		}
+		return windowTrade;
+	}
+
 	@Override
 	@Transactional(rollbackFor = UnexpectedRollbackException.class)
 	public Trade saveTrade(Trade trade) throws UnexpectedRollbackException {
@@ -60,12 +109,12 @@ public class TradeServiceImpl implements TradeService {
 		try {
 			/*
 			* No need to test blank or null fields for update because constraint validation on each field
-			* @DynamicUpdate, Hibernate generates an UPDATE SQL statement that sets only columns that have changed
+			* Static UPDATE SQL statement that sets all columns, same statement for all rows so updates can be batched
 			* Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException
 			*/
 			tradeSaved = tradeRepository.save(trade);
 		} catch(Exception e) {
-			log.error("Error while saving trade = {} : {} ", trade.toString(), e.toString());
+			log.error("Error while saving trade = {} : {} ", trade, e.toString());
 			throw new UnexpectedRollbackException("Error while saving trade");
 		}
 		return tradeSaved;
@@ -73,14 +122,62 @@ public class TradeServiceImpl implements TradeService {
 
 	@Override
 	@Transactional(rollbackFor = UnexpectedRollbackException.class)
-	public void deleteTradeById(Integer tradeId) throws UnexpectedRollbackException {
+	public List<Trade> saveTrades(List<Trade> trades) throws UnexpectedRollbackException {
+		List<Trade> tradesSaved = new ArrayList<>(trades.size());
+		int flushSize = Math.max(batchProperties.getFlushSize(), 1);
+		try {
+			for (int from = 0; from < trades.size(); from += flushSize) {
+				List<Trade> chunk = trades.subList(from, Math.min(from + flushSize, trades.size()));
+				//one select for the trades to update, so save (merge) finds them in persistence context
+				tradeRepository.findAllById(chunk.stream().map(Trade::getTradeId).filter(Objects::nonNull).toList());
+				/*
+				 * ids of new trades are allocated by the pooled table generator, nothing sent until flush
+				 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException
+				 */
+				tradesSaved.addAll(tradeRepository.saveAll(chunk));
+				//inserts then updates of the chunk sent as JDBC batches, then persistence context is emptied
+				entityManager.flush();
+				entityManager.clear();
+			}
+		} catch(Exception e) {
+			log.error("Error while saving trades after {} rows : {} ", tradesSaved.size(), e.toString());
+			throw new UnexpectedRollbackException("Error while saving trades");
+		}
+		return tradesSaved;
+	}
+
+	@Override
+	@Transactional(rollbackFor = UnexpectedRollbackException.class)
+	public void deleteTradeById(Long tradeId) throws UnexpectedRollbackException {
 		try {
 			/* getTradeById throws UnexpectedRollbackException
 			 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException */
 			tradeRepository.delete(getTradeById(tradeId));
 		} catch(Exception e) {
 			log.error("Error while deleting trade = {} : {} ", tradeId, e.toString());
-			throw new UnexpectedRollbackException("Error while deleting trade");
+			throw new UnexpectedRollbackException("Error while deleting trade", e);
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
+	public long exportTrades(Consumer<Trade> tradeConsumer) throws UnexpectedRollbackException {
+		long exported = 0;
+		//Stream holds an open JDBC ResultSet, closed by try-with-resources
+		try (Stream<Trade> streamTrade = tradeRepository.streamAll()) {
+			Iterator<Trade> iterator = streamTrade.iterator();
+			while (iterator.hasNext()) {
+				Trade trade = iterator.next();
+				//Throws UncheckedIOException if client is gone
+				tradeConsumer.accept(trade);
+				//written, so no need to keep it in persistence context
+				entityManager.detach(trade);
+				exported++;
+			}
+		} catch(Exception e) {
+			log.error("Error while exporting trades after {} rows : {} ", exported, e.toString());
+			throw new UnexpectedRollbackException("Error while exporting trades");
 		}
+		return exported;
 	}
 }
@@ -1,43 +1,77 @@
 package com.poseidoninc.poseidon.service;
 
 import com.poseidoninc.poseidon.domain.User;
+import com.poseidoninc.poseidon.security.UserDetailsCache;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.UnexpectedRollbackException;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.List;
 
 /**
  * provides the user details for authentication and authorization (Username Password Authentication)
+ * and stores passwords rehashed on login
  *
  * @author olivier MOREL
  */
 @Service
 @Slf4j
 @AllArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserService userService;
 
+    private final UserDetailsCache userDetailsCache;
+
     /**
      * Get the username to try to get users' name, role and password from database
      * Return the user (UserDetails extends AuthenticatedPrincipal)
+     * Cached by trimmed lower case username, unless the user was written while it was read,
+     * for form login and remember-me cookie validation
+     * @see UserDetailsCache
+     * @see UserServiceImpl#saveUser(User)
+     * @see UserServiceImpl#deleteUserById(Long)
      * @param userName
      * @return user : principal
      * @throws UnexpectedRollbackException
      */
     @Override
-    @Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
     public UserDetails loadUserByUsername(String userName) throws UnexpectedRollbackException {
-        User user = userService.getUserByUserName(userName);
-        List<GrantedAuthority> grantedAuthorities = Arrays.asList(new SimpleGrantedAuthority("ROLE_"+user.getRole()));
-        return new org.springframework.security.core.userdetails.User(user.getUsername() , user.getPassword(), grantedAuthorities);
+        UserDetails userDetails = userDetailsCache.get(userName);
+        if (userDetails == null) {
+            //version taken before the read : an eviction after it skips the put
+            long version = userDetailsCache.version();
+            User user = userService.getUserByUserName(userName);
+            List<GrantedAuthority> grantedAuthorities = Arrays.asList(new SimpleGrantedAuthority("ROLE_"+user.getRole()));
+            userDetails = new org.springframework.security.core.userdetails.User(user.getUsername() , user.getPassword(), grantedAuthorities);
+            userDetailsCache.put(userName, userDetails, version);
+        }
+        return userDetails;
+    }
+
+    /**
+     * Called by DaoAuthenticationProvider after a successful login when the stored hash
+     * has a lower BCrypt strength than the current one, with the password rehashed.
+     * Best effort : on error the login goes on with the old hash
+     * @param user the UserDetails loaded for login
+     * @param newPassword the encoded password
+     * @return user with the new password
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        try {
+            userService.updatePassword(user.getUsername(), newPassword);
+        } catch (UnexpectedRollbackException urex) {
+            log.error("Error while upgrading password of user = {} : {} ", user.getUsername(), urex.toString());
+            return user;
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
     }
-}
\ No newline at end of file
+}
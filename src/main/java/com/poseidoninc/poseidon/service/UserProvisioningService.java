@@ -0,0 +1,27 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.domain.User;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+/**
+ * Creates or updates users authenticated by an OAuth2 or OpenID Connect provider
+ *
+ * @author olivier morel
+ */
+public interface UserProvisioningService {
+
+	/**
+	 * Name of the login observations (timers), with a step key : remote, db or hashing
+	 */
+	String LOGIN_OBSERVATION = "poseidon.oauth2.login";
+
+	/**
+	 * Creates the user if absent, with a generated password, or updates him only if his full name or role changed
+	 *
+	 * @param userName email given by the provider
+	 * @param fullname name given by the provider
+	 * @return the user
+	 * @throws UnexpectedRollbackException
+	 */
+	User provisionUser(String userName, String fullname) throws UnexpectedRollbackException;
+}
@@ -0,0 +1,94 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.domain.User;
+import com.poseidoninc.poseidon.repository.UserRepository;
+import com.poseidoninc.poseidon.security.UserDetailsCache;
+import com.poseidoninc.poseidon.validator.ValidPasswordGenerator;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Implementation class for UserProvisioningService
+ *
+ * @see UserProvisioningService
+ *
+ * @author olivier morel
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+
+	private static final String ROLE = "USER";
+
+	private final UserRepository userRepository;
+
+	private final PasswordEncoder passwordEncoder;
+
+	private final ValidPasswordGenerator validPasswordGenerator;
+
+	private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+	private final UserDetailsCache userDetailsCache;
+
+	/*
+	 * Not @Transactional : each repository call commits on its own, so that a unique violation
+	 * on a concurrent first login can be caught and the user created by the other login read again
+	 */
+	@Override
+	public User provisionUser(String userName, String fullname) throws UnexpectedRollbackException {
+		ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+		User user;
+		try {
+			user = observe(registry, "db", () -> userRepository.findByUsername(userName));
+			if (user == null) {
+				String encodedPassword = observe(registry, "hashing", () -> passwordEncoder.encode(validPasswordGenerator.generatePassword()));
+				User newUser = User.builder()
+						.username(userName)
+						.password(encodedPassword)
+						.fullname(fullname)
+						.role(ROLE)
+						.build();
+				try {
+					user = observe(registry, "db", () -> userRepository.save(newUser));
+					userDetailsCache.evictAfterCommit(userName);
+					log.info("user = {} created", user);
+					return user;
+				} catch (DataIntegrityViolationException dive) {
+					//created by a concurrent login
+					user = observe(registry, "db", () -> userRepository.findByUsername(userName));
+				}
+			}
+			if (Objects.equals(user.getFullname(), fullname) && ROLE.equals(user.getRole())) {
+				return user;
+			}
+			user.setFullname(fullname);
+			user.setRole(ROLE);
+			//@DynamicUpdate, Hibernate generates an UPDATE SQL statement that sets only columns that have changed
+			User userToSave = user;
+			user = observe(registry, "db", () -> userRepository.save(userToSave));
+			userDetailsCache.evictAfterCommit(userName);
+			log.info("user = {} updated", user);
+		} catch(Exception e) {
+			log.error("Error while provisioning user = {} : {} ", userName, e.toString());
+			throw new UnexpectedRollbackException("Error while provisioning user");
+		}
+		return user;
+	}
+
+	private static <T> T observe(ObservationRegistry registry, String step, Supplier<T> supplier) {
+		return Observation.createNotStarted(LOGIN_OBSERVATION, registry)
+				.lowCardinalityKeyValue("step", step)
+				.observe(supplier);
+	}
+}
@@ -4,6 +4,9 @@ import com.poseidoninc.poseidon.domain.User;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.transaction.UnexpectedRollbackException;
 
@@ -22,9 +25,10 @@ public interface UserService {
 	 * @throws UnexpectedRollbackException
 	 */
 	User getUserByUserName(String userName) throws ResourceNotFoundException, UnexpectedRollbackException;
-	User getUserById(Integer id) throws UnexpectedRollbackException;
-	User getUserByIdWithBlankPasswd(Integer userId) throws UnexpectedRollbackException;
+	User getUserById(Long id) throws UnexpectedRollbackException;
+	User getUserByIdWithBlankPasswd(Long userId) throws UnexpectedRollbackException;
 	Page<User> getUsers(Pageable pageRequest) throws UnexpectedRollbackException;
+	Window<User> getUsers(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException;
 
 	/**
 	 * Throws DataIntegrityViolationException if unique violation on user name
@@ -35,5 +39,15 @@ public interface UserService {
 	 * @throws UnexpectedRollbackException
 	 */
 	User saveUser(User user) throws DataIntegrityViolationException, UnexpectedRollbackException;
-	void deleteUserById(Integer id) throws UnexpectedRollbackException;
+
+	/**
+	 * Stores a password already encoded, used to rehash password on login
+	 *
+	 * @param userName
+	 * @param encodedPassword
+	 * @return
+	 * @throws UnexpectedRollbackException
+	 */
+	User updatePassword(String userName, String encodedPassword) throws UnexpectedRollbackException;
+	void deleteUserById(Long id) throws UnexpectedRollbackException;
 }
@@ -2,11 +2,16 @@ package com.poseidoninc.poseidon.service;
 
 import com.poseidoninc.poseidon.domain.User;
 import com.poseidoninc.poseidon.repository.UserRepository;
+import com.poseidoninc.poseidon.security.UserDetailsCache;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -29,6 +34,7 @@ public class UserServiceImpl implements UserService {
 	
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final UserDetailsCache userDetailsCache;
 
 	@Override
 	@Transactional(readOnly = true, rollbackFor = {ResourceNotFoundException.class, UnexpectedRollbackException.class})
@@ -42,28 +48,28 @@ public class UserServiceImpl implements UserService {
 			throw new ResourceNotFoundException("Error while getting user");
 		} catch (Exception e) {
 			log.error("Error while getting user = {} : {} ", userName, e.toString());
-			throw new UnexpectedRollbackException("Error while getting user");
+			throw new UnexpectedRollbackException("Error while getting user", e);
 		}
 		return user;
 	}
 
 	@Override
 	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
-	public User getUserById(Integer id) throws UnexpectedRollbackException {
+	public User getUserById(Long id) throws UnexpectedRollbackException {
 		User user;
 		try {
 			//Throws ResourceNotFoundException | InvalidDataAccessApiUsageException
 			user = userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("User not found"));
 		} catch (Exception e) {
 			log.error("Error while getting user = {} : {} ", id, e.toString());
-			throw new UnexpectedRollbackException("Error while getting user");
+			throw new UnexpectedRollbackException("Error while getting user", e);
 		}
 		return user;
 	}
 	
 	@Override
 	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
-	public User getUserByIdWithBlankPasswd(Integer userId) throws UnexpectedRollbackException {
+	public User getUserByIdWithBlankPasswd(Long userId) throws UnexpectedRollbackException {
 		User user = getUserById(userId);
 		user.setPassword("");
 		return user;
@@ -83,6 +89,27 @@ public class UserServiceImpl implements UserService {
 		return pageUser;
 	}
 
+	@Override
+	@Transactional(readOnly = true, rollbackFor = UnexpectedRollbackException.class)
+	public Window<User> getUsers(ScrollPosition position, Sort sort, int limit) throws UnexpectedRollbackException {
+		Window<User> windowUser;
+		try {
+			/*
+			 * Keyset predicate on sort properties then primary key, no offset and no count query
+			 * Fetches limit + 1 rows to know if there is a next window
+			 */
+			windowUser = userRepository.findBy(Specification.where(null), query -> query.sortBy(sort).limit(limit).scroll(position)).map(user -> {user.setPassword(""); return user;});
+		} catch(Exception e) {
+			log.error("Error while getting Users : {} ", e.toString());
+			throw new UnexpectedRollbackException("Error while getting Users");
+		}
+		return windowUser;
+	}
+
+	/*
+	 * Username can be changed by update, so all UserDetails are evicted (after commit) rather than one key
+	 * users are rarely written
+	 */
 	@Override
 	@Transactional(rollbackFor = {DataIntegrityViolationException.class, UnexpectedRollbackException.class})
 	public User saveUser(User user) throws DataIntegrityViolationException, UnexpectedRollbackException {
@@ -96,26 +123,45 @@ public class UserServiceImpl implements UserService {
 			* Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException
 			*/
 			userSaved = userRepository.save(user);
+			userDetailsCache.evictAllAfterCommit();
 		} catch(DataIntegrityViolationException dive) {
-			log.error("Error while saving user = {} : {} ", user.toString(), dive.toString());
+			log.error("Error while saving user = {} : {} ", user, dive.toString());
 			throw new DataIntegrityViolationException("Username already exists");
 		} catch(Exception e) {
-			log.error("Error while saving user = {} : {} ", user.toString(), e.toString());
+			log.error("Error while saving user = {} : {} ", user, e.toString());
 			throw new UnexpectedRollbackException("Error while saving user");
 		}
 		return userSaved;
 	}
 
+	@Override
+	@Transactional(rollbackFor = UnexpectedRollbackException.class)
+	public User updatePassword(String userName, String encodedPassword) throws UnexpectedRollbackException {
+		User userSaved;
+		try {
+			//Throws ResourceNotFoundException
+			User user = Optional.ofNullable(userRepository.findByUsername(userName)).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+			user.setPassword(encodedPassword);
+			userSaved = userRepository.save(user);
+			userDetailsCache.evictAfterCommit(userName);
+		} catch(Exception e) {
+			log.error("Error while updating password of user = {} : {} ", userName, e.toString());
+			throw new UnexpectedRollbackException("Error while updating password", e);
+		}
+		return userSaved;
+	}
+
 	@Override
 	@Transactional(rollbackFor = {UnexpectedRollbackException.class})
-	public void deleteUserById(Integer id) throws UnexpectedRollbackException {
+	public void deleteUserById(Long id) throws UnexpectedRollbackException {
 		try {
 			/* getUserById throws  UnexpectedRollbackException
 			 * Throws InvalidDataAccessApiUsageException | OptimisticLockingFailureException */
 			userRepository.delete(getUserById(id));
+			userDetailsCache.evictAllAfterCommit();
 		} catch(Exception e) {
 			log.error("Error while deleting user = {} : {} ", id, e.toString());
-			throw new UnexpectedRollbackException("Error while deleting user");
+			throw new UnexpectedRollbackException("Error while deleting user", e);
 		}
 	}
 }
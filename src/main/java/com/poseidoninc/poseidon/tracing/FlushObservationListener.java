@@ -0,0 +1,81 @@
+package com.poseidoninc.poseidon.tracing;
+
+import io.micrometer.observation.Observation;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionEventListener;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Observes Hibernate flushes of a session as flush phases (dirty checking, inserts, updates and deletes),
+ * at commit or before a query (partial flush).
+ * A session is not used by several threads and flushes are not nested.
+ *
+ * @author olivier morel
+ */
+public class FlushObservationListener implements SessionEventListener {
+
+	private static final String REGISTERED = FlushObservationListener.class.getName();
+
+	private final transient PhaseObserver phaseObserver;
+
+	private transient Observation observation;
+
+	private transient Observation.Scope scope;
+
+	private FlushObservationListener(PhaseObserver phaseObserver) {
+		this.phaseObserver = phaseObserver;
+	}
+
+	/**
+	 * adds a listener to the session of the entity manager, once : with open session in view
+	 * the same session is used by every transaction of a request
+	 *
+	 * @param entityManager the entity manager of the transaction
+	 * @param phaseObserver the phase observer
+	 */
+	public static void register(EntityManager entityManager, PhaseObserver phaseObserver) {
+		SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+		if (session.getProperties().get(REGISTERED) == null) {
+			session.getEventListenerManager().addListener(new FlushObservationListener(phaseObserver));
+			session.setProperty(REGISTERED, Boolean.TRUE);
+		}
+	}
+
+	@Override
+	public void flushStart() {
+		start();
+	}
+
+	@Override
+	public void flushEnd(int numberOfEntities, int numberOfCollections) {
+		stop();
+	}
+
+	@Override
+	public void partialFlushStart() {
+		start();
+	}
+
+	@Override
+	public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+		stop();
+	}
+
+	private void start() {
+		if (observation == null) {
+			observation = phaseObserver.start(Phase.FLUSH, "flush");
+			if (observation != null) {
+				scope = observation.openScope();
+			}
+		}
+	}
+
+	private void stop() {
+		if (observation != null) {
+			scope.close();
+			observation.stop();
+			observation = null;
+			scope = null;
+		}
+	}
+}
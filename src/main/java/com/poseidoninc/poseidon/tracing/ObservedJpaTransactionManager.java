@@ -0,0 +1,39 @@
+package com.poseidoninc.poseidon.tracing;
+
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JpaTransactionManager observing commits as commit phases (Hibernate flush and JDBC commit)
+ * and flushes of the session of the transaction as flush phases.
+ *
+ * @author olivier morel
+ */
+public class ObservedJpaTransactionManager extends JpaTransactionManager {
+
+	private final transient PhaseObserver phaseObserver;
+
+	public ObservedJpaTransactionManager(PhaseObserver phaseObserver) {
+		this.phaseObserver = phaseObserver;
+	}
+
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+		super.doBegin(transaction, definition);
+		if (phaseObserver.isObserving()) {
+			EntityManagerHolder entityManagerHolder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+			FlushObservationListener.register(entityManagerHolder.getEntityManager(), phaseObserver);
+		}
+	}
+
+	@Override
+	protected void doCommit(DefaultTransactionStatus status) {
+		phaseObserver.observe(Phase.COMMIT, "commit", () -> {
+			super.doCommit(status);
+			return null;
+		});
+	}
+}
@@ -0,0 +1,32 @@
+package com.poseidoninc.poseidon.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter of responses observing writes as serialization phases, named by the class of the body
+ *
+ * @author olivier morel
+ */
+public class ObservedMappingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+	private final PhaseObserver phaseObserver;
+
+	public ObservedMappingJackson2HttpMessageConverter(ObjectMapper objectMapper, PhaseObserver phaseObserver) {
+		super(objectMapper);
+		this.phaseObserver = phaseObserver;
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+		phaseObserver.observe(Phase.SERIALIZATION, object.getClass().getSimpleName(), () -> {
+			super.writeInternal(object, type, outputMessage);
+			return null;
+		});
+	}
+}
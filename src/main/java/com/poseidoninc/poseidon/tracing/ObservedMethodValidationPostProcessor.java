@@ -0,0 +1,112 @@
+package com.poseidoninc.poseidon.tracing;
+
+import io.micrometer.observation.Observation;
+import jakarta.validation.Validator;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.validation.beanvalidation.FilteredMethodValidationPostProcessor;
+import org.springframework.boot.validation.beanvalidation.MethodValidationExcludeFilter;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Method validation of @Validated beans (constraints on path variables and request bodies of REST controllers)
+ * observed as validation phases : from the call to the proceeding of the validated method.
+ *
+ * @author olivier morel
+ */
+public class ObservedMethodValidationPostProcessor extends FilteredMethodValidationPostProcessor {
+
+	private final transient ObjectProvider<PhaseObserver> phaseObserver;
+
+	public ObservedMethodValidationPostProcessor(Stream<? extends MethodValidationExcludeFilter> excludeFilters, ObjectProvider<PhaseObserver> phaseObserver) {
+		super(excludeFilters);
+		this.phaseObserver = phaseObserver;
+	}
+
+	@Override
+	protected Advice createMethodValidationAdvice(Supplier<Validator> validator) {
+		MethodInterceptor validation = (MethodInterceptor) super.createMethodValidationAdvice(validator);
+		return (MethodInterceptor) invocation -> {
+			PhaseObserver observer = phaseObserver.getIfAvailable();
+			if (observer == null || !observer.isObserving()) {
+				return validation.invoke(invocation);
+			}
+			ValidationInvocation validationInvocation = new ValidationInvocation(invocation,
+					observer.start(Phase.VALIDATION, AopUtils.getTargetClass(invocation.getThis()).getSimpleName() + "." + invocation.getMethod().getName()));
+			try {
+				return validation.invoke(validationInvocation);
+			} catch (Throwable throwable) {
+				validationInvocation.error(throwable);
+				throw throwable;
+			} finally {
+				validationInvocation.stop();
+			}
+		};
+	}
+
+	/*
+	 * Stops the validation phase when the validated method proceeds, so that the controller phase is not its child
+	 */
+	private static class ValidationInvocation implements MethodInvocation {
+
+		private final MethodInvocation invocation;
+
+		private Observation observation;
+
+		private Observation.Scope scope;
+
+		ValidationInvocation(MethodInvocation invocation, Observation observation) {
+			this.invocation = invocation;
+			this.observation = observation;
+			this.scope = observation.openScope();
+		}
+
+		@Override
+		public Object proceed() throws Throwable {
+			stop();
+			return invocation.proceed();
+		}
+
+		void error(Throwable throwable) {
+			if (observation != null) {
+				observation.error(throwable);
+			}
+		}
+
+		void stop() {
+			if (observation != null) {
+				scope.close();
+				observation.stop();
+				observation = null;
+				scope = null;
+			}
+		}
+
+		@Override
+		public Method getMethod() {
+			return invocation.getMethod();
+		}
+
+		@Override
+		public Object[] getArguments() {
+			return invocation.getArguments();
+		}
+
+		@Override
+		public Object getThis() {
+			return invocation.getThis();
+		}
+
+		@Override
+		public AccessibleObject getStaticPart() {
+			return invocation.getStaticPart();
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.poseidoninc.poseidon.tracing;
+
+/**
+ * Phases of a request, value of the phase key of poseidon.phase observations
+ *
+ * @author olivier morel
+ */
+public enum Phase {
+	CONTROLLER("controller"),
+	VALIDATION("validation"),
+	SERVICE("service"),
+	REPOSITORY("repository"),
+	COMMIT("commit"),
+	FLUSH("flush"),
+	SERIALIZATION("serialization");
+
+	private final String tag;
+
+	Phase(String tag) {
+		this.tag = tag;
+	}
+
+	public String getTag() {
+		return tag;
+	}
+}
@@ -0,0 +1,56 @@
+package com.poseidoninc.poseidon.tracing;
+
+import com.poseidoninc.poseidon.metrics.ServiceMetricsAspect;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observes calls of controllers, services and repositories as phases of the current request.
+ * Inside the timers of ServiceMetricsAspect, outside of transactions : a service phase includes its commit.
+ *
+ * @author olivier morel
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@AllArgsConstructor
+public class PhaseObservationAspect {
+
+	private final PhaseObserver phaseObserver;
+
+	@Around("within(com.poseidoninc.poseidon.controller..*) && (@within(org.springframework.stereotype.Controller) || @within(org.springframework.web.bind.annotation.RestController))")
+	public Object observeController(ProceedingJoinPoint joinPoint) throws Throwable {
+		if (!phaseObserver.isObserving()) {
+			return joinPoint.proceed();
+		}
+		String name = AopUtils.getTargetClass(joinPoint.getThis()).getSimpleName() + "." + joinPoint.getSignature().getName();
+		return phaseObserver.observe(Phase.CONTROLLER, name, joinPoint::proceed);
+	}
+
+	@Around("within(com.poseidoninc.poseidon.service..*) && @within(org.springframework.stereotype.Service)")
+	public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return observe(joinPoint, Phase.SERVICE);
+	}
+
+	@Around("target(org.springframework.data.repository.Repository)")
+	public Object observeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return observe(joinPoint, Phase.REPOSITORY);
+	}
+
+	/*
+	 * TradeServiceImpl.saveTrade, proxy of TradeRepository.save -> Trade.saveTrade, Trade.save
+	 */
+	private Object observe(ProceedingJoinPoint joinPoint, Phase phase) throws Throwable {
+		if (!phaseObserver.isObserving()) {
+			return joinPoint.proceed();
+		}
+		String name = ServiceMetricsAspect.entity(joinPoint.getThis()) + "." + joinPoint.getSignature().getName();
+		return phaseObserver.observe(phase, name, joinPoint::proceed);
+	}
+}
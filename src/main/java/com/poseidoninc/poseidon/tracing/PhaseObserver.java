@@ -0,0 +1,87 @@
+package com.poseidoninc.poseidon.tracing;
+
+import com.poseidoninc.poseidon.configuration.TracingProperties;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts poseidon.phase observations, children of the observation of the current HTTP request (http.server.requests).
+ * Outside of a request (startup, scheduled tasks, tests of services) or when tracing is disabled nothing is observed.
+ *
+ * @author olivier morel
+ */
+@Component
+public class PhaseObserver {
+
+	public static final String PHASE_OBSERVATION = "poseidon.phase";
+
+	public static final String PHASE_KEY = "phase";
+
+	/**
+	 * a call observed as a phase, may throw a checked exception
+	 */
+	@FunctionalInterface
+	public interface PhaseCall<T, E extends Throwable> {
+		T call() throws E;
+	}
+
+	private final ObservationRegistry observationRegistry;
+
+	private final boolean enabled;
+
+	public PhaseObserver(ObjectProvider<ObservationRegistry> observationRegistry, TracingProperties tracingProperties) {
+		this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+		this.enabled = tracingProperties.isEnabled();
+	}
+
+	/**
+	 * @return true when a phase started now would be a span of the current request
+	 */
+	public boolean isObserving() {
+		return enabled && observationRegistry.getCurrentObservation() != null;
+	}
+
+	/**
+	 * starts a phase observation, the caller opens its scope and stops it
+	 *
+	 * @param phase the phase
+	 * @param name the contextual name (class.method, entity, ...)
+	 * @return the started observation or null when not observing
+	 */
+	public Observation start(Phase phase, String name) {
+		if (!isObserving()) {
+			return null;
+		}
+		Observation observation = Observation.createNotStarted(PHASE_OBSERVATION, observationRegistry)
+				.lowCardinalityKeyValue(PHASE_KEY, phase.getTag())
+				.contextualName(name);
+		observation.getContext().put(Phase.class, phase);
+		return observation.start();
+	}
+
+	/**
+	 * observes a call as a phase, nested phases are its children
+	 *
+	 * @param phase the phase
+	 * @param name the contextual name
+	 * @param call the call
+	 * @return the result of the call
+	 * @throws E the exception of the call
+	 */
+	public <T, E extends Throwable> T observe(Phase phase, String name, PhaseCall<T, E> call) throws E {
+		Observation observation = start(phase, name);
+		if (observation == null) {
+			return call.call();
+		}
+		try (Observation.Scope scope = observation.openScope()) {
+			return call.call();
+		} catch (Throwable throwable) {
+			observation.error(throwable);
+			throw throwable;
+		} finally {
+			observation.stop();
+		}
+	}
+}
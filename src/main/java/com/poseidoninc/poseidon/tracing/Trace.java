@@ -0,0 +1,192 @@
+package com.poseidoninc.poseidon.tracing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phases of a request : its spans and the time spent in each phase, not in its nested phases (self time).
+ * Time of the request outside of any phase (security and other filters, argument resolution, view rendering) is "other".
+ * Read as JSON by /admin/traces.
+ *
+ * @author olivier morel
+ */
+public class Trace {
+
+	private static final String OTHER = "other";
+
+	private final String correlationId;
+
+	private final String method;
+
+	private final String uri;
+
+	private final Instant start;
+
+	private final long startNanos;
+
+	private final int maxSpans;
+
+	private final List<Span> spans = new ArrayList<>();
+
+	private final Map<String, Long> selfNanos = new LinkedHashMap<>();
+
+	private long childrenNanos;
+
+	private int droppedSpans;
+
+	private long durationNanos;
+
+	private int status;
+
+	/*
+	 * A phase of a request
+	 */
+	static class Span {
+
+		private final Phase phase;
+
+		private final String name;
+
+		private final Span parent;
+
+		private final int depth;
+
+		private final long startNanos;
+
+		private long durationNanos;
+
+		private long childrenNanos;
+
+		Span(Phase phase, String name, Span parent, long startNanos) {
+			this.phase = phase;
+			this.name = name;
+			this.parent = parent;
+			this.depth = parent == null ? 1 : parent.depth + 1;
+			this.startNanos = startNanos;
+		}
+
+		String getPhase() {
+			return phase.getTag();
+		}
+	}
+
+	public Trace(String correlationId, String method, String uri, int maxSpans) {
+		this.correlationId = correlationId;
+		this.method = method;
+		this.uri = uri;
+		this.start = Instant.now();
+		this.startNanos = System.nanoTime();
+		this.maxSpans = maxSpans;
+	}
+
+	/**
+	 * starts a span
+	 *
+	 * @param phase the phase
+	 * @param name the contextual name
+	 * @param parent the span of the enclosing phase, null at the first level
+	 * @return the span
+	 */
+	Span startSpan(Phase phase, String name, Span parent) {
+		return new Span(phase, name, parent, System.nanoTime());
+	}
+
+	/**
+	 * stops a span, its nested spans are already stopped.
+	 * Spans may be stopped by another thread than the request one (streamed responses)
+	 *
+	 * @param span the span
+	 */
+	synchronized void stopSpan(Span span) {
+		span.durationNanos = System.nanoTime() - span.startNanos;
+		if (span.parent == null) {
+			childrenNanos += span.durationNanos;
+		} else {
+			span.parent.childrenNanos += span.durationNanos;
+		}
+		selfNanos.merge(span.getPhase(), span.durationNanos - span.childrenNanos, Long::sum);
+		if (spans.size() < maxSpans) {
+			spans.add(span);
+		} else {
+			droppedSpans++;
+		}
+	}
+
+	synchronized void finish(int status) {
+		this.durationNanos = System.nanoTime() - startNanos;
+		this.status = status;
+	}
+
+	public String getCorrelationId() {
+		return correlationId;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public synchronized int getStatus() {
+		return status;
+	}
+
+	public String getStart() {
+		return start.toString();
+	}
+
+	@JsonIgnore
+	public synchronized long getDurationNanos() {
+		return durationNanos;
+	}
+
+	public synchronized double getDurationMillis() {
+		return millis(durationNanos);
+	}
+
+	/**
+	 * @return self time in milliseconds by phase, slowest first
+	 */
+	public synchronized Map<String, Double> getPhasesMillis() {
+		Map<String, Double> phasesMillis = new LinkedHashMap<>();
+		selfNanos.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+				.forEach(phase -> phasesMillis.put(phase.getKey(), millis(phase.getValue())));
+		phasesMillis.put(OTHER, millis(durationNanos - childrenNanos));
+		return phasesMillis;
+	}
+
+	/**
+	 * @return spans in start order with start offset and duration in milliseconds
+	 */
+	public synchronized List<Map<String, Object>> getSpans() {
+		return spans.stream()
+				.sorted(Comparator.comparingLong(span -> span.startNanos))
+				.map(span -> {
+					Map<String, Object> spanMillis = new LinkedHashMap<>();
+					spanMillis.put("phase", span.getPhase());
+					spanMillis.put("name", span.name);
+					spanMillis.put("depth", span.depth);
+					spanMillis.put("startMillis", millis(span.startNanos - startNanos));
+					spanMillis.put("durationMillis", millis(span.durationNanos));
+					return spanMillis;
+				})
+				.toList();
+	}
+
+	public synchronized int getDroppedSpans() {
+		return droppedSpans;
+	}
+
+	private static double millis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0;
+	}
+}
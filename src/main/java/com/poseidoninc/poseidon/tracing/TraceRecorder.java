@@ -0,0 +1,124 @@
+package com.poseidoninc.poseidon.tracing;
+
+import com.poseidoninc.poseidon.configuration.TracingProperties;
+import com.poseidoninc.poseidon.logging.CorrelationIdFilter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.MDC;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory exporter of traces : handler of http.server.requests observations (a trace per request)
+ * and of their poseidon.phase children (spans).
+ * Last requests are kept in a ring buffer, requests to actuator and admin endpoints are not recorded.
+ *
+ * @author olivier morel
+ */
+@Component
+public class TraceRecorder implements ObservationHandler<Observation.Context> {
+
+	private final boolean enabled;
+
+	private final int maxSpans;
+
+	private final AtomicReferenceArray<Trace> traces;
+
+	private final AtomicLong next = new AtomicLong();
+
+	public TraceRecorder(TracingProperties tracingProperties) {
+		this.enabled = tracingProperties.isEnabled();
+		this.maxSpans = tracingProperties.getMaxSpans();
+		this.traces = new AtomicReferenceArray<>(tracingProperties.getCapacity());
+	}
+
+	@Override
+	public boolean supportsContext(Observation.Context context) {
+		return enabled && (context instanceof ServerRequestObservationContext || PhaseObserver.PHASE_OBSERVATION.equals(context.getName()));
+	}
+
+	@Override
+	public void onStart(Observation.Context context) {
+		if (context instanceof ServerRequestObservationContext requestContext) {
+			HttpServletRequest request = requestContext.getCarrier();
+			String uri = request.getRequestURI();
+			if (!uri.startsWith("/actuator") && !uri.startsWith("/admin")) {
+				//correlation id is put in MDC by CorrelationIdFilter, before the observation filter
+				context.put(Trace.class, new Trace(MDC.get(CorrelationIdFilter.CORRELATION_ID), request.getMethod(), uri, maxSpans));
+			}
+			return;
+		}
+		Observation.ContextView parent = parent(context);
+		Trace trace = trace(parent);
+		if (trace != null) {
+			context.put(Trace.Span.class, trace.startSpan(context.get(Phase.class), context.getContextualName(), parent.get(Trace.Span.class)));
+		}
+	}
+
+	@Override
+	public void onStop(Observation.Context context) {
+		Trace trace = context.get(Trace.class);
+		if (trace != null) {
+			trace.finish(((ServerRequestObservationContext) context).getResponse().getStatus());
+			traces.set((int) (next.getAndIncrement() % traces.length()), trace);
+			return;
+		}
+		Trace.Span span = context.get(Trace.Span.class);
+		if (span != null) {
+			trace(parent(context)).stopSpan(span);
+		}
+	}
+
+	/**
+	 * @param limit maximum number of traces
+	 * @return the slowest of the last recorded requests, slowest first
+	 */
+	public List<Trace> getSlowestTraces(int limit) {
+		List<Trace> recent = new ArrayList<>(traces.length());
+		for (int i = 0; i < traces.length(); i++) {
+			Trace trace = traces.get(i);
+			if (trace != null) {
+				recent.add(trace);
+			}
+		}
+		return recent.stream()
+				.sorted(Comparator.comparingLong(Trace::getDurationNanos).reversed())
+				.limit(limit)
+				.toList();
+	}
+
+	/**
+	 * clears recorded traces
+	 */
+	public void clear() {
+		for (int i = 0; i < traces.length(); i++) {
+			traces.set(i, null);
+		}
+	}
+
+	private static Observation.ContextView parent(Observation.Context context) {
+		return context.getParentObservation() == null ? null : context.getParentObservation().getContextView();
+	}
+
+	/*
+	 * The trace is in the context of the request observation, the root of phases
+	 */
+	private static Trace trace(Observation.ContextView context) {
+		Observation.ContextView current = context;
+		while (current != null) {
+			Trace trace = current.get(Trace.class);
+			if (trace != null) {
+				return trace;
+			}
+			current = current.getParentObservation() == null ? null : current.getParentObservation().getContextView();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,15 @@
+package com.poseidoninc.poseidon.validator;
+
+import java.util.List;
+
+/**
+ * Result of the validation of a candidate password, the password itself is not echoed
+ *
+ * @param index position of the password in the request
+ * @param valid true if the password follows the PasswordPolicy
+ * @param violations messages of the violated rules, empty if valid
+ *
+ * @author olivier morel
+ */
+public record PasswordCheck(int index, boolean valid, List<String> violations) {
+}
@@ -0,0 +1,96 @@
+package com.poseidoninc.poseidon.validator;
+
+import org.passay.*;
+
+import java.security.SecureRandom;
+import java.util.List;
+
+/**
+ * The password policy, compiled once and shared by ValidPasswordValidator and ValidPasswordGenerator.
+ * Passay rules and validator are immutable and SecureRandom is thread-safe, so the single instance is thread-safe.
+ * @see ValidPasswordValidator
+ * @see ValidPasswordGenerator
+ *
+ * @author olivier morel
+ */
+public final class PasswordPolicy {
+
+    private static final PasswordPolicy INSTANCE = new PasswordPolicy();
+
+    private static final int GENERATED_LENGTH = 13;
+
+    private final PasswordValidator passwordValidator = new PasswordValidator(List.of(
+            // at least 8 characters, max 13
+            // need spring.jpa.properties.jakarta.persistence.validation.mode=none in application.properties
+            // because once encoded length will be > 13 and will throw violation on persistence
+            new LengthRule(8, 13),
+            // at least one upper-case character
+            new CharacterRule(EnglishCharacterData.UpperCase, 1),
+            // at least one lower-case character
+            new CharacterRule(EnglishCharacterData.LowerCase, 1),
+            // at least one digit character
+            new CharacterRule(EnglishCharacterData.Digit, 1),
+            // at least one symbol (special character)
+            new CharacterRule(EnglishCharacterData.Special, 1),
+            // no whitespace
+            new WhitespaceRule(),
+            // rejects passwords that contain a sequence of >= 3 repeating characters
+            new RepeatCharactersRule(3),
+            // rejects passwords that contain a sequence of >= 5 characters alphabetical  (e.g. abcdef)
+            new IllegalSequenceRule(EnglishSequenceData.Alphabetical, 5, false),
+            // rejects passwords that contain a sequence of >= 5 characters numerical   (e.g. 12345)
+            new IllegalSequenceRule(EnglishSequenceData.Numerical, 5, false)
+    ));
+
+    private final List<CharacterRule> generationRules = List.of(
+            new CharacterRule(EnglishCharacterData.UpperCase, 1),
+            new CharacterRule(EnglishCharacterData.LowerCase, 1),
+            new CharacterRule(EnglishCharacterData.Digit, 1),
+            new CharacterRule(EnglishCharacterData.Special, 1));
+
+    private final PasswordGenerator passwordGenerator = new PasswordGenerator(new SecureRandom());
+
+    private PasswordPolicy() {
+    }
+
+    /**
+     * @return the single compiled policy
+     */
+    public static PasswordPolicy getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param password to validate, null is treated as empty
+     * @return messages of the violated rules, empty if the password is valid
+     */
+    public List<String> violations(String password) {
+        RuleResult result = passwordValidator.validate(new PasswordData(password == null ? "" : password));
+        if (result.isValid()) {
+            return List.of();
+        }
+        return passwordValidator.getMessages(result);
+    }
+
+    /**
+     * @param password to validate
+     * @return true if the password follows all rules
+     */
+    public boolean isValid(String password) {
+        return password != null && passwordValidator.validate(new PasswordData(password)).isValid();
+    }
+
+    /**
+     * Generates random passwords of 13 characters until one follows all rules
+     * (a random one may contain a repeated character or a sequence)
+     *
+     * @return a valid password
+     */
+    public String generatePassword() {
+        String password;
+        do {
+            password = passwordGenerator.generatePassword(GENERATED_LENGTH, generationRules);
+        } while (!isValid(password));
+        return password;
+    }
+}
@@ -3,15 +3,14 @@ package com.poseidoninc.poseidon.validator;
 import com.poseidoninc.poseidon.annotation.ValidPassword;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import org.passay.*;
 
-import java.util.Arrays;
 import java.util.List;
 
 
 /**
  * validate a password
- * use passay PasswordValidator specified rules
+ * use the rules of the shared PasswordPolicy
+ * @see PasswordPolicy
  * @see ValidPassword
  *
  * @author olivier morel
@@ -27,34 +26,10 @@ public class ValidPasswordValidator implements ConstraintValidator<ValidPassword
      */
     @Override
     public boolean isValid(String password, ConstraintValidatorContext context) {
-        PasswordValidator passwordValidator = new PasswordValidator(Arrays.asList(
-                // at least 8 characters, max 13
-                // need spring.jpa.properties.jakarta.persistence.validation.mode=none in application.properties
-                // because once encoded length will be > 13 and will throw violation on persistence
-                new LengthRule(8, 13),
-                // at least one upper-case character
-                new CharacterRule(EnglishCharacterData.UpperCase, 1),
-                // at least one lower-case character
-                new CharacterRule(EnglishCharacterData.LowerCase, 1),
-                // at least one digit character
-                new CharacterRule(EnglishCharacterData.Digit, 1),
-                // at least one symbol (special character)
-                new CharacterRule(EnglishCharacterData.Special, 1),
-                // no whitespace
-                new WhitespaceRule(),
-                // rejects passwords that contain a sequence of >= 3 repeating characters
-                new RepeatCharactersRule(3),
-                // rejects passwords that contain a sequence of >= 5 characters alphabetical  (e.g. abcdef)
-                new IllegalSequenceRule(EnglishSequenceData.Alphabetical, 5, false),
-                // rejects passwords that contain a sequence of >= 5 characters numerical   (e.g. 12345)
-                new IllegalSequenceRule(EnglishSequenceData.Numerical, 5, false)
-        ));
-
-        RuleResult result = passwordValidator.validate(new PasswordData(password));
-        if (result.isValid()) {
+        List<String> messages = PasswordPolicy.getInstance().violations(password);
+        if (messages.isEmpty()) {
             return true;
         }
-        List<String> messages = passwordValidator.getMessages(result);
 
         String messageTemplate = String.join(",", messages);
         context.buildConstraintViolationWithTemplate(messageTemplate)
@@ -0,0 +1,348 @@
+package com.poseidoninc.poseidon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.poseidoninc.poseidon.domain.BidList;
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.domain.User;
+import com.poseidoninc.poseidon.repository.BidListRepository;
+import com.poseidoninc.poseidon.repository.CurvePointRepository;
+import com.poseidoninc.poseidon.repository.TradeRepository;
+import com.poseidoninc.poseidon.repository.UserRepository;
+import com.poseidoninc.poseidon.service.BidListService;
+import com.poseidoninc.poseidon.service.CurvePointService;
+import com.poseidoninc.poseidon.service.TradeService;
+import com.poseidoninc.poseidon.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * load test of the REST API and Thymeleaf list pages against the H2 database of the mytest profile.
+ * Seeds trades, bid lists and curve points then concurrent clients, each with its own authenticated session,
+ * send GET requests over a running server. Logs and writes to a json file throughput and p50/p99/p99.9 latencies.
+ * Excluded from the build, run it with : mvn -P loadtest verify (parameters in pom.xml),
+ * the server runs on virtual threads with -Dloadtest.virtual-threads=true on a Java 21 jvm.
+ * @author olivier morel
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "logging.level.com.poseidoninc.poseidon=warn")
+@ActiveProfiles("mytest")
+@Slf4j
+public class ApiLoadIT {
+
+	private static final int CLIENTS = Integer.getInteger("loadtest.clients", 16);
+
+	private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests", 300);
+
+	private static final int ROWS = Integer.getInteger("loadtest.rows", 1000);
+
+	private static final long MAX_P99_MILLIS = Long.getLong("loadtest.max-p99-millis", 0);
+
+	private static final String RESULT = System.getProperty("loadtest.result");
+
+	private static final int POINTS_PER_CURVE = 100;
+
+	/*
+	 * CurveId is a tinyint
+	 */
+	private static final int CURVES = Math.min((ROWS + POINTS_PER_CURVE - 1) / POINTS_PER_CURVE, 127);
+
+	private static final int CURVE_POINTS = CURVES * POINTS_PER_CURVE;
+
+	private static final LocalDateTime AS_OF_DATE = LocalDateTime.of(2023, 1, 21, 18, 0);
+
+	private static final String USERNAME = "loadtest";
+
+	private static final String PASSWORD = "passwrdA1=";
+
+	private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+	@LocalServerPort
+	private int port;
+
+	/*
+	 * Tomcat and task executors on virtual threads, Spring Boot ignores it before Java 21
+	 */
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreads;
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private BidListService bidListService;
+
+	@Autowired
+	private CurvePointService curvePointService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private CurvePointRepository curvePointRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private List<Long> tradeIds;
+
+	private List<Long> bidListIds;
+
+	private List<Long> curvePointIds;
+
+	private record Scenario(String name, Supplier<String> path) {}
+
+	@BeforeEach
+	public void setUpPerTest() {
+		List<Trade> trades = new ArrayList<>(ROWS);
+		List<BidList> bidLists = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			Trade trade = new Trade();
+			trade.setAccount("account" + i % 10);
+			trade.setType("type" + i % 3);
+			trade.setBuyQuantity((double) i);
+			trades.add(trade);
+			BidList bidList = new BidList();
+			bidList.setAccount("account" + i % 10);
+			bidList.setType("type" + i % 3);
+			bidList.setBidQuantity((double) i);
+			bidLists.add(bidList);
+		}
+		//ids generated by the table generator of the mytest profile start below 1, @Min(1) of endpoints rejects them
+		tradeIds = tradeService.saveTrades(trades).stream().map(Trade::getTradeId).filter(id -> id > 0).toList();
+		bidListIds = bidListService.saveBidLists(bidLists).stream().map(BidList::getBidListId).filter(id -> id > 0).toList();
+		curvePointIds = new ArrayList<>(CURVE_POINTS);
+		for (int curveId = 1; curveId <= CURVES; curveId++) {
+			List<CurvePoint> curve = new ArrayList<>(POINTS_PER_CURVE);
+			for (int i = 1; i <= POINTS_PER_CURVE; i++) {
+				CurvePoint curvePoint = new CurvePoint();
+				curvePoint.setCurveId(curveId);
+				curvePoint.setAsOfDate(AS_OF_DATE);
+				curvePoint.setTerm((double) i);
+				curvePoint.setValue((double) i);
+				curve.add(curvePoint);
+			}
+			curvePointService.saveCurve(curve).stream().map(CurvePoint::getId).filter(id -> id > 0).forEach(curvePointIds::add);
+		}
+		userService.saveUser(User.builder()
+				.username(USERNAME)
+				.password(PASSWORD)
+				.fullname("Load Test")
+				.role("USER")
+				.build());
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		tradeRepository.deleteAllInBatch();
+		bidListRepository.deleteAllInBatch();
+		curvePointRepository.deleteAllInBatch();
+		userRepository.deleteAll();
+		tradeIds = null;
+		bidListIds = null;
+		curvePointIds = null;
+	}
+
+	@Test
+	@Tag("ApiLoadIT")
+	@DisplayName("concurrent authenticated clients should get only successful responses")
+	public void concurrentAuthenticatedClientsShouldGetOnlySuccessfulResponses() throws Exception {
+
+		//GIVEN
+		List<Scenario> scenarios = List.of(
+				new Scenario("/api/trade/list", () -> "/api/trade/list?size=20"),
+				new Scenario("/api/trade/update/{id}", () -> "/api/trade/update/" + random(tradeIds)),
+				new Scenario("/api/bidList/list", () -> "/api/bidList/list?size=20"),
+				new Scenario("/api/bidList/update/{id}", () -> "/api/bidList/update/" + random(bidListIds)),
+				new Scenario("/api/curvePoint/list", () -> "/api/curvePoint/list?size=20"),
+				new Scenario("/api/curvePoint/update/{id}", () -> "/api/curvePoint/update/" + random(curvePointIds)),
+				new Scenario("/api/curvePoint/curve/{curveId}", () -> "/api/curvePoint/curve/" + ThreadLocalRandom.current().nextInt(1, CURVES + 1) + "?asOfDate=" + AS_OF_DATE),
+				new Scenario("/trade/list", () -> "/trade/list"),
+				new Scenario("/bidList/list", () -> "/bidList/list"),
+				new Scenario("/curvePoint/list", () -> "/curvePoint/list"));
+		//sequential logins, password encoder pool rejects logins when it is overloaded
+		List<HttpClient> clients = new ArrayList<>(CLIENTS);
+		for (int i = 0; i < CLIENTS; i++) {
+			clients.add(login());
+		}
+		AtomicInteger errors = new AtomicInteger();
+		run(clients, scenarios, Math.max(REQUESTS_PER_CLIENT / 10, scenarios.size()), errors); //warm up
+		errors.set(0);
+
+		//WHEN
+		long start = System.nanoTime();
+		long[][] nanos = run(clients, scenarios, REQUESTS_PER_CLIENT, errors);
+		long elapsed = System.nanoTime() - start;
+
+		//THEN
+		Map<String, Object> result = report(scenarios, nanos, elapsed, errors.get(), virtualThreads && Runtime.version().feature() >= 21);
+		log.info("{} clients x {} requests over {} trades, {} bid lists, {} curve points : {}",
+				CLIENTS, REQUESTS_PER_CLIENT, ROWS, ROWS, CURVE_POINTS, result);
+		if (RESULT != null) {
+			new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(RESULT), result);
+		}
+		assertThat(errors.get()).isZero();
+		if (MAX_P99_MILLIS > 0) {
+			assertThat(percentile(flatten(nanos), 99)).isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(MAX_P99_MILLIS));
+		}
+	}
+
+	/*
+	 * Logs in with the form of the login page (CSRF token), the session cookie is kept by the cookie manager of the client
+	 */
+	private HttpClient login() throws IOException, InterruptedException {
+		HttpClient client = HttpClient.newBuilder()
+				.cookieHandler(new CookieManager())
+				.followRedirects(HttpClient.Redirect.NEVER)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		String loginPage = client.send(HttpRequest.newBuilder(uri("/login")).GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+		Matcher csrf = CSRF.matcher(loginPage);
+		assertThat(csrf.find()).isTrue();
+		String form = "username=" + USERNAME
+				+ "&password=" + URLEncoder.encode(PASSWORD, StandardCharsets.UTF_8)
+				+ "&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+		HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri("/login"))
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form))
+				.build(), HttpResponse.BodyHandlers.discarding());
+		assertThat(response.statusCode()).isEqualTo(302);
+		assertThat(response.headers().firstValue("Location")).hasValueSatisfying(location -> assertThat(location).endsWith("/home"));
+		return client;
+	}
+
+	/*
+	 * Each client sends its requests on its own thread, cycling through scenarios.
+	 * Returns the latencies by scenario index then request, a response other than 200 is an error
+	 */
+	private long[][] run(List<HttpClient> clients, List<Scenario> scenarios, int requestsPerClient, AtomicInteger errors) throws InterruptedException {
+		long[][] nanos = new long[scenarios.size()][];
+		int[] counts = new int[scenarios.size()];
+		for (int i = 0; i < scenarios.size(); i++) {
+			nanos[i] = new long[clients.size() * (requestsPerClient / scenarios.size() + 1)];
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(clients.size());
+		for (int c = 0; c < clients.size(); c++) {
+			HttpClient client = clients.get(c);
+			int offset = c;
+			executor.execute(() -> {
+				for (int r = 0; r < requestsPerClient; r++) {
+					int scenarioIndex = (offset + r) % scenarios.size();
+					HttpRequest request = HttpRequest.newBuilder(uri(scenarios.get(scenarioIndex).path().get()))
+							.timeout(Duration.ofSeconds(30))
+							.GET()
+							.build();
+					long requestStart = System.nanoTime();
+					try {
+						HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+						if (response.statusCode() != 200 && errors.incrementAndGet() <= 10) {
+							log.error("{} : status {}", request.uri(), response.statusCode());
+						}
+					} catch (IOException | InterruptedException e) {
+						if (errors.incrementAndGet() <= 10) {
+							log.error("{} : {}", request.uri(), e.toString());
+						}
+					}
+					long latency = System.nanoTime() - requestStart;
+					synchronized (nanos[scenarioIndex]) {
+						nanos[scenarioIndex][counts[scenarioIndex]++] = latency;
+					}
+				}
+			});
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+		for (int i = 0; i < scenarios.size(); i++) {
+			nanos[i] = Arrays.copyOf(nanos[i], counts[i]);
+			Arrays.sort(nanos[i]);
+		}
+		return nanos;
+	}
+
+	private static Map<String, Object> report(List<Scenario> scenarios, long[][] nanos, long elapsed, int errors, boolean virtualThreads) {
+		long[] all = flatten(nanos);
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("java", Runtime.version().toString());
+		result.put("virtualThreads", virtualThreads);
+		result.put("clients", CLIENTS);
+		result.put("requests", all.length);
+		result.put("errors", errors);
+		result.put("throughputPerSecond", all.length * TimeUnit.SECONDS.toNanos(1) / elapsed);
+		result.put("latencyMillis", latencies(all));
+		Map<String, Object> byEndpoint = new LinkedHashMap<>();
+		for (int i = 0; i < scenarios.size(); i++) {
+			Map<String, Object> endpoint = new LinkedHashMap<>();
+			endpoint.put("requests", nanos[i].length);
+			endpoint.putAll(latencies(nanos[i]));
+			byEndpoint.put(scenarios.get(i).name(), endpoint);
+		}
+		result.put("endpoints", byEndpoint);
+		return result;
+	}
+
+	private static Map<String, Object> latencies(long[] sortedNanos) {
+		Map<String, Object> latencies = new LinkedHashMap<>();
+		latencies.put("p50", millis(percentile(sortedNanos, 50)));
+		latencies.put("p99", millis(percentile(sortedNanos, 99)));
+		latencies.put("p999", millis(percentile(sortedNanos, 99.9)));
+		latencies.put("max", millis(sortedNanos[sortedNanos.length - 1]));
+		return latencies;
+	}
+
+	private static long[] flatten(long[][] nanos) {
+		long[] all = Arrays.stream(nanos).flatMapToLong(Arrays::stream).toArray();
+		Arrays.sort(all);
+		return all;
+	}
+
+	private static long percentile(long[] sortedNanos, double percentile) {
+		int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+		return sortedNanos[Math.max(index, 0)];
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / 10_000.0) / 100.0;
+	}
+
+	private static Long random(List<Long> ids) {
+		return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+}
@@ -0,0 +1,143 @@
+package com.poseidoninc.poseidon;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicyFactory;
+import org.apache.logging.log4j.core.async.DiscardingAsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.apache.logging.log4j.util.Constants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * integration test class for the Log4j2 settings of the prod profile (log4j2-spring.xml and log4j2.component.properties),
+ * logs latency of concurrent INFO logs of synchronous loggers (dev profile) and async loggers (prod profile)
+ * @author olivier morel
+ */
+@Slf4j
+public class AsyncLoggingIT {
+
+	private static final int THREADS = 16;
+
+	private static final int LOGS_PER_THREAD = 20_000;
+
+	@TempDir
+	private Path logDir;
+
+	@Test
+	@Tag("AsyncLoggingIT")
+	@DisplayName("Log4j2 should be garbage-free and discard DEBUG and INFO when the ring buffer is full")
+	public void log4j2ShouldBeGarbageFreeAndDiscardDebugAndInfoWhenTheRingBufferIsFull() {
+
+		//GIVEN
+		//WHEN
+		//THEN
+		assertThat(Constants.ENABLE_THREADLOCALS).isTrue();
+		assertThat(AsyncQueueFullPolicyFactory.create()).isInstanceOf(DiscardingAsyncQueueFullPolicy.class);
+		assertThat(DiscardingAsyncQueueFullPolicy.getDiscardCount(AsyncQueueFullPolicyFactory.create())).isZero();
+	}
+
+	@Test
+	@Tag("AsyncLoggingIT")
+	@DisplayName("concurrent logs test should have a lower p99 latency with async loggers than with synchronous ones")
+	public void concurrentLogsTestShouldHaveALowerP99LatencyWithAsyncLoggersThanWithSynchronousOnes() throws InterruptedException {
+
+		//GIVEN
+		LoggerContext syncContext = start("sync", false);
+		LoggerContext asyncContext = start("async", true);
+		try {
+			Logger syncLogger = syncContext.getLogger("com.poseidoninc.poseidon.controller.TradeController");
+			Logger asyncLogger = asyncContext.getLogger("com.poseidoninc.poseidon.controller.TradeController");
+			logConcurrently(syncLogger); //warm up
+			logConcurrently(asyncLogger); //warm up
+
+			//WHEN
+			List<Long> syncNanos = logConcurrently(syncLogger);
+			List<Long> asyncNanos = logConcurrently(asyncLogger);
+
+			//THEN
+			log.info("{} concurrent INFO logs, synchronous loggers : p50 {} us, p99 {} us, p99.9 {} us",
+					THREADS * LOGS_PER_THREAD, percentileMicros(syncNanos, 50), percentileMicros(syncNanos, 99), percentileMicros(syncNanos, 99.9));
+			log.info("{} concurrent INFO logs, async loggers : p50 {} us, p99 {} us, p99.9 {} us",
+					THREADS * LOGS_PER_THREAD, percentileMicros(asyncNanos, 50), percentileMicros(asyncNanos, 99), percentileMicros(asyncNanos, 99.9));
+			assertThat(percentileMicros(asyncNanos, 99)).isLessThan(percentileMicros(syncNanos, 99));
+		} finally {
+			syncContext.stop();
+			asyncContext.stop();
+		}
+	}
+
+	/*
+	 * Same appenders and layouts as log4j2-spring.xml, dev profile when async is false, prod profile otherwise
+	 */
+	private LoggerContext start(String name, boolean async) {
+		ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+		builder.setConfigurationName(name);
+		builder.add(builder.newAppender("RollingFile", async ? "RollingRandomAccessFile" : "RollingFile")
+				.addAttribute("fileName", logDir.resolve(name + ".log").toString())
+				.addAttribute("filePattern", logDir.resolve(name + "-%i.log.gz").toString())
+				.addAttribute("immediateFlush", !async)
+				.add(builder.newLayout("PatternLayout").addAttribute("pattern", async ? "%d %p %c{1.} [%t] %m%n" : "%d %p %C{1.} [%t] %m%n"))
+				.addComponent(builder.newComponent("Policies")
+						.addComponent(builder.newComponent("SizeBasedTriggeringPolicy").addAttribute("size", "10 MB"))));
+		if (async) {
+			builder.add(builder.newAsyncRootLogger(Level.ERROR).addAttribute("includeLocation", false).add(builder.newAppenderRef("RollingFile")));
+			builder.add(builder.newAsyncLogger("com.poseidoninc.poseidon", Level.INFO).addAttribute("includeLocation", false));
+		} else {
+			builder.add(builder.newRootLogger(Level.ERROR).add(builder.newAppenderRef("RollingFile")));
+			builder.add(builder.newLogger("com.poseidoninc.poseidon", Level.INFO));
+		}
+		Configuration configuration = builder.build();
+		LoggerContext loggerContext = new LoggerContext(name);
+		loggerContext.start(configuration);
+		return loggerContext;
+	}
+
+	/*
+	 * Logs on THREADS threads, returns the sorted latencies of each log
+	 */
+	private static List<Long> logConcurrently(Logger logger) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Long> nanos = Collections.synchronizedList(new ArrayList<>());
+		for (int i = 0; i < THREADS; i++) {
+			executor.execute(() -> {
+				long[] threadNanos = new long[LOGS_PER_THREAD];
+				for (int j = 0; j < LOGS_PER_THREAD; j++) {
+					long start = System.nanoTime();
+					logger.info("Request : {} trade = {}", "GET /trade/list", j);
+					threadNanos[j] = System.nanoTime() - start;
+				}
+				for (long threadNano : threadNanos) {
+					nanos.add(threadNano);
+				}
+			});
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+		List<Long> sorted = new ArrayList<>(nanos);
+		Collections.sort(sorted);
+		return sorted;
+	}
+
+	private static long percentileMicros(List<Long> nanos, double percentile) {
+		int index = (int) Math.ceil(percentile / 100.0 * nanos.size()) - 1;
+		return TimeUnit.NANOSECONDS.toMicros(nanos.get(Math.max(index, 0)));
+	}
+}
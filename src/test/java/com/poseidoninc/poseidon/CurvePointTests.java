@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +29,7 @@ public class CurvePointTests {
 	public void curvePointTest() {
 		CurvePoint curvePoint = new CurvePoint();
 		curvePoint.setCurveId(10);
+		curvePoint.setAsOfDate(LocalDateTime.of(2023, 1, 21, 18, 0));
 		curvePoint.setTerm(10d);
 		curvePoint.setValue(30d);
 
@@ -46,7 +48,7 @@ public class CurvePointTests {
 		assertTrue(listResult.size() > 0);
 
 		// Delete
-		Integer id = curvePoint.getId();
+		Long id = curvePoint.getId();
 		curvePointRepository.delete(curvePoint);
 		Optional<CurvePoint> curvePointList = curvePointRepository.findById(id);
 		assertThat(curvePointList).isEmpty();
@@ -48,7 +48,7 @@ public class RuleTests {
 		assertTrue(listResult.size() > 0);
 
 		// Delete
-		Integer id = rule.getId();
+		Long id = rule.getId();
 		ruleNameRepository.delete(rule);
 		Optional<RuleName> ruleList = ruleNameRepository.findById(id);
 		assertThat(ruleList).isEmpty();
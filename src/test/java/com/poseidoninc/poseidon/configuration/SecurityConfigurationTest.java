@@ -0,0 +1,108 @@
+package com.poseidoninc.poseidon.configuration;
+
+import com.poseidoninc.poseidon.service.CustomOAuth2UserService;
+import com.poseidoninc.poseidon.service.CustomOidcUserService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * unit test class for the authentication manager of SecurityConfiguration, with a saturated password encoder.
+ * @author olivier morel
+ */
+@ExtendWith(MockitoExtension.class)
+public class SecurityConfigurationTest {
+
+	@Mock
+	private PasswordEncoder passwordEncoder;
+
+	@Mock
+	private UserDetailsService userDetailsService;
+
+	@Mock
+	private UserDetailsPasswordService userDetailsPasswordService;
+
+	@Mock
+	private CustomOAuth2UserService customOAuth2UserService;
+
+	@Mock
+	private CustomOidcUserService customOidcUserService;
+
+	private AuthenticationManager authenticationManager;
+
+	@BeforeEach
+	public void setUpForEachTest() {
+		authenticationManager = new SecurityConfiguration(passwordEncoder, userDetailsService, userDetailsPasswordService, customOAuth2UserService, customOidcUserService)
+				.authenticationManager();
+		//the dummy hash of unknown users
+		when(passwordEncoder.encode("userNotFoundPassword")).thenReturn("$2a$10$notfound");
+	}
+
+	@AfterEach
+	public void unSetForEachTests() {
+		authenticationManager = null;
+	}
+
+	@Nested
+	@Tag("authenticationManagerTests")
+	@DisplayName("Tests for logins with a saturated password encoder")
+	class AuthenticationManagerTests {
+
+		@Test
+		@Tag("SecurityConfigurationTest")
+		@DisplayName("test authenticate of unknown user should throw AuthenticationServiceException when encoder is saturated")
+		public void authenticateOfUnknownUserTestShouldThrowAuthenticationServiceExceptionWhenEncoderIsSaturated() {
+
+			//GIVEN
+			when(userDetailsService.loadUserByUsername("unknown")).thenThrow(new UsernameNotFoundException("User not found"));
+			when(passwordEncoder.matches(any(CharSequence.class), anyString())).thenThrow(new RejectedExecutionException("saturated"));
+
+			//WHEN
+			//THEN
+			assertThat(assertThrows(AuthenticationServiceException.class,
+					() -> authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("unknown", "apw1=Passwd")))
+					.getMessage()).isEqualTo("Too many logins, try again later");
+		}
+
+		@Test
+		@Tag("SecurityConfigurationTest")
+		@DisplayName("test authenticate should skip upgrade of password when encoder is saturated")
+		public void authenticateTestShouldSkipUpgradeOfPasswordWhenEncoderIsSaturated() {
+
+			//GIVEN
+			UserDetails user = User.withUsername("aaa").password("$2a$04$old").roles("USER").build();
+			when(userDetailsService.loadUserByUsername("aaa")).thenReturn(user);
+			when(passwordEncoder.matches("apw1=Passwd", "$2a$04$old")).thenReturn(true);
+			when(passwordEncoder.upgradeEncoding("$2a$04$old")).thenReturn(true);
+			when(passwordEncoder.encode("apw1=Passwd")).thenThrow(new RejectedExecutionException("saturated"));
+
+			//WHEN
+			Authentication authentication = authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("aaa", "apw1=Passwd"));
+
+			//THEN
+			assertThat(authentication.isAuthenticated()).isTrue();
+			assertThat(authentication.getPrincipal()).isEqualTo(user);
+			assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+			verify(userDetailsPasswordService, never()).updatePassword(any(UserDetails.class), anyString());
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package com.poseidoninc.poseidon.controller;
 
 import com.poseidoninc.poseidon.domain.BidList;
+import com.poseidoninc.poseidon.projection.BidListSummary;
 import com.poseidoninc.poseidon.service.BidListService;
 import com.poseidoninc.poseidon.service.RequestService;
 import com.poseidoninc.poseidon.service.RequestServiceImpl;
@@ -28,7 +29,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -88,60 +89,13 @@ public class BidListControllerTest {
 		public void homeTestShouldReturnStringBidListList() {
 
 			//GIVEN
-			List<BidList> expectedBidLists = new ArrayList<>();
-			BidList bidList = new BidList();
-			bidList.setBidListId(1);
-			bidList.setAccount("account");
-			bidList.setType("type");
-			bidList.setBidQuantity(1.0);
-			bidList.setAskQuantity(3.0);
-			bidList.setBid(4.0);
-			bidList.setAsk(5.0);
-			bidList.setBenchmark("benchmark");
-			bidList.setBidListDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-			bidList.setCommentary("commentary");
-			bidList.setSecurity("security");
-			bidList.setStatus("status");
-			bidList.setTrader("trader");
-			bidList.setBook("book");
-			bidList.setCreationName("creation name");
-			bidList.setCreationDate(LocalDateTime.parse("22/01/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-			bidList.setRevisionName("revisionName");
-			bidList.setRevisionDate(LocalDateTime.parse("23/01/2023 13:23:33", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-			bidList.setDealName("deal name");
-			bidList.setDealType("deal type");
-			bidList.setSourceListId("source list id");
-			bidList.setSide("side");
-			expectedBidLists.add(bidList);
-
-			BidList bidList2 = new BidList();
-			bidList2.setBidListId(12);
-			bidList2.setAccount("account2");
-			bidList2.setType("type2");
-			bidList2.setBidQuantity(1.02);
-			bidList2.setAskQuantity(3.02);
-			bidList2.setBid(4.02);
-			bidList2.setAsk(5.02);
-			bidList2.setBenchmark("benchmark2");
-			bidList2.setBidListDate(LocalDateTime.parse("11/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-			bidList2.setCommentary("commentary2");
-			bidList2.setSecurity("security2");
-			bidList2.setStatus("status2");
-			bidList2.setTrader("trader2");
-			bidList2.setBook("book2");
-			bidList2.setCreationName("creation name2");
-			bidList2.setCreationDate(LocalDateTime.parse("12/01/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-			bidList2.setRevisionName("revisionName2");
-			bidList2.setRevisionDate(LocalDateTime.parse("12/01/2023 13:23:33", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-			bidList2.setDealName("deal name2");
-			bidList2.setDealType("deal type2");
-			bidList2.setSourceListId("source list id2");
-			bidList2.setSide("side2");
-			expectedBidLists.add(bidList2);
+			List<BidListSummary> expectedBidLists = List.of(
+					new BidListSummary(1L, "account", "type", 3.0),
+					new BidListSummary(2L, "account2", "type2", 3.2));
 
 			ArgumentCaptor<String> stringArgumentCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<Iterable<BidList>> iterableArgumentCaptor = ArgumentCaptor.forClass(Iterable.class);
-			when(bidListService.getBidLists(any(Pageable.class))).thenReturn(new PageImpl<BidList>(expectedBidLists));
+			ArgumentCaptor<Iterable<BidListSummary>> iterableArgumentCaptor = ArgumentCaptor.forClass(Iterable.class);
+			when(bidListService.getBidListSummaries(any(Pageable.class))).thenReturn(new PageImpl<BidListSummary>(expectedBidLists));
 
 			//WHEN
 			String html = bidListController.home(model, request);
@@ -159,7 +113,7 @@ public class BidListControllerTest {
 		public void homeTestShouldThrowUnexpectedRollbackException() {
 
 			//GIVEN
-			when(bidListService.getBidLists(any(Pageable.class))).thenThrow(new UnexpectedRollbackException("Error while getting bidLists"));
+			when(bidListService.getBidListSummaries(any(Pageable.class))).thenThrow(new UnexpectedRollbackException("Error while getting bidLists"));
 
 			//WHEN
 			//THEN
@@ -281,7 +235,7 @@ public class BidListControllerTest {
 
 			//GIVEN
 			BidList bidList = new BidList();
-			bidList.setBidListId(1);
+			bidList.setBidListId(1L);
 			bidList.setAccount("account");
 			bidList.setType("type");
 			bidList.setBidQuantity(1.0);
@@ -305,10 +259,10 @@ public class BidListControllerTest {
 			bidList.setSide("side");
 			ArgumentCaptor<String> stringArgumentCaptor = ArgumentCaptor.forClass(String.class);
 			ArgumentCaptor<BidList> bidListArgumentCaptor = ArgumentCaptor.forClass(BidList.class);
-			when(bidListService.getBidListById(anyInt())).thenReturn(bidList);
+			when(bidListService.getBidListById(anyLong())).thenReturn(bidList);
 
 			//WHEN
-			String html = bidListController.showUpdateForm(1, model, request);
+			String html = bidListController.showUpdateForm(1L, model, request);
 
 			//THEN
 			verify(model).addAttribute(stringArgumentCaptor.capture(), bidListArgumentCaptor.capture()); //times(1) is used by default
@@ -323,11 +277,11 @@ public class BidListControllerTest {
 		public void showUpdateFormTestShouldThrowUnexpectedRollbackException() {
 
 			//GIVEN
-			when(bidListService.getBidListById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting bidList"));
+			when(bidListService.getBidListById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting bidList"));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> bidListController.showUpdateForm(1, model, request))
+					() -> bidListController.showUpdateForm(1L, model, request))
 					.getMessage()).isEqualTo("Error while getting bidList");
 		}
 	}
@@ -429,7 +383,7 @@ public class BidListControllerTest {
 
 			//GIVEN
 			//WHEN
-			String html = bidListController.deleteBid(1, request);
+			String html = bidListController.deleteBid(1L, request);
 
 			//THEN
 			assertThat(html).isEqualTo("redirect:/bidList/list");
@@ -441,11 +395,11 @@ public class BidListControllerTest {
 		public void deleteBidTestShouldThrowUnexpectedRollbackException() {
 
 			//GIVEN
-			doThrow(new UnexpectedRollbackException("Error while deleting bidList")).when(bidListService).deleteBidListById(anyInt());
+			doThrow(new UnexpectedRollbackException("Error while deleting bidList")).when(bidListService).deleteBidListById(anyLong());
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> bidListController.deleteBid(1, request))
+					() -> bidListController.deleteBid(1L, request))
 					.getMessage()).isEqualTo("Error while deleting bidList");
 		}
 	}
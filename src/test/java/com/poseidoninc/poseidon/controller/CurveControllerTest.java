@@ -30,7 +30,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -92,7 +92,7 @@ public class CurveControllerTest {
 			//GIVEN
 			List<CurvePoint> expectedCurvePoints = new ArrayList<>();
 			CurvePoint curvePoint = new CurvePoint();
-			curvePoint.setId(1);
+			curvePoint.setId(1L);
 			curvePoint.setCurveId(2);
 			curvePoint.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePoint.setTerm(3.0);
@@ -101,7 +101,7 @@ public class CurveControllerTest {
 			expectedCurvePoints.add(curvePoint);
 
 			CurvePoint curvePoint2 = new CurvePoint();
-			curvePoint2.setId(2);
+			curvePoint2.setId(2L);
 			curvePoint2.setCurveId(3);
 			curvePoint2.setAsOfDate(LocalDateTime.parse("23/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePoint2.setTerm(4.0);
@@ -267,7 +267,7 @@ public class CurveControllerTest {
 
 			//GIVEN
 			CurvePoint curvePoint = new CurvePoint();
-			curvePoint.setId(1);
+			curvePoint.setId(1L);
 			curvePoint.setCurveId(2);
 			curvePoint.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePoint.setTerm(3.0);
@@ -275,10 +275,10 @@ public class CurveControllerTest {
 			curvePoint.setCreationDate(LocalDateTime.parse("22/01/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			ArgumentCaptor<String> stringArgumentCaptor = ArgumentCaptor.forClass(String.class);
 			ArgumentCaptor<CurvePoint> curvePointArgumentCaptor = ArgumentCaptor.forClass(CurvePoint.class);
-			when(curvePointService.getCurvePointById(anyInt())).thenReturn(curvePoint);
+			when(curvePointService.getCurvePointById(anyLong())).thenReturn(curvePoint);
 
 			//WHEN
-			String html = curveController.showUpdateForm(1, model, request);
+			String html = curveController.showUpdateForm(1L, model, request);
 
 			//THEN
 			verify(model).addAttribute(stringArgumentCaptor.capture(), curvePointArgumentCaptor.capture()); //times(1) is used by default
@@ -293,11 +293,11 @@ public class CurveControllerTest {
 		public void showUpdateFormTestShouldThrowUnexpectedRollbackException() {
 
 			//GIVEN
-			when(curvePointService.getCurvePointById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting curvePoint"));
+			when(curvePointService.getCurvePointById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting curvePoint"));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> curveController.showUpdateForm(1, model, request))
+					() -> curveController.showUpdateForm(1L, model, request))
 					.getMessage()).isEqualTo("Error while getting curvePoint");
 		}
 	}
@@ -416,7 +416,7 @@ public class CurveControllerTest {
 
 			//GIVEN
 			//WHEN
-			String html = curveController.deleteCurvePoint(1, request);
+			String html = curveController.deleteCurvePoint(1L, request);
 
 			//THEN
 			assertThat(html).isEqualTo("redirect:/curvePoint/list");
@@ -428,11 +428,11 @@ public class CurveControllerTest {
 		public void deleteCurvePointTestShouldThrowUnexpectedRollbackException() {
 
 			//GIVEN
-			doThrow(new UnexpectedRollbackException("Error while deleting curvePoint")).when(curvePointService).deleteCurvePointById(anyInt());
+			doThrow(new UnexpectedRollbackException("Error while deleting curvePoint")).when(curvePointService).deleteCurvePointById(anyLong());
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> curveController.deleteCurvePoint(1, request))
+					() -> curveController.deleteCurvePoint(1L, request))
 					.getMessage()).isEqualTo("Error while deleting curvePoint");
 		}
 	}
@@ -27,7 +27,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -88,7 +88,7 @@ public class RatingControllerTest {
 			//GIVEN
 			List<Rating> expectedRatings = new ArrayList<>();
 			Rating rating = new Rating();
-			rating.setId(1);
+			rating.setId(1L);
 			rating.setMoodysRating("Moody's Rating");
 			rating.setSandPRating("SandP's Rating");
 			rating.setFitchRating("Fitch's Rating");
@@ -96,7 +96,7 @@ public class RatingControllerTest {
 			expectedRatings.add(rating);
 
 			Rating rating2 = new Rating();
-			rating2.setId(2);
+			rating2.setId(2L);
 			rating2.setMoodysRating("Moody's Rating2");
 			rating2.setSandPRating("SandP's Rating2");
 			rating2.setFitchRating("Fitch's Rating2");
@@ -244,17 +244,17 @@ public class RatingControllerTest {
 
 			//GIVEN
 			Rating rating = new Rating();
-			rating.setId(1);
+			rating.setId(1L);
 			rating.setMoodysRating("Moody's Rating");
 			rating.setSandPRating("SandP's Rating");
 			rating.setFitchRating("Fitch's Rating");
 			rating.setOrderNumber(2);
 			ArgumentCaptor<String> stringArgumentCaptor = ArgumentCaptor.forClass(String.class);
 			ArgumentCaptor<Rating> ratingArgumentCaptor = ArgumentCaptor.forClass(Rating.class);
-			when(ratingService.getRatingById(anyInt())).thenReturn(rating);
+			when(ratingService.getRatingById(anyLong())).thenReturn(rating);
 
 			//WHEN
-			String html = ratingController.showUpdateForm(1, model, request);
+			String html = ratingController.showUpdateForm(1L, model, request);
 
 			//THEN
 			verify(model).addAttribute(stringArgumentCaptor.capture(), ratingArgumentCaptor.capture()); //times(1) is used by default
@@ -268,11 +268,11 @@ public class RatingControllerTest {
 		public void showUpdateFormTestShouldThrowUnexpectedRollbackException() {
 
 			//GIVEN
-			when(ratingService.getRatingById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting rating"));
+			when(ratingService.getRatingById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting rating"));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> ratingController.showUpdateForm(1, model, request))
+					() -> ratingController.showUpdateForm(1L, model, request))
 					.getMessage()).isEqualTo("Error while getting rating");
 		}
 	}
@@ -374,7 +374,7 @@ public class RatingControllerTest {
 
 			//GIVEN
 			//WHEN
-			String html = ratingController.deleteRating(1, request);
+			String html = ratingController.deleteRating(1L, request);
 
 			//THEN
 			assertThat(html).isEqualTo("redirect:/rating/list");
@@ -386,11 +386,11 @@ public class RatingControllerTest {
 		public void deleteBidTestShouldThrowUnexpectedRollbackException() {
 
 			//GIVEN
-			doThrow(new UnexpectedRollbackException("Error while deleting rating")).when(ratingService).deleteRatingById(anyInt());
+			doThrow(new UnexpectedRollbackException("Error while deleting rating")).when(ratingService).deleteRatingById(anyLong());
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> ratingController.deleteRating(1, request))
+					() -> ratingController.deleteRating(1L, request))
 					.getMessage()).isEqualTo("Error while deleting rating");
 		}
 	}
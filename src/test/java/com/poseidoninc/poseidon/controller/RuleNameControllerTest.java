@@ -27,7 +27,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -90,7 +90,7 @@ public class RuleNameControllerTest {
             //GIVEN
             List<RuleName> expectedRuleNames = new ArrayList<>();
             RuleName ruleName = new RuleName();
-            ruleName.setId(1);
+            ruleName.setId(1L);
             ruleName.setName("Rule Name");
             ruleName.setDescription("Rule Description");
             ruleName.setJson("Json");
@@ -100,7 +100,7 @@ public class RuleNameControllerTest {
             expectedRuleNames.add(ruleName);
 
             RuleName ruleName2 = new RuleName();
-            ruleName2.setId(2);
+            ruleName2.setId(2L);
             ruleName2.setName("Rule Name2");
             ruleName2.setDescription("Rule Description2");
             ruleName2.setJson("Json2");
@@ -251,7 +251,7 @@ public class RuleNameControllerTest {
 
             //GIVEN
             RuleName ruleName = new RuleName();
-            ruleName.setId(1);
+            ruleName.setId(1L);
             ruleName.setName("Rule Name");
             ruleName.setDescription("Rule Description");
             ruleName.setJson("Json");
@@ -260,10 +260,10 @@ public class RuleNameControllerTest {
             ruleName.setSqlPart("SQL Part");
             ArgumentCaptor<String> stringArgumentCaptor = ArgumentCaptor.forClass(String.class);
             ArgumentCaptor<RuleName> ruleNameArgumentCaptor = ArgumentCaptor.forClass(RuleName.class);
-            when(ruleNameService.getRuleNameById(anyInt())).thenReturn(ruleName);
+            when(ruleNameService.getRuleNameById(anyLong())).thenReturn(ruleName);
 
             //WHEN
-            String html = ruleNameController.showUpdateForm(1, model, request);
+            String html = ruleNameController.showUpdateForm(1L, model, request);
 
             //THEN
             verify(model).addAttribute(stringArgumentCaptor.capture(), ruleNameArgumentCaptor.capture()); //times(1) is used by default
@@ -278,11 +278,11 @@ public class RuleNameControllerTest {
         public void showUpdateFormTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(ruleNameService.getRuleNameById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting ruleName"));
+            when(ruleNameService.getRuleNameById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting ruleName"));
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> ruleNameController.showUpdateForm(1, model, request))
+                    () -> ruleNameController.showUpdateForm(1L, model, request))
                     .getMessage()).isEqualTo("Error while getting ruleName");
         }
     }
@@ -384,7 +384,7 @@ public class RuleNameControllerTest {
 
             //GIVEN
             //WHEN
-            String html = ruleNameController.deleteRuleName(1, request);
+            String html = ruleNameController.deleteRuleName(1L, request);
 
             //THEN
             assertThat(html).isEqualTo("redirect:/ruleName/list");
@@ -396,11 +396,11 @@ public class RuleNameControllerTest {
         public void deleteBidTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            doThrow(new UnexpectedRollbackException("Error while deleting ruleName")).when(ruleNameService).deleteRuleNameById(anyInt());
+            doThrow(new UnexpectedRollbackException("Error while deleting ruleName")).when(ruleNameService).deleteRuleNameById(anyLong());
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> ruleNameController.deleteRuleName(1, request))
+                    () -> ruleNameController.deleteRuleName(1L, request))
                     .getMessage()).isEqualTo("Error while deleting ruleName");
         }
     }
@@ -2,6 +2,7 @@ package com.poseidoninc.poseidon.controller;
 
 import com.poseidoninc.poseidon.domain.RuleName;
 import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.projection.TradeSummary;
 import com.poseidoninc.poseidon.service.RequestService;
 import com.poseidoninc.poseidon.service.RequestServiceImpl;
 import com.poseidoninc.poseidon.service.TradeService;
@@ -29,7 +30,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -90,59 +91,13 @@ public class TradeControllerTest {
         public void homeTestShouldReturnStringTradeList() {
 
             //GIVEN
-            List<Trade> expectedTrades = new ArrayList<>();
-            Trade trade = new Trade();
-            trade.setTradeId(1);
-            trade.setAccount("account");
-            trade.setType("type");
-            trade.setBuyQuantity(3.0);
-            trade.setSellQuantity(1.0);
-            trade.setBuyPrice(4.0);
-            trade.setSellPrice(5.0);
-            trade.setTradeDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-            trade.setSecurity("security");
-            trade.setStatus("status");
-            trade.setTrader("trader");
-            trade.setBenchmark("benchmark");
-            trade.setBook("book");
-            trade.setCreationName("creation name");
-            trade.setCreationDate(LocalDateTime.parse("22/01/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-            trade.setRevisionName("revisionName");
-            trade.setRevisionDate(LocalDateTime.parse("23/01/2023 13:23:33", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-            trade.setDealName("deal name");
-            trade.setDealType("deal type");
-            trade.setSourceListId("source list id");
-            trade.setSide("side");
-            expectedTrades.add(trade);
-
-            Trade trade2 = new Trade();
-            trade2 = new Trade();
-            trade2.setTradeId(2);
-            trade2.setAccount("account2");
-            trade2.setType("type2");
-            trade2.setBuyQuantity(3.2);
-            trade2.setSellQuantity(1.2);
-            trade2.setBuyPrice(4.2);
-            trade2.setSellPrice(5.2);
-            trade2.setTradeDate(LocalDateTime.parse("21/02/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-            trade2.setSecurity("security2");
-            trade2.setStatus("status2");
-            trade2.setTrader("trader2");
-            trade2.setBenchmark("benchmark2");
-            trade2.setBook("book2");
-            trade2.setCreationName("creation name2");
-            trade2.setCreationDate(LocalDateTime.parse("22/02/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-            trade2.setRevisionName("revisionName2");
-            trade2.setRevisionDate(LocalDateTime.parse("23/02/2023 13:23:33", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-            trade2.setDealName("deal name2");
-            trade2.setDealType("deal type2");
-            trade2.setSourceListId("source list id2");
-            trade2.setSide("side2");
-            expectedTrades.add(trade2);
+            List<TradeSummary> expectedTrades = List.of(
+                    new TradeSummary(1L, "account", "type", 3.0),
+                    new TradeSummary(2L, "account2", "type2", 3.2));
 
             ArgumentCaptor<String> stringArgumentCaptor = ArgumentCaptor.forClass(String.class);
-            ArgumentCaptor<Iterable<Trade>> iterableArgumentCaptor = ArgumentCaptor.forClass(Iterable.class);
-            when(tradeService.getTrades(any(Pageable.class))).thenReturn(new PageImpl<Trade>(expectedTrades));
+            ArgumentCaptor<Iterable<TradeSummary>> iterableArgumentCaptor = ArgumentCaptor.forClass(Iterable.class);
+            when(tradeService.getTradeSummaries(any(Pageable.class))).thenReturn(new PageImpl<TradeSummary>(expectedTrades));
 
             //WHEN
             String html = tradeController.home(model, request);
@@ -160,7 +115,7 @@ public class TradeControllerTest {
         public void homeTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(tradeService.getTrades(any(Pageable.class))).thenThrow(new UnexpectedRollbackException("Error while getting tradess"));
+            when(tradeService.getTradeSummaries(any(Pageable.class))).thenThrow(new UnexpectedRollbackException("Error while getting tradess"));
 
             //WHEN
             //THEN
@@ -283,7 +238,7 @@ public class TradeControllerTest {
 
             //GIVEN
             Trade trade = new Trade();
-            trade.setTradeId(1);
+            trade.setTradeId(1L);
             trade.setAccount("account");
             trade.setType("type");
             trade.setBuyQuantity(3.0);
@@ -306,11 +261,11 @@ public class TradeControllerTest {
             trade.setSide("side");
             ArgumentCaptor<String> stringArgumentCaptor = ArgumentCaptor.forClass(String.class);
             ArgumentCaptor<Trade> tradeArgumentCaptor = ArgumentCaptor.forClass(Trade.class);
-            when(tradeService.getTradeById(anyInt())).thenReturn(trade);
+            when(tradeService.getTradeById(anyLong())).thenReturn(trade);
 
 
             //WHEN
-            String html = tradeController.showUpdateForm(1, model, request);
+            String html = tradeController.showUpdateForm(1L, model, request);
 
             //THEN
             verify(model).addAttribute(stringArgumentCaptor.capture(), tradeArgumentCaptor.capture()); //times(1) is used by default
@@ -325,11 +280,11 @@ public class TradeControllerTest {
         public void showUpdateFormTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(tradeService.getTradeById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting trade"));
+            when(tradeService.getTradeById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting trade"));
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> tradeController.showUpdateForm(1, model, request))
+                    () -> tradeController.showUpdateForm(1L, model, request))
                     .getMessage()).isEqualTo("Error while getting trade");
         }
     }
@@ -433,7 +388,7 @@ public class TradeControllerTest {
 
             //GIVEN
             //WHEN
-            String html = tradeController.deleteTrade(1, request);
+            String html = tradeController.deleteTrade(1L, request);
 
             //THEN
             assertThat(html).isEqualTo("redirect:/trade/list");
@@ -445,11 +400,11 @@ public class TradeControllerTest {
         public void deleteTradeTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            doThrow(new UnexpectedRollbackException("Error while deleting trade")).when(tradeService).deleteTradeById(anyInt());
+            doThrow(new UnexpectedRollbackException("Error while deleting trade")).when(tradeService).deleteTradeById(anyLong());
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> tradeController.deleteTrade(1, request))
+                    () -> tradeController.deleteTrade(1L, request))
                     .getMessage()).isEqualTo("Error while deleting trade");
         }
     }
@@ -28,7 +28,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -90,7 +90,7 @@ public class UserControllerTest {
 			//GIVEN
 			List<User> givenUsers = new ArrayList<>();
 			User user = new User();
-			user.setId(1);
+			user.setId(1L);
 			user.setUsername("Aaa");
 			user.setPassword("apw1=Passwd");
 			user.setFullname("AAA");
@@ -98,7 +98,7 @@ public class UserControllerTest {
 			givenUsers.add(user);
 
 			User user2 = new User();
-			user2.setId(2);
+			user2.setId(2L);
 			user2.setUsername("Bbb");
 			user2.setPassword("bpw2=Passwd");
 			user2.setFullname("BBB");
@@ -123,8 +123,8 @@ public class UserControllerTest {
 							User::getFullname,
 							User::getRole)
 					.containsExactly(
-							tuple(1, "Aaa", "", "AAA", "USER"),
-							tuple(2, "Bbb", "", "BBB", "USER"));
+							tuple(1L, "Aaa", "", "AAA", "USER"),
+							tuple(2L, "Bbb", "", "BBB", "USER"));
 			assertThat(html).isEqualTo("user/list");
 		}
 
@@ -272,17 +272,17 @@ public class UserControllerTest {
 
 			//GIVEN
 			User user = new User();
-			user.setId(1);
+			user.setId(1L);
 			user.setUsername("Aaa");
 			user.setPassword("apw1=Passwd");
 			user.setFullname("AAA");
 			user.setRole("USER");
 			ArgumentCaptor<String> stringArgumentCaptor = ArgumentCaptor.forClass(String.class);
 			ArgumentCaptor<User> userArgumentCaptor = ArgumentCaptor.forClass(User.class);
-			when(userService.getUserByIdWithBlankPasswd(anyInt())).thenReturn(user.builder().id(1).username("Aaa").password("").fullname("AAA").role("USER").build());
+			when(userService.getUserByIdWithBlankPasswd(anyLong())).thenReturn(user.builder().id(1L).username("Aaa").password("").fullname("AAA").role("USER").build());
 
 			//WHEN
-			String html = userController.showUpdateForm(1, model, request);
+			String html = userController.showUpdateForm(1L, model, request);
 
 			//THEN
 			verify(model).addAttribute(stringArgumentCaptor.capture(), userArgumentCaptor.capture()); //times(1) is used by default
@@ -294,7 +294,7 @@ public class UserControllerTest {
 							User::getFullname,
 							User::getRole)
 					.containsExactly(
-							1,
+							1L,
 							"Aaa",
 							"",
 							"AAA",
@@ -308,11 +308,11 @@ public class UserControllerTest {
 		public void showUpdateFormTestShouldThrowUnexpectedRollbackException() {
 
 			//GIVEN
-			when(userService.getUserByIdWithBlankPasswd(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting user"));
+			when(userService.getUserByIdWithBlankPasswd(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting user"));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> userController.showUpdateForm(1, model, request))
+					() -> userController.showUpdateForm(1L, model, request))
 					.getMessage()).isEqualTo("Error while getting user");
 		}
 	}
@@ -431,7 +431,7 @@ public class UserControllerTest {
 	
 			//GIVEN
 			//WHEN
-			String html = userController.deleteUser(1, request);
+			String html = userController.deleteUser(1L, request);
 	
 			//THEN
 			assertThat(html).isEqualTo("redirect:/user/list");
@@ -443,11 +443,11 @@ public class UserControllerTest {
 		public void deleteUserTestShouldThrowUnexpectedRollbackException() {
 
 			//GIVEN
-			doThrow(new UnexpectedRollbackException("Error while deleting user")).when(userService).deleteUserById(anyInt());
+			doThrow(new UnexpectedRollbackException("Error while deleting user")).when(userService).deleteUserById(anyLong());
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> userController.deleteUser(1, request))
+					() -> userController.deleteUser(1L, request))
 					.getMessage()).isEqualTo("Error while deleting user");
 		}
 	}
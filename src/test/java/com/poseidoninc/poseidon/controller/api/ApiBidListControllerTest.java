@@ -1,35 +1,52 @@
 package com.poseidoninc.poseidon.controller.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.BatchProperties;
+import com.poseidoninc.poseidon.configuration.PaginationProperties;
 import com.poseidoninc.poseidon.domain.BidList;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
 import com.poseidoninc.poseidon.service.BidListService;
 import com.poseidoninc.poseidon.service.RequestService;
 import com.poseidoninc.poseidon.service.RequestServiceImpl;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
+import com.poseidoninc.poseidon.service.ScrollPositionServiceImpl;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
@@ -49,6 +66,15 @@ public class ApiBidListControllerTest {
     @Spy
     private final RequestService requestService = new RequestServiceImpl();
 
+    @Spy
+    private final ScrollPositionService scrollPositionService = new ScrollPositionServiceImpl(new ObjectMapper(), new PaginationProperties());
+
+    @Spy
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private final BatchProperties batchProperties = new BatchProperties();
+
     private MockHttpServletRequest requestMock;
     private WebRequest request;
     private BidList bidList;
@@ -66,11 +92,8 @@ public class ApiBidListControllerTest {
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
     class GetBidListsTests {
 
-        private Pageable pageRequest;
-
         @BeforeAll
         public void setUpForAllTests() {
-            pageRequest = Pageable.unpaged();
             requestMock = new MockHttpServletRequest();
             requestMock.setMethod("GET");
             requestMock.setServerName("http://localhost:8080");
@@ -80,20 +103,19 @@ public class ApiBidListControllerTest {
 
         @AfterAll
         public void unSetForAllTests() {
-            pageRequest = null;
             requestMock = null;
             request = null;
         }
 
         @Test
         @Tag("ApiBidListControllerTest")
-        @DisplayName("test getBidLists should return a Success ResponseEntity With Iterable Of BidList")
-        public void getBidListsTestShouldReturnSuccessResponseEntityWithIterableOfBidList() {
+        @DisplayName("test getBidLists should return a Success ResponseEntity With Window Of BidList")
+        public void getBidListsTestShouldReturnSuccessResponseEntityWithWindowOfBidList() {
 
             //GIVEN
             List<BidList> expectedBidLists = new ArrayList<>();
             bidList = new BidList();
-            bidList.setBidListId(1);
+            bidList.setBidListId(1L);
             bidList.setAccount("account");
             bidList.setType("type");
             bidList.setBidQuantity(1.0);
@@ -118,7 +140,7 @@ public class ApiBidListControllerTest {
             expectedBidLists.add(bidList);
 
             BidList bidList2 = new BidList();
-            bidList2.setBidListId(12);
+            bidList2.setBidListId(12L);
             bidList2.setAccount("account2");
             bidList2.setType("type2");
             bidList2.setBidQuantity(1.02);
@@ -142,16 +164,16 @@ public class ApiBidListControllerTest {
             bidList2.setSide("side2");
             expectedBidLists.add(bidList2);
 
-            when(bidListService.getBidLists(any(Pageable.class))).thenReturn(new PageImpl<BidList>(expectedBidLists, pageRequest, 2));
+            when(bidListService.getBidLists(any(ScrollPosition.class), any(Sort.class), anyInt())).thenReturn(Window.from(expectedBidLists, ScrollPosition::offset));
 
             //WHEN
-            ResponseEntity<Iterable<BidList>> responseEntity = apiBidListController.getBidLists(request);
+            ResponseEntity<ApiWindow<BidList>> responseEntity = apiBidListController.getBidLists(null, null, null, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
-            Iterable<BidList> resultBidLists = responseEntity.getBody();
+            ApiWindow<BidList> resultBidLists = responseEntity.getBody();
             assertThat(resultBidLists).isNotNull();
-            assertThat(resultBidLists).containsExactlyElementsOf(expectedBidLists);
+            assertThat(resultBidLists.getContent()).containsExactlyElementsOf(expectedBidLists);
         }
 
         @Test
@@ -160,16 +182,90 @@ public class ApiBidListControllerTest {
         public void getBidListsTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(bidListService.getBidLists(any(Pageable.class))).thenThrow(new UnexpectedRollbackException("Error while getting bidLists"));
+            when(bidListService.getBidLists(any(ScrollPosition.class), any(Sort.class), anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting bidLists"));
 
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiBidListController.getBidLists(request))
+                    () -> apiBidListController.getBidLists(null, null, null, request))
                     .getMessage()).isEqualTo("Error while getting bidLists");
         }
     }
 
+    @Nested
+    @Tag("exportBidLists")
+    @DisplayName("Tests for /api/bidList/export")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class ExportBidListsTests {
+
+        @BeforeAll
+        public void setUpForAllTests() {
+            requestMock = new MockHttpServletRequest();
+            requestMock.setMethod("GET");
+            requestMock.setServerName("http://localhost:8080");
+            requestMock.setRequestURI("/api/bidList/export");
+            request = new ServletWebRequest(requestMock);
+        }
+
+        @AfterAll
+        public void unSetForAllTests() {
+            requestMock = null;
+            request = null;
+        }
+
+        @Test
+        @Tag("ApiBidListControllerTest")
+        @DisplayName("test exportBidLists should write one json bidList per line")
+        @SuppressWarnings("unchecked")
+        public void exportBidListsTestShouldWriteOneJsonBidListPerLine() throws IOException {
+
+            //GIVEN
+            bidList = new BidList();
+            bidList.setBidListId(1L);
+            bidList.setAccount("account");
+            bidList.setType("type");
+            BidList bidList2 = new BidList();
+            bidList2.setBidListId(2L);
+            bidList2.setAccount("account2");
+            bidList2.setType("type2");
+            when(bidListService.exportBidLists(any(Consumer.class))).then(invocation -> {
+                Consumer<BidList> bidListConsumer = invocation.getArgument(0);
+                bidListConsumer.accept(bidList);
+                bidListConsumer.accept(bidList2);
+                return 2L;
+            });
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            //WHEN
+            ResponseEntity<StreamingResponseBody> responseEntity = apiBidListController.exportBidLists(request);
+            Objects.requireNonNull(responseEntity.getBody()).writeTo(outputStream);
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readValue(lines.get(1), BidList.class)).extracting(BidList::getAccount, BidList::getType).containsExactly("account2", "type2");
+        }
+
+        @Test
+        @Tag("ApiBidListControllerTest")
+        @DisplayName("test exportBidLists should throw UnexpectedRollbackException")
+        @SuppressWarnings("unchecked")
+        public void exportBidListsTestShouldThrowUnexpectedRollbackException() {
+
+            //GIVEN
+            when(bidListService.exportBidLists(any(Consumer.class))).thenThrow(new UnexpectedRollbackException("Error while exporting bidLists"));
+
+            //WHEN
+            ResponseEntity<StreamingResponseBody> responseEntity = apiBidListController.exportBidLists(request);
+
+            //THEN
+            assertThat(assertThrows(UnexpectedRollbackException.class,
+                    () -> Objects.requireNonNull(responseEntity.getBody()).writeTo(new ByteArrayOutputStream()))
+                    .getMessage()).isEqualTo("Error while exporting bidLists");
+        }
+    }
+
     @Nested
     @Tag("createBidList")
     @DisplayName("Tests for /api/bidList/create")
@@ -225,7 +321,7 @@ public class ApiBidListControllerTest {
             //GIVEN
             Optional<BidList> optionalBidList = Optional.of(bidList);
             BidList bidListExpected = new BidList();
-            bidListExpected.setBidListId(1);
+            bidListExpected.setBidListId(1L);
             bidListExpected.setAccount("account");
             bidListExpected.setType("type");
             bidListExpected.setBidQuantity(1.0);
@@ -286,7 +382,7 @@ public class ApiBidListControllerTest {
                     BidList::getSourceListId,
                     BidList::getSide)
                 .containsExactly(
-                    1,
+                    1L,
                     "account",
                     "type",
                     1.0,
@@ -343,6 +439,112 @@ public class ApiBidListControllerTest {
         }
     }
 
+    @Nested
+    @Tag("saveBidLists")
+    @DisplayName("Tests for /api/bidList/batch")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class SaveBidListsTests {
+
+        @BeforeAll
+        public void setUpForAllTests() {
+            requestMock = new MockHttpServletRequest();
+            requestMock.setMethod("POST");
+            requestMock.setServerName("http://localhost:8080");
+            requestMock.setRequestURI("/api/bidList/batch");
+            request = new ServletWebRequest(requestMock);
+        }
+
+        @AfterAll
+        public void unSetForAllTests() {
+            requestMock = null;
+            request = null;
+        }
+
+        @BeforeEach
+        public void setUpForEachTest() {
+            bidList = new BidList();
+            bidList.setAccount("account");
+            bidList.setType("type");
+        }
+
+        @Test
+        @Tag("ApiBidListControllerTest")
+        @DisplayName("test saveBidLists should return a Success ResponseEntity With Saved BidLists")
+        public void saveBidListsTestShouldReturnASuccessResponseEntityWithSavedBidLists() {
+
+            //GIVEN
+            BidList bidListUpdated = new BidList();
+            bidListUpdated.setBidListId(2L);
+            bidListUpdated.setAccount("account updated");
+            bidListUpdated.setType("type");
+            BidList bidListExpected = new BidList();
+            bidListExpected.setBidListId(1L);
+            bidListExpected.setAccount("account");
+            bidListExpected.setType("type");
+            when(bidListService.saveBidLists(List.of(bidList, bidListUpdated))).thenReturn(List.of(bidListExpected, bidListUpdated));
+
+            //WHEN
+            ResponseEntity<List<BidList>> responseEntity = null;
+            try {
+                responseEntity = apiBidListController.saveBidLists(Optional.of(List.of(bidList, bidListUpdated)), request);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            assertThat(responseEntity.getBody())
+                    .extracting(BidList::getBidListId, BidList::getAccount)
+                    .containsExactly(tuple(1L, "account"), tuple(2L, "account updated"));
+        }
+
+        @Test
+        @Tag("ApiBidListControllerTest")
+        @DisplayName("test saveBidLists with empty array should throw BadRequestException")
+        public void saveBidListsTestWithEmptyArrayShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<List<BidList>> optionalBidLists = Optional.of(List.of());
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiBidListController.saveBidLists(optionalBidLists, request))
+                    .getMessage()).isEqualTo("Correct request should be a json array of BidList body");
+        }
+
+        @Test
+        @Tag("ApiBidListControllerTest")
+        @DisplayName("test saveBidLists with too many bidLists should throw BadRequestException")
+        public void saveBidListsTestWithTooManyBidListsShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<List<BidList>> optionalBidLists = Optional.of(Collections.nCopies(batchProperties.getMaxSize() + 1, bidList));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiBidListController.saveBidLists(optionalBidLists, request))
+                    .getMessage()).isEqualTo("Batch should have at most 5000 bidLists");
+        }
+
+        @Test
+        @Tag("ApiBidListControllerTest")
+        @DisplayName("test saveBidLists should throw UnexpectedRollbackException")
+        public void saveBidListsTestShouldThrowUnexpectedRollbackException() {
+
+            //GIVEN
+            Optional<List<BidList>> optionalBidLists = Optional.of(List.of(bidList));
+            when(bidListService.saveBidLists(anyList())).thenThrow(new UnexpectedRollbackException("Error while saving bidLists"));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(UnexpectedRollbackException.class,
+                    () -> apiBidListController.saveBidLists(optionalBidLists, request))
+                    .getMessage()).isEqualTo("Error while saving bidLists");
+        }
+    }
+
     @Nested
     @Tag("getBidListById")
     @DisplayName("Tests for /api/bidList/update/{id}")
@@ -371,7 +573,7 @@ public class ApiBidListControllerTest {
 
             //GIVEN
             bidList = new BidList();
-            bidList.setBidListId(1);
+            bidList.setBidListId(1L);
             bidList.setAccount("account");
             bidList.setType("type");
             bidList.setBidQuantity(1.0);
@@ -394,10 +596,10 @@ public class ApiBidListControllerTest {
             bidList.setSourceListId("source list id");
             bidList.setSide("side");
 
-            when(bidListService.getBidListById(anyInt())).thenReturn(bidList);
+            when(bidListService.getBidListById(anyLong())).thenReturn(bidList);
 
             //WHEN
-            ResponseEntity<BidList> responseEntity = apiBidListController.getBidListById(1, request);
+            ResponseEntity<BidList> responseEntity = apiBidListController.getBidListById(1L, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
@@ -428,7 +630,7 @@ public class ApiBidListControllerTest {
                             BidList::getSourceListId,
                             BidList::getSide)
                     .containsExactly(
-                            1,
+                            1L,
                             "account",
                             "type",
                             1.0,
@@ -459,11 +661,11 @@ public class ApiBidListControllerTest {
         public void getBidListByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(bidListService.getBidListById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting bidList"));
+            when(bidListService.getBidListById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting bidList"));
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiBidListController.getBidListById(1, request))
+                    () -> apiBidListController.getBidListById(1L, request))
                     .getMessage()).isEqualTo("Error while getting bidList");
         }
     }
@@ -492,7 +694,7 @@ public class ApiBidListControllerTest {
         @BeforeEach
         public void setUpForEachTest() {
             bidList = new BidList();
-            bidList.setBidListId(1);
+            bidList.setBidListId(1L);
             bidList.setAccount("account");
             bidList.setType("type");
             bidList.setBidQuantity(1.0);
@@ -524,7 +726,7 @@ public class ApiBidListControllerTest {
             //GIVEN
             Optional<BidList> optionalBidList = Optional.of(bidList);
             BidList bidListExpected = new BidList();
-            bidListExpected.setBidListId(1);
+            bidListExpected.setBidListId(1L);
             bidListExpected.setAccount("account");
             bidListExpected.setType("type");
             bidListExpected.setBidQuantity(1.0);
@@ -585,7 +787,7 @@ public class ApiBidListControllerTest {
                             BidList::getSourceListId,
                             BidList::getSide)
                     .containsExactly(
-                            1,
+                            1L,
                             "account",
                             "type",
                             1.0,
@@ -670,7 +872,7 @@ public class ApiBidListControllerTest {
 
             //GIVEN
             //WHEN
-            HttpStatus httpStatus = apiBidListController.deleteBidListById(1, request);
+            HttpStatus httpStatus = apiBidListController.deleteBidListById(1L, request);
 
             //THEN
             assertThat(httpStatus.is2xxSuccessful()).isTrue();
@@ -682,11 +884,11 @@ public class ApiBidListControllerTest {
         public void deleteByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            doThrow(new UnexpectedRollbackException("Error while deleting bidList")).when(bidListService).deleteBidListById(anyInt());
+            doThrow(new UnexpectedRollbackException("Error while deleting bidList")).when(bidListService).deleteBidListById(anyLong());
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiBidListController.deleteBidListById(1, request))
+                    () -> apiBidListController.deleteBidListById(1L, request))
                     .getMessage()).isEqualTo("Error while deleting bidList");
         }
     }
@@ -29,6 +29,7 @@ import org.springframework.web.context.request.WebRequest;
 import java.lang.reflect.Method;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -152,6 +153,20 @@ public class ApiControllerExceptionHandlerTest {
     }
 
 
+    @Test
+    @Tag("ApiControllerExceptionHandlerTest")
+    @DisplayName("test rejectedExecutionException should return a Service Unavailable ResponseEntity")
+    public void rejectedExecutionExceptionTest() {
+
+        //GIVEN
+        RejectedExecutionException ree = new RejectedExecutionException("Task rejected");
+        //WHEN
+        ResponseEntity<ApiError> responseEntity = apiControllerExceptionHandler.rejectedExecutionException(ree, request);
+        //THEN
+        assertThat(responseEntity.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)).isTrue();
+        assertThat(responseEntity.getBody().getMessage()).isEqualTo("Server busy, try again later");
+    }
+
    @Test
     @Tag("ApiControllerExceptionHandlerTest")
     @DisplayName("test unexpectedRollbackException should return a Internal Server Error ResponseEntity")
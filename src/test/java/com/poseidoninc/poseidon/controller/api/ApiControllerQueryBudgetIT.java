@@ -0,0 +1,562 @@
+package com.poseidoninc.poseidon.controller.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.SqlMetricsProperties;
+import com.poseidoninc.poseidon.domain.BidList;
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import com.poseidoninc.poseidon.domain.Rating;
+import com.poseidoninc.poseidon.domain.RuleName;
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.domain.User;
+import com.poseidoninc.poseidon.repository.BidListRepository;
+import com.poseidoninc.poseidon.repository.CurvePointRepository;
+import com.poseidoninc.poseidon.repository.RatingRepository;
+import com.poseidoninc.poseidon.repository.RuleNameRepository;
+import com.poseidoninc.poseidon.repository.TradeRepository;
+import com.poseidoninc.poseidon.repository.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.poseidoninc.poseidon.metrics.QueryBudget.assertQueryBudget;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * integration test class of the SQL statements budget of the API controllers : list, get by id, save and batch endpoints
+ * fail the build when they execute more statements than their budget or N+1 queries.
+ * Budgets don't depend on the count of rows : lists and batches of ROWS rows are checked.
+ * Inserts of Trade, BidList and CurvePoint take ids by blocks from the id_generator table, a request may allocate a block :
+ * ID_BLOCK statements (select for update, update) are in their budget.
+ * @author olivier morel
+ */
+@SpringBootTest
+@ActiveProfiles("mytest")
+public class ApiControllerQueryBudgetIT {
+
+	private static final int ROWS = 20;
+
+	private static final LocalDateTime AS_OF_DATE = LocalDateTime.of(2023, 1, 21, 18, 0);
+
+	private static final String USERNAME = "budget";
+
+	private static final int ID_BLOCK = 2;
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	@Autowired
+	private SqlMetricsProperties sqlMetricsProperties;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private CurvePointRepository curvePointRepository;
+
+	@Autowired
+	private RatingRepository ratingRepository;
+
+	@Autowired
+	private RuleNameRepository ruleNameRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+				.apply(springSecurity())
+				.build();
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		tradeRepository.deleteAllInBatch();
+		bidListRepository.deleteAllInBatch();
+		curvePointRepository.deleteAllInBatch();
+		ratingRepository.deleteAllInBatch();
+		ruleNameRepository.deleteAllInBatch();
+		//users of the profile are kept
+		userRepository.deleteAll(userRepository.findAll().stream().filter(user -> user.getUsername().startsWith(USERNAME)).toList());
+		mockMvc = null;
+	}
+
+	/*
+	 * the request as an ADMIN, within the budget of statements and without N+1 query
+	 */
+	private void assertRequestBudget(int budget, MockHttpServletRequestBuilder requestBuilder) throws Throwable {
+		assertQueryBudget(budget, sqlMetricsProperties.getNPlusOneThreshold(), () -> mockMvc.perform(requestBuilder.with(user("admin").roles("ADMIN")).with(csrf()))
+				.andExpect(status().isOk()));
+	}
+
+	private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder requestBuilder, Object body) throws Exception {
+		return requestBuilder.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+	}
+
+	/*
+	 * ids of the table generator of the mytest profile start below 1, @Min(1) of endpoints rejects them
+	 */
+	private static <T> T saveWithPositiveId(Supplier<T> newEntity, Function<T, T> save, Function<T, Long> id) {
+		T saved = save.apply(newEntity.get());
+		while (id.apply(saved) < 1) {
+			saved = save.apply(newEntity.get());
+		}
+		return saved;
+	}
+
+	private static Trade trade(int i) {
+		Trade trade = new Trade();
+		trade.setAccount("account" + i);
+		trade.setType("type");
+		trade.setBuyQuantity((double) i);
+		return trade;
+	}
+
+	private static BidList bidList(int i) {
+		BidList bidList = new BidList();
+		bidList.setAccount("account" + i);
+		bidList.setType("type");
+		bidList.setBidQuantity((double) i);
+		return bidList;
+	}
+
+	private static CurvePoint curvePoint(int term) {
+		CurvePoint curvePoint = new CurvePoint();
+		curvePoint.setCurveId(1);
+		curvePoint.setAsOfDate(AS_OF_DATE);
+		curvePoint.setTerm((double) term);
+		curvePoint.setValue(0.01 + term / 1000.0);
+		return curvePoint;
+	}
+
+	private static Rating rating(int i) {
+		Rating rating = new Rating();
+		rating.setMoodysRating("moodys" + i);
+		rating.setSandPRating("sandP" + i);
+		rating.setFitchRating("fitch" + i);
+		rating.setOrderNumber(i + 1);
+		return rating;
+	}
+
+	private static RuleName ruleName(int i) {
+		RuleName ruleName = new RuleName();
+		ruleName.setName("name" + i);
+		ruleName.setDescription("description" + i);
+		return ruleName;
+	}
+
+	@Nested
+	@Tag("ApiTradeControllerQueryBudgetIT")
+	@DisplayName("Trade API query budget")
+	class TradeQueryBudgetTests {
+
+		@Test
+		@Tag("ApiTradeControllerQueryBudgetIT")
+		@DisplayName("list should run one select whatever the rows")
+		public void listShouldRunOneSelectWhateverTheRows() throws Throwable {
+
+			//GIVEN
+			List<Trade> trades = new ArrayList<>();
+			for (int i = 0; i < ROWS; i++) {
+				trades.add(trade(i));
+			}
+			tradeRepository.saveAll(trades);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/trade/list?size=" + ROWS));
+		}
+
+		@Test
+		@Tag("ApiTradeControllerQueryBudgetIT")
+		@DisplayName("get by id should run one select")
+		public void getByIdShouldRunOneSelect() throws Throwable {
+
+			//GIVEN
+			Trade trade = saveWithPositiveId(() -> trade(1), tradeRepository::save, Trade::getTradeId);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/trade/update/" + trade.getTradeId()));
+		}
+
+		@Test
+		@Tag("ApiTradeControllerQueryBudgetIT")
+		@DisplayName("create and update should stay within their budget")
+		public void createAndUpdateShouldStayWithinTheirBudget() throws Throwable {
+
+			//GIVEN
+			Trade trade = saveWithPositiveId(() -> trade(1), tradeRepository::save, Trade::getTradeId);
+			trade.setBuyQuantity(2.0);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1 + ID_BLOCK, json(post("/api/trade/create"), trade(2)));
+			assertRequestBudget(2, json(put("/api/trade/update"), trade));
+		}
+
+		@Test
+		@Tag("ApiTradeControllerQueryBudgetIT")
+		@DisplayName("batch should send its inserts as one JDBC batch whatever the rows")
+		public void batchShouldSendItsInsertsAsOneJdbcBatchWhateverTheRows() throws Throwable {
+
+			//GIVEN
+			List<Trade> trades = new ArrayList<>();
+			for (int i = 0; i < ROWS; i++) {
+				trades.add(trade(i));
+			}
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1 + ID_BLOCK, json(post("/api/trade/batch"), trades));
+		}
+	}
+
+	@Nested
+	@Tag("ApiBidListControllerQueryBudgetIT")
+	@DisplayName("BidList API query budget")
+	class BidListQueryBudgetTests {
+
+		@Test
+		@Tag("ApiBidListControllerQueryBudgetIT")
+		@DisplayName("list should run one select whatever the rows")
+		public void listShouldRunOneSelectWhateverTheRows() throws Throwable {
+
+			//GIVEN
+			List<BidList> bidLists = new ArrayList<>();
+			for (int i = 0; i < ROWS; i++) {
+				bidLists.add(bidList(i));
+			}
+			bidListRepository.saveAll(bidLists);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/bidList/list?size=" + ROWS));
+		}
+
+		@Test
+		@Tag("ApiBidListControllerQueryBudgetIT")
+		@DisplayName("get by id should run one select")
+		public void getByIdShouldRunOneSelect() throws Throwable {
+
+			//GIVEN
+			BidList bidList = saveWithPositiveId(() -> bidList(1), bidListRepository::save, BidList::getBidListId);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/bidList/update/" + bidList.getBidListId()));
+		}
+
+		@Test
+		@Tag("ApiBidListControllerQueryBudgetIT")
+		@DisplayName("create and update should stay within their budget")
+		public void createAndUpdateShouldStayWithinTheirBudget() throws Throwable {
+
+			//GIVEN
+			BidList bidList = saveWithPositiveId(() -> bidList(1), bidListRepository::save, BidList::getBidListId);
+			bidList.setBidQuantity(2.0);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1 + ID_BLOCK, json(post("/api/bidList/create"), bidList(2)));
+			assertRequestBudget(2, json(put("/api/bidList/update"), bidList));
+		}
+
+		@Test
+		@Tag("ApiBidListControllerQueryBudgetIT")
+		@DisplayName("batch should send its inserts as one JDBC batch whatever the rows")
+		public void batchShouldSendItsInsertsAsOneJdbcBatchWhateverTheRows() throws Throwable {
+
+			//GIVEN
+			List<BidList> bidLists = new ArrayList<>();
+			for (int i = 0; i < ROWS; i++) {
+				bidLists.add(bidList(i));
+			}
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1 + ID_BLOCK, json(post("/api/bidList/batch"), bidLists));
+		}
+	}
+
+	@Nested
+	@Tag("ApiCurveControllerQueryBudgetIT")
+	@DisplayName("CurvePoint API query budget")
+	class CurvePointQueryBudgetTests {
+
+		//terms of the points saved until one gets a positive id, above the terms of the curves of the tests
+		private final AtomicInteger terms = new AtomicInteger(ROWS);
+
+		@Test
+		@Tag("ApiCurveControllerQueryBudgetIT")
+		@DisplayName("list should run one select whatever the rows")
+		public void listShouldRunOneSelectWhateverTheRows() throws Throwable {
+
+			//GIVEN
+			List<CurvePoint> curvePoints = new ArrayList<>();
+			for (int term = 1; term <= ROWS; term++) {
+				curvePoints.add(curvePoint(term));
+			}
+			curvePointRepository.saveAll(curvePoints);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/curvePoint/list?size=" + ROWS));
+		}
+
+		@Test
+		@Tag("ApiCurveControllerQueryBudgetIT")
+		@DisplayName("get by id should select the point and its curve once, then get of the curve none")
+		public void getByIdShouldSelectThePointAndItsCurveOnceThenGetOfTheCurveNone() throws Throwable {
+
+			//GIVEN
+			CurvePoint curvePoint = saveWithPositiveId(() -> curvePoint(terms.incrementAndGet()), curvePointRepository::save, CurvePoint::getId);
+			curvePointRepository.deleteAllInBatch(curvePointRepository.findAll().stream().filter(point -> !point.getId().equals(curvePoint.getId())).toList());
+			List<CurvePoint> curvePoints = new ArrayList<>();
+			for (int term = 2; term <= ROWS; term++) {
+				curvePoints.add(curvePoint(term));
+			}
+			curvePointRepository.saveAll(curvePoints);
+
+			//WHEN
+			//THEN
+			//the point, then its curve loaded in the cache of snapshots
+			assertRequestBudget(2, get("/api/curvePoint/update/" + curvePoint.getId()));
+			//served by the cache of snapshots
+			assertRequestBudget(0, get("/api/curvePoint/curve/1?asOfDate=" + AS_OF_DATE));
+		}
+
+		@Test
+		@Tag("ApiCurveControllerQueryBudgetIT")
+		@DisplayName("create and update should stay within their budget")
+		public void createAndUpdateShouldStayWithinTheirBudget() throws Throwable {
+
+			//GIVEN
+			CurvePoint curvePoint = saveWithPositiveId(() -> curvePoint(terms.incrementAndGet()), curvePointRepository::save, CurvePoint::getId);
+			curvePointRepository.deleteAllInBatch(curvePointRepository.findAll().stream().filter(point -> !point.getId().equals(curvePoint.getId())).toList());
+			curvePoint.setValue(0.05);
+
+			//WHEN
+			//THEN
+			//the insert, then the reload of the snapshot of the curve after commit
+			assertRequestBudget(2 + ID_BLOCK, json(post("/api/curvePoint/create"), curvePoint(2)));
+			//the point, its update, then the reload of the snapshot of the curve, for the curve left and the one joined
+			assertRequestBudget(4, json(put("/api/curvePoint/update"), curvePoint));
+		}
+
+		@Test
+		@Tag("ApiCurveControllerQueryBudgetIT")
+		@DisplayName("save of a curve should read it once and write it as JDBC batches whatever the points")
+		public void saveOfACurveShouldReadItOnceAndWriteItAsJdbcBatchesWhateverThePoints() throws Throwable {
+
+			//GIVEN
+			List<CurvePoint> curvePoints = new ArrayList<>();
+			for (int term = 1; term <= ROWS / 2; term++) {
+				curvePoints.add(curvePoint(term));
+			}
+			curvePointRepository.saveAll(curvePoints);
+			//half of the points updated, half inserted
+			List<CurvePoint> curve = new ArrayList<>();
+			for (int term = 1; term <= ROWS; term++) {
+				CurvePoint point = curvePoint(term);
+				point.setValue(point.getValue() + 0.01);
+				curve.add(point);
+			}
+
+			//WHEN
+			//THEN
+			//the select of the curve, the batch of updates, the batch of inserts, then the reload of the snapshot of the curve after commit
+			assertRequestBudget(4 + ID_BLOCK, json(put("/api/curvePoint/curve"), curve));
+		}
+	}
+
+	@Nested
+	@Tag("ApiRatingControllerQueryBudgetIT")
+	@DisplayName("Rating API query budget")
+	class RatingQueryBudgetTests {
+
+		@Test
+		@Tag("ApiRatingControllerQueryBudgetIT")
+		@DisplayName("list should run one select whatever the rows")
+		public void listShouldRunOneSelectWhateverTheRows() throws Throwable {
+
+			//GIVEN
+			List<Rating> ratings = new ArrayList<>();
+			for (int i = 0; i < ROWS; i++) {
+				ratings.add(rating(i));
+			}
+			ratingRepository.saveAll(ratings);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/rating/list?size=" + ROWS));
+		}
+
+		@Test
+		@Tag("ApiRatingControllerQueryBudgetIT")
+		@DisplayName("get by id should run at most one select")
+		public void getByIdShouldRunAtMostOneSelect() throws Throwable {
+
+			//GIVEN
+			Rating rating = ratingRepository.save(rating(1));
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/rating/update/" + rating.getId()));
+		}
+
+		@Test
+		@Tag("ApiRatingControllerQueryBudgetIT")
+		@DisplayName("create and update should stay within their budget")
+		public void createAndUpdateShouldStayWithinTheirBudget() throws Throwable {
+
+			//GIVEN
+			Rating rating = ratingRepository.save(rating(1));
+			rating.setOrderNumber(2);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, json(post("/api/rating/create"), rating(2)));
+			assertRequestBudget(2, json(put("/api/rating/update"), rating));
+		}
+	}
+
+	@Nested
+	@Tag("ApiRuleNameControllerQueryBudgetIT")
+	@DisplayName("RuleName API query budget")
+	class RuleNameQueryBudgetTests {
+
+		@Test
+		@Tag("ApiRuleNameControllerQueryBudgetIT")
+		@DisplayName("list should run one select whatever the rows")
+		public void listShouldRunOneSelectWhateverTheRows() throws Throwable {
+
+			//GIVEN
+			List<RuleName> ruleNames = new ArrayList<>();
+			for (int i = 0; i < ROWS; i++) {
+				ruleNames.add(ruleName(i));
+			}
+			ruleNameRepository.saveAll(ruleNames);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/ruleName/list?size=" + ROWS));
+		}
+
+		@Test
+		@Tag("ApiRuleNameControllerQueryBudgetIT")
+		@DisplayName("get by id should run at most one select")
+		public void getByIdShouldRunAtMostOneSelect() throws Throwable {
+
+			//GIVEN
+			RuleName ruleName = ruleNameRepository.save(ruleName(1));
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/ruleName/update/" + ruleName.getId()));
+		}
+
+		@Test
+		@Tag("ApiRuleNameControllerQueryBudgetIT")
+		@DisplayName("create and update should stay within their budget")
+		public void createAndUpdateShouldStayWithinTheirBudget() throws Throwable {
+
+			//GIVEN
+			RuleName ruleName = ruleNameRepository.save(ruleName(1));
+			ruleName.setDescription("updated");
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, json(post("/api/ruleName/create"), ruleName(2)));
+			assertRequestBudget(2, json(put("/api/ruleName/update"), ruleName));
+		}
+	}
+
+	@Nested
+	@Tag("ApiUserControllerQueryBudgetIT")
+	@DisplayName("User API query budget")
+	class UserQueryBudgetTests {
+
+		private User saveUser(String username) {
+			return userRepository.save(User.builder()
+					.username(username)
+					.password("$2a$10$AS4H5HMl4ehrI8EP4XPGiO5v1NSyFDZv8LFw.cbCgRyKGOJhD4eSa")
+					.fullname("full " + username)
+					.role("USER")
+					.build());
+		}
+
+		private String userJson(Long id, String username) {
+			return "{" + (id == null ? "" : "\"id\":" + id + ",") + "\"username\":\"" + username + "\",\"password\":\"passwrdA1=\",\"fullname\":\"full " + username + "\",\"role\":\"USER\"}";
+		}
+
+		@Test
+		@Tag("ApiUserControllerQueryBudgetIT")
+		@DisplayName("list should run one select whatever the rows")
+		public void listShouldRunOneSelectWhateverTheRows() throws Throwable {
+
+			//GIVEN
+			for (int i = 0; i < ROWS; i++) {
+				saveUser(USERNAME + i);
+			}
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/user/list?size=" + ROWS));
+		}
+
+		@Test
+		@Tag("ApiUserControllerQueryBudgetIT")
+		@DisplayName("get by id should run one select")
+		public void getByIdShouldRunOneSelect() throws Throwable {
+
+			//GIVEN
+			User user = saveUser(USERNAME + 1);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, get("/api/user/update/" + user.getId()));
+		}
+
+		@Test
+		@Tag("ApiUserControllerQueryBudgetIT")
+		@DisplayName("create and update should stay within their budget")
+		public void createAndUpdateShouldStayWithinTheirBudget() throws Throwable {
+
+			//GIVEN
+			User user = saveUser(USERNAME + 1);
+
+			//WHEN
+			//THEN
+			assertRequestBudget(1, post("/api/user/create").contentType(MediaType.APPLICATION_JSON).content(userJson(null, USERNAME + 2)));
+			assertRequestBudget(2, put("/api/user/update").contentType(MediaType.APPLICATION_JSON).content(userJson(user.getId(), USERNAME + 1)));
+		}
+	}
+}
@@ -1,18 +1,34 @@
 package com.poseidoninc.poseidon.controller.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.BatchProperties;
+import com.poseidoninc.poseidon.configuration.CurveHistoryProperties;
+import com.poseidoninc.poseidon.configuration.PaginationProperties;
+import com.poseidoninc.poseidon.curve.BootstrappedCurve;
+import com.poseidoninc.poseidon.curve.CurveHistory;
+import com.poseidoninc.poseidon.curve.CurveHistorySummary;
+import com.poseidoninc.poseidon.curve.CurveSnapshot;
+import com.poseidoninc.poseidon.curve.HistoricalCurve;
+import com.poseidoninc.poseidon.curve.InterpolatedCurve;
+import com.poseidoninc.poseidon.curve.Interpolation;
+import com.poseidoninc.poseidon.curve.InterpolationRequest;
 import com.poseidoninc.poseidon.domain.CurvePoint;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
 import com.poseidoninc.poseidon.service.CurvePointService;
 import com.poseidoninc.poseidon.service.RequestService;
 import com.poseidoninc.poseidon.service.RequestServiceImpl;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
+import com.poseidoninc.poseidon.service.ScrollPositionServiceImpl;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -20,17 +36,25 @@ import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -49,6 +73,15 @@ public class ApiCurveControllerTest {
     @Spy
     private final RequestService requestService = new RequestServiceImpl();
 
+    @Spy
+    private final ScrollPositionService scrollPositionService = new ScrollPositionServiceImpl(new ObjectMapper(), new PaginationProperties());
+
+    @Spy
+    private final BatchProperties batchProperties = new BatchProperties();
+
+    @Spy
+    private final CurveHistoryProperties curveHistoryProperties = new CurveHistoryProperties();
+
     private MockHttpServletRequest requestMock;
     private WebRequest request;
     private CurvePoint curvePoint;
@@ -66,11 +99,8 @@ public class ApiCurveControllerTest {
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
     class GetCurvePointsTests {
 
-        private Pageable pageRequest;
-
         @BeforeAll
         public void setUpForAllTests() {
-            pageRequest = Pageable.unpaged();
             requestMock = new MockHttpServletRequest();
             requestMock.setMethod("GET");
             requestMock.setServerName("http://localhost:8080");
@@ -80,20 +110,19 @@ public class ApiCurveControllerTest {
 
         @AfterAll
         public void unSetForAllTests() {
-            pageRequest = null;
             requestMock = null;
             request = null;
         }
 
         @Test
         @Tag("ApiCurveControllerTest")
-        @DisplayName("test getCurvePoints should return a Success ResponseEntity With Iterable Of CurvePoint")
-        public void getCurvePointsTestShouldReturnSuccessResponseEntityWithIterableOfCurvePoint() {
+        @DisplayName("test getCurvePoints should return a Success ResponseEntity With Window Of CurvePoint")
+        public void getCurvePointsTestShouldReturnSuccessResponseEntityWithWindowOfCurvePoint() {
 
             //GIVEN
             List<CurvePoint> expectedCurvePoints = new ArrayList<>();
             curvePoint = new CurvePoint();
-			curvePoint.setId(1);
+			curvePoint.setId(1L);
 			curvePoint.setCurveId(2);
 			curvePoint.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePoint.setTerm(3.0);
@@ -102,7 +131,7 @@ public class ApiCurveControllerTest {
             expectedCurvePoints.add(curvePoint);
 
             CurvePoint curvePoint2 = new CurvePoint();
-            curvePoint2.setId(2);
+            curvePoint2.setId(2L);
             curvePoint2.setCurveId(3);
             curvePoint2.setAsOfDate(LocalDateTime.parse("23/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
             curvePoint2.setTerm(4.0);
@@ -110,16 +139,16 @@ public class ApiCurveControllerTest {
             curvePoint2.setCreationDate(LocalDateTime.parse("24/01/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
             expectedCurvePoints.add(curvePoint2);
 
-            when(curvePointService.getCurvePoints(any(Pageable.class))).thenReturn(new PageImpl<CurvePoint>(expectedCurvePoints, pageRequest, 2));
+            when(curvePointService.getCurvePoints(any(ScrollPosition.class), any(Sort.class), anyInt())).thenReturn(Window.from(expectedCurvePoints, ScrollPosition::offset));
 
             //WHEN
-            ResponseEntity<Iterable<CurvePoint>> responseEntity = apiCurveController.getCurvePoints(request);
+            ResponseEntity<ApiWindow<CurvePoint>> responseEntity = apiCurveController.getCurvePoints(null, null, null, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
-            Iterable<CurvePoint> resultCurvePoints = responseEntity.getBody();
+            ApiWindow<CurvePoint> resultCurvePoints = responseEntity.getBody();
             assertThat(resultCurvePoints).isNotNull();
-            assertThat(resultCurvePoints).containsExactlyElementsOf(expectedCurvePoints);
+            assertThat(resultCurvePoints.getContent()).containsExactlyElementsOf(expectedCurvePoints);
         }
 
         @Test
@@ -128,12 +157,12 @@ public class ApiCurveControllerTest {
         public void getCurvePointsTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(curvePointService.getCurvePoints(any(Pageable.class))).thenThrow(new UnexpectedRollbackException("Error while getting curvePoints"));
+            when(curvePointService.getCurvePoints(any(ScrollPosition.class), any(Sort.class), anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting curvePoints"));
 
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiCurveController.getCurvePoints(request))
+                    () -> apiCurveController.getCurvePoints(null, null, null, request))
                     .getMessage()).isEqualTo("Error while getting curvePoints");
         }
     }
@@ -177,7 +206,7 @@ public class ApiCurveControllerTest {
             //GIVEN
             Optional<CurvePoint> optionalCurvePoint = Optional.of(curvePoint);
             CurvePoint curvePointExpected = new CurvePoint();
-			curvePointExpected.setId(1);
+			curvePointExpected.setId(1L);
 			curvePointExpected.setCurveId(2);
 			curvePointExpected.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePointExpected.setTerm(3.0);
@@ -206,7 +235,7 @@ public class ApiCurveControllerTest {
                             CurvePoint::getValue,
                             curve -> curve.getCreationDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")))
                     .containsExactly(
-                            1,
+                            1L,
                             2,
                             "21/01/2023 10:20:30",
                             3.0,
@@ -275,17 +304,17 @@ public class ApiCurveControllerTest {
 
             //GIVEN
             curvePoint = new CurvePoint();
-			curvePoint.setId(1);
+			curvePoint.setId(1L);
 			curvePoint.setCurveId(2);
 			curvePoint.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePoint.setTerm(3.0);
 			curvePoint.setValue(4.0);
 			curvePoint.setCreationDate(LocalDateTime.parse("22/01/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 
-            when(curvePointService.getCurvePointById(anyInt())).thenReturn(curvePoint);
+            when(curvePointService.getCurvePointById(anyLong())).thenReturn(curvePoint);
 
             //WHEN
-            ResponseEntity<CurvePoint> responseEntity = apiCurveController.getCurvePointById(1, request);
+            ResponseEntity<CurvePoint> responseEntity = apiCurveController.getCurvePointById(1L, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
@@ -300,7 +329,7 @@ public class ApiCurveControllerTest {
                             CurvePoint::getValue,
                             curve -> curve.getCreationDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")))
                     .containsExactly(
-                            1,
+                            1L,
                             2,
                             "21/01/2023 10:20:30",
                             3.0,
@@ -315,11 +344,11 @@ public class ApiCurveControllerTest {
         public void getCurvePointByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(curvePointService.getCurvePointById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting curvePoint"));
+            when(curvePointService.getCurvePointById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting curvePoint"));
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiCurveController.getCurvePointById(1, request))
+                    () -> apiCurveController.getCurvePointById(1L, request))
                     .getMessage()).isEqualTo("Error while getting curvePoint");
         }
     }
@@ -348,7 +377,7 @@ public class ApiCurveControllerTest {
         @BeforeEach
         public void setUpForEachTest() {
             curvePoint = new CurvePoint();
-			curvePoint.setId(1);
+			curvePoint.setId(1L);
 			curvePoint.setCurveId(2);
 			curvePoint.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePoint.setTerm(3.0);
@@ -364,7 +393,7 @@ public class ApiCurveControllerTest {
             //GIVEN
             Optional<CurvePoint> optionalCurvePoint = Optional.of(curvePoint);
             CurvePoint curvePointExpected = new CurvePoint();
-            curvePointExpected.setId(1);
+            curvePointExpected.setId(1L);
             curvePointExpected.setCurveId(2);
             curvePointExpected.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
             curvePointExpected.setTerm(3.0);
@@ -393,7 +422,7 @@ public class ApiCurveControllerTest {
                             CurvePoint::getValue,
                             curve -> curve.getCreationDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")))
                     .containsExactly(
-                            1,
+                            1L,
                             2,
                             "21/01/2023 10:20:30",
                             3.0,
@@ -434,6 +463,472 @@ public class ApiCurveControllerTest {
         }
     }
 
+    @Nested
+    @Tag("getCurve")
+    @DisplayName("Tests for /api/curvePoint/curve/{curveId}")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class GetCurveTests {
+
+        @BeforeAll
+        public void setUpForAllTests() {
+            requestMock = new MockHttpServletRequest();
+            requestMock.setMethod("GET");
+            requestMock.setServerName("http://localhost:8080");
+            requestMock.setRequestURI("/api/curvePoint/curve/2");
+            request = new ServletWebRequest(requestMock);
+        }
+
+        @AfterAll
+        public void unSetForAllTests() {
+            requestMock = null;
+            request = null;
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test getCurve should return a Success ResponseEntity With points of the curve")
+        public void getCurveTestShouldReturnSuccessResponseEntityWithPointsOfTheCurve() {
+
+            //GIVEN
+            LocalDateTime asOfDate = LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+            CurvePoint curvePoint2 = new CurvePoint();
+            curvePoint2.setId(2L);
+            curvePoint2.setTerm(2.0);
+            curvePoint = new CurvePoint();
+            curvePoint.setId(1L);
+            curvePoint.setTerm(1.0);
+            when(curvePointService.getCurve(2, asOfDate)).thenReturn(List.of(curvePoint, curvePoint2));
+
+            //WHEN
+            ResponseEntity<List<CurvePoint>> responseEntity = apiCurveController.getCurve(2, asOfDate, request);
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            assertThat(responseEntity.getBody()).extracting(CurvePoint::getId).containsExactly(1L, 2L);
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test getCurve should throw UnexpectedRollbackException")
+        public void getCurveTestShouldThrowUnexpectedRollbackException() {
+
+            //GIVEN
+            when(curvePointService.getCurve(anyInt(), any())).thenThrow(new UnexpectedRollbackException("Error while getting curve"));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(UnexpectedRollbackException.class,
+                    () -> apiCurveController.getCurve(2, null, request))
+                    .getMessage()).isEqualTo("Error while getting curve");
+        }
+    }
+
+    @Nested
+    @Tag("saveCurve")
+    @DisplayName("Tests for /api/curvePoint/curve")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class SaveCurveTests {
+
+        @BeforeAll
+        public void setUpForAllTests() {
+            requestMock = new MockHttpServletRequest();
+            requestMock.setMethod("PUT");
+            requestMock.setServerName("http://localhost:8080");
+            requestMock.setRequestURI("/api/curvePoint/curve");
+            request = new ServletWebRequest(requestMock);
+        }
+
+        @AfterAll
+        public void unSetForAllTests() {
+            requestMock = null;
+            request = null;
+        }
+
+        @BeforeEach
+        public void setUpForEachTest() {
+            curvePoint = new CurvePoint();
+            curvePoint.setCurveId(2);
+            curvePoint.setTerm(1.0);
+            curvePoint.setValue(10.0);
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test saveCurve should return a Success ResponseEntity With saved points")
+        public void saveCurveTestShouldReturnASuccessResponseEntityWithSavedPoints() {
+
+            //GIVEN
+            CurvePoint curvePoint2 = new CurvePoint();
+            curvePoint2.setId(7L);
+            curvePoint2.setCurveId(2);
+            curvePoint2.setTerm(2.0);
+            curvePoint2.setValue(20.0);
+            CurvePoint curvePointExpected = new CurvePoint();
+            curvePointExpected.setId(8L);
+            curvePointExpected.setCurveId(2);
+            curvePointExpected.setTerm(1.0);
+            curvePointExpected.setValue(10.0);
+            when(curvePointService.saveCurve(List.of(curvePoint2, curvePoint))).thenReturn(List.of(curvePointExpected, curvePoint2));
+
+            //WHEN
+            ResponseEntity<List<CurvePoint>> responseEntity = null;
+            try {
+                responseEntity = apiCurveController.saveCurve(Optional.of(List.of(curvePoint2, curvePoint)), request);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            assertThat(responseEntity.getBody())
+                    .extracting(CurvePoint::getId, CurvePoint::getTerm)
+                    .containsExactly(tuple(8L, 1.0), tuple(7L, 2.0));
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test saveCurve with empty array should throw BadRequestException")
+        public void saveCurveTestWithEmptyArrayShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<List<CurvePoint>> optionalCurvePoints = Optional.of(List.of());
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiCurveController.saveCurve(optionalCurvePoints, request))
+                    .getMessage()).isEqualTo("Correct request should be a json array of CurvePoint body");
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test saveCurve with too many points should throw BadRequestException")
+        public void saveCurveTestWithTooManyPointsShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<List<CurvePoint>> optionalCurvePoints = Optional.of(Collections.nCopies(batchProperties.getMaxSize() + 1, curvePoint));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiCurveController.saveCurve(optionalCurvePoints, request))
+                    .getMessage()).isEqualTo("Curve should have at most 5000 points");
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test saveCurve with points of two curves should throw BadRequestException")
+        public void saveCurveTestWithPointsOfTwoCurvesShouldThrowBadRequestException() {
+
+            //GIVEN
+            CurvePoint curvePoint2 = new CurvePoint();
+            curvePoint2.setCurveId(3);
+            curvePoint2.setTerm(2.0);
+            Optional<List<CurvePoint>> optionalCurvePoints = Optional.of(List.of(curvePoint, curvePoint2));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiCurveController.saveCurve(optionalCurvePoints, request))
+                    .getMessage()).isEqualTo("All points should have the same curveId and asOfDate");
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test saveCurve with a duplicate term should throw BadRequestException")
+        public void saveCurveTestWithADuplicateTermShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<List<CurvePoint>> optionalCurvePoints = Optional.of(List.of(curvePoint, curvePoint));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiCurveController.saveCurve(optionalCurvePoints, request))
+                    .getMessage()).isEqualTo("Each point should have a distinct term");
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test saveCurve should throw UnexpectedRollbackException")
+        public void saveCurveTestShouldThrowUnexpectedRollbackException() {
+
+            //GIVEN
+            Optional<List<CurvePoint>> optionalCurvePoints = Optional.of(List.of(curvePoint));
+            when(curvePointService.saveCurve(anyList())).thenThrow(new UnexpectedRollbackException("Error while saving curve"));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(UnexpectedRollbackException.class,
+                    () -> apiCurveController.saveCurve(optionalCurvePoints, request))
+                    .getMessage()).isEqualTo("Error while saving curve");
+        }
+    }
+
+    @Nested
+    @Tag("interpolateCurve")
+    @DisplayName("Tests for /api/curvePoint/{curveId}/interpolate")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class InterpolateCurveTests {
+
+        @BeforeAll
+        public void setUpForAllTests() {
+            requestMock = new MockHttpServletRequest();
+            requestMock.setMethod("POST");
+            requestMock.setServerName("http://localhost:8080");
+            requestMock.setRequestURI("/api/curvePoint/2/interpolate");
+            request = new ServletWebRequest(requestMock);
+        }
+
+        @AfterAll
+        public void unSetForAllTests() {
+            requestMock = null;
+            request = null;
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test interpolateCurve should return a Success ResponseEntity With values at the terms, LINEAR by default")
+        public void interpolateCurveTestShouldReturnASuccessResponseEntityWithValuesAtTheTermsLinearByDefault() {
+
+            //GIVEN
+            curvePoint = new CurvePoint();
+            curvePoint.setTerm(1.0);
+            curvePoint.setValue(10.0);
+            CurvePoint curvePoint2 = new CurvePoint();
+            curvePoint2.setTerm(3.0);
+            curvePoint2.setValue(30.0);
+            when(curvePointService.getCurveSnapshot(2, null)).thenReturn(CurveSnapshot.of(2, null, List.of(curvePoint, curvePoint2)));
+
+            //WHEN
+            ResponseEntity<InterpolatedCurve> responseEntity = apiCurveController.interpolateCurve(2, Optional.of(new InterpolationRequest(null, null, new double[] {2.0, 0.0, 4.0})), request);
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            assertThat(responseEntity.getBody().method()).isEqualTo(Interpolation.LINEAR);
+            assertThat(responseEntity.getBody().values()).containsExactly(new double[] {20.0, 10.0, 30.0}, within(1e-12));
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test interpolateCurve without terms should throw BadRequestException")
+        public void interpolateCurveTestWithoutTermsShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<InterpolationRequest> optionalInterpolationRequest = Optional.of(new InterpolationRequest(null, Interpolation.LINEAR, new double[0]));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiCurveController.interpolateCurve(2, optionalInterpolationRequest, request))
+                    .getMessage()).isEqualTo("Correct request should be a json body with a terms array");
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test interpolateCurve with too many terms should throw BadRequestException")
+        public void interpolateCurveTestWithTooManyTermsShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<InterpolationRequest> optionalInterpolationRequest = Optional.of(new InterpolationRequest(null, Interpolation.LINEAR, new double[batchProperties.getMaxSize() + 1]));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiCurveController.interpolateCurve(2, optionalInterpolationRequest, request))
+                    .getMessage()).isEqualTo("Interpolation should have at most 5000 terms");
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test interpolateCurve on an empty curve should throw BadRequestException")
+        public void interpolateCurveTestOnAnEmptyCurveShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<InterpolationRequest> optionalInterpolationRequest = Optional.of(new InterpolationRequest(null, Interpolation.MONOTONE_CUBIC, new double[] {1.0}));
+            when(curvePointService.getCurveSnapshot(2, null)).thenReturn(CurveSnapshot.of(2, null, List.of()));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiCurveController.interpolateCurve(2, optionalInterpolationRequest, request))
+                    .getMessage()).isEqualTo("Curve 2 has no point");
+        }
+    }
+
+    @Nested
+    @Tag("curveHistory")
+    @DisplayName("Tests for /api/curvePoint/{curveId}/history and /admin/curvePoint/history")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class CurveHistoryTests {
+
+        @BeforeAll
+        public void setUpForAllTests() {
+            requestMock = new MockHttpServletRequest();
+            requestMock.setMethod("GET");
+            requestMock.setServerName("http://localhost:8080");
+            requestMock.setRequestURI("/api/curvePoint/2/history");
+            request = new ServletWebRequest(requestMock);
+        }
+
+        @AfterAll
+        public void unSetForAllTests() {
+            requestMock = null;
+            request = null;
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test getCurveHistory should return a Success ResponseEntity With terms and values at each date")
+        public void getCurveHistoryTestShouldReturnASuccessResponseEntityWithTermsAndValuesAtEachDate() {
+
+            //GIVEN
+            LocalDateTime from = LocalDateTime.parse("2023-01-02T00:00:00");
+            curvePoint = new CurvePoint();
+            curvePoint.setTerm(1.0);
+            curvePoint.setValue(10.0);
+            when(curvePointService.getCurveHistory(2, from, null)).thenReturn(List.of(CurveSnapshot.of(2, from, List.of(curvePoint))));
+
+            //WHEN
+            ResponseEntity<List<HistoricalCurve>> responseEntity = apiCurveController.getCurveHistory(2, from, null, request);
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            assertThat(responseEntity.getBody()).singleElement().satisfies(historicalCurve -> {
+                assertThat(historicalCurve.asOfDate()).isEqualTo(from);
+                assertThat(historicalCurve.terms()).containsExactly(1.0);
+                assertThat(historicalCurve.values()).containsExactly(10.0);
+            });
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test getCurveHistory with too many dates should throw BadRequestException")
+        public void getCurveHistoryTestWithTooManyDatesShouldThrowBadRequestException() {
+
+            //GIVEN
+            //read before stubbing : the spy can't be called inside when()
+            int maxDates = curveHistoryProperties.getMaxDates();
+            when(curvePointService.countCurveHistory(2, null, null)).thenReturn(maxDates + 1);
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiCurveController.getCurveHistory(2, null, null, request))
+                    .getMessage()).isEqualTo("Curve history should have at most 5000 dates, narrow from and to");
+            verify(curvePointService, never()).getCurveHistory(any(), any(), any());
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test rebuildCurveHistory should return a Success ResponseEntity With the size of the history")
+        public void rebuildCurveHistoryTestShouldReturnASuccessResponseEntityWithTheSizeOfTheHistory() {
+
+            //GIVEN
+            curvePoint = new CurvePoint();
+            curvePoint.setCurveId(2);
+            curvePoint.setAsOfDate(LocalDateTime.parse("2023-01-02T00:00:00"));
+            curvePoint.setTerm(1.0);
+            curvePoint.setValue(10.0);
+            when(curvePointService.rebuildCurveHistory()).thenReturn(CurveHistory.builder().add(curvePoint).build());
+
+            //WHEN
+            ResponseEntity<CurveHistorySummary> responseEntity = apiCurveController.rebuildCurveHistory(request);
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            assertThat(responseEntity.getBody()).isEqualTo(new CurveHistorySummary(1, 1, 1));
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test rebuildCurveHistory should throw UnexpectedRollbackException")
+        public void rebuildCurveHistoryTestShouldThrowUnexpectedRollbackException() {
+
+            //GIVEN
+            when(curvePointService.rebuildCurveHistory()).thenThrow(new UnexpectedRollbackException("Error while rebuilding curve history"));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(UnexpectedRollbackException.class,
+                    () -> apiCurveController.rebuildCurveHistory(request))
+                    .getMessage()).isEqualTo("Error while rebuilding curve history");
+        }
+    }
+
+    @Nested
+    @Tag("bootstrapCurves")
+    @DisplayName("Tests for /admin/curvePoint/bootstrap and /api/curvePoint/{curveId}/bootstrapped")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class BootstrapCurvesTests {
+
+        private final LocalDateTime asOfDate = LocalDateTime.parse("2023-01-21T18:00:00");
+
+        private final BootstrappedCurve bootstrappedCurve = new BootstrappedCurve(2, asOfDate, new double[] {1.0}, new double[] {0.05}, new double[] {Math.exp(-0.05)});
+
+        @BeforeAll
+        public void setUpForAllTests() {
+            requestMock = new MockHttpServletRequest();
+            requestMock.setMethod("POST");
+            requestMock.setServerName("http://localhost:8080");
+            requestMock.setRequestURI("/admin/curvePoint/bootstrap");
+            request = new ServletWebRequest(requestMock);
+        }
+
+        @AfterAll
+        public void unSetForAllTests() {
+            requestMock = null;
+            request = null;
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test bootstrapCurves should return a Success ResponseEntity With the bootstrapped curves")
+        public void bootstrapCurvesTestShouldReturnASuccessResponseEntityWithTheBootstrappedCurves() {
+
+            //GIVEN
+            when(curvePointService.bootstrapCurves(LocalDate.of(2023, 1, 21))).thenReturn(List.of(bootstrappedCurve));
+
+            //WHEN
+            ResponseEntity<List<BootstrappedCurve>> responseEntity = apiCurveController.bootstrapCurves(LocalDate.of(2023, 1, 21), request);
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            assertThat(responseEntity.getBody()).containsExactly(bootstrappedCurve);
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test getBootstrappedCurve should return a Success ResponseEntity With the bootstrapped curve")
+        public void getBootstrappedCurveTestShouldReturnASuccessResponseEntityWithTheBootstrappedCurve() {
+
+            //GIVEN
+            when(curvePointService.getBootstrappedCurve(2, asOfDate)).thenReturn(bootstrappedCurve);
+
+            //WHEN
+            ResponseEntity<BootstrappedCurve> responseEntity = apiCurveController.getBootstrappedCurve(2, asOfDate, request);
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            assertThat(responseEntity.getBody()).isSameAs(bootstrappedCurve);
+        }
+
+        @Test
+        @Tag("ApiCurveControllerTest")
+        @DisplayName("test getBootstrappedCurve should throw UnexpectedRollbackException")
+        public void getBootstrappedCurveTestShouldThrowUnexpectedRollbackException() {
+
+            //GIVEN
+            when(curvePointService.getBootstrappedCurve(2, asOfDate)).thenThrow(new UnexpectedRollbackException("Error while getting bootstrapped curve"));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(UnexpectedRollbackException.class,
+                    () -> apiCurveController.getBootstrappedCurve(2, asOfDate, request))
+                    .getMessage()).isEqualTo("Error while getting bootstrapped curve");
+        }
+    }
+
     @Nested
     @Tag("deleteByIdTests")
     @DisplayName("Tests for /api/curvePoint/delete/{id}")
@@ -462,7 +957,7 @@ public class ApiCurveControllerTest {
 
             //GIVEN
             //WHEN
-            HttpStatus httpStatus = apiCurveController.deleteCurvePointById(1, request);
+            HttpStatus httpStatus = apiCurveController.deleteCurvePointById(1L, request);
 
             //THEN
             assertThat(httpStatus.is2xxSuccessful()).isTrue();
@@ -474,11 +969,11 @@ public class ApiCurveControllerTest {
         public void deleteByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            doThrow(new UnexpectedRollbackException("Error while deleting curvePoint")).when(curvePointService).deleteCurvePointById(anyInt());
+            doThrow(new UnexpectedRollbackException("Error while deleting curvePoint")).when(curvePointService).deleteCurvePointById(anyLong());
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiCurveController.deleteCurvePointById(1, request))
+                    () -> apiCurveController.deleteCurvePointById(1L, request))
                     .getMessage()).isEqualTo("Error while deleting curvePoint");
         }
     }
@@ -1,18 +1,24 @@
 package com.poseidoninc.poseidon.controller.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.PaginationProperties;
 import com.poseidoninc.poseidon.domain.Rating;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
 import com.poseidoninc.poseidon.service.RatingService;
 import com.poseidoninc.poseidon.service.RequestService;
 import com.poseidoninc.poseidon.service.RequestServiceImpl;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
+import com.poseidoninc.poseidon.service.ScrollPositionServiceImpl;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -28,6 +34,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +54,9 @@ public class ApiRatingControllerTest {
     @Spy
     private final RequestService requestService = new RequestServiceImpl();
 
+    @Spy
+    private final ScrollPositionService scrollPositionService = new ScrollPositionServiceImpl(new ObjectMapper(), new PaginationProperties());
+
     private MockHttpServletRequest requestMock;
     private WebRequest request;
     private Rating rating;
@@ -64,11 +74,8 @@ public class ApiRatingControllerTest {
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
     class GetRatingsTests {
 
-        private Pageable pageRequest;
-
         @BeforeAll
         public void setUpForAllTests() {
-            pageRequest = Pageable.unpaged();
             requestMock = new MockHttpServletRequest();
             requestMock.setMethod("GET");
             requestMock.setServerName("http://localhost:8080");
@@ -78,20 +85,19 @@ public class ApiRatingControllerTest {
 
         @AfterAll
         public void unSetForAllTests() {
-            pageRequest = null;
             requestMock = null;
             request = null;
         }
 
         @Test
         @Tag("ApiRatingControllerTest")
-        @DisplayName("test getRatings should return a Success ResponseEntity With Iterable Of Rating")
-        public void getRatingsTestShouldReturnSuccessResponseEntityWithIterableOfRating() {
+        @DisplayName("test getRatings should return a Success ResponseEntity With Window Of Rating")
+        public void getRatingsTestShouldReturnSuccessResponseEntityWithWindowOfRating() {
 
             //GIVEN
             List<Rating> expectedRatings = new ArrayList<>();
             rating = new Rating();
-            rating.setId(1);
+            rating.setId(1L);
             rating.setMoodysRating("Moody's Rating");
             rating.setSandPRating("SandP's Rating");
             rating.setFitchRating("Fitch's Rating");
@@ -99,23 +105,23 @@ public class ApiRatingControllerTest {
             expectedRatings.add(rating);
 
             Rating rating2 = new Rating();
-            rating2.setId(2);
+            rating2.setId(2L);
             rating2.setMoodysRating("Moody's Rating2");
             rating2.setSandPRating("SandP's Rating2");
             rating2.setFitchRating("Fitch's Rating2");
             rating2.setOrderNumber(3);
             expectedRatings.add(rating2);
 
-            when(ratingService.getRatings(any(Pageable.class))).thenReturn(new PageImpl<Rating>(expectedRatings, pageRequest, 2));
+            when(ratingService.getRatings(any(ScrollPosition.class), any(Sort.class), anyInt())).thenReturn(Window.from(expectedRatings, ScrollPosition::offset));
 
             //WHEN
-            ResponseEntity<Iterable<Rating>> responseEntity = apiRatingController.getRatings(request);
+            ResponseEntity<ApiWindow<Rating>> responseEntity = apiRatingController.getRatings(null, null, null, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
-            Iterable<Rating> resultRatings = responseEntity.getBody();
+            ApiWindow<Rating> resultRatings = responseEntity.getBody();
             assertThat(resultRatings).isNotNull();
-            assertThat(resultRatings).containsExactlyElementsOf(expectedRatings);
+            assertThat(resultRatings.getContent()).containsExactlyElementsOf(expectedRatings);
         }
 
         @Test
@@ -124,12 +130,12 @@ public class ApiRatingControllerTest {
         public void getRatingsTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(ratingService.getRatings(any(Pageable.class))).thenThrow(new UnexpectedRollbackException("Error while getting ratings"));
+            when(ratingService.getRatings(any(ScrollPosition.class), any(Sort.class), anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting ratings"));
 
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiRatingController.getRatings(request))
+                    () -> apiRatingController.getRatings(null, null, null, request))
                     .getMessage()).isEqualTo("Error while getting ratings");
         }
     }
@@ -172,7 +178,7 @@ public class ApiRatingControllerTest {
             //GIVEN
             Optional<Rating> optionalRating = Optional.of(rating);
             Rating ratingExpected = new Rating();
-            ratingExpected.setId(1);
+            ratingExpected.setId(1L);
             ratingExpected.setMoodysRating("Moody's Rating");
             ratingExpected.setSandPRating("SandP's Rating");
             ratingExpected.setFitchRating("Fitch's Rating");
@@ -199,7 +205,7 @@ public class ApiRatingControllerTest {
                             Rating::getFitchRating,
                             Rating::getOrderNumber)
                     .containsExactly(
-                            1,
+                            1L,
                             "Moody's Rating",
                             "SandP's Rating",
                             "Fitch's Rating",
@@ -267,16 +273,16 @@ public class ApiRatingControllerTest {
 
             //GIVEN
             rating = new Rating();
-            rating.setId(1);
+            rating.setId(1L);
             rating.setMoodysRating("Moody's Rating");
             rating.setSandPRating("SandP's Rating");
             rating.setFitchRating("Fitch's Rating");
             rating.setOrderNumber(2);
 
-            when(ratingService.getRatingById(anyInt())).thenReturn(rating);
+            when(ratingService.getRatingById(anyLong())).thenReturn(rating);
 
             //WHEN
-            ResponseEntity<Rating> responseEntity = apiRatingController.getRatingById(1, request);
+            ResponseEntity<Rating> responseEntity = apiRatingController.getRatingById(1L, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
@@ -290,7 +296,7 @@ public class ApiRatingControllerTest {
                             Rating::getFitchRating,
                             Rating::getOrderNumber)
                     .containsExactly(
-                            1,
+                            1L,
                             "Moody's Rating",
                             "SandP's Rating",
                             "Fitch's Rating",
@@ -304,11 +310,11 @@ public class ApiRatingControllerTest {
         public void getRatingByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(ratingService.getRatingById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting rating"));
+            when(ratingService.getRatingById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting rating"));
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiRatingController.getRatingById(1, request))
+                    () -> apiRatingController.getRatingById(1L, request))
                     .getMessage()).isEqualTo("Error while getting rating");
         }
     }
@@ -337,7 +343,7 @@ public class ApiRatingControllerTest {
         @BeforeEach
         public void setUpForEachTest() {
             rating = new Rating();
-            rating.setId(1);
+            rating.setId(1L);
             rating.setMoodysRating("Moody's Rating");
             rating.setSandPRating("SandP's Rating");
             rating.setFitchRating("Fitch's Rating");
@@ -352,7 +358,7 @@ public class ApiRatingControllerTest {
             //GIVEN
             Optional<Rating> optionalRating = Optional.of(rating);
             Rating ratingExpected = new Rating();
-            ratingExpected.setId(1);
+            ratingExpected.setId(1L);
             ratingExpected.setMoodysRating("Moody's Rating");
             ratingExpected.setSandPRating("SandP's Rating");
             ratingExpected.setFitchRating("Fitch's Rating");
@@ -379,7 +385,7 @@ public class ApiRatingControllerTest {
                             Rating::getFitchRating,
                             Rating::getOrderNumber)
                     .containsExactly(
-                            1,
+                            1L,
                             "Moody's Rating",
                             "SandP's Rating",
                             "Fitch's Rating",
@@ -447,7 +453,7 @@ public class ApiRatingControllerTest {
 
             //GIVEN
             //WHEN
-            HttpStatus httpStatus = apiRatingController.deleteRatingById(1, request);
+            HttpStatus httpStatus = apiRatingController.deleteRatingById(1L, request);
 
             //THEN
             assertThat(httpStatus.is2xxSuccessful()).isTrue();
@@ -459,11 +465,11 @@ public class ApiRatingControllerTest {
         public void deleteByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            doThrow(new UnexpectedRollbackException("Error while deleting rating")).when(ratingService).deleteRatingById(anyInt());
+            doThrow(new UnexpectedRollbackException("Error while deleting rating")).when(ratingService).deleteRatingById(anyLong());
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiRatingController.deleteRatingById(1, request))
+                    () -> apiRatingController.deleteRatingById(1L, request))
                     .getMessage()).isEqualTo("Error while deleting rating");
         }
     }
@@ -1,9 +1,14 @@
 package com.poseidoninc.poseidon.controller.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.PaginationProperties;
 import com.poseidoninc.poseidon.domain.RuleName;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
 import com.poseidoninc.poseidon.service.RequestService;
 import com.poseidoninc.poseidon.service.RequestServiceImpl;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
+import com.poseidoninc.poseidon.service.ScrollPositionServiceImpl;
 import com.poseidoninc.poseidon.service.RuleNameService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,8 +16,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -28,6 +34,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +54,9 @@ public class ApiRuleNameControllerTest {
     @Spy
     private final RequestService requestService = new RequestServiceImpl();
 
+    @Spy
+    private final ScrollPositionService scrollPositionService = new ScrollPositionServiceImpl(new ObjectMapper(), new PaginationProperties());
+
     private MockHttpServletRequest requestMock;
     private WebRequest request;
     private RuleName ruleName;
@@ -64,11 +74,8 @@ public class ApiRuleNameControllerTest {
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
     class GetRuleNamesTests {
 
-        private Pageable pageRequest;
-
         @BeforeAll
         public void setUpForAllTests() {
-            pageRequest = Pageable.unpaged();
             requestMock = new MockHttpServletRequest();
             requestMock.setMethod("GET");
             requestMock.setServerName("http://localhost:8080");
@@ -78,20 +85,19 @@ public class ApiRuleNameControllerTest {
 
         @AfterAll
         public void unSetForAllTests() {
-            pageRequest = null;
             requestMock = null;
             request = null;
         }
 
         @Test
         @Tag("ApiRuleNameControllerTest")
-        @DisplayName("test getRuleNames should return a Success ResponseEntity With Iterable Of RuleName")
-        public void getRuleNamesTestShouldReturnSuccessResponseEntityWithIterableOfRuleName() {
+        @DisplayName("test getRuleNames should return a Success ResponseEntity With Window Of RuleName")
+        public void getRuleNamesTestShouldReturnSuccessResponseEntityWithWindowOfRuleName() {
 
             //GIVEN
             List<RuleName> expectedRuleNames = new ArrayList<>();
             ruleName = new RuleName();
-            ruleName.setId(1);
+            ruleName.setId(1L);
             ruleName.setName("Rule Name");
             ruleName.setDescription("Rule Description");
             ruleName.setJson("Json");
@@ -101,7 +107,7 @@ public class ApiRuleNameControllerTest {
             expectedRuleNames.add(ruleName);
 
             RuleName ruleName2 = new RuleName();
-            ruleName2.setId(2);
+            ruleName2.setId(2L);
             ruleName2.setName("Rule Name2");
             ruleName2.setDescription("Rule Description2");
             ruleName2.setJson("Json2");
@@ -110,16 +116,16 @@ public class ApiRuleNameControllerTest {
             ruleName2.setSqlPart("SQL Part2");
             expectedRuleNames.add(ruleName2);
 
-            when(ruleNameService.getRuleNames(any(Pageable.class))).thenReturn(new PageImpl<RuleName>(expectedRuleNames, pageRequest, 2));
+            when(ruleNameService.getRuleNames(any(ScrollPosition.class), any(Sort.class), anyInt())).thenReturn(Window.from(expectedRuleNames, ScrollPosition::offset));
 
             //WHEN
-            ResponseEntity<Iterable<RuleName>> responseEntity = apiRuleNameController.getRuleNames(request);
+            ResponseEntity<ApiWindow<RuleName>> responseEntity = apiRuleNameController.getRuleNames(null, null, null, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
-            Iterable<RuleName> resultRuleNames = responseEntity.getBody();
+            ApiWindow<RuleName> resultRuleNames = responseEntity.getBody();
             assertThat(resultRuleNames).isNotNull();
-            assertThat(resultRuleNames).containsExactlyElementsOf(expectedRuleNames);
+            assertThat(resultRuleNames.getContent()).containsExactlyElementsOf(expectedRuleNames);
         }
 
         @Test
@@ -128,12 +134,12 @@ public class ApiRuleNameControllerTest {
         public void getRuleNamesTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(ruleNameService.getRuleNames(any(Pageable.class))).thenThrow(new UnexpectedRollbackException("Error while getting ruleNames"));
+            when(ruleNameService.getRuleNames(any(ScrollPosition.class), any(Sort.class), anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting ruleNames"));
 
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiRuleNameController.getRuleNames(request))
+                    () -> apiRuleNameController.getRuleNames(null, null, null, request))
                     .getMessage()).isEqualTo("Error while getting ruleNames");
         }
     }
@@ -178,7 +184,7 @@ public class ApiRuleNameControllerTest {
             //GIVEN
             Optional<RuleName> optionalRuleName = Optional.of(ruleName);
             RuleName ruleNameExpected = new RuleName();
-            ruleNameExpected.setId(1);
+            ruleNameExpected.setId(1L);
             ruleNameExpected.setName("Rule Name");
             ruleNameExpected.setDescription("Rule Description");
             ruleNameExpected.setJson("Json");
@@ -209,7 +215,7 @@ public class ApiRuleNameControllerTest {
                             RuleName::getSqlStr,
                             RuleName::getSqlPart)
                     .containsExactly(
-                            1,
+                            1L,
                             "Rule Name",
                             "Rule Description",
                             "Json",
@@ -279,7 +285,7 @@ public class ApiRuleNameControllerTest {
 
             //GIVEN
             ruleName = new RuleName();
-            ruleName.setId(1);
+            ruleName.setId(1L);
             ruleName.setName("Rule Name");
             ruleName.setDescription("Rule Description");
             ruleName.setJson("Json");
@@ -287,10 +293,10 @@ public class ApiRuleNameControllerTest {
             ruleName.setSqlStr("SQL");
             ruleName.setSqlPart("SQL Part");
 
-            when(ruleNameService.getRuleNameById(anyInt())).thenReturn(ruleName);
+            when(ruleNameService.getRuleNameById(anyLong())).thenReturn(ruleName);
 
             //WHEN
-            ResponseEntity<RuleName> responseEntity = apiRuleNameController.getRuleNameById(1, request);
+            ResponseEntity<RuleName> responseEntity = apiRuleNameController.getRuleNameById(1L, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
@@ -306,7 +312,7 @@ public class ApiRuleNameControllerTest {
                             RuleName::getSqlStr,
                             RuleName::getSqlPart)
                     .containsExactly(
-                            1,
+                            1L,
                             "Rule Name",
                             "Rule Description",
                             "Json",
@@ -322,11 +328,11 @@ public class ApiRuleNameControllerTest {
         public void getRuleNameByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(ruleNameService.getRuleNameById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting ruleName"));
+            when(ruleNameService.getRuleNameById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting ruleName"));
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiRuleNameController.getRuleNameById(1, request))
+                    () -> apiRuleNameController.getRuleNameById(1L, request))
                     .getMessage()).isEqualTo("Error while getting ruleName");
         }
     }
@@ -355,7 +361,7 @@ public class ApiRuleNameControllerTest {
         @BeforeEach
         public void setUpForEachTest() {
             ruleName = new RuleName();
-            ruleName.setId(1);
+            ruleName.setId(1L);
             ruleName.setName("Rule Name");
             ruleName.setDescription("Rule Description");
             ruleName.setJson("Json");
@@ -372,7 +378,7 @@ public class ApiRuleNameControllerTest {
             //GIVEN
             Optional<RuleName> optionalRuleName = Optional.of(ruleName);
             RuleName ruleNameExpected = new RuleName();
-            ruleNameExpected.setId(1);
+            ruleNameExpected.setId(1L);
             ruleNameExpected.setName("Rule Name");
             ruleNameExpected.setDescription("Rule Description");
             ruleNameExpected.setJson("Json");
@@ -403,7 +409,7 @@ public class ApiRuleNameControllerTest {
                             RuleName::getSqlStr,
                             RuleName::getSqlPart)
                     .containsExactly(
-                            1,
+                            1L,
                             "Rule Name",
                             "Rule Description",
                             "Json",
@@ -473,7 +479,7 @@ public class ApiRuleNameControllerTest {
 
             //GIVEN
             //WHEN
-            HttpStatus httpStatus = apiRuleNameController.deleteRuleNameById(1, request);
+            HttpStatus httpStatus = apiRuleNameController.deleteRuleNameById(1L, request);
 
             //THEN
             assertThat(httpStatus.is2xxSuccessful()).isTrue();
@@ -485,11 +491,11 @@ public class ApiRuleNameControllerTest {
         public void deleteByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            doThrow(new UnexpectedRollbackException("Error while deleting ruleName")).when(ruleNameService).deleteRuleNameById(anyInt());
+            doThrow(new UnexpectedRollbackException("Error while deleting ruleName")).when(ruleNameService).deleteRuleNameById(anyLong());
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiRuleNameController.deleteRuleNameById(1, request))
+                    () -> apiRuleNameController.deleteRuleNameById(1L, request))
                     .getMessage()).isEqualTo("Error while deleting ruleName");
         }
     }
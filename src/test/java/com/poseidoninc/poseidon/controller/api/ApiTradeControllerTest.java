@@ -1,9 +1,15 @@
 package com.poseidoninc.poseidon.controller.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.BatchProperties;
+import com.poseidoninc.poseidon.configuration.PaginationProperties;
 import com.poseidoninc.poseidon.domain.Trade;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
 import com.poseidoninc.poseidon.service.RequestService;
 import com.poseidoninc.poseidon.service.RequestServiceImpl;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
+import com.poseidoninc.poseidon.service.ScrollPositionServiceImpl;
 import com.poseidoninc.poseidon.service.TradeService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,25 +17,36 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
@@ -49,6 +66,15 @@ public class ApiTradeControllerTest {
     @Spy
     private final RequestService requestService = new RequestServiceImpl();
 
+    @Spy
+    private final ScrollPositionService scrollPositionService = new ScrollPositionServiceImpl(new ObjectMapper(), new PaginationProperties());
+
+    @Spy
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private final BatchProperties batchProperties = new BatchProperties();
+
     private MockHttpServletRequest requestMock;
     private WebRequest request;
     private Trade trade;
@@ -66,11 +92,8 @@ public class ApiTradeControllerTest {
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
     class GetTradesTests {
 
-        private Pageable pageRequest;
-
         @BeforeAll
         public void setUpForAllTests() {
-            pageRequest = Pageable.unpaged();
             requestMock = new MockHttpServletRequest();
             requestMock.setMethod("GET");
             requestMock.setServerName("http://localhost:8080");
@@ -80,20 +103,19 @@ public class ApiTradeControllerTest {
 
         @AfterAll
         public void unSetForAllTests() {
-            pageRequest = null;
             requestMock = null;
             request = null;
         }
 
         @Test
         @Tag("ApiTradeControllerTest")
-        @DisplayName("test getTrades should return a Success ResponseEntity With Iterable Of Trade")
-        public void getTradesTestShouldReturnSuccessResponseEntityWithIterableOfTrade() {
+        @DisplayName("test getTrades should return a Success ResponseEntity With Window Of Trade")
+        public void getTradesTestShouldReturnSuccessResponseEntityWithWindowOfTrade() {
 
             //GIVEN
             List<Trade> expectedTrades = new ArrayList<>();
             trade = new Trade();
-            trade.setTradeId(1);
+            trade.setTradeId(1L);
             trade.setAccount("account");
             trade.setType("type");
             trade.setBuyQuantity(3.0);
@@ -118,7 +140,7 @@ public class ApiTradeControllerTest {
 
             Trade trade2 = new Trade();
             trade2 = new Trade();
-            trade2.setTradeId(2);
+            trade2.setTradeId(2L);
             trade2.setAccount("account2");
             trade2.setType("type2");
             trade2.setBuyQuantity(3.2);
@@ -141,16 +163,16 @@ public class ApiTradeControllerTest {
             trade2.setSide("side2");
             expectedTrades.add(trade2);
 
-            when(tradeService.getTrades(any(Pageable.class))).thenReturn(new PageImpl<Trade>(expectedTrades, pageRequest, 2));
+            when(tradeService.getTrades(any(ScrollPosition.class), any(Sort.class), anyInt())).thenReturn(Window.from(expectedTrades, ScrollPosition::offset));
 
             //WHEN
-            ResponseEntity<Iterable<Trade>> responseEntity = apiTradeController.getTrades(request);
+            ResponseEntity<ApiWindow<Trade>> responseEntity = apiTradeController.getTrades(null, null, null, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
-            Iterable<Trade> resultTrades = responseEntity.getBody();
+            ApiWindow<Trade> resultTrades = responseEntity.getBody();
             assertThat(resultTrades).isNotNull();
-            assertThat(resultTrades).containsExactlyElementsOf(expectedTrades);
+            assertThat(resultTrades.getContent()).containsExactlyElementsOf(expectedTrades);
         }
 
         @Test
@@ -159,16 +181,90 @@ public class ApiTradeControllerTest {
         public void getTradesTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(tradeService.getTrades(any(Pageable.class))).thenThrow(new UnexpectedRollbackException("Error while getting trades"));
+            when(tradeService.getTrades(any(ScrollPosition.class), any(Sort.class), anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting trades"));
 
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiTradeController.getTrades(request))
+                    () -> apiTradeController.getTrades(null, null, null, request))
                     .getMessage()).isEqualTo("Error while getting trades");
         }
     }
 
+    @Nested
+    @Tag("exportTrades")
+    @DisplayName("Tests for /api/trade/export")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class ExportTradesTests {
+
+        @BeforeAll
+        public void setUpForAllTests() {
+            requestMock = new MockHttpServletRequest();
+            requestMock.setMethod("GET");
+            requestMock.setServerName("http://localhost:8080");
+            requestMock.setRequestURI("/api/trade/export");
+            request = new ServletWebRequest(requestMock);
+        }
+
+        @AfterAll
+        public void unSetForAllTests() {
+            requestMock = null;
+            request = null;
+        }
+
+        @Test
+        @Tag("ApiTradeControllerTest")
+        @DisplayName("test exportTrades should write one json trade per line")
+        @SuppressWarnings("unchecked")
+        public void exportTradesTestShouldWriteOneJsonTradePerLine() throws IOException {
+
+            //GIVEN
+            trade = new Trade();
+            trade.setTradeId(1L);
+            trade.setAccount("account");
+            trade.setType("type");
+            Trade trade2 = new Trade();
+            trade2.setTradeId(2L);
+            trade2.setAccount("account2");
+            trade2.setType("type2");
+            when(tradeService.exportTrades(any(Consumer.class))).then(invocation -> {
+                Consumer<Trade> tradeConsumer = invocation.getArgument(0);
+                tradeConsumer.accept(trade);
+                tradeConsumer.accept(trade2);
+                return 2L;
+            });
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            //WHEN
+            ResponseEntity<StreamingResponseBody> responseEntity = apiTradeController.exportTrades(request);
+            Objects.requireNonNull(responseEntity.getBody()).writeTo(outputStream);
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readValue(lines.get(1), Trade.class)).extracting(Trade::getAccount, Trade::getType).containsExactly("account2", "type2");
+        }
+
+        @Test
+        @Tag("ApiTradeControllerTest")
+        @DisplayName("test exportTrades should throw UnexpectedRollbackException")
+        @SuppressWarnings("unchecked")
+        public void exportTradesTestShouldThrowUnexpectedRollbackException() {
+
+            //GIVEN
+            when(tradeService.exportTrades(any(Consumer.class))).thenThrow(new UnexpectedRollbackException("Error while exporting trades"));
+
+            //WHEN
+            ResponseEntity<StreamingResponseBody> responseEntity = apiTradeController.exportTrades(request);
+
+            //THEN
+            assertThat(assertThrows(UnexpectedRollbackException.class,
+                    () -> Objects.requireNonNull(responseEntity.getBody()).writeTo(new ByteArrayOutputStream()))
+                    .getMessage()).isEqualTo("Error while exporting trades");
+        }
+    }
+
     @Nested
     @Tag("createTrade")
     @DisplayName("Tests for /api/trade/create")
@@ -223,7 +319,7 @@ public class ApiTradeControllerTest {
             //GIVEN
             Optional<Trade> optionalTrade = Optional.of(trade);
             Trade tradeExpected = new Trade();
-            tradeExpected.setTradeId(1);
+            tradeExpected.setTradeId(1L);
             tradeExpected.setAccount("account");
             tradeExpected.setType("type");
             tradeExpected.setBuyQuantity(3.0);
@@ -282,7 +378,7 @@ public class ApiTradeControllerTest {
                             Trade::getSourceListId,
                             Trade::getSide)
                     .containsExactly(
-                            1,
+                            1L,
                             "account",
                             "type",
                             3.0,
@@ -338,6 +434,112 @@ public class ApiTradeControllerTest {
         }
     }
 
+    @Nested
+    @Tag("saveTrades")
+    @DisplayName("Tests for /api/trade/batch")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class SaveTradesTests {
+
+        @BeforeAll
+        public void setUpForAllTests() {
+            requestMock = new MockHttpServletRequest();
+            requestMock.setMethod("POST");
+            requestMock.setServerName("http://localhost:8080");
+            requestMock.setRequestURI("/api/trade/batch");
+            request = new ServletWebRequest(requestMock);
+        }
+
+        @AfterAll
+        public void unSetForAllTests() {
+            requestMock = null;
+            request = null;
+        }
+
+        @BeforeEach
+        public void setUpForEachTest() {
+            trade = new Trade();
+            trade.setAccount("account");
+            trade.setType("type");
+        }
+
+        @Test
+        @Tag("ApiTradeControllerTest")
+        @DisplayName("test saveTrades should return a Success ResponseEntity With Saved Trades")
+        public void saveTradesTestShouldReturnASuccessResponseEntityWithSavedTrades() {
+
+            //GIVEN
+            Trade tradeUpdated = new Trade();
+            tradeUpdated.setTradeId(2L);
+            tradeUpdated.setAccount("account updated");
+            tradeUpdated.setType("type");
+            Trade tradeExpected = new Trade();
+            tradeExpected.setTradeId(1L);
+            tradeExpected.setAccount("account");
+            tradeExpected.setType("type");
+            when(tradeService.saveTrades(List.of(trade, tradeUpdated))).thenReturn(List.of(tradeExpected, tradeUpdated));
+
+            //WHEN
+            ResponseEntity<List<Trade>> responseEntity = null;
+            try {
+                responseEntity = apiTradeController.saveTrades(Optional.of(List.of(trade, tradeUpdated)), request);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            assertThat(responseEntity.getBody())
+                    .extracting(Trade::getTradeId, Trade::getAccount)
+                    .containsExactly(tuple(1L, "account"), tuple(2L, "account updated"));
+        }
+
+        @Test
+        @Tag("ApiTradeControllerTest")
+        @DisplayName("test saveTrades with empty array should throw BadRequestException")
+        public void saveTradesTestWithEmptyArrayShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<List<Trade>> optionalTrades = Optional.of(List.of());
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiTradeController.saveTrades(optionalTrades, request))
+                    .getMessage()).isEqualTo("Correct request should be a json array of Trade body");
+        }
+
+        @Test
+        @Tag("ApiTradeControllerTest")
+        @DisplayName("test saveTrades with too many trades should throw BadRequestException")
+        public void saveTradesTestWithTooManyTradesShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<List<Trade>> optionalTrades = Optional.of(Collections.nCopies(batchProperties.getMaxSize() + 1, trade));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiTradeController.saveTrades(optionalTrades, request))
+                    .getMessage()).isEqualTo("Batch should have at most 5000 trades");
+        }
+
+        @Test
+        @Tag("ApiTradeControllerTest")
+        @DisplayName("test saveTrades should throw UnexpectedRollbackException")
+        public void saveTradesTestShouldThrowUnexpectedRollbackException() {
+
+            //GIVEN
+            Optional<List<Trade>> optionalTrades = Optional.of(List.of(trade));
+            when(tradeService.saveTrades(anyList())).thenThrow(new UnexpectedRollbackException("Error while saving trades"));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(UnexpectedRollbackException.class,
+                    () -> apiTradeController.saveTrades(optionalTrades, request))
+                    .getMessage()).isEqualTo("Error while saving trades");
+        }
+    }
+
     @Nested
     @Tag("getTradeById")
     @DisplayName("Tests for /api/trade/update/{id}")
@@ -366,7 +568,7 @@ public class ApiTradeControllerTest {
 
             //GIVEN
             trade = new Trade();
-            trade.setTradeId(1);
+            trade.setTradeId(1L);
             trade.setAccount("account");
             trade.setType("type");
             trade.setBuyQuantity(3.0);
@@ -388,10 +590,10 @@ public class ApiTradeControllerTest {
             trade.setSourceListId("source list id");
             trade.setSide("side");
 
-            when(tradeService.getTradeById(anyInt())).thenReturn(trade);
+            when(tradeService.getTradeById(anyLong())).thenReturn(trade);
 
             //WHEN
-            ResponseEntity<Trade> responseEntity = apiTradeController.getTradeById(1, request);
+            ResponseEntity<Trade> responseEntity = apiTradeController.getTradeById(1L, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
@@ -421,7 +623,7 @@ public class ApiTradeControllerTest {
                             Trade::getSourceListId,
                             Trade::getSide)
                     .containsExactly(
-                            1,
+                            1L,
                             "account",
                             "type",
                             3.0,
@@ -451,11 +653,11 @@ public class ApiTradeControllerTest {
         public void getTradeByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(tradeService.getTradeById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting trade"));
+            when(tradeService.getTradeById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting trade"));
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiTradeController.getTradeById(1, request))
+                    () -> apiTradeController.getTradeById(1L, request))
                     .getMessage()).isEqualTo("Error while getting trade");
         }
     }
@@ -484,7 +686,7 @@ public class ApiTradeControllerTest {
         @BeforeEach
         public void setUpForEachTest() {
             trade = new Trade();
-            trade.setTradeId(1);
+            trade.setTradeId(1L);
             trade.setAccount("account");
             trade.setType("type");
             trade.setBuyQuantity(3.0);
@@ -515,7 +717,7 @@ public class ApiTradeControllerTest {
             //GIVEN
             Optional<Trade> optionalTrade = Optional.of(trade);
             Trade tradeExpected = new Trade();
-            tradeExpected.setTradeId(1);
+            tradeExpected.setTradeId(1L);
             tradeExpected.setAccount("account");
             tradeExpected.setType("type");
             tradeExpected.setBuyQuantity(3.0);
@@ -574,7 +776,7 @@ public class ApiTradeControllerTest {
                             Trade::getSourceListId,
                             Trade::getSide)
                     .containsExactly(
-                            1,
+                            1L,
                             "account",
                             "type",
                             3.0,
@@ -658,7 +860,7 @@ public class ApiTradeControllerTest {
 
             //GIVEN
             //WHEN
-            HttpStatus httpStatus = apiTradeController.deleteTradeById(1, request);
+            HttpStatus httpStatus = apiTradeController.deleteTradeById(1L, request);
 
             //THEN
             assertThat(httpStatus.is2xxSuccessful()).isTrue();
@@ -670,11 +872,11 @@ public class ApiTradeControllerTest {
         public void deleteByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            doThrow(new UnexpectedRollbackException("Error while deleting trade")).when(tradeService).deleteTradeById(anyInt());
+            doThrow(new UnexpectedRollbackException("Error while deleting trade")).when(tradeService).deleteTradeById(anyLong());
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiTradeController.deleteTradeById(1, request))
+                    () -> apiTradeController.deleteTradeById(1L, request))
                     .getMessage()).isEqualTo("Error while deleting trade");
         }
     }
@@ -1,18 +1,28 @@
 package com.poseidoninc.poseidon.controller.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.BatchProperties;
+import com.poseidoninc.poseidon.configuration.PaginationProperties;
 import com.poseidoninc.poseidon.domain.User;
 import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
+import com.poseidoninc.poseidon.service.PasswordValidationService;
+import com.poseidoninc.poseidon.service.PasswordValidationServiceImpl;
 import com.poseidoninc.poseidon.service.RequestService;
 import com.poseidoninc.poseidon.service.RequestServiceImpl;
+import com.poseidoninc.poseidon.service.ScrollPositionService;
+import com.poseidoninc.poseidon.service.ScrollPositionServiceImpl;
 import com.poseidoninc.poseidon.service.UserService;
+import com.poseidoninc.poseidon.validator.PasswordCheck;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -21,6 +31,7 @@ import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +40,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
@@ -48,6 +60,15 @@ public class ApiUserControllerTest {
     @Spy
     private final RequestService requestService = new RequestServiceImpl();
 
+    @Spy
+    private final ScrollPositionService scrollPositionService = new ScrollPositionServiceImpl(new ObjectMapper(), new PaginationProperties());
+
+    @Spy
+    private final PasswordValidationService passwordValidationService = new PasswordValidationServiceImpl();
+
+    @Spy
+    private final BatchProperties batchProperties = new BatchProperties();
+
     private MockHttpServletRequest requestMock;
     private WebRequest request;
     private User user;
@@ -65,11 +86,8 @@ public class ApiUserControllerTest {
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
     class GetUsersTests {
 
-        private Pageable pageRequest;
-
         @BeforeAll
         public void setUpForAllTests() {
-            pageRequest = Pageable.unpaged();
             requestMock = new MockHttpServletRequest();
             requestMock.setMethod("GET");
             requestMock.setServerName("http://localhost:8080");
@@ -79,20 +97,19 @@ public class ApiUserControllerTest {
 
         @AfterAll
         public void unSetForAllTests() {
-            pageRequest = null;
             requestMock = null;
             request = null;
         }
 
         @Test
         @Tag("ApiUserControllerTest")
-        @DisplayName("test getUsers should return a Success ResponseEntity With Iterable Of User")
-        public void getUsersTestShouldReturnSuccessResponseEntityWithIterableOfUser() {
+        @DisplayName("test getUsers should return a Success ResponseEntity With Window Of User")
+        public void getUsersTestShouldReturnSuccessResponseEntityWithWindowOfUser() {
 
             //GIVEN
             List<User> givenUsers = new ArrayList<>();
             user = new User();
-            user.setId(1);
+            user.setId(1L);
             user.setUsername("Aaa");
             user.setPassword("apw1=Passwd");
             user.setFullname("AAA");
@@ -100,23 +117,23 @@ public class ApiUserControllerTest {
             givenUsers.add(user);
 
             User user2 = new User();
-            user2.setId(2);
+            user2.setId(2L);
             user2.setUsername("Bbb");
             user2.setPassword("bpw2=Passwd");
             user2.setFullname("BBB");
             user2.setRole("USER");
             givenUsers.add(user2);
 
-            when(userService.getUsers(any(Pageable.class))).thenReturn(new PageImpl<User>(givenUsers, pageRequest, 2).map(user -> {user.setPassword(""); return user;}));
+            when(userService.getUsers(any(ScrollPosition.class), any(Sort.class), anyInt())).thenReturn(Window.from(givenUsers, ScrollPosition::offset).map(user -> {user.setPassword(""); return user;}));
 
             //WHEN
-            ResponseEntity<Iterable<User>> responseEntity = apiUserController.getUsers(request);
+            ResponseEntity<ApiWindow<User>> responseEntity = apiUserController.getUsers(null, null, null, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
-            Iterable<User> resultUsers = responseEntity.getBody();
+            ApiWindow<User> resultUsers = responseEntity.getBody();
             assertThat(resultUsers).isNotNull();
-            assertThat(resultUsers)
+            assertThat(resultUsers.getContent())
                     .extracting(
                             User::getId,
                             User::getUsername,
@@ -124,8 +141,8 @@ public class ApiUserControllerTest {
                             User::getFullname,
                             User::getRole)
                     .containsExactly(
-                            tuple(1, "Aaa", "", "AAA", "USER"),
-                            tuple(2, "Bbb", "", "BBB", "USER"));
+                            tuple(1L, "Aaa", "", "AAA", "USER"),
+                            tuple(2L, "Bbb", "", "BBB", "USER"));
         }
 
         @Test
@@ -134,12 +151,12 @@ public class ApiUserControllerTest {
         public void getUsersTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(userService.getUsers(any(Pageable.class))).thenThrow(new UnexpectedRollbackException("Error while getting users"));
+            when(userService.getUsers(any(ScrollPosition.class), any(Sort.class), anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting users"));
 
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiUserController.getUsers(request))
+                    () -> apiUserController.getUsers(null, null, null, request))
                     .getMessage()).isEqualTo("Error while getting users");
         }
     }
@@ -168,7 +185,7 @@ public class ApiUserControllerTest {
         @BeforeEach
         public void setUpForEachTest() {
             user = new User();
-            user.setId(1);
+            user.setId(1L);
             user.setUsername("Aaa");
             user.setPassword("apw1=Passwd");
             user.setFullname("AAA");
@@ -183,7 +200,7 @@ public class ApiUserControllerTest {
             //GIVEN
             Optional<User> optionalUser = Optional.of(user);
             User userExpected = new User();
-            userExpected.setId(1);
+            userExpected.setId(1L);
             userExpected.setUsername("Aaa");
             userExpected.setPassword("");
             userExpected.setFullname("AAA");
@@ -210,7 +227,7 @@ public class ApiUserControllerTest {
                             User::getFullname,
                             User::getRole)
                     .containsExactly(
-                            1,
+                            1L,
                             "Aaa",
                             "",
                             "AAA",
@@ -250,6 +267,81 @@ public class ApiUserControllerTest {
         }
     }
 
+    @Nested
+    @Tag("validatePasswords")
+    @DisplayName("Tests for /api/user/password/validate")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class ValidatePasswordsTests {
+
+        @BeforeAll
+        public void setUpForAllTests() {
+            requestMock = new MockHttpServletRequest();
+            requestMock.setMethod("POST");
+            requestMock.setServerName("http://localhost:8080");
+            requestMock.setRequestURI("/api/user/password/validate");
+            request = new ServletWebRequest(requestMock);
+        }
+
+        @AfterAll
+        public void unSetForAllTests() {
+            requestMock = null;
+            request = null;
+        }
+
+        @Test
+        @Tag("ApiUserControllerTest")
+        @DisplayName("test validatePasswords should return a Success ResponseEntity With a check per password")
+        public void validatePasswordsTestShouldReturnASuccessResponseEntityWithACheckPerPassword() {
+
+            //GIVEN
+            Optional<List<String>> optionalPasswords = Optional.of(List.of("apw1=Passwd", "apw1Passwd"));
+
+            //WHEN
+            ResponseEntity<List<PasswordCheck>> responseEntity = null;
+            try {
+                responseEntity = apiUserController.validatePasswords(optionalPasswords, request);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+
+            //THEN
+            assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
+            assertThat(responseEntity.getBody())
+                    .extracting(PasswordCheck::index, PasswordCheck::valid)
+                    .containsExactly(tuple(0, true), tuple(1, false));
+        }
+
+        @Test
+        @Tag("ApiUserControllerTest")
+        @DisplayName("test validatePasswords should throw BadRequestException")
+        public void validatePasswordsTestShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<List<String>> optionalPasswords = Optional.of(List.of());
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiUserController.validatePasswords(optionalPasswords, request))
+                    .getMessage()).isEqualTo("Correct request should be a json array of passwords");
+        }
+
+        @Test
+        @Tag("ApiUserControllerTest")
+        @DisplayName("test validatePasswords over max size should throw BadRequestException")
+        public void validatePasswordsOverMaxSizeTestShouldThrowBadRequestException() {
+
+            //GIVEN
+            Optional<List<String>> optionalPasswords = Optional.of(Collections.nCopies(batchProperties.getMaxSize() + 1, "apw1=Passwd"));
+
+            //WHEN
+            //THEN
+            assertThat(assertThrows(BadRequestException.class,
+                    () -> apiUserController.validatePasswords(optionalPasswords, request))
+                    .getMessage()).isEqualTo("Batch should have at most 5000 passwords");
+        }
+    }
+
     @Nested
     @Tag("getUserById")
     @DisplayName("Tests for /api/user/update/{id}")
@@ -278,16 +370,16 @@ public class ApiUserControllerTest {
 
             //GIVEN
             user = new User();
-            user.setId(1);
+            user.setId(1L);
             user.setUsername("Aaa");
             user.setPassword("");
             user.setFullname("AAA");
             user.setRole("USER");
 
-            when(userService.getUserByIdWithBlankPasswd(anyInt())).thenReturn(user);
+            when(userService.getUserByIdWithBlankPasswd(anyLong())).thenReturn(user);
 
             //WHEN
-            ResponseEntity<User> responseEntity = apiUserController.getUserById(1, request);
+            ResponseEntity<User> responseEntity = apiUserController.getUserById(1L, request);
 
             //THEN
             assertThat(responseEntity.getStatusCode().is2xxSuccessful()).isTrue();
@@ -301,7 +393,7 @@ public class ApiUserControllerTest {
                             User::getFullname,
                             User::getRole)
                     .containsExactly(
-                            1,
+                            1L,
                             "Aaa",
                             "",
                             "AAA",
@@ -315,11 +407,11 @@ public class ApiUserControllerTest {
         public void getUserByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            when(userService.getUserByIdWithBlankPasswd(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting user"));
+            when(userService.getUserByIdWithBlankPasswd(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting user"));
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiUserController.getUserById(1, request))
+                    () -> apiUserController.getUserById(1L, request))
                     .getMessage()).isEqualTo("Error while getting user");
         }
     }
@@ -348,7 +440,7 @@ public class ApiUserControllerTest {
         @BeforeEach
         public void setUpForEachTest() {
             user = new User();
-            user.setId(1);
+            user.setId(1L);
             user.setUsername("Aaa");
             user.setPassword("apw1=Passwd");
             user.setFullname("AAA");
@@ -363,7 +455,7 @@ public class ApiUserControllerTest {
             //GIVEN
             Optional<User> optionalUser = Optional.of(user);
             User userExpected = new User();
-            userExpected.setId(1);
+            userExpected.setId(1L);
             userExpected.setUsername("Aaa");
             userExpected.setPassword("");
             userExpected.setFullname("AAA");
@@ -390,7 +482,7 @@ public class ApiUserControllerTest {
                             User::getFullname,
                             User::getRole)
                     .containsExactly(
-                            1,
+                            1L,
                             "Aaa",
                             "",
                             "AAA",
@@ -458,7 +550,7 @@ public class ApiUserControllerTest {
 
             //GIVEN
             //WHEN
-            HttpStatus httpStatus = apiUserController.deleteUserById(1, request);
+            HttpStatus httpStatus = apiUserController.deleteUserById(1L, request);
 
             //THEN
             assertThat(httpStatus.is2xxSuccessful()).isTrue();
@@ -470,11 +562,11 @@ public class ApiUserControllerTest {
         public void deleteByIdTestShouldThrowUnexpectedRollbackException() {
 
             //GIVEN
-            doThrow(new UnexpectedRollbackException("Error while deleting user")).when(userService).deleteUserById(anyInt());
+            doThrow(new UnexpectedRollbackException("Error while deleting user")).when(userService).deleteUserById(anyLong());
             //WHEN
             //THEN
             assertThat(assertThrows(UnexpectedRollbackException.class,
-                    () -> apiUserController.deleteUserById(1, request))
+                    () -> apiUserController.deleteUserById(1L, request))
                     .getMessage()).isEqualTo("Error while deleting user");
         }
     }
@@ -0,0 +1,204 @@
+package com.poseidoninc.poseidon.curve;
+
+import com.poseidoninc.poseidon.configuration.CurveBootstrapProperties;
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import com.poseidoninc.poseidon.repository.CurvePointRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.*;
+
+/**
+ * unit test class for the CurveBootstrapJob and BootstrappedCurve
+ * @author olivier morel
+ */
+@ExtendWith(MockitoExtension.class)
+public class CurveBootstrapJobTest {
+
+	private static final LocalDateTime AS_OF_DATE = LocalDateTime.of(2023, 1, 21, 18, 0);
+
+	@Mock
+	private CurvePointRepository curvePointRepository;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private CurveBootstrapJob curveBootstrapJob;
+
+	@BeforeEach
+	public void setUpForEachTest() {
+		CurveBootstrapProperties curveBootstrapProperties = new CurveBootstrapProperties();
+		curveBootstrapProperties.setParallelism(4);
+		curveBootstrapJob = new CurveBootstrapJob(curvePointRepository, entityManager, transactionManager, curveBootstrapProperties);
+	}
+
+	@AfterEach
+	public void unSetForEachTests() {
+		curveBootstrapJob.close();
+	}
+
+	private static CurvePoint curvePoint(Integer curveId, Double term, Double value) {
+		CurvePoint curvePoint = new CurvePoint();
+		curvePoint.setCurveId(curveId);
+		curvePoint.setAsOfDate(AS_OF_DATE);
+		curvePoint.setTerm(term);
+		curvePoint.setValue(value);
+		return curvePoint;
+	}
+
+	@Test
+	@Tag("CurveBootstrapJobTest")
+	@DisplayName("BootstrappedCurve of a flat par curve with yearly terms should discount at the par rate")
+	public void bootstrappedCurveOfAFlatParCurveWithYearlyTermsShouldDiscountAtTheParRate() {
+
+		//GIVEN
+		List<CurvePoint> curvePoints = new ArrayList<>();
+		curvePoints.add(curvePoint(1, 0.0, 0.05));
+		for (int year = 1; year <= 5; year++) {
+			curvePoints.add(curvePoint(1, (double) year, 0.05));
+		}
+
+		//WHEN
+		BootstrappedCurve bootstrappedCurve = BootstrappedCurve.of(CurveSnapshot.of(1, AS_OF_DATE, curvePoints));
+
+		//THEN
+		assertThat(bootstrappedCurve.terms()).containsExactly(1.0, 2.0, 3.0, 4.0, 5.0);
+		for (int i = 0; i < 5; i++) {
+			assertThat(bootstrappedCurve.discountFactors()[i]).isCloseTo(Math.pow(1.05, -(i + 1)), within(1e-12));
+			assertThat(bootstrappedCurve.zeroRates()[i]).isCloseTo(Math.log(1.05), within(1e-12));
+		}
+	}
+
+	@Test
+	@Tag("CurveBootstrapJobTest")
+	@DisplayName("bootstrapAll Test should return the same curves in the same order whatever the parallelism")
+	public void bootstrapAllTestShouldReturnTheSameCurvesInTheSameOrderWhateverTheParallelism() {
+
+		//GIVEN
+		Random random = new Random(3);
+		List<CurveSnapshot> curves = new ArrayList<>();
+		for (int curveId = 1; curveId <= 300; curveId++) {
+			List<CurvePoint> curvePoints = new ArrayList<>();
+			for (int i = 1; i <= 100; i++) {
+				curvePoints.add(curvePoint(curveId, i * 0.25, 0.01 + random.nextDouble() * 0.04));
+			}
+			curves.add(CurveSnapshot.of(curveId, AS_OF_DATE, curvePoints));
+		}
+		ForkJoinPool sequentialPool = new ForkJoinPool(1);
+		ForkJoinPool parallelPool = new ForkJoinPool(8);
+
+		//WHEN
+		List<BootstrappedCurve> sequential = CurveBootstrapJob.bootstrapAll(curves, sequentialPool);
+		List<BootstrappedCurve> parallel = CurveBootstrapJob.bootstrapAll(curves, parallelPool);
+		sequentialPool.shutdown();
+		parallelPool.shutdown();
+
+		//THEN
+		assertThat(parallel).hasSize(300);
+		for (int i = 0; i < 300; i++) {
+			assertThat(parallel.get(i).curveId()).isEqualTo(i + 1);
+			assertThat(parallel.get(i).zeroRates()).isEqualTo(sequential.get(i).zeroRates());
+			assertThat(parallel.get(i).discountFactors()).isEqualTo(sequential.get(i).discountFactors());
+		}
+	}
+
+	@Test
+	@Tag("CurveBootstrapJobTest")
+	@DisplayName("run Test should bootstrap each curve of the day and store it")
+	public void runTestShouldBootstrapEachCurveOfTheDayAndStoreIt() {
+
+		//GIVEN
+		when(curvePointRepository.streamCurves(LocalDateTime.of(2023, 1, 21, 0, 0), LocalDateTime.of(2023, 1, 22, 0, 0)))
+				.thenReturn(Stream.of(curvePoint(1, 1.0, 0.05), curvePoint(1, 2.0, 0.05), curvePoint(2, 1.0, 0.03)));
+
+		//WHEN
+		List<BootstrappedCurve> bootstrappedCurves = curveBootstrapJob.run(LocalDate.of(2023, 1, 21));
+
+		//THEN
+		assertThat(bootstrappedCurves).extracting(BootstrappedCurve::curveId).containsExactly(1, 2);
+		assertThat(bootstrappedCurves.get(0).terms()).containsExactly(1.0, 2.0);
+		assertThat(curveBootstrapJob.getBootstrappedCurve(2, AS_OF_DATE)).get().isSameAs(bootstrappedCurves.get(1));
+		assertThat(curveBootstrapJob.getBootstrappedCurve(2, AS_OF_DATE.plusDays(1))).isEmpty();
+		verify(entityManager, times(3)).detach(any(CurvePoint.class));
+	}
+
+	@Test
+	@Tag("CurveBootstrapJobTest")
+	@DisplayName("getBootstrappedCurve Test should return copies of the arrays of the stored curve")
+	public void getBootstrappedCurveTestShouldReturnCopiesOfTheArraysOfTheStoredCurve() {
+
+		//GIVEN
+		when(curvePointRepository.streamCurves(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(Stream.of(curvePoint(1, 1.0, 0.05)));
+		curveBootstrapJob.run(LocalDate.of(2023, 1, 21));
+
+		//WHEN
+		curveBootstrapJob.getBootstrappedCurve(1, AS_OF_DATE).get().discountFactors()[0] = 0;
+		curveBootstrapJob.getBootstrappedCurve(1, AS_OF_DATE).get().zeroRates()[0] = 0;
+
+		//THEN
+		assertThat(curveBootstrapJob.getBootstrappedCurve(1, AS_OF_DATE).get().discountFactors()).containsExactly(1 / 1.05);
+		assertThat(curveBootstrapJob.getBootstrappedCurve(1, AS_OF_DATE).get().zeroRates()[0]).isCloseTo(Math.log(1.05), within(1e-12));
+	}
+
+	@Test
+	@Tag("CurveBootstrapJobTest")
+	@DisplayName("invalidateAfterCommit Test should remove the bootstrapped curve")
+	public void invalidateAfterCommitTestShouldRemoveTheBootstrappedCurve() {
+
+		//GIVEN
+		when(curvePointRepository.streamCurves(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(Stream.of(curvePoint(1, 1.0, 0.05), curvePoint(2, 1.0, 0.03)));
+		curveBootstrapJob.run(LocalDate.of(2023, 1, 21));
+
+		//WHEN
+		curveBootstrapJob.invalidateAfterCommit(1, AS_OF_DATE);
+
+		//THEN
+		assertThat(curveBootstrapJob.getBootstrappedCurve(1, AS_OF_DATE)).isEmpty();
+		assertThat(curveBootstrapJob.getBootstrappedCurve(2, AS_OF_DATE)).isPresent();
+	}
+
+	@Test
+	@Tag("CurveBootstrapJobTest")
+	@DisplayName("run Test should not keep a curve written during its scan")
+	public void runTestShouldNotKeepACurveWrittenDuringItsScan() {
+
+		//GIVEN
+		when(curvePointRepository.streamCurves(any(LocalDateTime.class), any(LocalDateTime.class))).thenAnswer(invocation -> {
+			//committed after the rows of the curve were read
+			curveBootstrapJob.invalidateAfterCommit(1, AS_OF_DATE);
+			return Stream.of(curvePoint(1, 1.0, 0.05), curvePoint(2, 1.0, 0.03));
+		}).thenReturn(Stream.of(curvePoint(1, 1.0, 0.04)));
+
+		//WHEN
+		List<BootstrappedCurve> bootstrappedCurves = curveBootstrapJob.run(LocalDate.of(2023, 1, 21));
+
+		//THEN
+		assertThat(bootstrappedCurves).hasSize(2);
+		assertThat(curveBootstrapJob.getBootstrappedCurve(1, AS_OF_DATE)).isEmpty();
+		assertThat(curveBootstrapJob.getBootstrappedCurve(2, AS_OF_DATE)).isPresent();
+		//the next run keeps it
+		curveBootstrapJob.run(LocalDate.of(2023, 1, 21));
+		assertThat(curveBootstrapJob.getBootstrappedCurve(1, AS_OF_DATE).get().discountFactors()).containsExactly(1 / 1.04);
+	}
+}
@@ -0,0 +1,151 @@
+package com.poseidoninc.poseidon.curve;
+
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * unit test class for the CurveHistory, its CurveSeries and its CurveHistorySegment
+ * @author olivier morel
+ */
+public class CurveHistoryTest {
+
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private static CurvePoint curvePoint(Integer curveId, LocalDateTime asOfDate, Double term, Double value) {
+        CurvePoint curvePoint = new CurvePoint();
+        curvePoint.setCurveId(curveId);
+        curvePoint.setAsOfDate(asOfDate);
+        curvePoint.setTerm(term);
+        curvePoint.setValue(value);
+        return curvePoint;
+    }
+
+    /*
+     * daily curves of 100 points for two curves, values moving a little each day, rows in (CurveId, asOfDate, term) order
+     */
+    private static CurveHistory dailyHistory(int days) {
+        Random random = new Random(11);
+        CurveHistory.Builder builder = CurveHistory.builder();
+        for (int curveId = 1; curveId <= 2; curveId++) {
+            double[] values = new double[100];
+            for (int day = 0; day < days; day++) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = day == 0 ? 0.02 + i * 0.0001 : values[i] + (random.nextInt(3) - 1) * 0.0001;
+                    builder.add(curvePoint(curveId, FIRST_DATE.plusDays(day), (i + 1) * 0.25, values[i]));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    @Test
+    @Tag("CurveHistoryTest")
+    @DisplayName("range Test should return the dates between from and to included")
+    public void rangeTestShouldReturnTheDatesBetweenFromAndToIncluded() {
+
+        //GIVEN
+        CurveHistory curveHistory = dailyHistory(10);
+
+        //WHEN
+        List<CurveSnapshot> curveSnapshots = curveHistory.range(2, FIRST_DATE.plusDays(3), FIRST_DATE.plusDays(5));
+
+        //THEN
+        assertThat(curveSnapshots).extracting(CurveSnapshot::getAsOfDate).containsExactly(FIRST_DATE.plusDays(3), FIRST_DATE.plusDays(4), FIRST_DATE.plusDays(5));
+        assertThat(curveSnapshots).allSatisfy(curveSnapshot -> {
+            assertThat(curveSnapshot.getCurveId()).isEqualTo(2);
+            assertThat(curveSnapshot.size()).isEqualTo(100);
+        });
+        assertThat(curveHistory.count(2, FIRST_DATE.plusDays(3), FIRST_DATE.plusDays(5))).isEqualTo(3);
+        assertThat(curveHistory.range(2, FIRST_DATE.plusHours(1), FIRST_DATE.plusHours(23))).isEmpty();
+        assertThat(curveHistory.count(2, FIRST_DATE.plusHours(1), FIRST_DATE.plusHours(23))).isZero();
+        assertThat(curveHistory.count(2, FIRST_DATE.plusDays(5), FIRST_DATE.plusDays(3))).isZero();
+        assertThat(curveHistory.count(2, null, null)).isEqualTo(10);
+        assertThat(curveHistory.count(3, null, null)).isZero();
+        assertThat(curveHistory.range(2, null, null)).hasSize(10);
+        assertThat(curveHistory.range(3, null, null)).isEmpty();
+        assertThat(curveHistory.size()).isEqualTo(20);
+        assertThat(curveHistory.pointCount()).isEqualTo(2000);
+    }
+
+    @Test
+    @Tag("CurveHistoryTest")
+    @DisplayName("builder Test should ignore rows without date, term or value and duplicated terms")
+    public void builderTestShouldIgnoreRowsWithoutDateTermOrValueAndDuplicatedTerms() {
+
+        //GIVEN
+        CurveHistory.Builder builder = CurveHistory.builder()
+                .add(curvePoint(1, null, 1.0, 1.0))
+                .add(curvePoint(1, FIRST_DATE, 1.0, 10.0))
+                .add(curvePoint(1, FIRST_DATE, 1.0, 11.0))
+                .add(curvePoint(1, FIRST_DATE, 2.0, null))
+                .add(curvePoint(1, FIRST_DATE, 3.0, 30.0));
+
+        //WHEN
+        List<CurveSnapshot> curveSnapshots = builder.build().range(1, null, null);
+
+        //THEN
+        assertThat(curveSnapshots).singleElement().satisfies(curveSnapshot -> {
+            assertThat(curveSnapshot.getTerms()).containsExactly(1.0, 3.0);
+            assertThat(curveSnapshot.getValues()).containsExactly(10.0, 30.0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> builder.add(curvePoint(1, FIRST_DATE.minusDays(1), 1.0, 1.0)));
+    }
+
+    @Test
+    @Tag("CurveHistoryTest")
+    @DisplayName("segment Test should read the history written, smaller than its doubles")
+    public void segmentTestShouldReadTheHistoryWrittenSmallerThanItsDoubles() throws IOException {
+
+        //GIVEN
+        CurveHistory curveHistory = dailyHistory(250);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //WHEN
+        CurveHistorySegment.write(curveHistory, outputStream);
+        CurveHistory curveHistoryRead = CurveHistorySegment.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        //THEN
+        for (CurveSeries curveSeries : curveHistory.getSeries()) {
+            List<CurveSnapshot> expected = curveSeries.range(null, null);
+            List<CurveSnapshot> read = curveHistoryRead.range(curveSeries.getCurveId(), null, null);
+            assertThat(read).hasSameSizeAs(expected);
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(read.get(i).getAsOfDate()).isEqualTo(expected.get(i).getAsOfDate());
+                assertThat(read.get(i).getTerms()).containsExactly(expected.get(i).getTerms());
+                assertThat(read.get(i).getValues()).containsExactly(expected.get(i).getValues());
+            }
+        }
+        //terms and values as raw doubles
+        assertThat(outputStream.size()).isLessThan((int) (curveHistory.pointCount() * 16 / 2));
+    }
+
+    @Test
+    @Tag("CurveHistoryTest")
+    @DisplayName("segment Test should throw IOException on a corrupted segment")
+    public void segmentTestShouldThrowIOExceptionOnACorruptedSegment() throws IOException {
+
+        //GIVEN
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CurveHistorySegment.write(dailyHistory(5), outputStream);
+        byte[] segment = outputStream.toByteArray();
+        //last byte of the value column, before the checksum
+        segment[segment.length - 9] ^= 1;
+
+        //WHEN
+        //THEN
+        assertThrows(IOException.class, () -> CurveHistorySegment.read(new ByteArrayInputStream(segment)));
+        assertThrows(IOException.class, () -> CurveHistorySegment.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5})));
+    }
+}
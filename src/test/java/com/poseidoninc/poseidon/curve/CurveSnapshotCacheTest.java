@@ -0,0 +1,197 @@
+package com.poseidoninc.poseidon.curve;
+
+import com.poseidoninc.poseidon.configuration.CurveCacheProperties;
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import com.poseidoninc.poseidon.repository.CurvePointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * unit test class for the CurveSnapshotCache
+ * @author olivier morel
+ */
+@ExtendWith(MockitoExtension.class)
+public class CurveSnapshotCacheTest {
+
+	@Mock
+	private CurvePointRepository curvePointRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private CurveSnapshotCache curveSnapshotCache;
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	@BeforeEach
+	public void setUpForEachTest() {
+		CurveCacheProperties curveCacheProperties = new CurveCacheProperties();
+		curveCacheProperties.setMaxPoints(4);
+		curveCacheProperties.setExpireAfterWrite(Duration.ofMinutes(5));
+		//evictions on the calling thread and time of the test
+		curveSnapshotCache = new CurveSnapshotCache(curvePointRepository, transactionManager, curveCacheProperties, nanos::get, Runnable::run);
+	}
+
+	private static CurvePoint curvePoint(Long id, Double term, Double value) {
+		return curvePoint(id, 2, term, value);
+	}
+
+	private static CurvePoint curvePoint(Long id, Integer curveId, Double term, Double value) {
+		CurvePoint curvePoint = new CurvePoint();
+		curvePoint.setId(id);
+		curvePoint.setCurveId(curveId);
+		curvePoint.setTerm(term);
+		curvePoint.setValue(value);
+		return curvePoint;
+	}
+
+	@Test
+	@Tag("CurveSnapshotCacheTest")
+	@DisplayName("get Test should read the curve once then return the same snapshot")
+	public void getTestShouldReadTheCurveOnceThenReturnTheSameSnapshot() {
+
+		//GIVEN
+		when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(2, null)).thenReturn(List.of(curvePoint(1L, 1.0, 10.0)));
+
+		//WHEN
+		CurveSnapshot curveSnapshot = curveSnapshotCache.get(2, null);
+
+		//THEN
+		assertThat(curveSnapshotCache.get(2, null)).isSameAs(curveSnapshot);
+		assertThat(curveSnapshotCache.getCurvePoint(1L)).get().extracting(CurvePoint::getValue).isEqualTo(10.0);
+		assertThat(curveSnapshotCache.getCurvePoint(2L)).isEmpty();
+		verify(curvePointRepository, times(1)).findByCurveIdAndAsOfDateOrderByTerm(2, null);
+	}
+
+	@Test
+	@Tag("CurveSnapshotCacheTest")
+	@DisplayName("get Test should not cache a curve without point")
+	public void getTestShouldNotCacheACurveWithoutPoint() {
+
+		//GIVEN
+		when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(2, null)).thenReturn(List.of());
+
+		//WHEN
+		curveSnapshotCache.get(2, null);
+		CurveSnapshot curveSnapshot = curveSnapshotCache.get(2, null);
+
+		//THEN
+		assertThat(curveSnapshot.isEmpty()).isTrue();
+		verify(curvePointRepository, times(2)).findByCurveIdAndAsOfDateOrderByTerm(2, null);
+	}
+
+	@Test
+	@Tag("CurveSnapshotCacheTest")
+	@DisplayName("publishAfterCommit Test should publish a new snapshot only after commit")
+	public void publishAfterCommitTestShouldPublishANewSnapshotOnlyAfterCommit() {
+
+		//GIVEN
+		when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(2, null))
+				.thenReturn(List.of(curvePoint(1L, 1.0, 10.0), curvePoint(2L, 2.0, 20.0)))
+				.thenReturn(List.of(curvePoint(1L, 1.0, 11.0)));
+		CurveSnapshot curveSnapshot = curveSnapshotCache.get(2, null);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+
+			//WHEN
+			curveSnapshotCache.publishAfterCommit(2, null);
+
+			//THEN
+			assertThat(curveSnapshotCache.get(2, null)).isSameAs(curveSnapshot);
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertThat(curveSnapshotCache.get(2, null).getValues()).containsExactly(11.0);
+		assertThat(curveSnapshotCache.getCurvePoint(2L)).isEmpty();
+		//the previous snapshot is unchanged for its readers
+		assertThat(curveSnapshot.getValues()).containsExactly(10.0, 20.0);
+	}
+
+	@Test
+	@Tag("CurveSnapshotCacheTest")
+	@DisplayName("get Test should not replace a snapshot published by a later read")
+	public void getTestShouldNotReplaceASnapshotPublishedByALaterRead() {
+
+		//GIVEN
+		AtomicInteger reads = new AtomicInteger();
+		when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(2, null)).then(invocation -> {
+			if (reads.incrementAndGet() == 1) {
+				//a write commits while the first read is running
+				curveSnapshotCache.publishAfterCommit(2, null);
+				return List.of(curvePoint(1L, 1.0, 10.0));
+			}
+			return List.of(curvePoint(1L, 1.0, 11.0));
+		});
+
+		//WHEN
+		CurveSnapshot curveSnapshot = curveSnapshotCache.get(2, null);
+
+		//THEN
+		assertThat(curveSnapshot.getValues()).containsExactly(11.0);
+		assertThat(curveSnapshotCache.get(2, null)).isSameAs(curveSnapshot);
+		assertThat(curveSnapshotCache.getCurvePoint(1L)).get().extracting(CurvePoint::getValue).isEqualTo(11.0);
+	}
+
+	@Test
+	@Tag("CurveSnapshotCacheTest")
+	@DisplayName("get Test should evict the least used curve over max points with its points")
+	public void getTestShouldEvictTheLeastUsedCurveOverMaxPointsWithItsPoints() {
+
+		//GIVEN
+		when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(1, null)).thenReturn(List.of(curvePoint(1L, 1, 1.0, 10.0)));
+		when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(2, null)).thenReturn(List.of(curvePoint(2L, 1.0, 10.0), curvePoint(3L, 2.0, 20.0)));
+		curveSnapshotCache.get(1, null);
+		curveSnapshotCache.get(1, null);
+
+		//WHEN
+		//weights 2 and 3 over max points 4
+		curveSnapshotCache.get(2, null);
+
+		//THEN
+		assertThat(curveSnapshotCache.getCurvePoint(1L)).isPresent();
+		assertThat(curveSnapshotCache.getCurvePoint(2L)).isEmpty();
+		assertThat(curveSnapshotCache.getCurvePoint(3L)).isEmpty();
+		curveSnapshotCache.get(2, null);
+		verify(curvePointRepository, times(2)).findByCurveIdAndAsOfDateOrderByTerm(2, null);
+	}
+
+	@Test
+	@Tag("CurveSnapshotCacheTest")
+	@DisplayName("get Test should read again a curve cached for longer than expireAfterWrite")
+	public void getTestShouldReadAgainACurveCachedForLongerThanExpireAfterWrite() {
+
+		//GIVEN
+		//written by another instance after the first read
+		when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(2, null))
+				.thenReturn(List.of(curvePoint(1L, 1.0, 10.0)))
+				.thenReturn(List.of(curvePoint(1L, 1.0, 11.0)));
+		curveSnapshotCache.get(2, null);
+		nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+		assertThat(curveSnapshotCache.get(2, null).getValues()).containsExactly(10.0);
+
+		//WHEN
+		nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+		//THEN
+		assertThat(curveSnapshotCache.getCurvePoint(1L)).isEmpty();
+		assertThat(curveSnapshotCache.get(2, null).getValues()).containsExactly(11.0);
+		assertThat(curveSnapshotCache.getCurvePoint(1L)).get().extracting(CurvePoint::getValue).isEqualTo(11.0);
+	}
+}
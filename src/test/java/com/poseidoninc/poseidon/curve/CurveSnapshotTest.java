@@ -0,0 +1,183 @@
+package com.poseidoninc.poseidon.curve;
+
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * unit test class for the CurveSnapshot and its Interpolation methods
+ * @author olivier morel
+ */
+public class CurveSnapshotTest {
+
+    private static CurvePoint curvePoint(Double term, Double value) {
+        CurvePoint curvePoint = new CurvePoint();
+        curvePoint.setCurveId(1);
+        curvePoint.setTerm(term);
+        curvePoint.setValue(value);
+        return curvePoint;
+    }
+
+    /*
+     * (1, 1) (2, 2) (4, 2) given out of order
+     */
+    private final CurveSnapshot curveSnapshot = CurveSnapshot.of(1, null, List.of(curvePoint(4.0, 2.0), curvePoint(1.0, 1.0), curvePoint(2.0, 2.0)));
+
+    @Test
+    @Tag("CurveSnapshotTest")
+    @DisplayName("of Test should order terms and ignore points without term or value and duplicated terms")
+    public void ofTestShouldOrderTermsAndIgnorePointsWithoutTermOrValueAndDuplicatedTerms() {
+
+        //GIVEN
+        List<CurvePoint> curvePoints = List.of(curvePoint(3.0, 30.0), curvePoint(null, 1.0), curvePoint(1.0, null), curvePoint(1.0, 10.0), curvePoint(3.0, 31.0));
+
+        //WHEN
+        CurveSnapshot snapshot = CurveSnapshot.of(1, null, curvePoints);
+
+        //THEN
+        assertThat(snapshot.getTerms()).containsExactly(1.0, 3.0);
+        assertThat(snapshot.getValues()).containsExactly(10.0, 30.0);
+        assertThat(CurveSnapshot.of(1, null, List.of()).isEmpty()).isTrue();
+    }
+
+    @Test
+    @Tag("CurveSnapshotTest")
+    @DisplayName("interpolate Test with LINEAR should return linear values and flat values outside the curve")
+    public void interpolateTestWithLinearShouldReturnLinearValuesAndFlatValuesOutsideTheCurve() {
+
+        //GIVEN
+        double[] terms = {0.5, 1.0, 1.5, 2.0, 3.0, 5.0};
+
+        //WHEN
+        double[] values = curveSnapshot.interpolate(terms, Interpolation.LINEAR);
+
+        //THEN
+        assertThat(values).containsExactly(new double[] {1.0, 1.0, 1.5, 2.0, 2.0, 2.0}, within(1e-12));
+    }
+
+    @Test
+    @Tag("CurveSnapshotTest")
+    @DisplayName("interpolate Test with LOG_LINEAR should return the par rate of the log-linear discount factor")
+    public void interpolateTestWithLogLinearShouldReturnTheParRateOfTheLogLinearDiscountFactor() {
+
+        //GIVEN
+        //flat 5% par rates with yearly coupons : DF(t) = 1.05^-t at the terms
+        CurveSnapshot parCurve = CurveSnapshot.of(1, null, List.of(curvePoint(1.0, 0.05), curvePoint(2.0, 0.05)));
+
+        //WHEN
+        double value = parCurve.interpolate(1.5, Interpolation.LOG_LINEAR);
+
+        //THEN
+        //DF(1.5) = 1.05^-1.5, coupons at 1 and 1.5 : S = (1 - DF(1.5)) / (DF(1) + 0.5 * DF(1.5))
+        double discountFactor = Math.pow(1.05, -1.5);
+        assertThat(value).isCloseTo((1 - discountFactor) / (1 / 1.05 + 0.5 * discountFactor), within(1e-12));
+        assertThat(parCurve.interpolate(2.0, Interpolation.LOG_LINEAR)).isEqualTo(0.05);
+        assertThat(parCurve.interpolate(new double[] {1.0 + 1e-9, 2.0 - 1e-9}, Interpolation.LOG_LINEAR)).containsExactly(new double[] {0.05, 0.05}, within(1e-9));
+    }
+
+    @Test
+    @Tag("CurveSnapshotTest")
+    @DisplayName("interpolate Test with LOG_LINEAR should agree with the discount factors of the BootstrappedCurve")
+    public void interpolateTestWithLogLinearShouldAgreeWithTheDiscountFactorsOfTheBootstrappedCurve() {
+
+        //GIVEN
+        List<CurvePoint> curvePoints = new ArrayList<>(List.of(curvePoint(0.5, 0.03), curvePoint(1.0, 0.035), curvePoint(3.0, 0.045)));
+        BootstrappedCurve bootstrappedCurve = BootstrappedCurve.of(CurveSnapshot.of(1, null, curvePoints));
+
+        //WHEN
+        //the interpolated par rate added to the curve is bootstrapped back
+        double parRate = CurveSnapshot.of(1, null, curvePoints).interpolate(2.0, Interpolation.LOG_LINEAR);
+        curvePoints.add(curvePoint(2.0, parRate));
+        BootstrappedCurve withInterpolatedPoint = BootstrappedCurve.of(CurveSnapshot.of(1, null, curvePoints));
+
+        //THEN
+        //log-linear between DF(1) and DF(3)
+        double[] discountFactors = bootstrappedCurve.discountFactors();
+        assertThat(withInterpolatedPoint.terms()).containsExactly(0.5, 1.0, 2.0, 3.0);
+        assertThat(withInterpolatedPoint.discountFactors()[2]).isCloseTo(Math.sqrt(discountFactors[1] * discountFactors[2]), within(1e-12));
+        assertThat(withInterpolatedPoint.zeroRates()[2]).isCloseTo((bootstrappedCurve.zeroRates()[1] + 3 * bootstrappedCurve.zeroRates()[2]) / 2 / 2, within(1e-12));
+    }
+
+    @Test
+    @Tag("CurveSnapshotTest")
+    @DisplayName("discountCurve Test should bootstrap the curve once on first use")
+    public void discountCurveTestShouldBootstrapTheCurveOnceOnFirstUse() {
+
+        //GIVEN
+        CurveSnapshot parCurve = CurveSnapshot.of(1, null, List.of(curvePoint(0.0, 0.02), curvePoint(1.0, 0.05), curvePoint(2.0, 0.05)));
+
+        //WHEN
+        CurveSnapshot.DiscountCurve discountCurve = parCurve.discountCurve();
+
+        //THEN
+        assertThat(parCurve.discountCurve()).isSameAs(discountCurve);
+        assertThat(discountCurve.discountFactors()).containsExactly(new double[] {1.0, 1 / 1.05, 1 / 1.05 / 1.05}, within(1e-12));
+        assertThat(discountCurve.annuities()).containsExactly(new double[] {0.0, 1 / 1.05, 1 / 1.05 + 1 / 1.05 / 1.05}, within(1e-12));
+    }
+
+    @Test
+    @Tag("CurveSnapshotTest")
+    @DisplayName("interpolate Test with MONOTONE_CUBIC should be a Hermite spline flat where the points are flat")
+    public void interpolateTestWithMonotoneCubicShouldBeAHermiteSplineFlatWhereThePointsAreFlat() {
+
+        //GIVEN
+        //WHEN
+        double[] values = curveSnapshot.interpolate(new double[] {1.5, 3.0}, Interpolation.MONOTONE_CUBIC);
+
+        //THEN
+        //tangents 1 at term 1, 0 at the local extremum term 2
+        assertThat(values).containsExactly(new double[] {1.625, 2.0}, within(1e-12));
+    }
+
+    @Test
+    @Tag("CurveSnapshotTest")
+    @DisplayName("interpolate Test with MONOTONE_CUBIC should not overshoot monotone points")
+    public void interpolateTestWithMonotoneCubicShouldNotOvershootMonotonePoints() {
+
+        //GIVEN
+        Random random = new Random(7);
+        List<CurvePoint> curvePoints = new ArrayList<>();
+        double value = 0;
+        for (int i = 1; i <= 50; i++) {
+            //steep steps then plateaus
+            value += random.nextBoolean() ? random.nextDouble() * 10 : 0;
+            curvePoints.add(curvePoint((double) i, value));
+        }
+        CurveSnapshot snapshot = CurveSnapshot.of(1, null, curvePoints);
+        double[] terms = new double[5000];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = 1 + i * 49.0 / terms.length;
+        }
+
+        //WHEN
+        double[] values = snapshot.interpolate(terms, Interpolation.MONOTONE_CUBIC);
+
+        //THEN
+        for (int i = 1; i < values.length; i++) {
+            assertThat(values[i]).isGreaterThanOrEqualTo(values[i - 1] - 1e-9);
+        }
+    }
+
+    @Test
+    @Tag("CurveSnapshotTest")
+    @DisplayName("interpolate Test on an empty curve should throw IllegalStateException")
+    public void interpolateTestOnAnEmptyCurveShouldThrowIllegalStateException() {
+
+        //GIVEN
+        CurveSnapshot snapshot = CurveSnapshot.of(1, null, List.of());
+
+        //WHEN
+        //THEN
+        assertThrows(IllegalStateException.class, () -> snapshot.interpolate(1.0, Interpolation.LINEAR));
+        assertThat(curveSnapshot.interpolate(Double.NaN, Interpolation.LINEAR)).isNaN();
+    }
+}
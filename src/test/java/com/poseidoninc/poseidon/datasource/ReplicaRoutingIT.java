@@ -0,0 +1,133 @@
+package com.poseidoninc.poseidon.datasource;
+
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.repository.TradeRepository;
+import com.poseidoninc.poseidon.service.TradeService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * integration test class for the routing of read-only transactions to the replica, with two H2 databases not replicated :
+ * a row only in the replica is read by read-only transactions, a row only in the primary is read after a write.
+ * @author olivier morel
+ */
+@SpringBootTest(properties = {
+		//own primary database : data.sql is run again by this context
+		"spring.datasource.url=jdbc:h2:mem:poseidon_primary;DB_CLOSE_ON_EXIT=FALSE",
+		"poseidon.datasource.replica.url=" + ReplicaRoutingIT.REPLICA_URL,
+		"poseidon.datasource.replica.username=sa",
+		"poseidon.datasource.replica.password=sa",
+		"poseidon.datasource.replica.read-your-writes=2s"})
+@ActiveProfiles("mytest")
+public class ReplicaRoutingIT {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:poseidon_replica;DB_CLOSE_DELAY=-1";
+
+	private static final long REPLICA_TRADE_ID = 1000L;
+
+	private static JdbcTemplate replicaJdbcTemplate;
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	private Trade trade;
+
+	@BeforeAll
+	public static void setUpReplica() {
+		DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "sa");
+		replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+		if (replicaJdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'trade'", Integer.class) == 0) {
+			new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(replicaDataSource);
+		}
+	}
+
+	@BeforeEach
+	public void setUpPerTest() {
+		replicaJdbcTemplate.update("INSERT INTO trade (TradeId, account, type) VALUES (?, 'replica account', 'type')", REPLICA_TRADE_ID);
+		trade = new Trade();
+		trade.setAccount("primary account");
+		trade.setType("type");
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		RequestContextHolder.resetRequestAttributes();
+		replicaJdbcTemplate.update("DELETE FROM trade");
+		tradeRepository.deleteAllInBatch();
+		trade = null;
+	}
+
+	@Test
+	@Tag("ReplicaRoutingIT")
+	@DisplayName("read-only transactions should read the replica and writes should go to the primary")
+	public void readOnlyTransactionsShouldReadTheReplicaAndWritesShouldGoToThePrimary() {
+
+		//GIVEN
+		//outside of a request (ServletTestExecutionListener binds a mock request to the test thread)
+		RequestContextHolder.resetRequestAttributes();
+
+		//WHEN
+		Trade tradeSaved = tradeService.saveTrade(trade);
+
+		//THEN
+		assertThat(tradeService.getTradeById(REPLICA_TRADE_ID).getAccount()).isEqualTo("replica account");
+		assertThrows(UnexpectedRollbackException.class, () -> tradeService.getTradeById(tradeSaved.getTradeId()));
+		assertThat(replicaJdbcTemplate.queryForObject("SELECT COUNT(*) FROM trade", Integer.class)).isEqualTo(1);
+	}
+
+	@Test
+	@Tag("ReplicaRoutingIT")
+	@DisplayName("reads of a request should go to the primary after a write")
+	public void readsOfARequestShouldGoToThePrimaryAfterAWrite() {
+
+		//GIVEN
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		assertThat(tradeService.getTradeById(REPLICA_TRADE_ID).getAccount()).isEqualTo("replica account");
+
+		//WHEN
+		Trade tradeSaved = tradeService.saveTrade(trade);
+
+		//THEN
+		assertThat(tradeService.getTradeById(tradeSaved.getTradeId()).getAccount()).isEqualTo("primary account");
+		assertThrows(UnexpectedRollbackException.class, () -> tradeService.getTradeById(REPLICA_TRADE_ID));
+	}
+
+	@Test
+	@Tag("ReplicaRoutingIT")
+	@DisplayName("reads of the session should go back to the replica after read your writes duration")
+	public void readsOfTheSessionShouldGoBackToTheReplicaAfterReadYourWritesDuration() {
+
+		//GIVEN
+		MockHttpServletRequest writeRequest = new MockHttpServletRequest();
+		writeRequest.getSession(); //logged in client
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(writeRequest));
+		Trade tradeSaved = tradeService.saveTrade(trade);
+
+		//WHEN
+		MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+		nextRequest.setSession(writeRequest.getSession());
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(nextRequest));
+		Trade tradeRead = tradeService.getTradeById(tradeSaved.getTradeId());
+		nextRequest.getSession().setAttribute(ReplicaLagGuard.LAST_WRITE, System.nanoTime() - 3_000_000_000L);
+
+		//THEN
+		assertThat(tradeRead.getAccount()).isEqualTo("primary account");
+		assertThat(tradeService.getTradeById(REPLICA_TRADE_ID).getAccount()).isEqualTo("replica account");
+	}
+}
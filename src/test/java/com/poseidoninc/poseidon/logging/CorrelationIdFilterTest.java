@@ -0,0 +1,92 @@
+package com.poseidoninc.poseidon.logging;
+
+import org.junit.jupiter.api.*;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * unit test class for the CorrelationIdFilter.
+ * @author olivier morel
+ */
+public class CorrelationIdFilterTest {
+
+	private CorrelationIdFilter correlationIdFilter;
+
+	private MockHttpServletRequest request;
+
+	private MockHttpServletResponse response;
+
+	private Map<String, String> contextInChain;
+
+	private MockFilterChain filterChain;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		correlationIdFilter = new CorrelationIdFilter();
+		request = new MockHttpServletRequest("GET", "/trade/list");
+		response = new MockHttpServletResponse();
+		contextInChain = new HashMap<>();
+		filterChain = new MockFilterChain() {
+			@Override
+			public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+				contextInChain.putAll(MDC.getCopyOfContextMap());
+			}
+		};
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		correlationIdFilter = null;
+		request = null;
+		response = null;
+		contextInChain = null;
+		filterChain = null;
+	}
+
+	@Test
+	@Tag("CorrelationIdFilterTest")
+	@DisplayName("doFilter test should put a new correlation id and uri in logging context only during the request")
+	public void doFilterTestShouldPutANewCorrelationIdAndUriInLoggingContextOnlyDuringTheRequest() throws Exception {
+		//GIVEN
+		//WHEN
+		correlationIdFilter.doFilter(request, response, filterChain);
+		//THEN
+		assertThat(contextInChain.get(CorrelationIdFilter.CORRELATION_ID)).isNotBlank()
+				.isEqualTo(response.getHeader(CorrelationIdFilter.CORRELATION_ID_HEADER));
+		assertThat(contextInChain.get(CorrelationIdFilter.URI)).isEqualTo("/trade/list");
+		assertThat(MDC.get(CorrelationIdFilter.CORRELATION_ID)).isNull();
+		assertThat(MDC.get(CorrelationIdFilter.URI)).isNull();
+	}
+
+	@Test
+	@Tag("CorrelationIdFilterTest")
+	@DisplayName("doFilter test should keep a valid correlation id of the request header")
+	public void doFilterTestShouldKeepAValidCorrelationIdOfTheRequestHeader() throws Exception {
+		//GIVEN
+		request.addHeader(CorrelationIdFilter.CORRELATION_ID_HEADER, "3f2a-b1c4");
+		//WHEN
+		correlationIdFilter.doFilter(request, response, filterChain);
+		//THEN
+		assertThat(contextInChain.get(CorrelationIdFilter.CORRELATION_ID)).isEqualTo("3f2a-b1c4");
+		assertThat(response.getHeader(CorrelationIdFilter.CORRELATION_ID_HEADER)).isEqualTo("3f2a-b1c4");
+	}
+
+	@Test
+	@Tag("CorrelationIdFilterTest")
+	@DisplayName("doFilter test should replace an invalid correlation id of the request header")
+	public void doFilterTestShouldReplaceAnInvalidCorrelationIdOfTheRequestHeader() throws Exception {
+		//GIVEN
+		request.addHeader(CorrelationIdFilter.CORRELATION_ID_HEADER, "id\n[ERROR] forged log line");
+		//WHEN
+		correlationIdFilter.doFilter(request, response, filterChain);
+		//THEN
+		assertThat(contextInChain.get(CorrelationIdFilter.CORRELATION_ID)).matches("[0-9a-f]{1,16}");
+	}
+}
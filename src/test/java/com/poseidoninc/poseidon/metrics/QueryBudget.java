@@ -0,0 +1,35 @@
+package com.poseidoninc.poseidon.metrics;
+
+import org.junit.jupiter.api.function.Executable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-count assertion of tests : fails when an action (a MockMvc request, a service call) executes more SQL statements
+ * than its budget or executes N+1 queries, with the threshold of the context (SqlMetricsProperties)
+ * @author olivier morel
+ */
+public final class QueryBudget {
+
+	private QueryBudget() {
+	}
+
+	/**
+	 * @param budget maximum count of SQL statements
+	 * @param nPlusOneThreshold executions of a select from which it is a N+1 query, poseidon.sql.n-plus-one-threshold of the context
+	 * @param action executed on the current thread
+	 * @return SqlStatistics of the action
+	 * @throws Throwable thrown by the action
+	 */
+	public static SqlStatistics assertQueryBudget(int budget, int nPlusOneThreshold, Executable action) throws Throwable {
+		SqlStatistics sqlStatistics = SqlStatistics.start(nPlusOneThreshold);
+		try {
+			action.execute();
+		} finally {
+			sqlStatistics.stop();
+		}
+		assertThat(sqlStatistics.getStatements()).as("SQL statements").isLessThanOrEqualTo(budget);
+		assertThat(sqlStatistics.getNPlusOneQueries()).as("N+1 queries").isEmpty();
+		return sqlStatistics;
+	}
+}
@@ -0,0 +1,176 @@
+package com.poseidoninc.poseidon.metrics;
+
+import com.poseidoninc.poseidon.configuration.ServiceMetricsProperties;
+import com.poseidoninc.poseidon.repository.TradeRepository;
+import com.poseidoninc.poseidon.service.CurvePointServiceIpml;
+import com.poseidoninc.poseidon.service.TradeServiceImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+import java.lang.reflect.Proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+/**
+ * unit test class for the ServiceMetricsAspect.
+ * @author olivier morel
+ */
+@ExtendWith(MockitoExtension.class)
+public class ServiceMetricsAspectTest {
+
+	@Mock
+	private ProceedingJoinPoint joinPoint;
+
+	@Mock
+	private MethodSignature methodSignature;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private ServiceMetricsAspect serviceMetricsAspect;
+
+	@BeforeEach
+	public void setUpForEachTest() {
+		meterRegistry = new SimpleMeterRegistry();
+		serviceMetricsAspect = new ServiceMetricsAspect(meterRegistry, new ServiceMetricsProperties());
+	}
+
+	@AfterEach
+	public void unSetForEachTests() {
+		serviceMetricsAspect = null;
+		meterRegistry = null;
+	}
+
+	@Nested
+	@Tag("timeServiceTests")
+	@DisplayName("Tests for timers of services")
+	class TimeServiceTests {
+
+		@BeforeEach
+		public void setUpForEachTest() throws NoSuchMethodException {
+			when(joinPoint.getThis()).thenReturn(new TradeServiceImpl(null, null, null));
+			when(joinPoint.getSignature()).thenReturn(methodSignature);
+			when(methodSignature.getMethod()).thenReturn(TradeServiceImpl.class.getMethod("getTradeById", Long.class));
+		}
+
+		@Test
+		@Tag("ServiceMetricsAspectTest")
+		@DisplayName("test timeService should record success tagged by entity and method")
+		public void timeServiceTestShouldRecordSuccessTaggedByEntityAndMethod() throws Throwable {
+
+			//GIVEN
+			when(joinPoint.proceed()).thenReturn("result");
+
+			//WHEN
+			Object result = serviceMetricsAspect.timeService(joinPoint);
+			serviceMetricsAspect.timeService(joinPoint);
+
+			//THEN
+			assertThat(result).isEqualTo("result");
+			Timer timer = meterRegistry.get(ServiceMetricsAspect.SERVICE_TIMER)
+					.tag("entity", "Trade")
+					.tag("method", "getTradeById")
+					.tag("outcome", "success")
+					.timer();
+			assertThat(timer.count()).isEqualTo(2);
+		}
+
+		@Test
+		@Tag("ServiceMetricsAspectTest")
+		@DisplayName("test timeService should record outcome of rethrown exceptions")
+		public void timeServiceTestShouldRecordOutcomeOfRethrownExceptions() throws Throwable {
+
+			//GIVEN
+			when(joinPoint.proceed()).thenThrow(
+					new UnexpectedRollbackException("Error while getting trade"),
+					new DataIntegrityViolationException("Unique index or primary key violation"),
+					new ResourceNotFoundException("Trade not found"),
+					new IllegalStateException());
+
+			//WHEN
+			assertThrows(UnexpectedRollbackException.class, () -> serviceMetricsAspect.timeService(joinPoint));
+			assertThrows(DataIntegrityViolationException.class, () -> serviceMetricsAspect.timeService(joinPoint));
+			assertThrows(ResourceNotFoundException.class, () -> serviceMetricsAspect.timeService(joinPoint));
+			assertThrows(IllegalStateException.class, () -> serviceMetricsAspect.timeService(joinPoint));
+
+			//THEN
+			assertThat(meterRegistry.get(ServiceMetricsAspect.SERVICE_TIMER).timers())
+					.extracting(timer -> timer.getId().getTag("outcome"))
+					.containsExactlyInAnyOrder("rollback", "conflict", "not_found", "error");
+		}
+
+		@Test
+		@Tag("ServiceMetricsAspectTest")
+		@DisplayName("test timeService should only proceed when disabled")
+		public void timeServiceTestShouldOnlyProceedWhenDisabled() throws Throwable {
+
+			//GIVEN
+			when(joinPoint.proceed()).thenReturn("result");
+			serviceMetricsAspect.timeService(joinPoint);
+			serviceMetricsAspect.setEnabled(false);
+
+			//WHEN
+			Object result = serviceMetricsAspect.timeService(joinPoint);
+
+			//THEN
+			assertThat(result).isEqualTo("result");
+			assertThat(meterRegistry.get(ServiceMetricsAspect.SERVICE_TIMER).timer().count()).isEqualTo(1);
+			verify(joinPoint, times(2)).proceed();
+		}
+	}
+
+	@Nested
+	@Tag("entityTests")
+	@DisplayName("Tests for entity tag")
+	class EntityTests {
+
+		@Test
+		@Tag("ServiceMetricsAspectTest")
+		@DisplayName("test timeService should strip the misspelled service suffix")
+		public void timeServiceTestShouldStripTheMisspelledServiceSuffix() throws Throwable {
+
+			//GIVEN
+			when(joinPoint.getThis()).thenReturn(new CurvePointServiceIpml(null, null, null, null));
+			when(joinPoint.getSignature()).thenReturn(methodSignature);
+			when(methodSignature.getMethod()).thenReturn(CurvePointServiceIpml.class.getMethod("getCurvePoints", Pageable.class));
+
+			//WHEN
+			serviceMetricsAspect.timeService(joinPoint);
+
+			//THEN
+			assertThat(meterRegistry.get(ServiceMetricsAspect.SERVICE_TIMER).timer().getId().getTag("entity")).isEqualTo("CurvePoint");
+		}
+
+		@Test
+		@Tag("ServiceMetricsAspectTest")
+		@DisplayName("test timeRepository should tag entity of the repository interface")
+		public void timeRepositoryTestShouldTagEntityOfTheRepositoryInterface() throws Throwable {
+
+			//GIVEN
+			Object repositoryProxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{TradeRepository.class}, (proxy, method, args) -> null);
+			when(joinPoint.getThis()).thenReturn(repositoryProxy);
+			when(joinPoint.getSignature()).thenReturn(methodSignature);
+			when(methodSignature.getMethod()).thenReturn(CrudRepository.class.getMethod("findById", Object.class));
+
+			//WHEN
+			serviceMetricsAspect.timeRepository(joinPoint);
+
+			//THEN
+			Timer timer = meterRegistry.get(ServiceMetricsAspect.REPOSITORY_TIMER).timer();
+			assertThat(timer.getId().getTag("entity")).isEqualTo("Trade");
+			assertThat(timer.getId().getTag("method")).isEqualTo("findById");
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.poseidoninc.poseidon.metrics;
+
+import com.poseidoninc.poseidon.domain.Rating;
+import com.poseidoninc.poseidon.repository.RatingRepository;
+import com.poseidoninc.poseidon.service.RatingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * integration test class for timers of services and repositories and their actuator endpoint
+ * @author olivier morel
+ */
+@SpringBootTest
+@ActiveProfiles("mytest")
+public class ServiceMetricsIT {
+
+	@Autowired
+	private RatingService ratingService;
+
+	@Autowired
+	private RatingRepository ratingRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ServiceMetricsEndpoint serviceMetricsEndpoint;
+
+	private Rating rating;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		rating = new Rating();
+		rating.setMoodysRating("Moodys");
+		rating.setOrderNumber(1);
+		rating = ratingService.saveRating(rating);
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		serviceMetricsEndpoint.switchTimers(true);
+		ratingRepository.deleteAll();
+		rating = null;
+	}
+
+	@Test
+	@Tag("ServiceMetricsIT")
+	@DisplayName("service and repository calls should be timed by entity, method and outcome")
+	public void serviceAndRepositoryCallsShouldBeTimedByEntityMethodAndOutcome() {
+
+		//GIVEN
+		double successes = count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "success");
+		double rollbacks = count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "rollback");
+		double findByIds = count(ServiceMetricsAspect.REPOSITORY_TIMER, "findById", "success");
+		double findByIdErrors = count(ServiceMetricsAspect.REPOSITORY_TIMER, "findById", "error");
+
+		//WHEN
+		ratingService.getRatingById(rating.getId());
+		assertThrows(UnexpectedRollbackException.class, () -> ratingService.getRatingById(null));
+
+		//THEN
+		assertThat(count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "success")).isEqualTo(successes + 1);
+		assertThat(count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "rollback")).isEqualTo(rollbacks + 1);
+		assertThat(count(ServiceMetricsAspect.REPOSITORY_TIMER, "findById", "success")).isEqualTo(findByIds + 1);
+		//null id
+		assertThat(count(ServiceMetricsAspect.REPOSITORY_TIMER, "findById", "error")).isEqualTo(findByIdErrors + 1);
+	}
+
+	@Test
+	@Tag("ServiceMetricsIT")
+	@DisplayName("get of a missing id should be timed with outcome not_found")
+	public void getOfAMissingIdShouldBeTimedWithOutcomeNotFound() {
+
+		//GIVEN
+		double notFounds = count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "not_found");
+		double rollbacks = count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "rollback");
+
+		//WHEN
+		assertThrows(UnexpectedRollbackException.class, () -> ratingService.getRatingById(0L));
+
+		//THEN
+		assertThat(count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "not_found")).isEqualTo(notFounds + 1);
+		assertThat(count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "rollback")).isEqualTo(rollbacks);
+	}
+
+	@Test
+	@Tag("ServiceMetricsIT")
+	@DisplayName("switchTimers test should stop timing calls until enabled again")
+	public void switchTimersTestShouldStopTimingCallsUntilEnabledAgain() {
+
+		//GIVEN
+		ratingService.getRatingById(rating.getId());
+		double successes = count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "success");
+
+		//WHEN
+		assertThat(serviceMetricsEndpoint.switchTimers(false)).containsEntry("enabled", false);
+		ratingService.getRatingById(rating.getId());
+		double successesWhenDisabled = count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "success");
+		serviceMetricsEndpoint.switchTimers(true);
+		ratingService.getRatingById(rating.getId());
+
+		//THEN
+		assertThat(successesWhenDisabled).isEqualTo(successes);
+		assertThat(count(ServiceMetricsAspect.SERVICE_TIMER, "getRatingById", "success")).isEqualTo(successes + 1);
+		assertThat(serviceMetricsEndpoint.status()).containsEntry("enabled", true);
+	}
+
+	private double count(String timerName, String method, String outcome) {
+		return meterRegistry.find(timerName)
+				.tag("entity", "Rating")
+				.tag("method", method)
+				.tag("outcome", outcome)
+				.timers().stream().mapToDouble(timer -> timer.count()).sum();
+	}
+}
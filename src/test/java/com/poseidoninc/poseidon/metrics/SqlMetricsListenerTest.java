@@ -0,0 +1,146 @@
+package com.poseidoninc.poseidon.metrics;
+
+import com.poseidoninc.poseidon.configuration.SqlMetricsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * unit test class for the SqlMetricsListener.
+ * @author olivier morel
+ */
+@ExtendWith(MockitoExtension.class)
+public class SqlMetricsListenerTest {
+
+	private static final String SELECT = "select t1_0.trade_id,t1_0.account from trade t1_0 where t1_0.trade_id=?";
+
+	@Mock
+	private ResultSet resultSet;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private SqlMetricsListener sqlMetricsListener;
+
+	private SqlStatistics sqlStatistics;
+
+	@BeforeEach
+	public void setUpForEachTest() {
+		meterRegistry = new SimpleMeterRegistry();
+		sqlMetricsListener = new SqlMetricsListener(meterRegistry, new SqlMetricsProperties());
+		sqlStatistics = SqlStatistics.start(3);
+	}
+
+	@AfterEach
+	public void unSetForEachTests() {
+		sqlStatistics.stop();
+		sqlStatistics = null;
+		sqlMetricsListener = null;
+		meterRegistry = null;
+	}
+
+	@Nested
+	@Tag("afterQueryTests")
+	@DisplayName("Tests for statements")
+	class AfterQueryTests {
+
+		@Test
+		@Tag("SqlMetricsListenerTest")
+		@DisplayName("test afterQuery should time statement by type and count updated rows")
+		public void afterQueryTestShouldTimeStatementByTypeAndCountUpdatedRows() {
+
+			//GIVEN
+			ExecutionInfo executionInfo = new ExecutionInfo();
+			executionInfo.setSuccess(true);
+			executionInfo.setBatch(true);
+			executionInfo.setResult(new int[]{1, 1, 1});
+			List<QueryInfo> queryInfos = List.of(new QueryInfo("insert into trade (account,type) values (?,?)"));
+
+			//WHEN
+			sqlMetricsListener.beforeQuery(executionInfo, queryInfos);
+			sqlMetricsListener.afterQuery(executionInfo, queryInfos);
+
+			//THEN
+			assertThat(meterRegistry.get(SqlMetricsListener.SQL_TIMER).tag("type", "insert").tag("outcome", "success").timer().count()).isEqualTo(1);
+			assertThat(meterRegistry.get(SqlMetricsListener.SQL_ROWS).tag("type", "insert").counter().count()).isEqualTo(3);
+			assertThat(sqlStatistics.getStatements()).isEqualTo(1);
+			assertThat(sqlStatistics.getRows()).isEqualTo(3);
+		}
+
+		@Test
+		@Tag("SqlMetricsListenerTest")
+		@DisplayName("test afterQuery should flag a select executed n plus one threshold times")
+		public void afterQueryTestShouldFlagASelectExecutedNPlusOneThresholdTimes() {
+
+			//GIVEN
+			List<QueryInfo> queryInfos = List.of(new QueryInfo(SELECT));
+
+			//WHEN
+			for (int i = 0; i < 4; i++) {
+				ExecutionInfo executionInfo = new ExecutionInfo();
+				executionInfo.setSuccess(i < 3);
+				sqlMetricsListener.beforeQuery(executionInfo, queryInfos);
+				sqlMetricsListener.afterQuery(executionInfo, queryInfos);
+			}
+
+			//THEN
+			assertThat(sqlStatistics.getNPlusOneQueries()).containsExactly(SELECT);
+			assertThat(sqlStatistics.getCount(SELECT)).isEqualTo(4);
+			assertThat(meterRegistry.get(SqlMetricsListener.SQL_TIMER).tag("type", "select").tag("outcome", "error").timer().count()).isEqualTo(1);
+		}
+
+		@Test
+		@Tag("SqlMetricsListenerTest")
+		@DisplayName("test type should read the first keyword of the statement")
+		public void typeTestShouldReadTheFirstKeywordOfTheStatement() {
+
+			//GIVEN
+			//WHEN
+			//THEN
+			assertThat(SqlMetricsListener.type(" (SELECT 1) union (select 2)")).isEqualTo(QueryType.SELECT);
+			assertThat(SqlMetricsListener.type("update trade set account=? where trade_id=?")).isEqualTo(QueryType.UPDATE);
+			assertThat(SqlMetricsListener.type("delete from trade where trade_id=?")).isEqualTo(QueryType.DELETE);
+			assertThat(SqlMetricsListener.type("call next value for trade_seq")).isEqualTo(QueryType.OTHER);
+		}
+	}
+
+	@Nested
+	@Tag("afterMethodTests")
+	@DisplayName("Tests for result sets")
+	class AfterMethodTests {
+
+		@Test
+		@Tag("SqlMetricsListenerTest")
+		@DisplayName("test afterMethod should count rows read by ResultSet next")
+		public void afterMethodTestShouldCountRowsReadByResultSetNext() throws NoSuchMethodException {
+
+			//GIVEN
+			MethodExecutionContext nextTrue = MethodExecutionContext.Builder.create()
+					.target(resultSet).method(ResultSet.class.getMethod("next")).result(true).build();
+			MethodExecutionContext nextFalse = MethodExecutionContext.Builder.create()
+					.target(resultSet).method(ResultSet.class.getMethod("next")).result(false).build();
+			MethodExecutionContext getString = MethodExecutionContext.Builder.create()
+					.target(resultSet).method(ResultSet.class.getMethod("getString", int.class)).result("true").build();
+
+			//WHEN
+			sqlMetricsListener.afterMethod(nextTrue);
+			sqlMetricsListener.afterMethod(getString);
+			sqlMetricsListener.afterMethod(nextTrue);
+			sqlMetricsListener.afterMethod(nextFalse);
+
+			//THEN
+			assertThat(meterRegistry.get(SqlMetricsListener.SQL_ROWS).tag("type", "select").counter().count()).isEqualTo(2);
+			assertThat(sqlStatistics.getRows()).isEqualTo(2);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package com.poseidoninc.poseidon.metrics;
+
+import com.poseidoninc.poseidon.configuration.SqlMetricsProperties;
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.repository.TradeRepository;
+import com.poseidoninc.poseidon.service.TradeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.poseidoninc.poseidon.metrics.QueryBudget.assertQueryBudget;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * integration test class for SQL instrumentation of the DataSource proxy : metrics, statements per request, N+1 queries
+ * and query budget of endpoints
+ * @author olivier morel
+ */
+@SpringBootTest
+@ActiveProfiles("mytest")
+public class SqlStatisticsIT {
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	@Autowired
+	private SqlStatisticsFilter sqlStatisticsFilter;
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private SqlMetricsProperties sqlMetricsProperties;
+
+	private MockMvc mockMvc;
+
+	private Trade trade;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+				.addFilters(sqlStatisticsFilter)
+				.apply(springSecurity())
+				.build();
+		trade = new Trade();
+		trade.setAccount("account");
+		trade.setType("type");
+		trade = tradeRepository.save(trade);
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		tradeRepository.deleteAllInBatch();
+		mockMvc = null;
+		trade = null;
+	}
+
+	@Test
+	@Tag("SqlStatisticsIT")
+	@DisplayName("trades window endpoint should stay within a budget of one SQL statement")
+	public void tradesWindowEndpointShouldStayWithinABudgetOfOneSqlStatement() throws Throwable {
+
+		//GIVEN
+		double requests = meterRegistry.find(SqlStatisticsFilter.SQL_REQUESTS).tag("uri", "/api/trade/list")
+				.summaries().stream().mapToDouble(summary -> summary.count()).sum();
+
+		//WHEN
+		SqlStatistics sqlStatistics = assertQueryBudget(1, sqlMetricsProperties.getNPlusOneThreshold(), () -> mockMvc.perform(get("/api/trade/list?size=10")
+						.with(user("admin").roles("ADMIN")))
+				.andExpect(status().isOk()));
+
+		//THEN
+		assertThat(sqlStatistics.getStatements()).isEqualTo(1);
+		assertThat(sqlStatistics.getRows()).isEqualTo(1);
+		assertThat(meterRegistry.get(SqlStatisticsFilter.SQL_REQUESTS).tag("uri", "/api/trade/list").summary().count()).isEqualTo((long) requests + 1);
+	}
+
+	@Test
+	@Tag("SqlStatisticsIT")
+	@DisplayName("query budget should fail when statements exceed the budget or are N+1 queries")
+	public void queryBudgetShouldFailWhenStatementsExceedTheBudgetOrAreNPlusOneQueries() {
+
+		//GIVEN
+		//WHEN
+		AssertionError overBudget = assertThrows(AssertionError.class, () -> assertQueryBudget(1, sqlMetricsProperties.getNPlusOneThreshold(), () -> {
+			tradeService.getTradeById(trade.getTradeId());
+			tradeService.getTradeById(trade.getTradeId());
+		}));
+		AssertionError nPlusOne = assertThrows(AssertionError.class, () -> assertQueryBudget(100, sqlMetricsProperties.getNPlusOneThreshold(), () -> {
+			for (int i = 0; i < sqlMetricsProperties.getNPlusOneThreshold(); i++) {
+				tradeService.getTradeById(trade.getTradeId());
+			}
+		}));
+
+		//THEN
+		assertThat(overBudget.getMessage()).contains("SQL statements");
+		assertThat(nPlusOne.getMessage()).contains("N+1 queries").contains("from trade");
+	}
+
+	@Test
+	@Tag("SqlStatisticsIT")
+	@DisplayName("statements should be timed by type and rows counted")
+	public void statementsShouldBeTimedByTypeAndRowsCounted() {
+
+		//GIVEN
+		long selects = meterRegistry.get(SqlMetricsListener.SQL_TIMER).tag("type", "select").tag("outcome", "success").timer().count();
+		double rows = meterRegistry.get(SqlMetricsListener.SQL_ROWS).tag("type", "select").counter().count();
+
+		//WHEN
+		tradeService.getTradeById(trade.getTradeId());
+
+		//THEN
+		assertThat(meterRegistry.get(SqlMetricsListener.SQL_TIMER).tag("type", "select").tag("outcome", "success").timer().count()).isEqualTo(selects + 1);
+		assertThat(meterRegistry.get(SqlMetricsListener.SQL_ROWS).tag("type", "select").counter().count()).isEqualTo(rows + 1);
+	}
+}
@@ -1,9 +1,12 @@
 package com.poseidoninc.poseidon.repository;
 
 import com.poseidoninc.poseidon.domain.BidList;
+import com.poseidoninc.poseidon.projection.BidListSummary;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
@@ -69,7 +72,7 @@ public class BidListRepositoryIT {
 		BidList bidListResult = bidListRepository.saveAndFlush(bidList);
 		
 		//THEN
-		Optional<Integer> idOpt = Optional.ofNullable(bidListResult.getBidListId());
+		Optional<Long> idOpt = Optional.ofNullable(bidListResult.getBidListId());
 		assertThat(idOpt).isPresent();
 		idOpt.ifPresent(id -> assertThat(bidListRepository.findById(id)).get().extracting(
 				BidList::getAccount,
@@ -116,6 +119,23 @@ public class BidListRepositoryIT {
 					"source list id",
 					"side"));
 	}
-}
 
+	@Test
+	@Tag("BidListRepositoryIT")
+	@DisplayName("findBidListSummaries test should page the columns of the bidList list view")
+	public void findBidListSummariesTestShouldPageTheColumnsOfTheBidListListView() {
+
+		//GIVEN
+		bidList.setAccount("account");
+		bidList.setType("type");
+		bidList.setBidQuantity(1.0);
+		bidList.setCommentary("commentary");
+		Long bidListId = bidListRepository.saveAndFlush(bidList).getBidListId();
+
+		//WHEN
+		Page<BidListSummary> pageBidListSummary = bidListRepository.findBidListSummaries(Pageable.unpaged());
 
+		//THEN
+		assertThat(pageBidListSummary.getContent()).containsExactly(new BidListSummary(bidListId, "account", "type", 1.0));
+	}
+}
@@ -1,5 +1,10 @@
 package com.poseidoninc.poseidon.repository;
 
+import com.poseidoninc.poseidon.configuration.CurveHistoryProperties;
+import com.poseidoninc.poseidon.curve.CurveHistory;
+import com.poseidoninc.poseidon.curve.CurveHistorySegment;
+import com.poseidoninc.poseidon.curve.CurveHistoryStore;
+import com.poseidoninc.poseidon.curve.CurveSnapshot;
 import com.poseidoninc.poseidon.domain.CurvePoint;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,8 +12,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -16,7 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
- * integration test class to test unique constraint for CurvePointRepository
+ * integration test class to test unique constraint, curve query and curve history stream for CurvePointRepository
  * @author olivier morel
  */
 @SpringBootTest
@@ -26,6 +37,12 @@ public class CurvePointRepositoryIT {
 	@Autowired
 	private CurvePointRepository curvePointRepository;
 
+	@Autowired
+	private CurveHistoryStore curveHistoryStore;
+
+	@Autowired
+	private CurveHistoryProperties curveHistoryProperties;
+
 	private CurvePoint curvePoint;
 
 	@BeforeEach
@@ -61,7 +78,7 @@ public class CurvePointRepositoryIT {
 			CurvePoint curvePointResult = curvePointRepository.saveAndFlush(curvePoint);
 
 			//THEN
-			Optional<Integer> idOpt = Optional.ofNullable(curvePointResult.getId());
+			Optional<Long> idOpt = Optional.ofNullable(curvePointResult.getId());
 			assertThat(idOpt).isPresent();
 			idOpt.ifPresent(id -> assertThat(curvePointRepository.findById(id)).get().extracting(
 							CurvePoint::getCurveId,
@@ -90,7 +107,7 @@ public class CurvePointRepositoryIT {
 			curvePoint.setTerm(3.0);
 			curvePoint.setValue(4.0);
 			curvePoint.setCreationDate(LocalDateTime.parse("22/01/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-			Integer id = curvePointRepository.saveAndFlush(curvePoint).getId();
+			Long id = curvePointRepository.saveAndFlush(curvePoint).getId();
 			CurvePoint updatedCurvePoint = new CurvePoint();
 			updatedCurvePoint.setId(id);
 			updatedCurvePoint.setCurveId(2);
@@ -120,8 +137,8 @@ public class CurvePointRepositoryIT {
 
 		@Test
 		@Tag("CurvePointRepositoryIT")
-		@DisplayName("save test a new curvePoint with existent curveId should throw a DataIntegrityViolationException")
-		public void saveTestACurvePointWithAnExistentIdShouldThrowDataIntegrityViolationException() {
+		@DisplayName("save test a new curvePoint with existent curveId, asOfDate and term should throw a DataIntegrityViolationException")
+		public void saveTestACurvePointWithAnExistentTermShouldThrowDataIntegrityViolationException() {
 
 			//GIVEN
 			curvePoint.setId(null);
@@ -135,8 +152,8 @@ public class CurvePointRepositoryIT {
 			CurvePoint curvePointTest = new CurvePoint();
 			curvePointTest.setId(null);
 			curvePointTest.setCurveId(2);
-			curvePointTest.setAsOfDate(LocalDateTime.parse("21/02/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-			curvePointTest.setTerm(5.0);
+			curvePointTest.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
+			curvePointTest.setTerm(3.0);
 			curvePointTest.setValue(6.0);
 			curvePointTest.setCreationDate(LocalDateTime.parse("22/02/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			//WHEN
@@ -145,5 +162,106 @@ public class CurvePointRepositoryIT {
 					() -> curvePointRepository.saveAndFlush(curvePointTest))
 					.getMessage()).contains(("Unique index or primary key violation"));
 		}
+
+		@Test
+		@Tag("CurvePointRepositoryIT")
+		@DisplayName("save test a curvePoint without asOfDate or term should throw a DataIntegrityViolationException")
+		public void saveTestACurvePointWithoutAsOfDateOrTermShouldThrowDataIntegrityViolationException() {
+
+			//GIVEN
+			//NULLs are distinct in the unique index, a point without asOfDate or term would be a duplicate accepted
+			curvePoint.setId(null);
+			curvePoint.setCurveId(2);
+			curvePoint.setTerm(3.0);
+			curvePoint.setValue(4.0);
+			CurvePoint curvePointWithoutTerm = new CurvePoint();
+			curvePointWithoutTerm.setCurveId(2);
+			curvePointWithoutTerm.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
+			curvePointWithoutTerm.setValue(4.0);
+
+			//WHEN
+			//THEN
+			assertThrows(DataIntegrityViolationException.class, () -> curvePointRepository.saveAndFlush(curvePoint));
+			assertThrows(DataIntegrityViolationException.class, () -> curvePointRepository.saveAndFlush(curvePointWithoutTerm));
+			assertThat(curvePointRepository.count()).isZero();
+		}
+	}
+
+	@Nested
+	@Tag("findCurveTests")
+	@DisplayName("Tests for finding all points of a curve")
+	class FindCurveTests {
+
+		@Test
+		@Tag("CurvePointRepositoryIT")
+		@DisplayName("find by curveId and asOfDate should return points of the curve ordered by term")
+		public void findByCurveIdAndAsOfDateShouldReturnPointsOfTheCurveOrderedByTerm() {
+
+			//GIVEN
+			LocalDateTime asOfDate = LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+			List<CurvePoint> curvePoints = new ArrayList<>();
+			for (int i = 100; i > 0; i--) {
+				CurvePoint point = new CurvePoint();
+				point.setCurveId(2);
+				point.setAsOfDate(asOfDate);
+				point.setTerm((double) i);
+				point.setValue(i * 10.0);
+				curvePoints.add(point);
+			}
+			CurvePoint otherDatePoint = new CurvePoint();
+			otherDatePoint.setCurveId(2);
+			otherDatePoint.setAsOfDate(asOfDate.plusDays(1));
+			otherDatePoint.setTerm(1.0);
+			curvePoints.add(otherDatePoint);
+			CurvePoint otherCurvePoint = new CurvePoint();
+			otherCurvePoint.setCurveId(3);
+			otherCurvePoint.setAsOfDate(asOfDate);
+			otherCurvePoint.setTerm(1.0);
+			curvePoints.add(otherCurvePoint);
+			curvePointRepository.saveAllAndFlush(curvePoints);
+
+			//WHEN
+			List<CurvePoint> curve = curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(2, asOfDate);
+
+			//THEN
+			assertThat(curve).hasSize(100);
+			assertThat(curve).extracting(CurvePoint::getTerm).isSorted();
+			assertThat(curve.get(0)).extracting(CurvePoint::getTerm, CurvePoint::getValue).containsExactly(1.0, 10.0);
+		}
+
+		@Test
+		@Tag("CurvePointRepositoryIT")
+		@DisplayName("curve history rebuild should stream curves by date and term and save the segment")
+		public void curveHistoryRebuildShouldStreamCurvesByDateAndTermAndSaveTheSegment() throws IOException {
+
+			//GIVEN
+			LocalDateTime asOfDate = LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+			List<CurvePoint> curvePoints = new ArrayList<>();
+			for (int day = 2; day >= 0; day--) {
+				for (int i = 10; i > 0; i--) {
+					CurvePoint point = new CurvePoint();
+					point.setCurveId(2);
+					point.setAsOfDate(asOfDate.plusDays(day));
+					point.setTerm((double) i);
+					point.setValue(day * 100 + i * 10.0);
+					curvePoints.add(point);
+				}
+			}
+			curvePointRepository.saveAllAndFlush(curvePoints);
+
+			//WHEN
+			CurveHistory curveHistory = curveHistoryStore.rebuild();
+
+			//THEN
+			List<CurveSnapshot> curveSnapshots = curveHistory.range(2, asOfDate.plusDays(1), null);
+			assertThat(curveSnapshots).extracting(CurveSnapshot::getAsOfDate).containsExactly(asOfDate.plusDays(1), asOfDate.plusDays(2));
+			assertThat(curveSnapshots.get(0).getTerms()).isSorted().hasSize(10);
+			assertThat(curveSnapshots.get(0).getValues()[0]).isEqualTo(110.0);
+			assertThat(curveHistory.size()).isEqualTo(3);
+			assertThat(curveHistoryStore.getCurveHistory()).isSameAs(curveHistory);
+			try (InputStream inputStream = Files.newInputStream(Path.of(curveHistoryProperties.getSegmentFile()))) {
+				assertThat(CurveHistorySegment.read(inputStream).pointCount()).isEqualTo(30);
+			}
+		}
 	}
 }
@@ -0,0 +1,113 @@
+package com.poseidoninc.poseidon.repository;
+
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.projection.TradeSummary;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * integration test class for keyset scrolling of TradeRepository
+ * @author olivier morel
+ */
+@SpringBootTest
+@ActiveProfiles("mytest")
+public class TradeRepositoryIT {
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		for (String account : List.of("b", "a", "c", "a", "b")) {
+			Trade trade = new Trade();
+			trade.setAccount(account);
+			trade.setType("type");
+			tradeRepository.save(trade);
+		}
+		//ids are allocated by the table generator, inserts wait for flush
+		tradeRepository.flush();
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		tradeRepository.deleteAll();
+	}
+
+	@Test
+	@Tag("TradeRepositoryIT")
+	@DisplayName("scroll test should read all trades once in sort order window by window")
+	public void scrollTestShouldReadAllTradesOnceInSortOrderWindowByWindow() {
+
+		//GIVEN
+		Sort sort = Sort.by(Sort.Direction.DESC, "account");
+		ScrollPosition position = ScrollPosition.keyset();
+		List<Trade> trades = new ArrayList<>();
+		Window<Trade> window;
+
+		//WHEN
+		do {
+			ScrollPosition windowPosition = position;
+			window = tradeRepository.findBy(Specification.where(null), query -> query.sortBy(sort).limit(2).scroll(windowPosition));
+			trades.addAll(window.getContent());
+			if (!window.isEmpty()) {
+				position = window.positionAt(window.size() - 1);
+			}
+		} while (window.hasNext());
+
+		//THEN
+		assertThat(trades).extracting(Trade::getAccount).containsExactly("c", "b", "b", "a", "a");
+		assertThat(trades).extracting(Trade::getTradeId).doesNotHaveDuplicates();
+	}
+
+	@Test
+	@Tag("TradeRepositoryIT")
+	@DisplayName("streamAll test should stream all trades ordered by tradeId")
+	@Transactional(readOnly = true)
+	public void streamAllTestShouldStreamAllTradesOrderedByTradeId() {
+
+		//GIVEN
+		//WHEN
+		List<Long> tradeIds;
+		try (Stream<Trade> streamTrade = tradeRepository.streamAll()) {
+			tradeIds = streamTrade.map(Trade::getTradeId).toList();
+		}
+
+		//THEN
+		assertThat(tradeIds).hasSize(5).isSorted();
+	}
+
+	@Test
+	@Tag("TradeRepositoryIT")
+	@DisplayName("findTradeSummaries test should page the columns of the trade list view")
+	public void findTradeSummariesTestShouldPageTheColumnsOfTheTradeListView() {
+
+		//GIVEN
+		Pageable pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "account"));
+
+		//WHEN
+		Page<TradeSummary> pageTradeSummary = tradeRepository.findTradeSummaries(pageRequest);
+
+		//THEN
+		assertThat(pageTradeSummary.getTotalElements()).isEqualTo(5);
+		assertThat(pageTradeSummary.getContent()).extracting(TradeSummary::account, TradeSummary::type)
+				.containsExactly(tuple("c", "type"), tuple("b", "type"));
+		assertThat(pageTradeSummary.getContent()).extracting(TradeSummary::tradeId).doesNotContainNull();
+	}
+}
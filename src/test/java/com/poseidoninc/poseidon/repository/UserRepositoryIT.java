@@ -65,7 +65,7 @@ public class UserRepositoryIT {
 			User userResult = userRepository.saveAndFlush(user);
 
 			//THEN
-			Optional<Integer> idOpt = Optional.ofNullable(userResult.getId());
+			Optional<Long> idOpt = Optional.ofNullable(userResult.getId());
 			assertThat(idOpt).isPresent();
 			idOpt.ifPresent(id -> assertThat(userRepository.findById(id)).get().extracting(
 							User::getUsername,
@@ -91,7 +91,7 @@ public class UserRepositoryIT {
 			user.setFullname("AAA");
 			user.setRole("USER");
 
-			Integer id = userRepository.saveAndFlush(user).getId();
+			Long id = userRepository.saveAndFlush(user).getId();
 
 			User updatedUser = new User();
 			updatedUser.setId(id);
@@ -0,0 +1,169 @@
+package com.poseidoninc.poseidon.security;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * unit test class for the BoundedPasswordEncoder.
+ * @author olivier morel
+ */
+@ExtendWith(MockitoExtension.class)
+public class BoundedPasswordEncoderTest {
+
+	@Mock
+	private PasswordEncoder delegate;
+
+	private BoundedPasswordEncoder boundedPasswordEncoder;
+
+	@AfterEach
+	public void unSetForEachTests() {
+		boundedPasswordEncoder.close();
+		boundedPasswordEncoder = null;
+	}
+
+	@Nested
+	@Tag("delegateTests")
+	@DisplayName("Tests for calls to the delegate encoder")
+	class DelegateTests {
+
+		@BeforeEach
+		public void setUpForEachTest() {
+			boundedPasswordEncoder = new BoundedPasswordEncoder(delegate, 1, 1);
+		}
+
+		@Test
+		@Tag("BoundedPasswordEncoderTest")
+		@DisplayName("test encode and matches should run delegate on the bcrypt pool")
+		public void encodeAndMatchesTestShouldRunDelegateOnTheBcryptPool() {
+
+			//GIVEN
+			when(delegate.encode(any(CharSequence.class))).then(invocation -> Thread.currentThread().getName());
+			when(delegate.matches(any(CharSequence.class), anyString())).then(invocation -> Thread.currentThread().getName().startsWith("bcrypt-"));
+
+			//WHEN
+			String encoded = boundedPasswordEncoder.encode("apw1=Passwd");
+			boolean matches = boundedPasswordEncoder.matches("apw1=Passwd", encoded);
+
+			//THEN
+			assertThat(encoded).isEqualTo("bcrypt-1");
+			assertThat(matches).isTrue();
+		}
+
+		@Test
+		@Tag("BoundedPasswordEncoderTest")
+		@DisplayName("test upgradeEncoding should return delegate answer")
+		public void upgradeEncodingTestShouldReturnDelegateAnswer() {
+
+			//GIVEN
+			when(delegate.upgradeEncoding(anyString())).thenReturn(true);
+
+			//WHEN
+			//THEN
+			assertThat(boundedPasswordEncoder.upgradeEncoding("$2a$04$old")).isTrue();
+		}
+
+		@Test
+		@Tag("BoundedPasswordEncoderTest")
+		@DisplayName("test encode should rethrow delegate RuntimeException")
+		public void encodeTestShouldRethrowDelegateRuntimeException() {
+
+			//GIVEN
+			when(delegate.encode(any(CharSequence.class))).thenThrow(new IllegalArgumentException("rawPassword cannot be null"));
+
+			//WHEN
+			//THEN
+			assertThat(assertThrows(IllegalArgumentException.class,
+					() -> boundedPasswordEncoder.encode("apw1=Passwd"))
+					.getMessage()).isEqualTo("rawPassword cannot be null");
+		}
+
+		@Test
+		@Tag("BoundedPasswordEncoderTest")
+		@DisplayName("test matches should throw RejectedExecutionException when thread is busy and queue is full")
+		public void matchesTestShouldThrowRejectedExecutionExceptionWhenThreadIsBusyAndQueueIsFull() throws InterruptedException {
+
+			//GIVEN
+			CountDownLatch started = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			when(delegate.matches(any(CharSequence.class), anyString())).then(invocation -> {
+				started.countDown();
+				release.await();
+				return true;
+			});
+			ExecutorService callers = Executors.newFixedThreadPool(2);
+			callers.submit(() -> boundedPasswordEncoder.matches("busy", "$2a$10$busy"));
+			started.await();
+			callers.submit(() -> boundedPasswordEncoder.matches("queued", "$2a$10$queued"));
+			//wait for the second call in queue
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (boundedPasswordEncoder.getQueueSize() < 1 && System.nanoTime() < deadline) {
+				Thread.onSpinWait();
+			}
+
+			//WHEN
+			//THEN
+			try {
+				assertThrows(RejectedExecutionException.class, () -> boundedPasswordEncoder.matches("rejected", "$2a$10$rejected"));
+			} finally {
+				release.countDown();
+				callers.shutdown();
+				assertThat(callers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+			}
+			verify(delegate, times(2)).matches(any(CharSequence.class), anyString());
+		}
+	}
+
+	@Nested
+	@Tag("calibrateStrengthTests")
+	@DisplayName("Tests for BCrypt strength calibration")
+	class CalibrateStrengthTests {
+
+		@BeforeEach
+		public void setUpForEachTest() {
+			boundedPasswordEncoder = new BoundedPasswordEncoder(delegate, 1, 1);
+		}
+
+		@Test
+		@Tag("BoundedPasswordEncoderTest")
+		@DisplayName("test calibrateStrength should return max strength for a long target")
+		public void calibrateStrengthTestShouldReturnMaxStrengthForALongTarget() {
+
+			//GIVEN
+			//WHEN
+			int strength = BoundedPasswordEncoder.calibrateStrength(60_000, 4, 6);
+
+			//THEN
+			assertThat(strength).isEqualTo(6);
+		}
+
+		@Test
+		@Tag("BoundedPasswordEncoderTest")
+		@DisplayName("test calibrateStrength should return min strength for a zero target")
+		public void calibrateStrengthTestShouldReturnMinStrengthForAZeroTarget() {
+
+			//GIVEN
+			//WHEN
+			int strength = BoundedPasswordEncoder.calibrateStrength(0, 4, 6);
+
+			//THEN
+			assertThat(strength).isEqualTo(4);
+			assertThat(new BCryptPasswordEncoder(strength).encode("apw1=Passwd")).startsWith("$2a$04$");
+		}
+	}
+}
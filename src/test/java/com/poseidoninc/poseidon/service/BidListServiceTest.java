@@ -1,25 +1,38 @@
 package com.poseidoninc.poseidon.service;
 
+import com.poseidoninc.poseidon.configuration.BatchProperties;
 import com.poseidoninc.poseidon.domain.BidList;
+import com.poseidoninc.poseidon.projection.BidListSummary;
 import com.poseidoninc.poseidon.repository.BidListRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.UnexpectedRollbackException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -37,6 +50,12 @@ public class BidListServiceTest {
 	
 	@Mock
 	private BidListRepository bidListRepository;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Spy
+	private final BatchProperties batchProperties = new BatchProperties();
 	
 	private BidList bidList;
 
@@ -58,7 +77,7 @@ public class BidListServiceTest {
 			
 			//GIVEN
 			bidList = new BidList();
-			bidList.setBidListId(1);
+			bidList.setBidListId(1L);
 			bidList.setAccount("account");
 			bidList.setType("type");
 			bidList.setBidQuantity(1.0);
@@ -80,10 +99,10 @@ public class BidListServiceTest {
 			bidList.setDealType("deal type");
 			bidList.setSourceListId("source list id");
 			bidList.setSide("side");					
-			when(bidListRepository.findById(anyInt())).thenReturn(Optional.of(bidList));
+			when(bidListRepository.findById(anyLong())).thenReturn(Optional.of(bidList));
 			
 			//WHEN
-			BidList bidListResult = bidListService.getBidListById(1);
+			BidList bidListResult = bidListService.getBidListById(1L);
 			
 			//THEN
 			assertThat(bidListResult).extracting(
@@ -110,7 +129,7 @@ public class BidListServiceTest {
 					BidList::getSourceListId,
 					BidList::getSide)
 			.containsExactly(
-					1,
+					1L,
 					"account",
 					"type",
 					1.0,
@@ -140,7 +159,7 @@ public class BidListServiceTest {
 		@DisplayName("test getBidListById should throw UnexpectedRollbackException on InvalidDataAccessApiUsageException")
 		public void getBidListByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 			//GIVEN
-			when(bidListRepository.findById(nullable(Integer.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
+			when(bidListRepository.findById(nullable(Long.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
 			
 			//WHEN
 			//THEN
@@ -154,12 +173,12 @@ public class BidListServiceTest {
 		@DisplayName("test getBidListById should throw UnexpectedRollbackException on ResourceNotFoundException")
 		public void getBidListByIdTestShouldThrowsUnexpectedRollbackExceptionOnResourceNotFoundException() {
 			//GIVEN
-			when(bidListRepository.findById(anyInt())).thenReturn(Optional.empty());
+			when(bidListRepository.findById(anyLong())).thenReturn(Optional.empty());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> bidListService.getBidListById(1))
+				() -> bidListService.getBidListById(1L))
 				.getMessage()).isEqualTo("Error while getting bidlist");
 		}
 
@@ -168,12 +187,12 @@ public class BidListServiceTest {
 		@DisplayName("test getBidListById should throw UnexpectedRollbackException on any RuntimeException")
 		public void getBidListByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 			//GIVEN
-			when(bidListRepository.findById(anyInt())).thenThrow(new RuntimeException());
+			when(bidListRepository.findById(anyLong())).thenThrow(new RuntimeException());
 
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> bidListService.getBidListById(1))
+				() -> bidListService.getBidListById(1L))
 				.getMessage()).isEqualTo("Error while getting bidlist");
 		}
 	}
@@ -204,7 +223,7 @@ public class BidListServiceTest {
 			//GIVEN
 			List<BidList> expectedBidLists = new ArrayList<>();
 			bidList = new BidList();
-			bidList.setBidListId(1);
+			bidList.setBidListId(1L);
 			bidList.setAccount("account");
 			bidList.setType("type");
 			bidList.setBidQuantity(1.0);
@@ -229,7 +248,7 @@ public class BidListServiceTest {
 			expectedBidLists.add(bidList);
 
 			BidList bidList2 = new BidList();
-			bidList2.setBidListId(12);
+			bidList2.setBidListId(12L);
 			bidList2.setAccount("account2");
 			bidList2.setType("type2");
 			bidList2.setBidQuantity(1.02);
@@ -288,6 +307,95 @@ public class BidListServiceTest {
 		}
 	}
 
+	@Nested
+	@Tag("getBidListSummariesTests")
+	@DisplayName("Tests for getting bidList summaries")
+	class GetBidListSummariesTests {
+
+		@AfterEach
+		public void unSetForEachTests() {
+			bidListService = null;
+		}
+
+		@Test
+		@Tag("BidListServiceTest")
+		@DisplayName("test getBidListSummaries should return bidList summaries")
+		public void getBidListSummariesTestShouldReturnBidListSummaries() {
+
+			//GIVEN
+			List<BidListSummary> expectedBidListSummaries = List.of(
+					new BidListSummary(1L, "account", "type", 3.0),
+					new BidListSummary(2L, "account2", "type2", 3.2));
+			when(bidListRepository.findBidListSummaries(any(Pageable.class))).thenReturn(new PageImpl<BidListSummary>(expectedBidListSummaries));
+
+			//WHEN
+			Page<BidListSummary> resultBidListSummaries = bidListService.getBidListSummaries(Pageable.unpaged());
+
+			//THEN
+			assertThat(resultBidListSummaries).containsExactlyElementsOf(expectedBidListSummaries);
+		}
+
+		@Test
+		@Tag("BidListServiceTest")
+		@DisplayName("test getBidListSummaries should throw UnexpectedRollbackException on any RuntimeException")
+		public void getBidListSummariesTestShouldThrowUnexpectedRollbackExceptionOnAnyRuntimeException() {
+
+			//GIVEN
+			when(bidListRepository.findBidListSummaries(any(Pageable.class))).thenThrow(new RuntimeException());
+
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> bidListService.getBidListSummaries(Pageable.unpaged()))
+					.getMessage()).isEqualTo("Error while getting bidLists");
+		}
+	}
+
+	@Nested
+	@Tag("getBidListsWindowTests")
+	@DisplayName("Tests for getting window of bidLists by keyset")
+	class GetBidListsWindowTests {
+
+		@Test
+		@Tag("BidListServiceTest")
+		@DisplayName("test getBidLists by keyset should return expected window of bidLists")
+		@SuppressWarnings("unchecked")
+		public void getBidListsByKeysetTestShouldReturnExpectedWindowOfBidLists() {
+			//GIVEN
+			List<BidList> expectedBidLists = new ArrayList<>();
+			BidList bidList = new BidList();
+			bidList.setBidListId(1L);
+			bidList.setAccount("account");
+			expectedBidLists.add(bidList);
+			BidList bidList2 = new BidList();
+			bidList2.setBidListId(2L);
+			bidList2.setAccount("account2");
+			expectedBidLists.add(bidList2);
+			when(bidListRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(Window.from(expectedBidLists, ScrollPosition::offset, true));
+
+			//WHEN
+			Window<BidList> resultedBidLists = bidListService.getBidLists(ScrollPosition.keyset(), Sort.unsorted(), 2);
+
+			//THEN
+			assertThat(resultedBidLists.getContent()).extracting(BidList::getBidListId).containsExactly(1L, 2L);
+			assertThat(resultedBidLists.hasNext()).isTrue();
+		}
+
+		@Test
+		@Tag("BidListServiceTest")
+		@DisplayName("test getBidLists by keyset should throw UnexpectedRollbackException on any RuntimeException")
+		@SuppressWarnings("unchecked")
+		public void getBidListsByKeysetTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(bidListRepository.findBy(any(Specification.class), any(Function.class))).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> bidListService.getBidLists(ScrollPosition.keyset(), Sort.unsorted(), 2))
+					.getMessage()).isEqualTo("Error while getting bidLists");
+		}
+	}
+
 	@Nested
 	@Tag("saveBidListTests")
 	@DisplayName("Tests for saving bidList")
@@ -326,7 +434,7 @@ public class BidListServiceTest {
 
 			//GIVEN
 			BidList bidListExpected = new BidList();
-			bidListExpected.setBidListId(1);
+			bidListExpected.setBidListId(1L);
 			bidListExpected.setAccount("account");
 			bidListExpected.setType("type");
 			bidListExpected.setBidQuantity(1.0);
@@ -380,7 +488,7 @@ public class BidListServiceTest {
 					BidList::getSourceListId,
 					BidList::getSide)
 			.containsExactly(
-					1,
+					1L,
 					"account",
 					"type",
 					1.0,
@@ -421,6 +529,69 @@ public class BidListServiceTest {
 		}
 	}
 
+	@Nested
+	@Tag("saveBidListsTests")
+	@DisplayName("Tests for saving bidLists by chunks")
+	class SaveBidListsTests {
+
+		@AfterEach
+		public void unSetForEachTests() {
+			bidListService = null;
+		}
+
+		@Test
+		@Tag("BidListServiceTest")
+		@DisplayName("test saveBidLists should save, flush and clear chunk by chunk and return bidLists saved")
+		public void saveBidListsTestShouldSaveFlushAndClearChunkByChunkAndReturnBidListsSaved() {
+
+			//GIVEN
+			batchProperties.setFlushSize(2);
+			List<BidList> bidLists = new ArrayList<>();
+			for (int i = 1; i <= 3; i++) {
+				BidList bidListToSave = new BidList();
+				bidListToSave.setAccount("account" + i);
+				bidListToSave.setType("type");
+				bidLists.add(bidListToSave);
+			}
+			bidLists.get(2).setBidListId(7L);
+			when(bidListRepository.saveAll(anyList())).then(invocation -> new ArrayList<>(invocation.<List<BidList>>getArgument(0)));
+
+			//WHEN
+			List<BidList> bidListsResult = bidListService.saveBidLists(bidLists);
+
+			//THEN
+			InOrder inOrder = inOrder(bidListRepository, entityManager);
+			inOrder.verify(bidListRepository).findAllById(List.of());
+			inOrder.verify(bidListRepository).saveAll(bidLists.subList(0, 2));
+			inOrder.verify(entityManager).flush();
+			inOrder.verify(entityManager).clear();
+			inOrder.verify(bidListRepository).findAllById(List.of(7L));
+			inOrder.verify(bidListRepository).saveAll(bidLists.subList(2, 3));
+			inOrder.verify(entityManager).flush();
+			inOrder.verify(entityManager).clear();
+			assertThat(bidListsResult).extracting(BidList::getAccount).containsExactly("account1", "account2", "account3");
+		}
+
+		@Test
+		@Tag("BidListServiceTest")
+		@DisplayName("test saveBidLists should throw UnexpectedRollbackException on any RuntimeException")
+		public void saveBidListsTestShouldThrowUnexpectedRollbackExceptionOnAnyRuntimeException() {
+
+			//GIVEN
+			BidList bidListToSave = new BidList();
+			bidListToSave.setAccount("account");
+			bidListToSave.setType("type");
+			when(bidListRepository.saveAll(anyList())).thenReturn(List.of(bidListToSave));
+			doThrow(new RuntimeException()).when(entityManager).flush();
+
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> bidListService.saveBidLists(List.of(bidListToSave)))
+					.getMessage()).isEqualTo("Error while saving bidLists");
+		}
+	}
+
 	@Nested
 	@Tag("deleteBidListTests")
 	@DisplayName("Tests for deleting bidLists")
@@ -429,7 +600,7 @@ public class BidListServiceTest {
 		@BeforeEach
 		public void setUpForEachTest() {
 			bidList = new BidList();
-			bidList.setBidListId(1);
+			bidList.setBidListId(1L);
 			bidList.setAccount("account");
 			bidList.setType("type");
 			bidList.setBidQuantity(1.0);
@@ -459,12 +630,12 @@ public class BidListServiceTest {
 		public void deleteBidListByIdTestShouldDeleteIt() {
 
 			//GIVEN
-			when(bidListRepository.findById(anyInt())).thenReturn(Optional.of(bidList));
+			when(bidListRepository.findById(anyLong())).thenReturn(Optional.of(bidList));
 			ArgumentCaptor<BidList> bidListBeingDeleted = ArgumentCaptor.forClass(BidList.class);
 			doNothing().when(bidListRepository).delete(any(BidList.class));// Needed to Capture bidList
 
 			//WHEN
-			bidListService.deleteBidListById(1);
+			bidListService.deleteBidListById(1L);
 
 			//THEN
 			verify(bidListRepository, times(1)).delete(bidListBeingDeleted.capture());
@@ -492,7 +663,7 @@ public class BidListServiceTest {
 					BidList::getSourceListId,
 					BidList::getSide)
 			.containsExactly(
-					1,
+					1L,
 					"account",
 					"type",
 					1.0,
@@ -523,12 +694,12 @@ public class BidListServiceTest {
 		public void deleteBidListByIdTestShouldThrowUnexpectedRollbackExceptionOnUnexpectedRollbackException() {
 
 			//GIVEN
-			when(bidListRepository.findById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting bidlist"));
+			when(bidListRepository.findById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting bidlist"));
 
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> bidListService.deleteBidListById(2))
+					() -> bidListService.deleteBidListById(2L))
 					.getMessage()).isEqualTo("Error while deleting bidList");
 		}
 
@@ -538,12 +709,12 @@ public class BidListServiceTest {
 		public void deleteBidListByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 
 			//GIVEN
-			when(bidListRepository.findById(anyInt())).thenReturn(Optional.of(bidList));
+			when(bidListRepository.findById(anyLong())).thenReturn(Optional.of(bidList));
 			doThrow(new InvalidDataAccessApiUsageException("Entity must not be null")).when(bidListRepository).delete(any(BidList.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> bidListService.deleteBidListById(1))
+					() -> bidListService.deleteBidListById(1L))
 					.getMessage()).isEqualTo("Error while deleting bidList");
 		}
 
@@ -554,13 +725,62 @@ public class BidListServiceTest {
 		public void deleteBidListByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 
 			//GIVEN
-			when(bidListRepository.findById(anyInt())).thenReturn(Optional.of(bidList));
+			when(bidListRepository.findById(anyLong())).thenReturn(Optional.of(bidList));
 			doThrow(new RuntimeException()).when(bidListRepository).delete(any(BidList.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> bidListService.deleteBidListById(1))
+					() -> bidListService.deleteBidListById(1L))
 					.getMessage()).isEqualTo("Error while deleting bidList");
 		}	
 	}
+
+	@Nested
+	@Tag("exportBidListsTests")
+	@DisplayName("Tests for exporting bidLists")
+	class ExportBidListsTests {
+
+		@AfterEach
+		public void unSetForEachTests() {
+			bidListService = null;
+			bidList = null;
+		}
+
+		@Test
+		@Tag("BidListServiceTest")
+		@DisplayName("test exportBidLists should consume and detach each bidList")
+		public void exportBidListsTestShouldConsumeAndDetachEachBidList() {
+			//GIVEN
+			bidList = new BidList();
+			bidList.setBidListId(1L);
+			BidList bidList2 = new BidList();
+			bidList2.setBidListId(2L);
+			when(bidListRepository.streamAll()).thenReturn(Stream.of(bidList, bidList2));
+			List<BidList> consumedBidLists = new ArrayList<>();
+
+			//WHEN
+			long exported = bidListService.exportBidLists(consumedBidLists::add);
+
+			//THEN
+			assertThat(exported).isEqualTo(2);
+			assertThat(consumedBidLists).containsExactly(bidList, bidList2);
+			verify(entityManager).detach(bidList);
+			verify(entityManager).detach(bidList2);
+		}
+
+		@Test
+		@Tag("BidListServiceTest")
+		@DisplayName("test exportBidLists should throw UnexpectedRollbackException when consumer fails")
+		public void exportBidListsTestShouldThrowUnexpectedRollbackExceptionWhenConsumerFails() {
+			//GIVEN
+			bidList = new BidList();
+			when(bidListRepository.streamAll()).thenReturn(Stream.of(bidList));
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> bidListService.exportBidLists(exportedBidList -> {throw new UncheckedIOException(new IOException("Broken pipe"));}))
+					.getMessage()).isEqualTo("Error while exporting bidLists");
+			verify(entityManager, never()).detach(any());
+		}
+	}
 }
@@ -0,0 +1,79 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.domain.CurvePoint;
+import com.poseidoninc.poseidon.repository.CurvePointRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * integration test class for the unique (CurveId, asOfDate, term) key of CurvePointService, through the real transaction and database
+ * @author olivier morel
+ */
+@SpringBootTest
+@ActiveProfiles("mytest")
+public class CurvePointServiceIT {
+
+	private static final LocalDateTime AS_OF_DATE = LocalDateTime.of(2023, 1, 21, 18, 0);
+
+	@Autowired
+	private CurvePointService curvePointService;
+
+	@Autowired
+	private CurvePointRepository curvePointRepository;
+
+	@AfterEach
+	public void undefPerTest() {
+		curvePointRepository.deleteAll();
+	}
+
+	private static CurvePoint curvePoint(Double term, Double value) {
+		CurvePoint curvePoint = new CurvePoint();
+		curvePoint.setCurveId(1);
+		curvePoint.setAsOfDate(AS_OF_DATE);
+		curvePoint.setTerm(term);
+		curvePoint.setValue(value);
+		return curvePoint;
+	}
+
+	@Test
+	@Tag("CurvePointServiceIT")
+	@DisplayName("saveCurvePoint test with a term already in the curve should throw DataIntegrityViolationException Term already exists in this curve")
+	public void saveCurvePointTestWithATermAlreadyInTheCurveShouldThrowDataIntegrityViolationExceptionTermAlreadyExistsInThisCurve() {
+
+		//GIVEN
+		curvePointService.saveCurvePoint(curvePoint(1.0, 10.0));
+
+		//WHEN
+		//THEN
+		//translated by the service, not the constraint message of the database at commit
+		assertThat(assertThrows(DataIntegrityViolationException.class,
+				() -> curvePointService.saveCurvePoint(curvePoint(1.0, 20.0)))
+				.getMessage()).isEqualTo("Term already exists in this curve");
+		assertThat(curvePointService.getCurve(1, AS_OF_DATE)).singleElement().extracting(CurvePoint::getValue).isEqualTo(10.0);
+	}
+
+	@Test
+	@Tag("CurvePointServiceIT")
+	@DisplayName("saveCurvePoint test with the same term at another date should save both points")
+	public void saveCurvePointTestWithTheSameTermAtAnotherDateShouldSaveBothPoints() {
+
+		//GIVEN
+		curvePointService.saveCurvePoint(curvePoint(1.0, 10.0));
+		CurvePoint curvePointNextDay = curvePoint(1.0, 20.0);
+		curvePointNextDay.setAsOfDate(AS_OF_DATE.plusDays(1));
+
+		//WHEN
+		curvePointService.saveCurvePoint(curvePointNextDay);
+
+		//THEN
+		assertThat(curvePointRepository.count()).isEqualTo(2);
+	}
+}
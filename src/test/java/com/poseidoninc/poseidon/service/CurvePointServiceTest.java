@@ -1,11 +1,18 @@
 package com.poseidoninc.poseidon.service;
 
+import com.poseidoninc.poseidon.curve.BootstrappedCurve;
+import com.poseidoninc.poseidon.curve.CurveBootstrapJob;
+import com.poseidoninc.poseidon.curve.CurveHistory;
+import com.poseidoninc.poseidon.curve.CurveHistoryStore;
+import com.poseidoninc.poseidon.curve.CurveSnapshot;
+import com.poseidoninc.poseidon.curve.CurveSnapshotCache;
 import com.poseidoninc.poseidon.domain.CurvePoint;
 import com.poseidoninc.poseidon.repository.CurvePointRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -14,15 +21,23 @@ import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.UnexpectedRollbackException;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -39,6 +54,15 @@ public class CurvePointServiceTest {
 	
 	@Mock
 	private CurvePointRepository curvePointRepository;
+
+	@Mock
+	private CurveSnapshotCache curveSnapshotCache;
+
+	@Mock
+	private CurveHistoryStore curveHistoryStore;
+
+	@Mock
+	private CurveBootstrapJob curveBootstrapJob;
 	
 	private CurvePoint curvePoint;
 	
@@ -60,18 +84,19 @@ public class CurvePointServiceTest {
 			
 			//GIVEN
 			curvePoint = new CurvePoint();
-			curvePoint.setId(1);
+			curvePoint.setId(1L);
 			curvePoint.setCurveId(2);
 			curvePoint.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePoint.setTerm(3.0);
 			curvePoint.setValue(4.0);
 			curvePoint.setCreationDate(LocalDateTime.parse("22/01/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-			when(curvePointRepository.findById(anyInt())).thenReturn(Optional.of(curvePoint));
+			when(curvePointRepository.findById(anyLong())).thenReturn(Optional.of(curvePoint));
 			
 			//WHEN
-			CurvePoint curvePointResult = curvePointService.getCurvePointById(1);
+			CurvePoint curvePointResult = curvePointService.getCurvePointById(1L);
 			
 			//THEN
+			verify(curveSnapshotCache).get(2, curvePoint.getAsOfDate());
 			assertThat(curvePointResult).extracting(
 					CurvePoint::getId,
 					CurvePoint::getCurveId,
@@ -80,7 +105,7 @@ public class CurvePointServiceTest {
 					CurvePoint::getValue,
 					curve -> curve.getCreationDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")))
 			.containsExactly(
-					1,
+					1L,
 					2,
 					"21/01/2023 10:20:30",
 					3.0,
@@ -88,13 +113,32 @@ public class CurvePointServiceTest {
 					"22/01/2023 12:22:32"
 					);
 		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test getCurvePointById should return the cached curvePoint without reading the database")
+		public void getCurvePointByIdTestShouldReturnTheCachedCurvePointWithoutReadingTheDatabase() {
+
+			//GIVEN
+			curvePoint = new CurvePoint();
+			curvePoint.setId(1L);
+			curvePoint.setCurveId(2);
+			when(curveSnapshotCache.getCurvePoint(1L)).thenReturn(Optional.of(curvePoint));
+
+			//WHEN
+			CurvePoint curvePointResult = curvePointService.getCurvePointById(1L);
+
+			//THEN
+			assertThat(curvePointResult).isSameAs(curvePoint);
+			verifyNoInteractions(curvePointRepository);
+		}
 				
 		@Test
 		@Tag("CurvePointServiceTest")
 		@DisplayName("test getCurvePointById should throw UnexpectedRollbackException On InvalidDataAccessApiUsageException")
 		public void getCurvePointByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 			//GIVEN
-			when(curvePointRepository.findById(nullable(Integer.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
+			when(curvePointRepository.findById(nullable(Long.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
 			
 			//WHEN
 			//THEN
@@ -108,12 +152,12 @@ public class CurvePointServiceTest {
 		@DisplayName("test getCurvePointById should throw UnexpectedRollbackException on ResourceNotFoundException")
 		public void getCurvePointByIdTestShouldThrowsUnexpectedRollbackExceptionOnResourceNotFoundException() {
 			//GIVEN
-			when(curvePointRepository.findById(anyInt())).thenReturn(Optional.empty());
+			when(curvePointRepository.findById(anyLong())).thenReturn(Optional.empty());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> curvePointService.getCurvePointById(1))
+				() -> curvePointService.getCurvePointById(1L))
 				.getMessage()).isEqualTo("Error while getting curvePoint");
 		}
 		
@@ -122,12 +166,12 @@ public class CurvePointServiceTest {
 		@DisplayName("test getCurvePointById should throw UnexpectedRollbackException on any RuntimeException")
 		public void getCurvePointByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 			//GIVEN
-			when(curvePointRepository.findById(anyInt())).thenThrow(new RuntimeException());
+			when(curvePointRepository.findById(anyLong())).thenThrow(new RuntimeException());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> curvePointService.getCurvePointById(1))
+				() -> curvePointService.getCurvePointById(1L))
 				.getMessage()).isEqualTo("Error while getting curvePoint");
 		}
 	}
@@ -164,7 +208,7 @@ public class CurvePointServiceTest {
 			//GIVEN
 			List<CurvePoint> expectedCurvePoints = new ArrayList<>();
 			curvePoint = new CurvePoint();
-			curvePoint.setId(1);
+			curvePoint.setId(1L);
 			curvePoint.setCurveId(2);
 			curvePoint.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePoint.setTerm(3.0);
@@ -173,7 +217,7 @@ public class CurvePointServiceTest {
 			expectedCurvePoints.add(curvePoint);
 
 			CurvePoint curvePoint2 = new CurvePoint();			
-			curvePoint2.setId(2);
+			curvePoint2.setId(2L);
 			curvePoint2.setCurveId(3);
 			curvePoint2.setAsOfDate(LocalDateTime.parse("23/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePoint2.setTerm(4.0);
@@ -216,6 +260,259 @@ public class CurvePointServiceTest {
 		}
 	}
 	
+	@Nested
+	@Tag("getCurvePointsWindowTests")
+	@DisplayName("Tests for getting window of curvePoints by keyset")
+	class GetCurvePointsWindowTests {
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test getCurvePoints by keyset should return expected window of curvePoints")
+		@SuppressWarnings("unchecked")
+		public void getCurvePointsByKeysetTestShouldReturnExpectedWindowOfCurvePoints() {
+			//GIVEN
+			List<CurvePoint> expectedCurvePoints = new ArrayList<>();
+			CurvePoint curvePoint = new CurvePoint();
+			curvePoint.setId(1L);
+			expectedCurvePoints.add(curvePoint);
+			CurvePoint curvePoint2 = new CurvePoint();
+			curvePoint2.setId(2L);
+			expectedCurvePoints.add(curvePoint2);
+			when(curvePointRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(Window.from(expectedCurvePoints, ScrollPosition::offset, true));
+
+			//WHEN
+			Window<CurvePoint> resultedCurvePoints = curvePointService.getCurvePoints(ScrollPosition.keyset(), Sort.unsorted(), 2);
+
+			//THEN
+			assertThat(resultedCurvePoints.getContent()).extracting(CurvePoint::getId).containsExactly(1L, 2L);
+			assertThat(resultedCurvePoints.hasNext()).isTrue();
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test getCurvePoints by keyset should throw UnexpectedRollbackException on any RuntimeException")
+		@SuppressWarnings("unchecked")
+		public void getCurvePointsByKeysetTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(curvePointRepository.findBy(any(Specification.class), any(Function.class))).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> curvePointService.getCurvePoints(ScrollPosition.keyset(), Sort.unsorted(), 2))
+					.getMessage()).isEqualTo("Error while getting curvePoints");
+		}
+	}
+
+	@Nested
+	@Tag("getCurveTests")
+	@DisplayName("Tests for getting all points of a curve")
+	class GetCurveTests {
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test getCurve should return points of the curve")
+		public void getCurveTestShouldReturnPointsOfTheCurve() {
+			//GIVEN
+			LocalDateTime asOfDate = LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+			CurvePoint curvePoint = new CurvePoint();
+			curvePoint.setId(1L);
+			curvePoint.setTerm(1.0);
+			CurvePoint curvePoint2 = new CurvePoint();
+			curvePoint2.setId(2L);
+			curvePoint2.setTerm(2.0);
+			when(curveSnapshotCache.get(2, asOfDate)).thenReturn(CurveSnapshot.of(2, asOfDate, List.of(curvePoint2, curvePoint)));
+
+			//WHEN
+			List<CurvePoint> resultedCurve = curvePointService.getCurve(2, asOfDate);
+
+			//THEN
+			assertThat(resultedCurve).extracting(CurvePoint::getId).containsExactly(1L, 2L);
+			verifyNoInteractions(curvePointRepository);
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test getCurve should throw UnexpectedRollbackException on any RuntimeException")
+		public void getCurveTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(curveSnapshotCache.get(anyInt(), any())).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> curvePointService.getCurve(2, null))
+					.getMessage()).isEqualTo("Error while getting curve");
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test getCurveSnapshot should return terms and values of the curve")
+		public void getCurveSnapshotTestShouldReturnTermsAndValuesOfTheCurve() {
+			//GIVEN
+			CurvePoint curvePoint = new CurvePoint();
+			curvePoint.setTerm(1.0);
+			curvePoint.setValue(10.0);
+			CurvePoint curvePoint2 = new CurvePoint();
+			curvePoint2.setTerm(2.0);
+			curvePoint2.setValue(20.0);
+			when(curveSnapshotCache.get(2, null)).thenReturn(CurveSnapshot.of(2, null, List.of(curvePoint, curvePoint2)));
+
+			//WHEN
+			CurveSnapshot curveSnapshot = curvePointService.getCurveSnapshot(2, null);
+
+			//THEN
+			assertThat(curveSnapshot.getCurveId()).isEqualTo(2);
+			assertThat(curveSnapshot.getTerms()).containsExactly(1.0, 2.0);
+			assertThat(curveSnapshot.getValues()).containsExactly(10.0, 20.0);
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test getCurveSnapshot should throw UnexpectedRollbackException on any RuntimeException")
+		public void getCurveSnapshotTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(curveSnapshotCache.get(anyInt(), any())).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> curvePointService.getCurveSnapshot(2, null))
+					.getMessage()).isEqualTo("Error while getting curve");
+		}
+	}
+
+	@Nested
+	@Tag("curveHistoryTests")
+	@DisplayName("Tests for the curve history")
+	class CurveHistoryTests {
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test getCurveHistory should return the dates of the curve between from and to")
+		public void getCurveHistoryTestShouldReturnTheDatesOfTheCurveBetweenFromAndTo() {
+			//GIVEN
+			CurveHistory.Builder builder = CurveHistory.builder();
+			for (int day = 1; day <= 3; day++) {
+				CurvePoint point = new CurvePoint();
+				point.setCurveId(2);
+				point.setAsOfDate(LocalDateTime.of(2023, 1, day, 0, 0));
+				point.setTerm(1.0);
+				point.setValue((double) day);
+				builder.add(point);
+			}
+			when(curveHistoryStore.getCurveHistory()).thenReturn(builder.build());
+
+			//WHEN
+			List<CurveSnapshot> curveHistory = curvePointService.getCurveHistory(2, LocalDateTime.of(2023, 1, 2, 0, 0), null);
+
+			//THEN
+			assertThat(curveHistory).extracting(CurveSnapshot::getAsOfDate).containsExactly(LocalDateTime.of(2023, 1, 2, 0, 0), LocalDateTime.of(2023, 1, 3, 0, 0));
+			verifyNoInteractions(curvePointRepository);
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test countCurveHistory should count the dates of the curve between from and to")
+		public void countCurveHistoryTestShouldCountTheDatesOfTheCurveBetweenFromAndTo() {
+			//GIVEN
+			CurveHistory.Builder builder = CurveHistory.builder();
+			for (int day = 1; day <= 3; day++) {
+				CurvePoint point = new CurvePoint();
+				point.setCurveId(2);
+				point.setAsOfDate(LocalDateTime.of(2023, 1, day, 0, 0));
+				point.setTerm(1.0);
+				point.setValue((double) day);
+				builder.add(point);
+			}
+			when(curveHistoryStore.getCurveHistory()).thenReturn(builder.build());
+
+			//WHEN
+			int count = curvePointService.countCurveHistory(2, LocalDateTime.of(2023, 1, 2, 0, 0), null);
+
+			//THEN
+			assertThat(count).isEqualTo(2);
+			assertThat(curvePointService.countCurveHistory(3, null, null)).isZero();
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test countCurveHistory should throw UnexpectedRollbackException on any RuntimeException")
+		public void countCurveHistoryTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(curveHistoryStore.getCurveHistory()).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> curvePointService.countCurveHistory(2, null, null))
+					.getMessage()).isEqualTo("Error while counting curve history");
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test getCurveHistory should throw UnexpectedRollbackException on any RuntimeException")
+		public void getCurveHistoryTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(curveHistoryStore.getCurveHistory()).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> curvePointService.getCurveHistory(2, null, null))
+					.getMessage()).isEqualTo("Error while getting curve history");
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test rebuildCurveHistory should throw UnexpectedRollbackException on IOException")
+		public void rebuildCurveHistoryTestShouldThrowsUnexpectedRollbackExceptionOnIOException() throws Exception {
+			//GIVEN
+			when(curveHistoryStore.rebuild()).thenThrow(new IOException("No space left on device"));
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> curvePointService.rebuildCurveHistory())
+					.getMessage()).isEqualTo("Error while rebuilding curve history");
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test bootstrapCurves should return the curves bootstrapped by the job")
+		public void bootstrapCurvesTestShouldReturnTheCurvesBootstrappedByTheJob() {
+			//GIVEN
+			BootstrappedCurve bootstrappedCurve = new BootstrappedCurve(2, null, new double[0], new double[0], new double[0]);
+			when(curveBootstrapJob.run(LocalDate.of(2023, 1, 21))).thenReturn(List.of(bootstrappedCurve));
+
+			//WHEN
+			List<BootstrappedCurve> bootstrappedCurves = curvePointService.bootstrapCurves(LocalDate.of(2023, 1, 21));
+
+			//THEN
+			assertThat(bootstrappedCurves).containsExactly(bootstrappedCurve);
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test bootstrapCurves should throw UnexpectedRollbackException on any RuntimeException")
+		public void bootstrapCurvesTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(curveBootstrapJob.run(any())).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> curvePointService.bootstrapCurves(LocalDate.of(2023, 1, 21)))
+					.getMessage()).isEqualTo("Error while bootstrapping curves");
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test getBootstrappedCurve should throw UnexpectedRollbackException on ResourceNotFoundException")
+		public void getBootstrappedCurveTestShouldThrowsUnexpectedRollbackExceptionOnResourceNotFoundException() {
+			//GIVEN
+			when(curveBootstrapJob.getBootstrappedCurve(2, null)).thenReturn(Optional.empty());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> curvePointService.getBootstrappedCurve(2, null))
+					.getMessage()).isEqualTo("Error while getting bootstrapped curve");
+		}
+	}
+
 	@Nested
 	@Tag("saveCurvePointTests")
 	@DisplayName("Tests for saving curvePoints")
@@ -244,19 +541,21 @@ public class CurvePointServiceTest {
 			
 			//GIVEN
 			CurvePoint curvePointExpected = new CurvePoint();
-			curvePointExpected.setId(1);
+			curvePointExpected.setId(1L);
 			curvePointExpected.setCurveId(2);
 			curvePointExpected.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePointExpected.setTerm(3.0);
 			curvePointExpected.setValue(4.0);
 			curvePointExpected.setCreationDate(LocalDateTime.parse("22/01/2023 12:22:32", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
-			when(curvePointRepository.save(any(CurvePoint.class))).thenReturn(curvePointExpected);
+			when(curvePointRepository.saveAndFlush(any(CurvePoint.class))).thenReturn(curvePointExpected);
 			
 			//WHEN
 			CurvePoint resultedCurvePoint = curvePointService.saveCurvePoint(curvePoint);
 			
 			//THEN
-			verify(curvePointRepository).save(any(CurvePoint.class)); //times(1) is the default and can be omitted
+			verify(curvePointRepository).saveAndFlush(any(CurvePoint.class)); //times(1) is the default and can be omitted
+			verify(curveSnapshotCache).publishAfterCommit(2, curvePointExpected.getAsOfDate());
+			verify(curveBootstrapJob).invalidateAfterCommit(2, curvePointExpected.getAsOfDate());
 			assertThat(resultedCurvePoint).extracting(
 					CurvePoint::getId,
 					CurvePoint::getCurveId,
@@ -265,7 +564,7 @@ public class CurvePointServiceTest {
 					CurvePoint::getValue,
 					curve -> curve.getCreationDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")))
 				.containsExactly(
-					1,	
+					1L,	
 					2,
 					"21/01/2023 10:20:30",
 					3.0,
@@ -279,13 +578,13 @@ public class CurvePointServiceTest {
 		public void saveCurvePointTestShouldThrowsDataIntegrityViolationException() {
 
 			//GIVEN
-			when(curvePointRepository.save(any(CurvePoint.class))).thenThrow(new DataIntegrityViolationException("Unique index or primary key violation"));
+			when(curvePointRepository.saveAndFlush(any(CurvePoint.class))).thenThrow(new DataIntegrityViolationException("Unique index or primary key violation"));
 
 			//WHEN
 			//THEN
 			assertThat(assertThrows(DataIntegrityViolationException.class,
 					() -> curvePointService.saveCurvePoint(curvePoint))
-					.getMessage()).isEqualTo("CurveId already exists");
+					.getMessage()).isEqualTo("Term already exists in this curve");
 		}
 		
 		@Test
@@ -294,16 +593,125 @@ public class CurvePointServiceTest {
 		public void saveCurvePointTestShouldThrowUnexpectedRollbackExceptionOnAnyRuntimeException() {
 			
 			//GIVEN
-			when(curvePointRepository.save(any(CurvePoint.class))).thenThrow(new RuntimeException());
+			when(curvePointRepository.saveAndFlush(any(CurvePoint.class))).thenThrow(new RuntimeException());
 
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
 					() -> curvePointService.saveCurvePoint(curvePoint))
 					.getMessage()).isEqualTo("Error while saving curvePoint");
-		}	
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test saveCurvePoint moving a point to another curve should publish both curves")
+		public void saveCurvePointTestMovingAPointToAnotherCurveShouldPublishBothCurves() {
+
+			//GIVEN
+			CurvePoint curvePointBefore = new CurvePoint();
+			curvePointBefore.setId(1L);
+			curvePointBefore.setCurveId(1);
+			curvePoint.setId(1L);
+			when(curvePointRepository.findById(1L)).thenReturn(Optional.of(curvePointBefore));
+			when(curvePointRepository.saveAndFlush(any(CurvePoint.class))).then(invocation -> invocation.getArgument(0));
+
+			//WHEN
+			curvePointService.saveCurvePoint(curvePoint);
+
+			//THEN
+			verify(curveSnapshotCache).publishAfterCommit(1, null);
+			verify(curveBootstrapJob).invalidateAfterCommit(1, null);
+			verify(curveSnapshotCache).publishAfterCommit(2, curvePoint.getAsOfDate());
+			verify(curveBootstrapJob).invalidateAfterCommit(2, curvePoint.getAsOfDate());
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test saveCurvePoint on error should not publish")
+		public void saveCurvePointTestOnErrorShouldNotPublish() {
+
+			//GIVEN
+			when(curvePointRepository.saveAndFlush(any(CurvePoint.class))).thenThrow(new RuntimeException());
+
+			//WHEN
+			assertThrows(UnexpectedRollbackException.class, () -> curvePointService.saveCurvePoint(curvePoint));
+
+			//THEN
+			verifyNoInteractions(curveSnapshotCache);
+		}
 	}
 	
+	@Nested
+	@Tag("saveCurveTests")
+	@DisplayName("Tests for upserting points of a curve")
+	class SaveCurveTests {
+
+		private CurvePoint newCurvePoint(Long id, double term, double value) {
+			CurvePoint point = new CurvePoint();
+			point.setId(id);
+			point.setCurveId(2);
+			point.setTerm(term);
+			point.setValue(value);
+			return point;
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test saveCurve should update existing terms, create new ones then flush and return points ordered by term")
+		public void saveCurveTestShouldUpdateExistingTermsCreateNewOnesThenFlushAndReturnPointsOrderedByTerm() {
+
+			//GIVEN
+			CurvePoint existingPoint = newCurvePoint(7L, 2.0, 20.0);
+			when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(2, null)).thenReturn(List.of(existingPoint));
+			when(curvePointRepository.saveAll(anyList())).then(invocation -> new ArrayList<>(invocation.<List<CurvePoint>>getArgument(0)));
+
+			//WHEN
+			List<CurvePoint> curveResult = curvePointService.saveCurve(List.of(newCurvePoint(99L, 3.0, 30.0), newCurvePoint(null, 2.0, 21.0), newCurvePoint(null, 1.0, 10.0)));
+
+			//THEN
+			InOrder inOrder = inOrder(curvePointRepository);
+			inOrder.verify(curvePointRepository).findByCurveIdAndAsOfDateOrderByTerm(2, null);
+			inOrder.verify(curvePointRepository).saveAll(anyList());
+			inOrder.verify(curvePointRepository).flush();
+			verify(curveSnapshotCache).publishAfterCommit(2, null);
+			verify(curveBootstrapJob).invalidateAfterCommit(2, null);
+			assertThat(curveResult).extracting(CurvePoint::getId, CurvePoint::getTerm, CurvePoint::getValue)
+					.containsExactly(tuple(null, 1.0, 10.0), tuple(7L, 2.0, 21.0), tuple(null, 3.0, 30.0));
+			assertThat(curveResult.get(1)).isSameAs(existingPoint);
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test saveCurve should throw DataIntegrityViolationException")
+		public void saveCurveTestShouldThrowsDataIntegrityViolationException() {
+
+			//GIVEN
+			when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(anyInt(), any())).thenReturn(List.of());
+			doThrow(new DataIntegrityViolationException("Unique index or primary key violation")).when(curvePointRepository).flush();
+
+			//WHEN
+			//THEN
+			assertThat(assertThrows(DataIntegrityViolationException.class,
+					() -> curvePointService.saveCurve(List.of(newCurvePoint(null, 1.0, 10.0))))
+					.getMessage()).isEqualTo("Term already exists in this curve");
+		}
+
+		@Test
+		@Tag("CurvePointServiceTest")
+		@DisplayName("test saveCurve should throw UnexpectedRollbackException on any RuntimeException")
+		public void saveCurveTestShouldThrowUnexpectedRollbackExceptionOnAnyRuntimeException() {
+
+			//GIVEN
+			when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTerm(anyInt(), any())).thenThrow(new RuntimeException());
+
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> curvePointService.saveCurve(List.of(newCurvePoint(null, 1.0, 10.0))))
+					.getMessage()).isEqualTo("Error while saving curve");
+		}
+	}
+
 	@Nested
 	@Tag("deleteCurvePointTests")
 	@DisplayName("Tests for deleting curve point")
@@ -312,7 +720,7 @@ public class CurvePointServiceTest {
 		@BeforeEach
 		public void setUpForEachTest() {
 			curvePoint = new CurvePoint();
-			curvePoint.setId(1);
+			curvePoint.setId(1L);
 			curvePoint.setCurveId(2);
 			curvePoint.setAsOfDate(LocalDateTime.parse("21/01/2023 10:20:30", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
 			curvePoint.setTerm(3.0);
@@ -332,15 +740,17 @@ public class CurvePointServiceTest {
 		public void deleteCurvePointByIdTestShouldDeleteIt() {
 			
 			//GIVEN
-			when(curvePointRepository.findById(anyInt())).thenReturn(Optional.of(curvePoint));
+			when(curvePointRepository.findById(anyLong())).thenReturn(Optional.of(curvePoint));
 			ArgumentCaptor<CurvePoint> curvePointBeingDeleted = ArgumentCaptor.forClass(CurvePoint.class);
 			doNothing().when(curvePointRepository).delete(any(CurvePoint.class));// Needed to Capture curvePoint
 			
 			//WHEN
-			curvePointService.deleteCurvePointById(1);
+			curvePointService.deleteCurvePointById(1L);
 			
 			//THEN
 			verify(curvePointRepository, times(1)).delete(curvePointBeingDeleted.capture());
+			verify(curveSnapshotCache).publishAfterCommit(2, curvePoint.getAsOfDate());
+			verify(curveBootstrapJob).invalidateAfterCommit(2, curvePoint.getAsOfDate());
 			assertThat(curvePointBeingDeleted.getValue()).extracting(
 					CurvePoint::getId,
 					CurvePoint::getCurveId,
@@ -349,7 +759,7 @@ public class CurvePointServiceTest {
 					CurvePoint::getValue,
 					curve -> curve.getCreationDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")))
 			.containsExactly(
-					1,
+					1L,
 					2,
 					"21/01/2023 10:20:30",
 					3.0,
@@ -363,12 +773,12 @@ public class CurvePointServiceTest {
 		public void deleteCurvePointByIdTestShouldThrowUnexpectedRollbackExceptionOnUnexpectedRollbackException() {
 
 			//GIVEN
-			when(curvePointRepository.findById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting curvePoints"));
+			when(curvePointRepository.findById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting curvePoints"));
 
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> curvePointService.deleteCurvePointById(2))
+					() -> curvePointService.deleteCurvePointById(2L))
 					.getMessage()).isEqualTo("Error while deleting curvePoint");
 		}	
 
@@ -378,12 +788,12 @@ public class CurvePointServiceTest {
 		public void deleteCurvePointByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 
 			//GIVEN
-			when(curvePointRepository.findById(anyInt())).thenReturn(Optional.of(curvePoint));
+			when(curvePointRepository.findById(anyLong())).thenReturn(Optional.of(curvePoint));
 			doThrow(new InvalidDataAccessApiUsageException("Entity must not be null")).when(curvePointRepository).delete(any(CurvePoint.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> curvePointService.deleteCurvePointById(1))
+					() -> curvePointService.deleteCurvePointById(1L))
 					.getMessage()).isEqualTo("Error while deleting curvePoint");
 		}	
 		
@@ -394,12 +804,12 @@ public class CurvePointServiceTest {
 		public void deleteCurvePointByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 
 			//GIVEN
-			when(curvePointRepository.findById(anyInt())).thenReturn(Optional.of(curvePoint));
+			when(curvePointRepository.findById(anyLong())).thenReturn(Optional.of(curvePoint));
 			doThrow(new RuntimeException()).when(curvePointRepository).delete(any(CurvePoint.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> curvePointService.deleteCurvePointById(1))
+					() -> curvePointService.deleteCurvePointById(1L))
 					.getMessage()).isEqualTo("Error while deleting curvePoint");
 		}	
 	}
@@ -0,0 +1,277 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.configuration.CacheConfiguration;
+import com.poseidoninc.poseidon.configuration.GitHubClientConfiguration;
+import com.poseidoninc.poseidon.configuration.GitHubProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * integration test class for GitHubEmailService against a local stub of GitHub API,
+ * logs latency and throughput of concurrent logins against a new RestTemplate per login without cache
+ * @author olivier morel
+ */
+@SpringJUnitConfig(GitHubEmailServiceIT.GitHubEmailServiceITConfiguration.class)
+@Slf4j
+public class GitHubEmailServiceIT {
+
+	private static final int LATENCY_MILLIS = 20;
+
+	private static final String EMAILS = "[{\"email\":\"other@aaa.com\",\"primary\":false,\"verified\":true},{\"email\":\"aaa@aaa.com\",\"primary\":true,\"verified\":true}]";
+
+	private static final HttpServer STUB;
+
+	private static final AtomicInteger REQUESTS = new AtomicInteger();
+
+	static {
+		try {
+			STUB = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		STUB.createContext("/user/emails", GitHubEmailServiceIT::handleEmails);
+		STUB.setExecutor(Executors.newFixedThreadPool(32));
+		STUB.start();
+	}
+
+	@Configuration
+	@EnableCaching
+	@Import({GitHubClientConfiguration.class, GitHubEmailServiceImpl.class})
+	static class GitHubEmailServiceITConfiguration {
+
+		@Bean
+		public GitHubProperties gitHubProperties() {
+			GitHubProperties gitHubProperties = new GitHubProperties();
+			gitHubProperties.setBaseUrl("http://localhost:" + STUB.getAddress().getPort());
+			gitHubProperties.setReadTimeout(Duration.ofMillis(200));
+			gitHubProperties.setSlidingWindowSize(4);
+			return gitHubProperties;
+		}
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager(CacheConfiguration.GITHUB_EMAIL_CACHE);
+		}
+	}
+
+	@Autowired
+	private GitHubEmailService gitHubEmailService;
+
+	@Autowired
+	private CircuitBreaker gitHubCircuitBreaker;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		gitHubCircuitBreaker.reset();
+		cacheManager.getCache(CacheConfiguration.GITHUB_EMAIL_CACHE).clear();
+		REQUESTS.set(0);
+	}
+
+	@AfterAll
+	public static void undefAll() {
+		STUB.stop(0);
+		((ExecutorService) STUB.getExecutor()).shutdownNow();
+	}
+
+	@Test
+	@Tag("GitHubEmailServiceIT")
+	@DisplayName("getPrimaryEmail test should call GitHub once then read the email from cache")
+	public void getPrimaryEmailTestShouldCallGitHubOnceThenReadTheEmailFromCache() {
+
+		//GIVEN
+		gitHubEmailService.getPrimaryEmail("1", "token-ok");
+
+		//WHEN
+		String email = gitHubEmailService.getPrimaryEmail("1", "token-other");
+
+		//THEN
+		assertThat(email).isEqualTo("aaa@aaa.com");
+		assertThat(REQUESTS.get()).isEqualTo(1);
+	}
+
+	@Test
+	@Tag("GitHubEmailServiceIT")
+	@DisplayName("getPrimaryEmail test should throw OAuth2AuthenticationException after read timeout")
+	public void getPrimaryEmailTestShouldThrowOAuth2AuthenticationExceptionAfterReadTimeout() {
+
+		//GIVEN
+		long start = System.nanoTime();
+
+		//WHEN
+		OAuth2AuthenticationException oae = assertThrows(OAuth2AuthenticationException.class, () -> gitHubEmailService.getPrimaryEmail("1", "token-slow"));
+
+		//THEN
+		assertThat(oae.getMessage()).isEqualTo("Error while getting GitHub emails");
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+	}
+
+	@Test
+	@Tag("GitHubEmailServiceIT")
+	@DisplayName("getPrimaryEmail test should fail fast without calling GitHub when circuit breaker is open")
+	public void getPrimaryEmailTestShouldFailFastWithoutCallingGitHubWhenCircuitBreakerIsOpen() {
+
+		//GIVEN
+		for (int i = 0; i < 4; i++) {
+			String subject = String.valueOf(i);
+			assertThrows(OAuth2AuthenticationException.class, () -> gitHubEmailService.getPrimaryEmail(subject, "token-error"));
+		}
+		int requestsBeforeOpen = REQUESTS.get();
+
+		//WHEN
+		OAuth2AuthenticationException oae = assertThrows(OAuth2AuthenticationException.class, () -> gitHubEmailService.getPrimaryEmail("5", "token-ok"));
+
+		//THEN
+		assertThat(gitHubCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(oae.getMessage()).isEqualTo("GitHub is unavailable, try again later");
+		assertThat(REQUESTS.get()).isEqualTo(requestsBeforeOpen).isEqualTo(4);
+	}
+
+	@Test
+	@Tag("GitHubEmailServiceIT")
+	@DisplayName("getPrimaryEmail test should not open circuit breaker on client errors")
+	public void getPrimaryEmailTestShouldNotOpenCircuitBreakerOnClientErrors() {
+
+		//GIVEN
+		for (int i = 0; i < 4; i++) {
+			String subject = String.valueOf(i);
+			assertThrows(OAuth2AuthenticationException.class, () -> gitHubEmailService.getPrimaryEmail(subject, "token-unauthorized"));
+		}
+
+		//WHEN
+		String email = gitHubEmailService.getPrimaryEmail("5", "token-ok");
+
+		//THEN
+		assertThat(gitHubCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(email).isEqualTo("aaa@aaa.com");
+	}
+
+	@Test
+	@Tag("GitHubEmailServiceIT")
+	@DisplayName("concurrent logins test should have a higher throughput than a new RestTemplate per login")
+	public void concurrentLoginsTestShouldHaveAHigherThroughputThanANewRestTemplatePerLogin() throws InterruptedException {
+
+		//GIVEN
+		int logins = 400;
+		int users = 40;
+		ParameterizedTypeReference<List<Map<String, String>>> responseType = new ParameterizedTypeReference<>() {};
+		String url = "http://localhost:" + STUB.getAddress().getPort() + "/user/emails";
+		IntFunction<String> perLoginRestTemplate = login -> {
+			HttpHeaders headers = new HttpHeaders();
+			headers.set("Authorization", "token token-ok");
+			return new RestTemplate().exchange(url, HttpMethod.GET, new HttpEntity<>("parameters", headers), responseType)
+					.getBody().stream().filter(map -> map.get("primary").equals("true")).map(map -> map.get("email")).toList().get(0);
+		};
+		IntFunction<String> pooledAndCached = login -> gitHubEmailService.getPrimaryEmail(String.valueOf(login % users), "token-ok");
+		runConcurrently(logins, pooledAndCached); //warm up
+		cacheManager.getCache(CacheConfiguration.GITHUB_EMAIL_CACHE).clear();
+		runConcurrently(logins, perLoginRestTemplate); //warm up
+		REQUESTS.set(0);
+
+		//WHEN
+		List<Long> baselineNanos = runConcurrently(logins, perLoginRestTemplate);
+		long baselineRequests = REQUESTS.get();
+		REQUESTS.set(0);
+		List<Long> pooledNanos = runConcurrently(logins, pooledAndCached);
+
+		//THEN
+		log.info("{} concurrent logins of {} users, new RestTemplate per login : {} requests, p50 {} ms, p99 {} ms, {} logins/s",
+				logins, users, baselineRequests, percentileMillis(baselineNanos, 50), percentileMillis(baselineNanos, 99), loginsPerSecond(baselineNanos));
+		log.info("{} concurrent logins of {} users, pooled client and email cache : {} requests, p50 {} ms, p99 {} ms, {} logins/s",
+				logins, users, REQUESTS.get(), percentileMillis(pooledNanos, 50), percentileMillis(pooledNanos, 99), loginsPerSecond(pooledNanos));
+		assertThat(REQUESTS.get()).isEqualTo(users);
+		assertThat(loginsPerSecond(pooledNanos)).isGreaterThan(loginsPerSecond(baselineNanos));
+	}
+
+	/*
+	 * Runs the logins on 16 threads, last element of the returned list is the elapsed time of all logins
+	 */
+	private static List<Long> runConcurrently(int logins, IntFunction<String> login) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		List<Long> nanos = Collections.synchronizedList(new ArrayList<>());
+		long start = System.nanoTime();
+		for (int i = 0; i < logins; i++) {
+			int loginNumber = i;
+			executor.execute(() -> {
+				long loginStart = System.nanoTime();
+				assertThat(login.apply(loginNumber)).isEqualTo("aaa@aaa.com");
+				nanos.add(System.nanoTime() - loginStart);
+			});
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+		List<Long> sorted = new ArrayList<>(nanos);
+		Collections.sort(sorted);
+		sorted.add(System.nanoTime() - start);
+		return sorted;
+	}
+
+	private static long percentileMillis(List<Long> nanos, int percentile) {
+		int index = (int) Math.ceil(percentile / 100.0 * (nanos.size() - 1)) - 1;
+		return TimeUnit.NANOSECONDS.toMillis(nanos.get(Math.max(index, 0)));
+	}
+
+	private static long loginsPerSecond(List<Long> nanos) {
+		return (nanos.size() - 1) * TimeUnit.SECONDS.toNanos(1) / nanos.get(nanos.size() - 1);
+	}
+
+	private static void handleEmails(HttpExchange exchange) throws IOException {
+		REQUESTS.incrementAndGet();
+		String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+		int status = 200;
+		try {
+			Thread.sleep(LATENCY_MILLIS);
+			if ("token token-slow".equals(authorization)) {
+				Thread.sleep(1000);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if ("token token-error".equals(authorization)) {
+			status = 500;
+		} else if ("token token-unauthorized".equals(authorization)) {
+			status = 401;
+		}
+		byte[] body = (status == 200 ? EMAILS : "{\"message\":\"error\"}").getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream outputStream = exchange.getResponseBody()) {
+			outputStream.write(body);
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.validator.PasswordCheck;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * unit test class for the PasswordValidationService
+ * @author olivier morel
+ */
+public class PasswordValidationServiceTest {
+
+    private PasswordValidationService passwordValidationService;
+
+    @BeforeEach
+    public void setUpPerTest() {
+        passwordValidationService = new PasswordValidationServiceImpl();
+    }
+
+    @AfterEach
+    public void undefPerTest() {
+        passwordValidationService = null;
+    }
+
+    @Test
+    @Tag("PasswordValidationServiceTest")
+    @DisplayName("test checkPasswords should return a check per password with violations")
+    public void checkPasswordsTestShouldReturnACheckPerPasswordWithViolations() {
+
+        //GIVEN
+        List<String> passwords = new ArrayList<>();
+        passwords.add("apw1=Passwd");
+        passwords.add("apw1Passwd");
+        passwords.add(null);
+
+        //WHEN
+        List<PasswordCheck> passwordChecks = passwordValidationService.checkPasswords(passwords);
+
+        //THEN
+        assertThat(passwordChecks).extracting(PasswordCheck::index, PasswordCheck::valid)
+                .containsExactly(
+                        tuple(0, true),
+                        tuple(1, false),
+                        tuple(2, false));
+        assertThat(passwordChecks.get(0).violations()).isEmpty();
+        assertThat(passwordChecks.get(1).violations()).hasSize(1);
+    }
+
+    @Test
+    @Tag("PasswordValidationServiceTest")
+    @DisplayName("test checkPasswords of a large list should keep the order of the passwords")
+    public void checkPasswordsOfALargeListTestShouldKeepTheOrderOfThePasswords() {
+
+        //GIVEN
+        List<String> passwords = new ArrayList<>();
+        for (int i = 0; i < PasswordValidationServiceImpl.PARALLEL_THRESHOLD * 10; i++) {
+            passwords.add(i % 2 == 0 ? "apw1=Passwd" : "abcdefgh");
+        }
+
+        //WHEN
+        List<PasswordCheck> passwordChecks = passwordValidationService.checkPasswords(passwords);
+
+        //THEN
+        assertThat(passwordChecks).hasSize(passwords.size());
+        for (int i = 0; i < passwordChecks.size(); i++) {
+            assertThat(passwordChecks.get(i).index()).isEqualTo(i);
+            assertThat(passwordChecks.get(i).valid()).isEqualTo(i % 2 == 0);
+        }
+    }
+}
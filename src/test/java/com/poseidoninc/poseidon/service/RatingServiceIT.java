@@ -0,0 +1,124 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.domain.Rating;
+import com.poseidoninc.poseidon.repository.RatingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * integration test class for second-level entity and query cache of RatingService
+ * @author olivier morel
+ */
+@SpringBootTest
+@ActiveProfiles("mytest")
+public class RatingServiceIT {
+
+	@Autowired
+	private RatingService ratingService;
+
+	@Autowired
+	private RatingRepository ratingRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	private Rating rating;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		rating = new Rating();
+		rating.setMoodysRating("Moodys");
+		rating.setSandPRating("SandP");
+		rating.setFitchRating("Fitch");
+		rating.setOrderNumber(1);
+		rating = ratingService.saveRating(rating);
+		entityManagerFactory.getCache().evictAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		ratingRepository.deleteAll();
+		statistics = null;
+		rating = null;
+	}
+
+	@Test
+	@Tag("RatingServiceIT")
+	@DisplayName("getRatingById test should read the database once then hit second-level cache")
+	public void getRatingByIdTestShouldReadTheDatabaseOnceThenHitSecondLevelCache() {
+
+		//GIVEN
+		ratingService.getRatingById(rating.getId());
+		long statementsAfterMiss = statistics.getPrepareStatementCount();
+
+		//WHEN
+		Rating ratingResult = ratingService.getRatingById(rating.getId());
+
+		//THEN
+		assertThat(ratingResult.getMoodysRating()).isEqualTo("Moodys");
+		assertThat(statistics.getSecondLevelCacheMissCount()).isEqualTo(1);
+		assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterMiss).isEqualTo(1);
+	}
+
+	@Test
+	@Tag("RatingServiceIT")
+	@DisplayName("saveRating test should evict rating from second-level cache then read and cache the updated one")
+	public void saveRatingTestShouldEvictRatingFromSecondLevelCacheThenReadAndCacheTheUpdatedOne() {
+
+		//GIVEN
+		ratingService.getRatingById(rating.getId());
+		rating.setMoodysRating("Moodys updated");
+		ratingService.saveRating(rating);
+		statistics.clear();
+
+		//WHEN
+		Rating ratingRead = ratingService.getRatingById(rating.getId());
+		Rating ratingCached = ratingService.getRatingById(rating.getId());
+
+		//THEN
+		assertThat(ratingRead.getMoodysRating()).isEqualTo("Moodys updated");
+		assertThat(ratingCached.getMoodysRating()).isEqualTo("Moodys updated");
+		assertThat(statistics.getSecondLevelCacheMissCount()).isEqualTo(1);
+		assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	@Tag("RatingServiceIT")
+	@DisplayName("getRatings test should hit query cache until a rating is saved or deleted")
+	public void getRatingsTestShouldHitQueryCacheUntilARatingIsSavedOrDeleted() {
+
+		//GIVEN
+		ratingService.getRatings(Pageable.unpaged());
+
+		//WHEN
+		ratingService.getRatings(Pageable.unpaged());
+		long queryCacheHitsBeforeSave = statistics.getQueryCacheHitCount();
+		Rating ratingToSave = new Rating();
+		ratingToSave.setMoodysRating("Moodys 2");
+		ratingService.saveRating(ratingToSave);
+		long sizeAfterSave = ratingService.getRatings(Pageable.unpaged()).getTotalElements();
+		ratingService.deleteRatingById(rating.getId());
+		long sizeAfterDelete = ratingService.getRatings(Pageable.unpaged()).getTotalElements();
+
+		//THEN
+		assertThat(queryCacheHitsBeforeSave).isEqualTo(1);
+		assertThat(sizeAfterSave).isEqualTo(2);
+		assertThat(sizeAfterDelete).isEqualTo(1);
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+		assertThat(statistics.getQueryCacheMissCount()).isEqualTo(3);
+	}
+}
@@ -13,11 +13,16 @@ import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.UnexpectedRollbackException;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -56,15 +61,15 @@ public class RatingServiceTest {
 			
 			//GIVEN
 			rating = new Rating();
-			rating.setId(1);
+			rating.setId(1L);
 			rating.setMoodysRating("Moody's Rating");
 			rating.setSandPRating("SandP's Rating");
 			rating.setFitchRating("Fitch's Rating");
 			rating.setOrderNumber(2);
-			when(ratingRepository.findById(anyInt())).thenReturn(Optional.of(rating));
+			when(ratingRepository.findById(anyLong())).thenReturn(Optional.of(rating));
 			
 			//WHEN
-			Rating ratingResult = ratingService.getRatingById(1);
+			Rating ratingResult = ratingService.getRatingById(1L);
 			
 			//THEN
 			assertThat(ratingResult).extracting(
@@ -74,7 +79,7 @@ public class RatingServiceTest {
 					Rating::getFitchRating,
 					Rating::getOrderNumber)
 			.containsExactly(
-					1,
+					1L,
 					"Moody's Rating",
 					"SandP's Rating",
 					"Fitch's Rating",
@@ -86,7 +91,7 @@ public class RatingServiceTest {
 		@DisplayName("test getRatingById should throw UnexpectedRollbackException on InvalidDataAccessApiUsageException")
 		public void getRatingByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 			//GIVEN
-			when(ratingRepository.findById(nullable(Integer.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
+			when(ratingRepository.findById(nullable(Long.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
 			
 			//WHEN
 			//THEN
@@ -100,12 +105,12 @@ public class RatingServiceTest {
 		@DisplayName("test getRatingById should throw UnexpectedRollbackException on ResourceNotFoundException")
 		public void getRatingByIdTestShouldThrowsUnexpectedRollbackExceptionOnResourceNotFoundException() {
 			//GIVEN
-			when(ratingRepository.findById(anyInt())).thenReturn(Optional.empty());
+			when(ratingRepository.findById(anyLong())).thenReturn(Optional.empty());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> ratingService.getRatingById(1))
+				() -> ratingService.getRatingById(1L))
 				.getMessage()).isEqualTo("Error while getting rating");
 		}
 		
@@ -114,12 +119,12 @@ public class RatingServiceTest {
 		@DisplayName("test getRatingById should throw UnexpectedRollbackException on any RuntimeException")
 		public void getRatingByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 			//GIVEN
-			when(ratingRepository.findById(anyInt())).thenThrow(new RuntimeException());
+			when(ratingRepository.findById(anyLong())).thenThrow(new RuntimeException());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> ratingService.getRatingById(1))
+				() -> ratingService.getRatingById(1L))
 				.getMessage()).isEqualTo("Error while getting rating");
 		}
 	}
@@ -156,7 +161,7 @@ public class RatingServiceTest {
 			//GIVEN
 			List<Rating> expectedRatings = new ArrayList<>();
 			rating = new Rating();
-			rating.setId(1);
+			rating.setId(1L);
 			rating.setMoodysRating("Moody's Rating");
 			rating.setSandPRating("SandP's Rating");
 			rating.setFitchRating("Fitch's Rating");
@@ -164,7 +169,7 @@ public class RatingServiceTest {
 			expectedRatings.add(rating);
 			
 			Rating rating2 = new Rating();
-			rating2.setId(2);
+			rating2.setId(2L);
 			rating2.setMoodysRating("Moody's Rating2");
 			rating2.setSandPRating("SandP's Rating2");
 			rating2.setFitchRating("Fitch's Rating2");
@@ -206,6 +211,51 @@ public class RatingServiceTest {
 		}
 	}
 	
+	@Nested
+	@Tag("getRatingsWindowTests")
+	@DisplayName("Tests for getting window of ratings by keyset")
+	class GetRatingsWindowTests {
+
+		@Test
+		@Tag("RatingServiceTest")
+		@DisplayName("test getRatings by keyset should return expected window of ratings")
+		@SuppressWarnings("unchecked")
+		public void getRatingsByKeysetTestShouldReturnExpectedWindowOfRatings() {
+			//GIVEN
+			List<Rating> expectedRatings = new ArrayList<>();
+			Rating rating = new Rating();
+			rating.setId(1L);
+			rating.setMoodysRating("name");
+			expectedRatings.add(rating);
+			Rating rating2 = new Rating();
+			rating2.setId(2L);
+			rating2.setMoodysRating("name2");
+			expectedRatings.add(rating2);
+			when(ratingRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(Window.from(expectedRatings, ScrollPosition::offset, true));
+
+			//WHEN
+			Window<Rating> resultedRatings = ratingService.getRatings(ScrollPosition.keyset(), Sort.unsorted(), 2);
+
+			//THEN
+			assertThat(resultedRatings.getContent()).extracting(Rating::getId).containsExactly(1L, 2L);
+			assertThat(resultedRatings.hasNext()).isTrue();
+		}
+
+		@Test
+		@Tag("RatingServiceTest")
+		@DisplayName("test getRatings by keyset should throw UnexpectedRollbackException on any RuntimeException")
+		@SuppressWarnings("unchecked")
+		public void getRatingsByKeysetTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(ratingRepository.findBy(any(Specification.class), any(Function.class))).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> ratingService.getRatings(ScrollPosition.keyset(), Sort.unsorted(), 2))
+					.getMessage()).isEqualTo("Error while getting ratings");
+		}
+	}
+
 	@Nested
 	@Tag("saveRatingTests")
 	@DisplayName("Tests for saving rating")
@@ -233,7 +283,7 @@ public class RatingServiceTest {
 			
 			//GIVEN
 			Rating ratingExpected = new Rating();
-			ratingExpected.setId(1);
+			ratingExpected.setId(1L);
 			ratingExpected.setMoodysRating("Moody's Rating");
 			ratingExpected.setSandPRating("SandP's Rating");
 			ratingExpected.setFitchRating("Fitch's Rating");
@@ -252,7 +302,7 @@ public class RatingServiceTest {
 					Rating::getFitchRating,
 					Rating::getOrderNumber)
 			.containsExactly(
-					1,
+					1L,
 					"Moody's Rating",
 					"SandP's Rating",
 					"Fitch's Rating",
@@ -284,7 +334,7 @@ public class RatingServiceTest {
 		@BeforeEach
 		public void setUpForEachTest() {
 			rating = new Rating();
-			rating.setId(1);
+			rating.setId(1L);
 			rating.setMoodysRating("Moody's Rating");
 			rating.setSandPRating("SandP's Rating");
 			rating.setFitchRating("Fitch's Rating");
@@ -303,12 +353,12 @@ public class RatingServiceTest {
 		public void deleteRatingByIdTestShouldDeleteIt() {
 			
 			//GIVEN
-			when(ratingRepository.findById(anyInt())).thenReturn(Optional.of(rating));
+			when(ratingRepository.findById(anyLong())).thenReturn(Optional.of(rating));
 			ArgumentCaptor<Rating> ratingBeingDeleted = ArgumentCaptor.forClass(Rating.class);
 			doNothing().when(ratingRepository).delete(any(Rating.class));// Needed to Capture rating
 			
 			//WHEN
-			ratingService.deleteRatingById(1);
+			ratingService.deleteRatingById(1L);
 			
 			//THEN
 			verify(ratingRepository, times(1)).delete(ratingBeingDeleted.capture());
@@ -319,7 +369,7 @@ public class RatingServiceTest {
 					Rating::getFitchRating,
 					Rating::getOrderNumber)
 			.containsExactly(
-					1,
+					1L,
 					"Moody's Rating",
 					"SandP's Rating",
 					"Fitch's Rating",
@@ -332,12 +382,12 @@ public class RatingServiceTest {
 		public void deleteRatingByIdTestShouldThrowUnexpectedRollbackExceptionOnUnexpectedRollbackException() {
 
 			//GIVEN
-			when(ratingRepository.findById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting rating"));
+			when(ratingRepository.findById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting rating"));
 
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> ratingService.deleteRatingById(2))
+					() -> ratingService.deleteRatingById(2L))
 					.getMessage()).isEqualTo("Error while deleting rating");
 		}	
 
@@ -347,12 +397,12 @@ public class RatingServiceTest {
 		public void deleteRatingByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 
 			//GIVEN
-			when(ratingRepository.findById(anyInt())).thenReturn(Optional.of(rating));
+			when(ratingRepository.findById(anyLong())).thenReturn(Optional.of(rating));
 			doThrow(new InvalidDataAccessApiUsageException("The given id must not be null")).when(ratingRepository).delete(any(Rating.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> ratingService.deleteRatingById(1))
+					() -> ratingService.deleteRatingById(1L))
 					.getMessage()).isEqualTo("Error while deleting rating");
 		}	
 
@@ -363,12 +413,12 @@ public class RatingServiceTest {
 		public void deleteRatingByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 
 			//GIVEN
-			when(ratingRepository.findById(anyInt())).thenReturn(Optional.of(rating));
+			when(ratingRepository.findById(anyLong())).thenReturn(Optional.of(rating));
 			doThrow(new RuntimeException()).when(ratingRepository).delete(any(Rating.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> ratingService.deleteRatingById(1))
+					() -> ratingService.deleteRatingById(1L))
 					.getMessage()).isEqualTo("Error while deleting rating");
 		}	
 	}
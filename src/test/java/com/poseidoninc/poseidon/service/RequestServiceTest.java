@@ -1,5 +1,6 @@
 package com.poseidoninc.poseidon.service;
 
+import com.poseidoninc.poseidon.logging.RequestDescription;
 import org.junit.jupiter.api.*;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.ServletWebRequest;
@@ -43,4 +44,40 @@ public class RequestServiceTest {
 		//THEN
 		assertThat(parameters).isEqualTo("uri=/phoneAlert?firestation=1,2");
 	}
-}
\ No newline at end of file
+
+	@Test
+	@Tag("RequestServiceTest")
+	@DisplayName("requestToString test should not chain the password")
+	public void requestToStringTestShouldNotChainThePassword() {
+		//GIVEN
+		requestMock = new MockHttpServletRequest();
+		requestMock.setRequestURI("/user/validate");
+		requestMock.setParameter("username", "Aaa");
+		requestMock.setParameter("password", "passwrdA1=");
+		requestMock.setParameter("role", "USER");
+		request = new ServletWebRequest(requestMock);
+		//WHEN
+		String parameters = requestService.requestToString(request);
+		//THEN
+		assertThat(parameters).isEqualTo("uri=/user/validate?username=Aaa&role=USER");
+	}
+
+	@Test
+	@Tag("RequestServiceTest")
+	@DisplayName("describe test should return the same description for all log lines of a request, built once")
+	public void describeTestShouldReturnTheSameDescriptionForAllLogLinesOfARequestBuiltOnce() {
+		//GIVEN
+		requestMock = new MockHttpServletRequest();
+		requestMock.setRequestURI("/trade/list");
+		request = new ServletWebRequest(requestMock);
+		RequestDescription requestDescription = requestService.describe(request);
+		String description = requestDescription.toString();
+		//WHEN
+		requestMock.setParameter("added", "after");
+		RequestDescription sameRequestDescription = requestService.describe(request);
+		//THEN
+		assertThat(sameRequestDescription).isSameAs(requestDescription);
+		assertThat(sameRequestDescription.toString()).isSameAs(description).isEqualTo("uri=/trade/list");
+		assertThat(requestService.describe(new ServletWebRequest(new MockHttpServletRequest()))).isNotSameAs(requestDescription);
+	}
+}
@@ -13,11 +13,16 @@ import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.UnexpectedRollbackException;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -56,17 +61,17 @@ public class RuleNameServiceTest {
 			
 			//GIVEN
 			ruleName = new RuleName();
-			ruleName.setId(1);
+			ruleName.setId(1L);
 			ruleName.setName("Rule Name");
 			ruleName.setDescription("Rule Description");
 			ruleName.setJson("Json");
 			ruleName.setTemplate("Template");
 			ruleName.setSqlStr("SQL");
 			ruleName.setSqlPart("SQL Part");
-			when(ruleNameRepository.findById(anyInt())).thenReturn(Optional.of(ruleName));
+			when(ruleNameRepository.findById(anyLong())).thenReturn(Optional.of(ruleName));
 			
 			//WHEN
-			RuleName ruleNameResult = ruleNameService.getRuleNameById(1);
+			RuleName ruleNameResult = ruleNameService.getRuleNameById(1L);
 			
 			//THEN
 			assertThat(ruleNameResult).extracting(
@@ -78,7 +83,7 @@ public class RuleNameServiceTest {
 					RuleName::getSqlStr,
 					RuleName::getSqlPart)
 			.containsExactly(
-					1,
+					1L,
 					"Rule Name",
 		           "Rule Description",
 				    "Json",
@@ -92,7 +97,7 @@ public class RuleNameServiceTest {
 		@DisplayName("test getRuleNameById should throw UnexpectedRollbackException on InvalidDataAccessApiUsageException")
 		public void getRuleNameByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 			//GIVEN
-			when(ruleNameRepository.findById(nullable(Integer.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
+			when(ruleNameRepository.findById(nullable(Long.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
 			
 			//WHEN
 			//THEN
@@ -106,12 +111,12 @@ public class RuleNameServiceTest {
 		@DisplayName("test getRuleNameById should throw UnexpectedRollbackException on  ResourceNotFoundException")
 		public void getRuleNameByIdTestShouldThrowsUnexpectedRollbackExceptionOnResourceNotFoundException() {
 			//GIVEN
-			when(ruleNameRepository.findById(anyInt())).thenReturn(Optional.empty());
+			when(ruleNameRepository.findById(anyLong())).thenReturn(Optional.empty());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> ruleNameService.getRuleNameById(1))
+				() -> ruleNameService.getRuleNameById(1L))
 				.getMessage()).isEqualTo("Error while getting ruleName");
 		}
 		
@@ -120,12 +125,12 @@ public class RuleNameServiceTest {
 		@DisplayName("test getRuleNameById should throw UnexpectedRollbackException on any RuntimeException")
 		public void getRuleNameByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 			//GIVEN
-			when(ruleNameRepository.findById(anyInt())).thenThrow(new RuntimeException());
+			when(ruleNameRepository.findById(anyLong())).thenThrow(new RuntimeException());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> ruleNameService.getRuleNameById(1))
+				() -> ruleNameService.getRuleNameById(1L))
 				.getMessage()).isEqualTo("Error while getting ruleName");
 		}
 	}
@@ -162,7 +167,7 @@ public class RuleNameServiceTest {
 			//GIVEN
 			List<RuleName> expectedRuleNames = new ArrayList<>();
 			ruleName = new RuleName();
-			ruleName.setId(1);
+			ruleName.setId(1L);
 			ruleName.setName("Rule Name");
 			ruleName.setDescription("Rule Description");
 			ruleName.setJson("Json");
@@ -172,7 +177,7 @@ public class RuleNameServiceTest {
 			expectedRuleNames.add(ruleName);
 			
 			RuleName ruleName2 = new RuleName();
-			ruleName2.setId(2);
+			ruleName2.setId(2L);
 			ruleName2.setName("Rule Name2");
 			ruleName2.setDescription("Rule Description2");
 			ruleName2.setJson("Json2");
@@ -216,6 +221,51 @@ public class RuleNameServiceTest {
 		}
 	}
 	
+	@Nested
+	@Tag("getRuleNamesWindowTests")
+	@DisplayName("Tests for getting window of ruleNames by keyset")
+	class GetRuleNamesWindowTests {
+
+		@Test
+		@Tag("RuleNameServiceTest")
+		@DisplayName("test getRuleNames by keyset should return expected window of ruleNames")
+		@SuppressWarnings("unchecked")
+		public void getRuleNamesByKeysetTestShouldReturnExpectedWindowOfRuleNames() {
+			//GIVEN
+			List<RuleName> expectedRuleNames = new ArrayList<>();
+			RuleName ruleName = new RuleName();
+			ruleName.setId(1L);
+			ruleName.setName("name");
+			expectedRuleNames.add(ruleName);
+			RuleName ruleName2 = new RuleName();
+			ruleName2.setId(2L);
+			ruleName2.setName("name2");
+			expectedRuleNames.add(ruleName2);
+			when(ruleNameRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(Window.from(expectedRuleNames, ScrollPosition::offset, true));
+
+			//WHEN
+			Window<RuleName> resultedRuleNames = ruleNameService.getRuleNames(ScrollPosition.keyset(), Sort.unsorted(), 2);
+
+			//THEN
+			assertThat(resultedRuleNames.getContent()).extracting(RuleName::getId).containsExactly(1L, 2L);
+			assertThat(resultedRuleNames.hasNext()).isTrue();
+		}
+
+		@Test
+		@Tag("RuleNameServiceTest")
+		@DisplayName("test getRuleNames by keyset should throw UnexpectedRollbackException on any RuntimeException")
+		@SuppressWarnings("unchecked")
+		public void getRuleNamesByKeysetTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(ruleNameRepository.findBy(any(Specification.class), any(Function.class))).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> ruleNameService.getRuleNames(ScrollPosition.keyset(), Sort.unsorted(), 2))
+					.getMessage()).isEqualTo("Error while getting ruleNames");
+		}
+	}
+
 	@Nested
 	@Tag("saveRuleNameTests")
 	@DisplayName("Tests for saving ruleName")
@@ -245,7 +295,7 @@ public class RuleNameServiceTest {
 			
 			//GIVEN
 			RuleName ruleNameExpected = new RuleName();
-			ruleNameExpected.setId(1);
+			ruleNameExpected.setId(1L);
 			ruleNameExpected.setName("Rule Name");
 			ruleNameExpected.setDescription("Rule Description");
 			ruleNameExpected.setJson("Json");
@@ -268,7 +318,7 @@ public class RuleNameServiceTest {
 					RuleName::getSqlStr,
 					RuleName::getSqlPart)
 			.containsExactly(
-					1,
+					1L,
 					"Rule Name",
 		           "Rule Description",
 				    "Json",
@@ -301,7 +351,7 @@ public class RuleNameServiceTest {
 		@BeforeEach
 		public void setUpForEachTest() {
 			ruleName = new RuleName();
-			ruleName.setId(1);
+			ruleName.setId(1L);
 			ruleName.setName("Rule Name");
 			ruleName.setDescription("Rule Description");
 			ruleName.setJson("Json");
@@ -322,12 +372,12 @@ public class RuleNameServiceTest {
 		public void deleteRuleNameByIdTestShouldDeleteIt() {
 			
 			//GIVEN
-			when(ruleNameRepository.findById(anyInt())).thenReturn(Optional.of(ruleName));
+			when(ruleNameRepository.findById(anyLong())).thenReturn(Optional.of(ruleName));
 			ArgumentCaptor<RuleName> ruleNameBeingDeleted = ArgumentCaptor.forClass(RuleName.class);
 			doNothing().when(ruleNameRepository).delete(any(RuleName.class));// Needed to Capture ruleName
 			
 			//WHEN
-			ruleNameService.deleteRuleNameById(1);
+			ruleNameService.deleteRuleNameById(1L);
 			
 			//THEN
 			verify(ruleNameRepository, times(1)).delete(ruleNameBeingDeleted.capture());
@@ -340,7 +390,7 @@ public class RuleNameServiceTest {
 					RuleName::getSqlStr,
 					RuleName::getSqlPart)
 			.containsExactly(
-					1,
+					1L,
 					"Rule Name",
 		           "Rule Description",
 				    "Json",
@@ -355,12 +405,12 @@ public class RuleNameServiceTest {
 		public void deleteRuleNameByIdTestShouldThrowUnexpectedRollbackExceptionOnUnexpectedRollbackException() {
 
 			//GIVEN
-			when(ruleNameRepository.findById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting ruleName"));
+			when(ruleNameRepository.findById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting ruleName"));
 
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> ruleNameService.deleteRuleNameById(2))
+					() -> ruleNameService.deleteRuleNameById(2L))
 					.getMessage()).isEqualTo("Error while deleting ruleName");
 		}	
 
@@ -370,12 +420,12 @@ public class RuleNameServiceTest {
 		public void deleteRuleNameByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 
 			//GIVEN
-			when(ruleNameRepository.findById(anyInt())).thenReturn(Optional.of(ruleName));
+			when(ruleNameRepository.findById(anyLong())).thenReturn(Optional.of(ruleName));
 			doThrow(new InvalidDataAccessApiUsageException("The given id must not be null")).when(ruleNameRepository).delete(any(RuleName.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> ruleNameService.deleteRuleNameById(1))
+					() -> ruleNameService.deleteRuleNameById(1L))
 					.getMessage()).isEqualTo("Error while deleting ruleName");
 		}	
 
@@ -386,12 +436,12 @@ public class RuleNameServiceTest {
 		public void deleteRuleNameByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 
 			//GIVEN
-			when(ruleNameRepository.findById(anyInt())).thenReturn(Optional.of(ruleName));
+			when(ruleNameRepository.findById(anyLong())).thenReturn(Optional.of(ruleName));
 			doThrow(new RuntimeException()).when(ruleNameRepository).delete(any(RuleName.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> ruleNameService.deleteRuleNameById(1))
+					() -> ruleNameService.deleteRuleNameById(1L))
 					.getMessage()).isEqualTo("Error while deleting ruleName");
 		}	
 	}
@@ -0,0 +1,161 @@
+package com.poseidoninc.poseidon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.configuration.PaginationProperties;
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.exception.BadRequestException;
+import com.poseidoninc.poseidon.pagination.ApiWindow;
+import org.junit.jupiter.api.*;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * unit test class for the ScrollPositionService.
+ * @author olivier morel
+ */
+public class ScrollPositionServiceTest {
+
+	private ScrollPositionService scrollPositionService;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		PaginationProperties paginationProperties = new PaginationProperties();
+		paginationProperties.setDefaultSize(20);
+		paginationProperties.setMaxSize(100);
+		scrollPositionService = new ScrollPositionServiceImpl(new ObjectMapper(), paginationProperties);
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		scrollPositionService = null;
+	}
+
+	@Nested
+	@Tag("getSortTests")
+	@DisplayName("Tests for parsing sort request parameter")
+	class GetSortTests {
+
+		@Test
+		@Tag("ScrollPositionServiceTest")
+		@DisplayName("getSort test should return unsorted for null sort")
+		public void getSortTestShouldReturnUnsortedForNullSort() {
+			assertThat(scrollPositionService.getSort(null, Set.of("account")).isUnsorted()).isTrue();
+		}
+
+		@Test
+		@Tag("ScrollPositionServiceTest")
+		@DisplayName("getSort test should return sort with direction")
+		public void getSortTestShouldReturnSortWithDirection() {
+			assertThat(scrollPositionService.getSort("account,desc", Set.of("account"))).isEqualTo(Sort.by(Sort.Direction.DESC, "account"));
+		}
+
+		@Test
+		@Tag("ScrollPositionServiceTest")
+		@DisplayName("getSort test should throw BadRequestException for not sortable property")
+		public void getSortTestShouldThrowBadRequestExceptionForNotSortableProperty() {
+			assertThrows(BadRequestException.class, () -> scrollPositionService.getSort("security", Set.of("account")));
+		}
+
+		@Test
+		@Tag("ScrollPositionServiceTest")
+		@DisplayName("getSort test should throw BadRequestException for unknown direction")
+		public void getSortTestShouldThrowBadRequestExceptionForUnknownDirection() {
+			assertThrows(BadRequestException.class, () -> scrollPositionService.getSort("account,up", Set.of("account")));
+		}
+	}
+
+	@Test
+	@Tag("ScrollPositionServiceTest")
+	@DisplayName("getLimit test should return default size for null and clamp to max size")
+	public void getLimitTestShouldReturnDefaultSizeForNullAndClampToMaxSize() {
+		assertThat(scrollPositionService.getLimit(null)).isEqualTo(20);
+		assertThat(scrollPositionService.getLimit(0)).isEqualTo(1);
+		assertThat(scrollPositionService.getLimit(50)).isEqualTo(50);
+		assertThat(scrollPositionService.getLimit(10000)).isEqualTo(100);
+	}
+
+	@Nested
+	@Tag("tokenTests")
+	@DisplayName("Tests for continuation token")
+	class TokenTests {
+
+		@Test
+		@Tag("ScrollPositionServiceTest")
+		@DisplayName("getScrollPosition test should return initial keyset for null token")
+		public void getScrollPositionTestShouldReturnInitialKeysetForNullToken() {
+			assertThat(scrollPositionService.getScrollPosition(null, Sort.unsorted(), Trade.class).isInitial()).isTrue();
+		}
+
+		@Test
+		@Tag("ScrollPositionServiceTest")
+		@DisplayName("token of last trade should decode to its typed keyset")
+		public void tokenOfLastTradeShouldDecodeToItsTypedKeyset() {
+			//GIVEN
+			Trade trade = new Trade();
+			trade.setTradeId(7L);
+			trade.setAccount("account");
+			Window<Trade> window = Window.from(List.of(trade), i -> ScrollPosition.forward(Map.of("account", "account", "tradeId", 7L)), true);
+			Sort sort = Sort.by("account");
+
+			//WHEN
+			ApiWindow<Trade> apiWindow = scrollPositionService.getApiWindow(window);
+			ScrollPosition position = scrollPositionService.getScrollPosition(apiWindow.getNext(), sort, Trade.class);
+
+			//THEN
+			assertThat(apiWindow.isHasNext()).isTrue();
+			assertThat(apiWindow.getContent()).containsExactly(trade);
+			assertThat(((KeysetScrollPosition) position).getKeys()).containsExactlyInAnyOrderEntriesOf(Map.of("account", "account", "tradeId", 7L));
+		}
+
+		@Test
+		@Tag("ScrollPositionServiceTest")
+		@DisplayName("last window should have no token")
+		public void lastWindowShouldHaveNoToken() {
+			Window<Trade> window = Window.from(List.of(new Trade()), ScrollPosition::offset, false);
+			assertThat(scrollPositionService.getApiWindow(window).getNext()).isNull();
+		}
+
+		@Test
+		@Tag("ScrollPositionServiceTest")
+		@DisplayName("getScrollPosition test should throw BadRequestException for malformed token")
+		public void getScrollPositionTestShouldThrowBadRequestExceptionForMalformedToken() {
+			assertThrows(BadRequestException.class, () -> scrollPositionService.getScrollPosition("not a token", Sort.unsorted(), Trade.class));
+		}
+
+		@Test
+		@Tag("ScrollPositionServiceTest")
+		@DisplayName("getScrollPosition test should throw BadRequestException for token of another sort")
+		public void getScrollPositionTestShouldThrowBadRequestExceptionForTokenOfAnotherSort() {
+			//GIVEN
+			Window<Trade> window = Window.from(List.of(new Trade()), i -> ScrollPosition.forward(Map.of("tradeId", 7L)), true);
+			String token = scrollPositionService.getApiWindow(window).getNext();
+			//WHEN
+			//THEN
+			assertThrows(BadRequestException.class, () -> scrollPositionService.getScrollPosition(token, Sort.by("account"), Trade.class));
+		}
+
+		@Test
+		@Tag("ScrollPositionServiceTest")
+		@DisplayName("getScrollPosition test should throw BadRequestException for tampered token")
+		public void getScrollPositionTestShouldThrowBadRequestExceptionForTamperedToken() {
+			//GIVEN
+			//the keyset of the sort with a property which is neither sorted nor the id
+			String token = Base64.getUrlEncoder().withoutPadding().encodeToString("{\"account\":\"account\",\"tradeId\":7,\"buyQuantity\":1.0}".getBytes(StandardCharsets.UTF_8));
+			//WHEN
+			BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> scrollPositionService.getScrollPosition(token, Sort.by("account"), Trade.class));
+			//THEN
+			assertThat(badRequestException.getMessage()).isEqualTo("Continuation token does not match sort");
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.repository.TradeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * integration test class for bulk saving of TradeService, logs rows per second of batch against single-row saves
+ * @author olivier morel
+ */
+@SpringBootTest
+@ActiveProfiles("mytest")
+@Slf4j
+public class TradeServiceIT {
+
+	private static final int ROWS = 1000;
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		tradeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@Tag("TradeServiceIT")
+	@DisplayName("saveTrades test should insert then update all trades with JDBC batches faster than single-row saves")
+	public void saveTradesTestShouldInsertThenUpdateAllTradesWithJdbcBatchesFasterThanSingleRowSaves() {
+
+		//GIVEN
+		long start = System.nanoTime();
+		for (Trade trade : newTrades("single")) {
+			tradeService.saveTrade(trade);
+		}
+		long singleRowNanos = System.nanoTime() - start;
+		long singleRowStatements = statistics.getPrepareStatementCount();
+		statistics.clear();
+		List<Trade> trades = newTrades("batch");
+
+		//WHEN
+		start = System.nanoTime();
+		List<Trade> tradesSaved = tradeService.saveTrades(trades);
+		long batchNanos = System.nanoTime() - start;
+		long batchStatements = statistics.getPrepareStatementCount();
+		tradesSaved.forEach(trade -> trade.setType("type updated"));
+		statistics.clear();
+		List<Trade> tradesUpdated = tradeService.saveTrades(tradesSaved);
+		long updateStatements = statistics.getPrepareStatementCount();
+
+		//THEN
+		log.info("{} trades single-row : {} rows/s with {} statements, batch : {} rows/s with {} statements",
+				ROWS,
+				ROWS * TimeUnit.SECONDS.toNanos(1) / singleRowNanos,
+				singleRowStatements,
+				ROWS * TimeUnit.SECONDS.toNanos(1) / batchNanos,
+				batchStatements);
+		assertThat(tradesSaved).hasSize(ROWS).extracting(Trade::getTradeId).doesNotContainNull().doesNotHaveDuplicates();
+		assertThat(tradesUpdated).extracting(Trade::getTradeId).containsExactlyElementsOf(tradesSaved.stream().map(Trade::getTradeId).toList());
+		assertThat(tradeRepository.findAll()).filteredOn(trade -> trade.getAccount().equals("batch")).hasSize(ROWS)
+				.extracting(Trade::getType).containsOnly("type updated");
+		//one statement per chunk of batch_size instead of one per row
+		assertThat(batchStatements).isLessThan(ROWS / 10);
+		assertThat(updateStatements).isLessThan(ROWS / 10);
+		assertThat(singleRowStatements).isGreaterThanOrEqualTo(ROWS);
+	}
+
+	private List<Trade> newTrades(String account) {
+		List<Trade> trades = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			Trade trade = new Trade();
+			trade.setAccount(account);
+			trade.setType("type");
+			trade.setBuyQuantity((double) i);
+			trades.add(trade);
+		}
+		return trades;
+	}
+}
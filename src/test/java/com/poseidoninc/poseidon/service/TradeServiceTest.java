@@ -1,25 +1,38 @@
 package com.poseidoninc.poseidon.service;
 
+import com.poseidoninc.poseidon.configuration.BatchProperties;
 import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.projection.TradeSummary;
 import com.poseidoninc.poseidon.repository.TradeRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.UnexpectedRollbackException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -37,6 +50,12 @@ public class TradeServiceTest {
 	
 	@Mock
 	private TradeRepository tradeRepository;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Spy
+	private final BatchProperties batchProperties = new BatchProperties();
 	
 	private Trade trade;
 
@@ -58,7 +77,7 @@ public class TradeServiceTest {
 			
 			//GIVEN
 			trade = new Trade();
-			trade.setTradeId(1);
+			trade.setTradeId(1L);
 			trade.setAccount("account");
 			trade.setType("type");
 			trade.setBuyQuantity(3.0);
@@ -79,10 +98,10 @@ public class TradeServiceTest {
 			trade.setDealType("deal type");
 			trade.setSourceListId("source list id");
 			trade.setSide("side");					
-			when(tradeRepository.findById(anyInt())).thenReturn(Optional.of(trade));
+			when(tradeRepository.findById(anyLong())).thenReturn(Optional.of(trade));
 			
 			//WHEN
-			Trade tradeResult = tradeService.getTradeById(1);
+			Trade tradeResult = tradeService.getTradeById(1L);
 			
 			//THEN
 			assertThat(tradeResult).extracting(
@@ -108,7 +127,7 @@ public class TradeServiceTest {
 					Trade::getSourceListId,
 					Trade::getSide)
 			.containsExactly(
-					1,
+					1L,
 					"account",
 					"type",
 					3.0,
@@ -137,7 +156,7 @@ public class TradeServiceTest {
 		@DisplayName("test getTradeById should throw UnexpectedRollbackException on InvalidDataAccessApiUsageException")
 		public void getTradeByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 			//GIVEN
-			when(tradeRepository.findById(nullable(Integer.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
+			when(tradeRepository.findById(nullable(Long.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
 			
 			//WHEN
 			//THEN
@@ -151,12 +170,12 @@ public class TradeServiceTest {
 		@DisplayName("test getTradeById should throw UnexpectedRollbackException on ResourceNotFoundException")
 		public void getTradeByIdTestShouldThrowsUnexpectedRollbackExceptionOnResourceNotFoundException() {
 			//GIVEN
-			when(tradeRepository.findById(anyInt())).thenReturn(Optional.empty());
+			when(tradeRepository.findById(anyLong())).thenReturn(Optional.empty());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> tradeService.getTradeById(1))
+				() -> tradeService.getTradeById(1L))
 				.getMessage()).isEqualTo("Error while getting trade");
 		}
 		
@@ -165,12 +184,12 @@ public class TradeServiceTest {
 		@DisplayName("test getTradeById should throw UnexpectedRollbackException on any RuntimeException")
 		public void getTradeByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 			//GIVEN
-			when(tradeRepository.findById(anyInt())).thenThrow(new RuntimeException());
+			when(tradeRepository.findById(anyLong())).thenThrow(new RuntimeException());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> tradeService.getTradeById(1))
+				() -> tradeService.getTradeById(1L))
 				.getMessage()).isEqualTo("Error while getting trade");
 		}
 	}
@@ -207,7 +226,7 @@ public class TradeServiceTest {
 			//GIVEN
 			List<Trade> expectedTrades = new ArrayList<>();
 			trade = new Trade();
-			trade.setTradeId(1);
+			trade.setTradeId(1L);
 			trade.setAccount("account");
 			trade.setType("type");
 			trade.setBuyQuantity(3.0);
@@ -232,7 +251,7 @@ public class TradeServiceTest {
 			
 			Trade trade2 = new Trade();
 			trade2 = new Trade();
-			trade2.setTradeId(2);
+			trade2.setTradeId(2L);
 			trade2.setAccount("account2");
 			trade2.setType("type2");
 			trade2.setBuyQuantity(3.2);
@@ -290,6 +309,95 @@ public class TradeServiceTest {
 		}
 	}
 	
+	@Nested
+	@Tag("getTradeSummariesTests")
+	@DisplayName("Tests for getting trade summaries")
+	class GetTradeSummariesTests {
+
+		@AfterEach
+		public void unSetForEachTests() {
+			tradeService = null;
+		}
+
+		@Test
+		@Tag("TradeServiceTest")
+		@DisplayName("test getTradeSummaries should return trade summaries")
+		public void getTradeSummariesTestShouldReturnTradeSummaries() {
+
+			//GIVEN
+			List<TradeSummary> expectedTradeSummaries = List.of(
+					new TradeSummary(1L, "account", "type", 3.0),
+					new TradeSummary(2L, "account2", "type2", 3.2));
+			when(tradeRepository.findTradeSummaries(any(Pageable.class))).thenReturn(new PageImpl<TradeSummary>(expectedTradeSummaries));
+
+			//WHEN
+			Page<TradeSummary> resultTradeSummaries = tradeService.getTradeSummaries(Pageable.unpaged());
+
+			//THEN
+			assertThat(resultTradeSummaries).containsExactlyElementsOf(expectedTradeSummaries);
+		}
+
+		@Test
+		@Tag("TradeServiceTest")
+		@DisplayName("test getTradeSummaries should throw UnexpectedRollbackException on any RuntimeException")
+		public void getTradeSummariesTestShouldThrowUnexpectedRollbackExceptionOnAnyRuntimeException() {
+
+			//GIVEN
+			when(tradeRepository.findTradeSummaries(any(Pageable.class))).thenThrow(new RuntimeException());
+
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> tradeService.getTradeSummaries(Pageable.unpaged()))
+					.getMessage()).isEqualTo("Error while getting trades");
+		}
+	}
+
+	@Nested
+	@Tag("getTradesWindowTests")
+	@DisplayName("Tests for getting window of trades by keyset")
+	class GetTradesWindowTests {
+
+		@Test
+		@Tag("TradeServiceTest")
+		@DisplayName("test getTrades by keyset should return expected window of trades")
+		@SuppressWarnings("unchecked")
+		public void getTradesByKeysetTestShouldReturnExpectedWindowOfTrades() {
+			//GIVEN
+			List<Trade> expectedTrades = new ArrayList<>();
+			Trade trade = new Trade();
+			trade.setTradeId(1L);
+			trade.setAccount("account");
+			expectedTrades.add(trade);
+			Trade trade2 = new Trade();
+			trade2.setTradeId(2L);
+			trade2.setAccount("account2");
+			expectedTrades.add(trade2);
+			when(tradeRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(Window.from(expectedTrades, ScrollPosition::offset, true));
+
+			//WHEN
+			Window<Trade> resultedTrades = tradeService.getTrades(ScrollPosition.keyset(), Sort.unsorted(), 2);
+
+			//THEN
+			assertThat(resultedTrades.getContent()).extracting(Trade::getTradeId).containsExactly(1L, 2L);
+			assertThat(resultedTrades.hasNext()).isTrue();
+		}
+
+		@Test
+		@Tag("TradeServiceTest")
+		@DisplayName("test getTrades by keyset should throw UnexpectedRollbackException on any RuntimeException")
+		@SuppressWarnings("unchecked")
+		public void getTradesByKeysetTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(tradeRepository.findBy(any(Specification.class), any(Function.class))).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> tradeService.getTrades(ScrollPosition.keyset(), Sort.unsorted(), 2))
+					.getMessage()).isEqualTo("Error while getting trades");
+		}
+	}
+
 	@Nested
 	@Tag("saveTradeTests")
 	@DisplayName("Tests for saving trade")
@@ -333,7 +441,7 @@ public class TradeServiceTest {
 
 			//GIVEN
 			Trade tradeExpected = new Trade();
-			tradeExpected.setTradeId(1);
+			tradeExpected.setTradeId(1L);
 			tradeExpected.setAccount("account");
 			tradeExpected.setType("type");
 			tradeExpected.setBuyQuantity(3.0);
@@ -384,7 +492,7 @@ public class TradeServiceTest {
 					Trade::getSourceListId,
 					Trade::getSide)
 			.containsExactly(
-					1,
+					1L,
 					"account",
 					"type",
 					3.0,
@@ -424,6 +532,69 @@ public class TradeServiceTest {
 		}	
 	}
 
+	@Nested
+	@Tag("saveTradesTests")
+	@DisplayName("Tests for saving trades by chunks")
+	class SaveTradesTests {
+
+		@AfterEach
+		public void unSetForEachTests() {
+			tradeService = null;
+		}
+
+		@Test
+		@Tag("TradeServiceTest")
+		@DisplayName("test saveTrades should save, flush and clear chunk by chunk and return trades saved")
+		public void saveTradesTestShouldSaveFlushAndClearChunkByChunkAndReturnTradesSaved() {
+
+			//GIVEN
+			batchProperties.setFlushSize(2);
+			List<Trade> trades = new ArrayList<>();
+			for (int i = 1; i <= 3; i++) {
+				Trade tradeToSave = new Trade();
+				tradeToSave.setAccount("account" + i);
+				tradeToSave.setType("type");
+				trades.add(tradeToSave);
+			}
+			trades.get(2).setTradeId(7L);
+			when(tradeRepository.saveAll(anyList())).then(invocation -> new ArrayList<>(invocation.<List<Trade>>getArgument(0)));
+
+			//WHEN
+			List<Trade> tradesResult = tradeService.saveTrades(trades);
+
+			//THEN
+			InOrder inOrder = inOrder(tradeRepository, entityManager);
+			inOrder.verify(tradeRepository).findAllById(List.of());
+			inOrder.verify(tradeRepository).saveAll(trades.subList(0, 2));
+			inOrder.verify(entityManager).flush();
+			inOrder.verify(entityManager).clear();
+			inOrder.verify(tradeRepository).findAllById(List.of(7L));
+			inOrder.verify(tradeRepository).saveAll(trades.subList(2, 3));
+			inOrder.verify(entityManager).flush();
+			inOrder.verify(entityManager).clear();
+			assertThat(tradesResult).extracting(Trade::getAccount).containsExactly("account1", "account2", "account3");
+		}
+
+		@Test
+		@Tag("TradeServiceTest")
+		@DisplayName("test saveTrades should throw UnexpectedRollbackException on any RuntimeException")
+		public void saveTradesTestShouldThrowUnexpectedRollbackExceptionOnAnyRuntimeException() {
+
+			//GIVEN
+			Trade tradeToSave = new Trade();
+			tradeToSave.setAccount("account");
+			tradeToSave.setType("type");
+			when(tradeRepository.saveAll(anyList())).thenReturn(List.of(tradeToSave));
+			doThrow(new RuntimeException()).when(entityManager).flush();
+
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> tradeService.saveTrades(List.of(tradeToSave)))
+					.getMessage()).isEqualTo("Error while saving trades");
+		}
+	}
+
 	@Nested
 	@Tag("deleteTradeTests")
 	@DisplayName("Tests for deleting trades")
@@ -432,7 +603,7 @@ public class TradeServiceTest {
 		@BeforeEach
 		public void setUpForEachTest() {
 			trade = new Trade();
-			trade.setTradeId(1);
+			trade.setTradeId(1L);
 			trade.setAccount("account");
 			trade.setType("type");
 			trade.setBuyQuantity(3.0);
@@ -467,12 +638,12 @@ public class TradeServiceTest {
 		public void deleteTradeByIdTestShouldDeleteIt() {
 			
 			//GIVEN
-			when(tradeRepository.findById(anyInt())).thenReturn(Optional.of(trade));
+			when(tradeRepository.findById(anyLong())).thenReturn(Optional.of(trade));
 			ArgumentCaptor<Trade> tradeBeingDeleted = ArgumentCaptor.forClass(Trade.class);
 			doNothing().when(tradeRepository).delete(any(Trade.class));// Needed to Capture trade
 			
 			//WHEN
-			tradeService.deleteTradeById(1);
+			tradeService.deleteTradeById(1L);
 			
 			//THEN
 			verify(tradeRepository, times(1)).delete(tradeBeingDeleted.capture());
@@ -499,7 +670,7 @@ public class TradeServiceTest {
 					Trade::getSourceListId,
 					Trade::getSide)
 			.containsExactly(
-					1,
+					1L,
 					"account",
 					"type",
 					3.0,
@@ -529,12 +700,12 @@ public class TradeServiceTest {
 		public void deleteTradeByIdTestShouldThrowUnexpectedRollbackExceptionOnUnexpectedRollbackException() {
 
 			//GIVEN
-			when(tradeRepository.findById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting trade"));
+			when(tradeRepository.findById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting trade"));
 
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> tradeService.deleteTradeById(2))
+					() -> tradeService.deleteTradeById(2L))
 					.getMessage()).isEqualTo("Error while deleting trade");
 		}	
 
@@ -544,12 +715,12 @@ public class TradeServiceTest {
 		public void deleteTradeByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 
 			//GIVEN
-			when(tradeRepository.findById(anyInt())).thenReturn(Optional.of(trade));
+			when(tradeRepository.findById(anyLong())).thenReturn(Optional.of(trade));
 			doThrow(new InvalidDataAccessApiUsageException("The given id must not be null")).when(tradeRepository).delete(any(Trade.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> tradeService.deleteTradeById(1))
+					() -> tradeService.deleteTradeById(1L))
 					.getMessage()).isEqualTo("Error while deleting trade");
 		}	
 
@@ -560,13 +731,62 @@ public class TradeServiceTest {
 		public void deleteTradeByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 
 			//GIVEN
-			when(tradeRepository.findById(anyInt())).thenReturn(Optional.of(trade));
+			when(tradeRepository.findById(anyLong())).thenReturn(Optional.of(trade));
 			doThrow(new RuntimeException()).when(tradeRepository).delete(any(Trade.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> tradeService.deleteTradeById(1))
+					() -> tradeService.deleteTradeById(1L))
 					.getMessage()).isEqualTo("Error while deleting trade");
 		}	
 	}
+
+	@Nested
+	@Tag("exportTradesTests")
+	@DisplayName("Tests for exporting trades")
+	class ExportTradesTests {
+
+		@AfterEach
+		public void unSetForEachTests() {
+			tradeService = null;
+			trade = null;
+		}
+
+		@Test
+		@Tag("TradeServiceTest")
+		@DisplayName("test exportTrades should consume and detach each trade")
+		public void exportTradesTestShouldConsumeAndDetachEachTrade() {
+			//GIVEN
+			trade = new Trade();
+			trade.setTradeId(1L);
+			Trade trade2 = new Trade();
+			trade2.setTradeId(2L);
+			when(tradeRepository.streamAll()).thenReturn(Stream.of(trade, trade2));
+			List<Trade> consumedTrades = new ArrayList<>();
+
+			//WHEN
+			long exported = tradeService.exportTrades(consumedTrades::add);
+
+			//THEN
+			assertThat(exported).isEqualTo(2);
+			assertThat(consumedTrades).containsExactly(trade, trade2);
+			verify(entityManager).detach(trade);
+			verify(entityManager).detach(trade2);
+		}
+
+		@Test
+		@Tag("TradeServiceTest")
+		@DisplayName("test exportTrades should throw UnexpectedRollbackException when consumer fails")
+		public void exportTradesTestShouldThrowUnexpectedRollbackExceptionWhenConsumerFails() {
+			//GIVEN
+			trade = new Trade();
+			when(tradeRepository.streamAll()).thenReturn(Stream.of(trade));
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> tradeService.exportTrades(exportedTrade -> {throw new UncheckedIOException(new IOException("Broken pipe"));}))
+					.getMessage()).isEqualTo("Error while exporting trades");
+			verify(entityManager, never()).detach(any());
+		}
+	}
 }
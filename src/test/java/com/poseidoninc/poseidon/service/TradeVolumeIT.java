@@ -0,0 +1,176 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.configuration.BatchProperties;
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.repository.TradeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * data volume test of Trade CRUD and list latency, disabled unless poseidon.volume.rows is set
+ * runs on the database of db.properties (a local MySQL), or on H2 with -Dspring.profiles.active=mytest as a smoke run
+ * (H2 does not range scan the keyset OR predicate of getTrades, so window latency grows with the table)
+ * mvn verify -Dit.test=TradeVolumeIT -Dposeidon.volume.rows=10000000 [-Dposeidon.volume.p99-millis=50]
+ * Missing rows are inserted with saveTrades and kept for next runs.
+ *
+ * @author olivier morel
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "poseidon.volume.rows", matches = "\\d+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+public class TradeVolumeIT {
+
+	private static final int SAMPLES = 200;
+
+	private static final int WINDOW_SIZE = 100;
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private BatchProperties batchProperties;
+
+	private long p99BudgetNanos;
+
+	private List<Long> sampleTradeIds;
+
+	@BeforeAll
+	public void setUpForAllTests() {
+		long rows = Long.getLong("poseidon.volume.rows");
+		p99BudgetNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("poseidon.volume.p99-millis", 50));
+		long count = tradeRepository.count();
+		long start = System.nanoTime();
+		for (long i = count; i < rows; i += batchProperties.getMaxSize()) {
+			List<Trade> trades = new ArrayList<>(batchProperties.getMaxSize());
+			for (long j = i; j < Math.min(i + batchProperties.getMaxSize(), rows); j++) {
+				trades.add(newTrade(j));
+			}
+			tradeService.saveTrades(trades);
+		}
+		if (count < rows) {
+			log.info("{} trades inserted in {} s", rows - count, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+		}
+		//existing ids spread over the table, next id after random ones
+		long maxTradeId = tradeRepository.findBy(Specification.where(null), query -> query.sortBy(Sort.by(Sort.Direction.DESC, "tradeId")).first())
+				.map(Trade::getTradeId).orElseThrow();
+		sampleTradeIds = new ArrayList<>(SAMPLES);
+		for (int i = 0; i < SAMPLES; i++) {
+			Map<String, Object> keys = Map.of("tradeId", ThreadLocalRandom.current().nextLong(maxTradeId));
+			tradeRepository.findBy(Specification.where(null), query -> query.sortBy(Sort.by("tradeId")).limit(1).scroll(ScrollPosition.forward(keys)))
+					.stream().findFirst().map(Trade::getTradeId).ifPresent(sampleTradeIds::add);
+		}
+	}
+
+	@AfterAll
+	public void unSetForAllTests() {
+		sampleTradeIds = null;
+	}
+
+	@Test
+	@Tag("TradeVolumeIT")
+	@DisplayName("getTradeById test should read a trade by id within p99 budget")
+	public void getTradeByIdTestShouldReadATradeByIdWithinP99Budget() {
+
+		//GIVEN
+		//WHEN
+		long p99 = measure("getTradeById", i -> tradeService.getTradeById(sampleTradeIds.get(i % sampleTradeIds.size())));
+
+		//THEN
+		assertThat(p99).isLessThan(p99BudgetNanos);
+	}
+
+	@Test
+	@Tag("TradeVolumeIT")
+	@DisplayName("saveTrade test should update a trade within p99 budget")
+	public void saveTradeTestShouldUpdateATradeWithinP99Budget() {
+
+		//GIVEN
+		//WHEN
+		long p99 = measure("saveTrade update", i -> {
+			Trade trade = tradeService.getTradeById(sampleTradeIds.get(i % sampleTradeIds.size()));
+			trade.setStatus("v" + i % 10);
+			tradeService.saveTrade(trade);
+		});
+
+		//THEN
+		assertThat(p99).isLessThan(p99BudgetNanos);
+	}
+
+	@Test
+	@Tag("TradeVolumeIT")
+	@DisplayName("saveTrade and deleteTradeById test should create then delete a trade within p99 budget")
+	public void saveTradeAndDeleteTradeByIdTestShouldCreateThenDeleteATradeWithinP99Budget() {
+
+		//GIVEN
+		//WHEN
+		long p99 = measure("saveTrade create and deleteTradeById", i -> {
+			Trade trade = tradeService.saveTrade(newTrade(i));
+			tradeService.deleteTradeById(trade.getTradeId());
+		});
+
+		//THEN
+		assertThat(p99).isLessThan(p99BudgetNanos);
+	}
+
+	@Test
+	@Tag("TradeVolumeIT")
+	@DisplayName("getTrades test should read a window anywhere in the table sorted by account within p99 budget")
+	public void getTradesTestShouldReadAWindowAnywhereInTheTableSortedByAccountWithinP99Budget() {
+
+		//GIVEN
+		Sort sort = Sort.by("account");
+
+		//WHEN
+		long p99 = measure("getTrades window", i -> {
+			Map<String, Object> keys = Map.of("account", "account" + ThreadLocalRandom.current().nextInt(1000), "tradeId", sampleTradeIds.get(i % sampleTradeIds.size()));
+			Window<Trade> window = tradeService.getTrades(ScrollPosition.forward(keys), sort, WINDOW_SIZE);
+			assertThat(window.size()).isPositive();
+		});
+
+		//THEN
+		assertThat(p99).isLessThan(p99BudgetNanos);
+	}
+
+	private long measure(String operation, IntConsumer call) {
+		long[] nanos = new long[SAMPLES];
+		for (int i = 0; i < SAMPLES; i++) {
+			long start = System.nanoTime();
+			call.accept(i);
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		long p50 = nanos[SAMPLES / 2];
+		long p99 = nanos[SAMPLES * 99 / 100];
+		log.info("{} on {} trades : p50 {} us, p99 {} us", operation, tradeRepository.count(), TimeUnit.NANOSECONDS.toMicros(p50), TimeUnit.NANOSECONDS.toMicros(p99));
+		return p99;
+	}
+
+	private Trade newTrade(long i) {
+		Trade trade = new Trade();
+		trade.setAccount("account" + i % 1000);
+		trade.setType("type" + i % 10);
+		trade.setBuyQuantity((double) i);
+		return trade;
+	}
+}
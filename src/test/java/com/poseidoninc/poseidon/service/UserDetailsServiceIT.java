@@ -0,0 +1,165 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.domain.User;
+import com.poseidoninc.poseidon.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * integration test class for the UserDetails cache and password rehash of UserDetailsServiceImpl
+ * @author olivier morel
+ */
+@SpringBootTest
+@ActiveProfiles("mytest")
+public class UserDetailsServiceIT {
+
+	@Autowired
+	private UserDetailsService userDetailsService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private AuthenticationManager authenticationManager;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	private User user;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		user = User.builder()
+				.username("Aaa")
+				.password("passwrdA1=")
+				.fullname("AAA")
+				.role("USER")
+				.build();
+		user = userService.saveUser(user);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		userRepository.deleteAll();
+		statistics = null;
+		user = null;
+	}
+
+	@Test
+	@Tag("UserDetailsServiceIT")
+	@DisplayName("loadUserByUsername test should read the database once for the same normalized username")
+	public void loadUserByUsernameTestShouldReadTheDatabaseOnceForTheSameNormalizedUsername() {
+
+		//GIVEN
+		userDetailsService.loadUserByUsername("Aaa");
+		long statementsAfterMiss = statistics.getPrepareStatementCount();
+
+		//WHEN
+		UserDetails userDetails = userDetailsService.loadUserByUsername(" aAA ");
+
+		//THEN
+		assertThat(statementsAfterMiss).isEqualTo(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(userDetails.getUsername()).isEqualTo("Aaa");
+		assertThat(userDetails.getPassword()).isNotBlank();
+		assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+	}
+
+	@Test
+	@Tag("UserDetailsServiceIT")
+	@DisplayName("authenticate test should succeed twice because erased credentials are not the cached ones")
+	public void authenticateTestShouldSucceedTwiceBecauseErasedCredentialsAreNotTheCachedOnes() {
+
+		//GIVEN
+		authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Aaa", "passwrdA1="));
+
+		//WHEN
+		boolean authenticated = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Aaa", "passwrdA1=")).isAuthenticated();
+
+		//THEN
+		assertThat(authenticated).isTrue();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	@Tag("UserDetailsServiceIT")
+	@DisplayName("saveUser test should evict cache so the new password takes effect immediately")
+	public void saveUserTestShouldEvictCacheSoTheNewPasswordTakesEffectImmediately() {
+
+		//GIVEN
+		authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Aaa", "passwrdA1="));
+		user.setPassword("passwrdB2=");
+		user.setRole("ADMIN");
+
+		//WHEN
+		userService.saveUser(user);
+
+		//THEN
+		assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Aaa", "passwrdA1=")));
+		assertThat(authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Aaa", "passwrdB2=")).getAuthorities())
+				.extracting("authority").containsExactly("ROLE_ADMIN");
+	}
+
+	@Test
+	@Tag("UserDetailsServiceIT")
+	@DisplayName("deleteUserById test should evict cache so the user can't be loaded anymore")
+	public void deleteUserByIdTestShouldEvictCacheSoTheUserCanNotBeLoadedAnymore() {
+
+		//GIVEN
+		userDetailsService.loadUserByUsername("Aaa");
+
+		//WHEN
+		userService.deleteUserById(user.getId());
+
+		//THEN
+		assertThrows(ResourceNotFoundException.class, () -> userDetailsService.loadUserByUsername("Aaa"));
+	}
+
+	@Test
+	@Tag("UserDetailsServiceIT")
+	@DisplayName("authenticate test should rehash a password stored with a lower strength")
+	public void authenticateTestShouldRehashAPasswordStoredWithALowerStrength() {
+
+		//GIVEN
+		String weakHash = new BCryptPasswordEncoder(4).encode("passwrdA1=");
+		user.setPassword(weakHash);
+		userRepository.save(user);
+		userDetailsService.loadUserByUsername("Aaa");
+
+		//WHEN
+		authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Aaa", "passwrdA1="));
+
+		//THEN
+		String storedHash = userRepository.findByUsername("Aaa").getPassword();
+		assertThat(storedHash).isNotEqualTo(weakHash);
+		assertThat(passwordEncoder.upgradeEncoding(storedHash)).isFalse();
+		assertThat(userDetailsService.loadUserByUsername("Aaa").getPassword()).isEqualTo(storedHash);
+		assertThat(authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Aaa", "passwrdA1=")).isAuthenticated()).isTrue();
+	}
+}
@@ -0,0 +1,117 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.configuration.CacheConfiguration;
+import com.poseidoninc.poseidon.domain.User;
+import com.poseidoninc.poseidon.security.UserDetailsCache;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * unit test class for the UserDetails cache of UserDetailsServiceImpl.
+ * @author olivier morel
+ */
+@ExtendWith(MockitoExtension.class)
+public class UserDetailsServiceTest {
+
+	@Mock
+	private UserService userService;
+
+	private UserDetailsCache userDetailsCache;
+
+	private UserDetailsServiceImpl userDetailsService;
+
+	@BeforeEach
+	public void setUpForEachTest() {
+		userDetailsCache = new UserDetailsCache(new ConcurrentMapCacheManager(CacheConfiguration.USER_DETAILS_CACHE));
+		userDetailsService = new UserDetailsServiceImpl(userService, userDetailsCache);
+	}
+
+	@AfterEach
+	public void unSetForEachTests() {
+		userDetailsService = null;
+		userDetailsCache = null;
+	}
+
+	@Nested
+	@Tag("loadUserByUsernameTests")
+	@DisplayName("Tests for loadUserByUsername")
+	class LoadUserByUsernameTests {
+
+		@Test
+		@Tag("UserDetailsServiceTest")
+		@DisplayName("test loadUserByUsername should read the user once for the same normalized username")
+		public void loadUserByUsernameTestShouldReadTheUserOnceForTheSameNormalizedUsername() {
+
+			//GIVEN
+			when(userService.getUserByUserName("Aaa")).thenReturn(user("$2a$10$old", "USER"));
+			userDetailsService.loadUserByUsername("Aaa");
+
+			//WHEN
+			UserDetails userDetails = userDetailsService.loadUserByUsername(" aAA ");
+
+			//THEN
+			assertThat(userDetails.getPassword()).isEqualTo("$2a$10$old");
+			verify(userService, times(1)).getUserByUserName(anyString());
+		}
+
+		@Test
+		@Tag("UserDetailsServiceTest")
+		@DisplayName("test loadUserByUsername should not cache a user evicted after it was read")
+		public void loadUserByUsernameTestShouldNotCacheAUserEvictedAfterItWasRead() {
+
+			//GIVEN
+			when(userService.getUserByUserName("Aaa"))
+					.then(invocation -> {
+						//a write of the user commits and evicts between the read and the put of the login
+						userDetailsCache.evictAllAfterCommit();
+						return user("$2a$10$old", "USER");
+					})
+					.thenReturn(user("$2a$10$new", "ADMIN"));
+			UserDetails readBeforeWrite = userDetailsService.loadUserByUsername("Aaa");
+
+			//WHEN
+			UserDetails userDetails = userDetailsService.loadUserByUsername("Aaa");
+
+			//THEN
+			assertThat(readBeforeWrite.getPassword()).isEqualTo("$2a$10$old");
+			assertThat(userDetails.getPassword()).isEqualTo("$2a$10$new");
+			assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+			assertThat(userDetailsCache.get("aaa")).isEqualTo(userDetails);
+			verify(userService, times(2)).getUserByUserName("Aaa");
+		}
+
+		@Test
+		@Tag("UserDetailsServiceTest")
+		@DisplayName("test loadUserByUsername should read again a user evicted after it was cached")
+		public void loadUserByUsernameTestShouldReadAgainAUserEvictedAfterItWasCached() {
+
+			//GIVEN
+			when(userService.getUserByUserName("Aaa")).thenReturn(user("$2a$10$old", "USER"), user("$2a$10$new", "USER"));
+			userDetailsService.loadUserByUsername("Aaa");
+
+			//WHEN
+			userDetailsCache.evictAfterCommit(" AAA");
+			UserDetails userDetails = userDetailsService.loadUserByUsername("Aaa");
+
+			//THEN
+			assertThat(userDetails.getPassword()).isEqualTo("$2a$10$new");
+			verify(userService, times(2)).getUserByUserName("Aaa");
+		}
+	}
+
+	private static User user(String password, String role) {
+		return User.builder()
+				.username("Aaa")
+				.password(password)
+				.fullname("AAA")
+				.role(role)
+				.build();
+	}
+}
@@ -0,0 +1,202 @@
+package com.poseidoninc.poseidon.service;
+
+import com.poseidoninc.poseidon.domain.User;
+import com.poseidoninc.poseidon.repository.UserRepository;
+import com.poseidoninc.poseidon.security.UserDetailsCache;
+import com.poseidoninc.poseidon.validator.ValidPasswordGenerator;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * unit test class for the UserProvisioningService.
+ * @author olivier morel
+ */
+@ExtendWith(MockitoExtension.class)
+public class UserProvisioningServiceTest {
+
+	@InjectMocks
+	private UserProvisioningServiceImpl userProvisioningService;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private PasswordEncoder passwordEncoder;
+
+	@Mock
+	private ValidPasswordGenerator validPasswordGenerator;
+
+	@Mock
+	private UserDetailsCache userDetailsCache;
+
+	@Mock
+	private ObjectProvider<ObservationRegistry> observationRegistry;
+
+	private List<String> steps;
+
+	private User user;
+
+	@BeforeEach
+	public void setUpForEachTest() {
+		steps = new ArrayList<>();
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(new ObservationHandler<>() {
+			@Override
+			public void onStop(Observation.Context context) {
+				steps.add(context.getName() + ":" + context.getLowCardinalityKeyValue("step").getValue());
+			}
+
+			@Override
+			public boolean supportsContext(Observation.Context context) {
+				return true;
+			}
+		});
+		when(observationRegistry.getIfAvailable(any())).thenReturn(registry);
+		user = new User();
+		user.setId(1L);
+		user.setUsername("aaa@aaa.com");
+		user.setPassword("$2a$10$hash");
+		user.setFullname("AAA");
+		user.setRole("USER");
+	}
+
+	@AfterEach
+	public void unSetForEachTests() {
+		userProvisioningService = null;
+		steps = null;
+		user = null;
+	}
+
+	@Test
+	@Tag("UserProvisioningServiceTest")
+	@DisplayName("test provisionUser should not write nor hash when user exists unchanged")
+	public void provisionUserTestShouldNotWriteNorHashWhenUserExistsUnchanged() {
+
+		//GIVEN
+		when(userRepository.findByUsername(anyString())).thenReturn(user);
+
+		//WHEN
+		User resultedUser = userProvisioningService.provisionUser("aaa@aaa.com", "AAA");
+
+		//THEN
+		assertThat(resultedUser).isSameAs(user);
+		verify(userRepository, never()).save(any(User.class));
+		verify(passwordEncoder, never()).encode(any(CharSequence.class));
+		assertThat(steps).containsExactly("poseidon.oauth2.login:db");
+	}
+
+	@Test
+	@Tag("UserProvisioningServiceTest")
+	@DisplayName("test provisionUser should update user only when full name or role changed")
+	public void provisionUserTestShouldUpdateUserOnlyWhenFullNameOrRoleChanged() {
+
+		//GIVEN
+		user.setRole("ADMIN");
+		when(userRepository.findByUsername(anyString())).thenReturn(user);
+		when(userRepository.save(any(User.class))).then(invocation -> invocation.getArgument(0));
+
+		//WHEN
+		User resultedUser = userProvisioningService.provisionUser("aaa@aaa.com", "AAA BBB");
+
+		//THEN
+		verify(passwordEncoder, never()).encode(any(CharSequence.class));
+		assertThat(resultedUser).extracting(
+				User::getId,
+				User::getPassword,
+				User::getFullname,
+				User::getRole)
+			.containsExactly(
+				1L,
+				"$2a$10$hash",
+				"AAA BBB",
+				"USER");
+		assertThat(steps).containsExactly("poseidon.oauth2.login:db", "poseidon.oauth2.login:db");
+	}
+
+	@Test
+	@Tag("UserProvisioningServiceTest")
+	@DisplayName("test provisionUser should create user with a hashed generated password")
+	public void provisionUserTestShouldCreateUserWithAHashedGeneratedPassword() {
+
+		//GIVEN
+		when(userRepository.findByUsername(anyString())).thenReturn(null);
+		when(validPasswordGenerator.generatePassword()).thenReturn("apw1=Passwd");
+		when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hash");
+		ArgumentCaptor<User> userBeingSaved = ArgumentCaptor.forClass(User.class);
+		when(userRepository.save(any(User.class))).then(invocation -> invocation.getArgument(0));
+
+		//WHEN
+		userProvisioningService.provisionUser("aaa@aaa.com", "AAA");
+
+		//THEN
+		verify(passwordEncoder, times(1)).encode("apw1=Passwd");
+		verify(userRepository, times(1)).save(userBeingSaved.capture());
+		assertThat(userBeingSaved.getValue()).extracting(
+				User::getId,
+				User::getUsername,
+				User::getPassword,
+				User::getFullname,
+				User::getRole)
+			.containsExactly(
+				null,
+				"aaa@aaa.com",
+				"$2a$10$hash",
+				"AAA",
+				"USER");
+		assertThat(steps).containsExactly("poseidon.oauth2.login:db", "poseidon.oauth2.login:hashing", "poseidon.oauth2.login:db");
+	}
+
+	@Test
+	@Tag("UserProvisioningServiceTest")
+	@DisplayName("test provisionUser should read again user created by a concurrent login")
+	public void provisionUserTestShouldReadAgainUserCreatedByAConcurrentLogin() {
+
+		//GIVEN
+		when(userRepository.findByUsername(anyString())).thenReturn(null, user);
+		when(validPasswordGenerator.generatePassword()).thenReturn("apw1=Passwd");
+		when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$other");
+		when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("Unique index or primary key violation"));
+
+		//WHEN
+		User resultedUser = userProvisioningService.provisionUser("aaa@aaa.com", "AAA");
+
+		//THEN
+		assertThat(resultedUser).isSameAs(user);
+		verify(userRepository, times(2)).findByUsername("aaa@aaa.com");
+		verify(userRepository, times(1)).save(any(User.class));
+	}
+
+	@Test
+	@Tag("UserProvisioningServiceTest")
+	@DisplayName("test provisionUser should throw UnexpectedRollbackException on any RuntimeException")
+	public void provisionUserTestShouldThrowUnexpectedRollbackExceptionOnAnyRuntimeException() {
+
+		//GIVEN
+		when(userRepository.findByUsername(anyString())).thenThrow(new RuntimeException());
+
+		//WHEN
+		//THEN
+		assertThat(assertThrows(UnexpectedRollbackException.class,
+				() -> userProvisioningService.provisionUser("aaa@aaa.com", "AAA"))
+				.getMessage()).isEqualTo("Error while provisioning user");
+	}
+}
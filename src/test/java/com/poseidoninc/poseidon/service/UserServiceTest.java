@@ -2,6 +2,7 @@ package com.poseidoninc.poseidon.service;
 
 import com.poseidoninc.poseidon.domain.User;
 import com.poseidoninc.poseidon.repository.UserRepository;
+import com.poseidoninc.poseidon.security.UserDetailsCache;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +16,10 @@ import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +28,7 @@ import org.springframework.transaction.UnexpectedRollbackException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.tuple;
@@ -43,6 +49,9 @@ public class UserServiceTest {
 	@Mock
 	private UserRepository userRepository;
 
+	@Mock
+	private UserDetailsCache userDetailsCache;
+
 	@Spy
 	private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
@@ -66,7 +75,7 @@ public class UserServiceTest {
 			
 			//GIVEN
 			user = new User();
-			user.setId(1);
+			user.setId(1L);
 			user.setUsername("Aaa");
 			user.setPassword("apw1=Passwd");
 			user.setFullname("AAA");
@@ -84,7 +93,7 @@ public class UserServiceTest {
 					User::getFullname,
 					User::getRole)
 				.containsExactly(
-					1,
+					1L,
 					"Aaa",
 					"apw1=Passwd",
 					"AAA",
@@ -138,15 +147,15 @@ public class UserServiceTest {
 			
 			//GIVEN
 			user = new User();
-			user.setId(1);
+			user.setId(1L);
 			user.setUsername("Aaa");
 			user.setPassword("apw1=Passwd");
 			user.setFullname("AAA");
 			user.setRole("USER");
-			when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+			when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
 			
 			//WHEN
-			User userResult = userService.getUserById(1);
+			User userResult = userService.getUserById(1L);
 			
 			//THEN
 			assertThat(userResult).extracting(
@@ -156,7 +165,7 @@ public class UserServiceTest {
 					User::getFullname,
 					User::getRole)
 				.containsExactly(
-					1,
+					1L,
 					"Aaa",
 					"apw1=Passwd",
 					"AAA",
@@ -168,7 +177,7 @@ public class UserServiceTest {
 		@DisplayName("test getUserById should throw UnexpectedRollbackException on InvalidDataAccessApiUsageException")
 		public void getUserByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 			//GIVEN
-			when(userRepository.findById(nullable(Integer.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
+			when(userRepository.findById(nullable(Long.class))).thenThrow(new InvalidDataAccessApiUsageException("The given id must not be null"));
 			
 			//WHEN
 			//THEN
@@ -182,12 +191,12 @@ public class UserServiceTest {
 		@DisplayName("test getUserById should throw UnexpectedRollbackException on ResourceNotFoundException")
 		public void getUserByIdTestShouldThrowsUnexpectedRollbackExceptionOnResourceNotFoundException() {
 			//GIVEN
-			when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+			when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> userService.getUserById(1))
+				() -> userService.getUserById(1L))
 				.getMessage()).isEqualTo("Error while getting user");
 		}
 		
@@ -196,12 +205,12 @@ public class UserServiceTest {
 		@DisplayName("test getUserById should throw UnexpectedRollbackException on any RuntimeException")
 		public void getUserByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 			//GIVEN
-			when(userRepository.findById(anyInt())).thenThrow(new RuntimeException());
+			when(userRepository.findById(anyLong())).thenThrow(new RuntimeException());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> userService.getUserById(1))
+				() -> userService.getUserById(1L))
 				.getMessage()).isEqualTo("Error while getting user");
 		}
 	}
@@ -224,15 +233,15 @@ public class UserServiceTest {
 			
 			//GIVEN
 			user = new User();
-			user.setId(1);
+			user.setId(1L);
 			user.setUsername("Aaa");
 			user.setPassword("apw1=Passwd");
 			user.setFullname("AAA");
 			user.setRole("USER");
-			when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+			when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
 			
 			//WHEN
-			User userResult = userService.getUserByIdWithBlankPasswd(1);
+			User userResult = userService.getUserByIdWithBlankPasswd(1L);
 			
 			//THEN
 			assertThat(userResult).extracting(
@@ -242,7 +251,7 @@ public class UserServiceTest {
 					User::getFullname,
 					User::getRole)
 				.containsExactly(
-					1,
+					1L,
 					"Aaa",
 					"",
 					"AAA",
@@ -268,12 +277,12 @@ public class UserServiceTest {
 		@DisplayName("test getUserByIdWithBlankPasswd should throw UnexpectedRollbackException on ResourceNotFoundException")
 		public void getUserByIdWithBlankPasswdTestShouldThrowUnexpectedRollbackExceptionOnResourceNotFoundException() {
 			//GIVEN
-			when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+			when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> userService.getUserByIdWithBlankPasswd(1))
+				() -> userService.getUserByIdWithBlankPasswd(1L))
 				.getMessage()).isEqualTo("Error while getting user");
 		}
 		
@@ -282,12 +291,12 @@ public class UserServiceTest {
 		@DisplayName("test getUserByIdWithBlankPasswd should throw UnexpectedRollbackException on any RuntimeException")
 		public void getUserByIdWithBlankPasswdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 			//GIVEN
-			when(userRepository.findById(anyInt())).thenThrow(new RuntimeException());
+			when(userRepository.findById(anyLong())).thenThrow(new RuntimeException());
 			
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-				() -> userService.getUserByIdWithBlankPasswd(1))
+				() -> userService.getUserByIdWithBlankPasswd(1L))
 				.getMessage()).isEqualTo("Error while getting user");
 		}
 	}
@@ -324,7 +333,7 @@ public class UserServiceTest {
 			//GIVEN
 			List<User> givenUsers = new ArrayList<>();
 			user = new User();
-			user.setId(1);
+			user.setId(1L);
 			user.setUsername("Aaa");
 			user.setPassword("apw1=Passwd");
 			user.setFullname("AAA");
@@ -332,7 +341,7 @@ public class UserServiceTest {
 			givenUsers.add(user);
 
 			User user2 = new User();			
-			user2.setId(2);
+			user2.setId(2L);
 			user2.setUsername("Bbb");
 			user2.setPassword("bpw2=Passwd");
 			user2.setFullname("BBB");
@@ -352,8 +361,8 @@ public class UserServiceTest {
 							User::getFullname,
 							User::getRole)
 					.containsExactly(
-							tuple(1, "Aaa", "", "AAA", "USER"),
-							tuple(2, "Bbb", "", "BBB", "USER"));
+							tuple(1L, "Aaa", "", "AAA", "USER"),
+							tuple(2L, "Bbb", "", "BBB", "USER"));
 		}
 		
 		@Test
@@ -383,6 +392,54 @@ public class UserServiceTest {
 		}
 	}
 	
+	@Nested
+	@Tag("getUsersWindowTests")
+	@DisplayName("Tests for getting window of users by keyset")
+	class GetUsersWindowTests {
+
+		@Test
+		@Tag("UserServiceTest")
+		@DisplayName("test getUsers by keyset should return expected window of users")
+		@SuppressWarnings("unchecked")
+		public void getUsersByKeysetTestShouldReturnExpectedWindowOfUsers() {
+			//GIVEN
+			List<User> expectedUsers = new ArrayList<>();
+			User user = new User();
+			user.setId(1L);
+			user.setUsername("name");
+			user.setPassword("apw1=Passwd");
+			expectedUsers.add(user);
+			User user2 = new User();
+			user2.setId(2L);
+			user2.setUsername("name2");
+			user2.setPassword("apw1=Passwd");
+			expectedUsers.add(user2);
+			when(userRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(Window.from(expectedUsers, ScrollPosition::offset, true));
+
+			//WHEN
+			Window<User> resultedUsers = userService.getUsers(ScrollPosition.keyset(), Sort.unsorted(), 2);
+
+			//THEN
+			assertThat(resultedUsers.getContent()).extracting(User::getId).containsExactly(1L, 2L);
+			assertThat(resultedUsers.getContent()).extracting(User::getPassword).containsOnly("");
+			assertThat(resultedUsers.hasNext()).isTrue();
+		}
+
+		@Test
+		@Tag("UserServiceTest")
+		@DisplayName("test getUsers by keyset should throw UnexpectedRollbackException on any RuntimeException")
+		@SuppressWarnings("unchecked")
+		public void getUsersByKeysetTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
+			//GIVEN
+			when(userRepository.findBy(any(Specification.class), any(Function.class))).thenThrow(new RuntimeException());
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> userService.getUsers(ScrollPosition.keyset(), Sort.unsorted(), 2))
+					.getMessage()).isEqualTo("Error while getting Users");
+		}
+	}
+
 	@Nested
 	@Tag("saveUserTests")
 	@DisplayName("Tests for saving users")
@@ -410,7 +467,7 @@ public class UserServiceTest {
 			
 			//GIVEN
 			User userExpected = new User();
-			userExpected.setId(1);
+			userExpected.setId(1L);
 			userExpected.setUsername("Aaa");
 			userExpected.setPassword("");
 			userExpected.setFullname("AAA");
@@ -432,7 +489,7 @@ public class UserServiceTest {
 					User::getFullname,
 					User::getRole)
 				.containsExactly(
-					1,	
+					1L,	
 					"Aaa",
 					"",
 					"AAA",
@@ -470,6 +527,68 @@ public class UserServiceTest {
 		}	
 	}
 	
+	@Nested
+	@Tag("updatePasswordTests")
+	@DisplayName("Tests for updating password of users")
+	class UpdatePasswordTests {
+
+		@BeforeEach
+		public void setUpForEachTest() {
+			user = new User();
+			user.setId(1L);
+			user.setUsername("Aaa");
+			user.setPassword("$2a$04$old");
+			user.setFullname("AAA");
+			user.setRole("USER");
+		}
+
+		@AfterEach
+		public void unSetForEachTests() {
+			userService = null;
+			user = null;
+		}
+
+		@Test
+		@Tag("UserServiceTest")
+		@DisplayName("test updatePassword should persist the encoded password as is")
+		public void updatePasswordTestShouldPersistTheEncodedPasswordAsIs() {
+
+			//GIVEN
+			when(userRepository.findByUsername(anyString())).thenReturn(user);
+			when(userRepository.save(any(User.class))).then(invocation -> invocation.getArgument(0));
+
+			//WHEN
+			User resultedUser = userService.updatePassword("Aaa", "$2a$10$new");
+
+			//THEN
+			verify(passwordEncoder, never()).encode(any(CharSequence.class));
+			assertThat(resultedUser).extracting(
+					User::getId,
+					User::getUsername,
+					User::getPassword)
+				.containsExactly(
+					1L,
+					"Aaa",
+					"$2a$10$new");
+		}
+
+		@Test
+		@Tag("UserServiceTest")
+		@DisplayName("test updatePassword should throw UnexpectedRollbackException when user is not found")
+		public void updatePasswordTestShouldThrowUnexpectedRollbackExceptionWhenUserIsNotFound() {
+
+			//GIVEN
+			when(userRepository.findByUsername(anyString())).thenReturn(null);
+
+			//WHEN
+			//THEN
+			assertThat(assertThrows(UnexpectedRollbackException.class,
+					() -> userService.updatePassword("Aaa", "$2a$10$new"))
+					.getMessage()).isEqualTo("Error while updating password");
+			verify(userRepository, never()).save(any(User.class));
+		}
+	}
+
 	@Nested
 	@Tag("deleteUserTests")
 	@DisplayName("Tests for deleting users")
@@ -478,7 +597,7 @@ public class UserServiceTest {
 		@BeforeEach
 		public void setUpForEachTest() {
 			user = new User();
-			user.setId(1);
+			user.setId(1L);
 			user.setUsername("Aaa");
 			user.setPassword("apw1=Passwd");
 			user.setFullname("AAA");
@@ -497,12 +616,12 @@ public class UserServiceTest {
 		public void deleteUserByIdTestShouldDeleteIt() {
 			
 			//GIVEN
-			when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+			when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
 			ArgumentCaptor<User> userBeingDeleted = ArgumentCaptor.forClass(User.class);
 			doNothing().when(userRepository).delete(any(User.class));// Needed to Capture user
 			
 			//WHEN
-			userService.deleteUserById(1);
+			userService.deleteUserById(1L);
 			
 			//THEN
 			verify(userRepository, times(1)).delete(userBeingDeleted.capture());
@@ -513,7 +632,7 @@ public class UserServiceTest {
 					User::getFullname,
 					User::getRole)
 				.containsExactly(
-					1,
+					1L,
 					"Aaa",
 					"apw1=Passwd",
 					"AAA",
@@ -526,12 +645,12 @@ public class UserServiceTest {
 		public void deleteUserByIdTestShouldThrowUnexpectedRollbackExceptionOnUnexpectedRollbackException() {
 
 			//GIVEN
-			when(userRepository.findById(anyInt())).thenThrow(new UnexpectedRollbackException("Error while getting user"));
+			when(userRepository.findById(anyLong())).thenThrow(new UnexpectedRollbackException("Error while getting user"));
 
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> userService.deleteUserById(2))
+					() -> userService.deleteUserById(2L))
 					.getMessage()).isEqualTo("Error while deleting user");
 		}	
 
@@ -541,12 +660,12 @@ public class UserServiceTest {
 		public void deleteUserByIdTestShouldThrowsUnexpectedRollbackExceptionOnInvalidDataAccessApiUsageException() {
 
 			//GIVEN
-			when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+			when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
 			doThrow(new InvalidDataAccessApiUsageException("Entity must not be null")).when(userRepository).delete(any(User.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> userService.deleteUserById(1))
+					() -> userService.deleteUserById(1L))
 					.getMessage()).isEqualTo("Error while deleting user");
 		}	
 		
@@ -557,12 +676,12 @@ public class UserServiceTest {
 		public void deleteUserByIdTestShouldThrowsUnexpectedRollbackExceptionOnAnyRuntimeException() {
 
 			//GIVEN
-			when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+			when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
 			doThrow(new RuntimeException()).when(userRepository).delete(any(User.class));
 			//WHEN
 			//THEN
 			assertThat(assertThrows(UnexpectedRollbackException.class,
-					() -> userService.deleteUserById(1))
+					() -> userService.deleteUserById(1L))
 					.getMessage()).isEqualTo("Error while deleting user");
 		}	
 	}
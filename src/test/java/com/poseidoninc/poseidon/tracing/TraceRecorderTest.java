@@ -0,0 +1,153 @@
+package com.poseidoninc.poseidon.tracing;
+
+import com.poseidoninc.poseidon.configuration.TracingProperties;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * unit test class for the TraceRecorder and PhaseObserver.
+ * @author olivier morel
+ */
+@ExtendWith(MockitoExtension.class)
+public class TraceRecorderTest {
+
+	@Mock
+	private ObjectProvider<ObservationRegistry> observationRegistryProvider;
+
+	private ObservationRegistry observationRegistry;
+
+	private TraceRecorder traceRecorder;
+
+	private PhaseObserver phaseObserver;
+
+	@BeforeEach
+	public void setUpForEachTest() {
+		TracingProperties tracingProperties = new TracingProperties();
+		tracingProperties.setCapacity(2);
+		tracingProperties.setMaxSpans(2);
+		traceRecorder = new TraceRecorder(tracingProperties);
+		observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig().observationHandler(traceRecorder);
+		when(observationRegistryProvider.getIfAvailable(any())).thenReturn(observationRegistry);
+		phaseObserver = new PhaseObserver(observationRegistryProvider, tracingProperties);
+	}
+
+	@AfterEach
+	public void unSetForEachTests() {
+		observationRegistry = null;
+		traceRecorder = null;
+		phaseObserver = null;
+	}
+
+	@Test
+	@Tag("TraceRecorderTest")
+	@DisplayName("test request should be recorded with self time of phases and spans up to max spans")
+	public void requestTestShouldBeRecordedWithSelfTimeOfPhasesAndSpansUpToMaxSpans() {
+
+		//GIVEN
+		//WHEN
+		request("/api/trade/update", () -> phaseObserver.observe(Phase.SERVICE, "Trade.saveTrade", () -> {
+			sleep(20);
+			return phaseObserver.observe(Phase.REPOSITORY, "Trade.save", () -> sleep(30));
+		}));
+
+		//THEN
+		List<Trace> traces = traceRecorder.getSlowestTraces(10);
+		assertThat(traces).hasSize(1);
+		Trace trace = traces.get(0);
+		assertThat(trace.getUri()).isEqualTo("/api/trade/update");
+		assertThat(trace.getStatus()).isEqualTo(200);
+		Map<String, Double> phasesMillis = trace.getPhasesMillis();
+		assertThat(phasesMillis).containsOnlyKeys("service", "repository", "other");
+		assertThat(phasesMillis.get("repository")).isGreaterThanOrEqualTo(30);
+		assertThat(phasesMillis.get("service")).isGreaterThanOrEqualTo(20).isLessThan(30);
+		assertThat(trace.getSpans()).extracting(span -> span.get("name") + ":" + span.get("depth"))
+				.containsExactly("Trade.saveTrade:1", "Trade.save:2");
+	}
+
+	@Test
+	@Tag("TraceRecorderTest")
+	@DisplayName("test spans over max spans should be dropped but counted in phases")
+	public void spansOverMaxSpansTestShouldBeDroppedButCountedInPhases() {
+
+		//GIVEN
+		//WHEN
+		request("/api/trade/list", () -> {
+			for (int i = 0; i < 3; i++) {
+				phaseObserver.observe(Phase.REPOSITORY, "Trade.findAll", () -> sleep(1));
+			}
+			return null;
+		});
+
+		//THEN
+		Trace trace = traceRecorder.getSlowestTraces(10).get(0);
+		assertThat(trace.getSpans()).hasSize(2);
+		assertThat(trace.getDroppedSpans()).isEqualTo(1);
+		assertThat(trace.getPhasesMillis().get("repository")).isGreaterThanOrEqualTo(3);
+	}
+
+	@Test
+	@Tag("TraceRecorderTest")
+	@DisplayName("test slowest traces should be the slowest of the last requests, actuator and admin excluded")
+	public void slowestTracesTestShouldBeTheSlowestOfTheLastRequestsActuatorAndAdminExcluded() {
+
+		//GIVEN
+		request("/trade/list", () -> sleep(50));
+		request("/bidList/list", () -> sleep(10));
+
+		//WHEN
+		request("/curvePoint/list", () -> sleep(20));
+		request("/actuator/prometheus", () -> sleep(60));
+		request("/admin/traces", () -> sleep(60));
+
+		//THEN
+		assertThat(traceRecorder.getSlowestTraces(10)).extracting(Trace::getUri).containsExactly("/curvePoint/list", "/bidList/list");
+		assertThat(traceRecorder.getSlowestTraces(1)).extracting(Trace::getUri).containsExactly("/curvePoint/list");
+	}
+
+	@Test
+	@Tag("TraceRecorderTest")
+	@DisplayName("test phases outside of a request should not be observed")
+	public void phasesOutsideOfARequestTestShouldNotBeObserved() {
+
+		//GIVEN
+		//WHEN
+		String result = phaseObserver.observe(Phase.SERVICE, "Trade.getTradeById", () -> "trade");
+
+		//THEN
+		assertThat(result).isEqualTo("trade");
+		assertThat(phaseObserver.isObserving()).isFalse();
+		assertThat(traceRecorder.getSlowestTraces(10)).isEmpty();
+	}
+
+	private void request(String uri, PhaseObserver.PhaseCall<Object, RuntimeException> call) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		Observation.createNotStarted("http.server.requests", () -> new ServerRequestObservationContext(request, response), observationRegistry)
+				.observe(() -> call.call());
+	}
+
+	private static Object sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,151 @@
+package com.poseidoninc.poseidon.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoninc.poseidon.domain.Trade;
+import com.poseidoninc.poseidon.logging.CorrelationIdFilter;
+import com.poseidoninc.poseidon.repository.TradeRepository;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * integration test class for phases of requests recorded by TraceRecorder and the /admin/traces endpoint
+ * @author olivier morel
+ */
+@SpringBootTest
+@ActiveProfiles("mytest")
+public class TracingIT {
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	@Autowired
+	private CorrelationIdFilter correlationIdFilter;
+
+	@Autowired
+	private ObservationRegistry observationRegistry;
+
+	@Autowired
+	private TraceRecorder traceRecorder;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private MockMvc mockMvc;
+
+	private Trade trade;
+
+	@BeforeEach
+	public void setUpPerTest() {
+		//MockMvc doesn't register servlet filters, same order as in the application
+		mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+				.addFilters(correlationIdFilter, new ServerHttpObservationFilter(observationRegistry))
+				.apply(springSecurity())
+				.build();
+		trade = new Trade();
+		trade.setAccount("account");
+		trade.setType("type");
+		trade = tradeRepository.save(trade);
+		traceRecorder.clear();
+	}
+
+	@AfterEach
+	public void undefPerTest() {
+		tradeRepository.deleteAllInBatch();
+		traceRecorder.clear();
+		mockMvc = null;
+		trade = null;
+	}
+
+	@Test
+	@Tag("TracingIT")
+	@DisplayName("update trade request should be broken down by phase at /admin/traces")
+	public void updateTradeRequestShouldBeBrokenDownByPhaseAtAdminTraces() throws Exception {
+
+		//GIVEN
+		trade.setAccount("other account");
+		mockMvc.perform(put("/api/trade/update")
+						.with(user("admin").roles("ADMIN"))
+						.with(csrf())
+						.header(CorrelationIdFilter.CORRELATION_ID_HEADER, "trace-1")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(trade)))
+				.andExpect(status().isOk());
+
+		//WHEN
+		String json = mockMvc.perform(get("/admin/traces?limit=5")
+						.with(user("admin").roles("ADMIN")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		//THEN
+		JsonNode traces = objectMapper.readTree(json);
+		assertThat(traces).hasSize(1);
+		JsonNode trace = traces.get(0);
+		assertThat(trace.get("correlationId").asText()).isEqualTo("trace-1");
+		assertThat(trace.get("method").asText()).isEqualTo("PUT");
+		assertThat(trace.get("uri").asText()).isEqualTo("/api/trade/update");
+		assertThat(trace.get("status").asInt()).isEqualTo(200);
+		List<String> phases = new ArrayList<>();
+		trace.get("phasesMillis").fieldNames().forEachRemaining(phases::add);
+		assertThat(phases).containsExactlyInAnyOrder("controller", "validation", "service", "repository", "commit", "flush", "serialization", "other");
+		List<String> spans = new ArrayList<>();
+		trace.get("spans").forEach(span -> spans.add(span.get("phase").asText() + ":" + span.get("name").asText() + ":" + span.get("depth").asInt()));
+		assertThat(spans).containsSubsequence(
+				"controller:ApiTradeController.updateTrade:1",
+				"validation:ApiTradeController.updateTrade:2",
+				"service:Trade.saveTrade:2",
+				"repository:Trade.save:3",
+				"commit:commit:3",
+				"flush:flush:4",
+				"serialization:Trade:1");
+	}
+
+	@Test
+	@Tag("TracingIT")
+	@DisplayName("/admin/traces should be forbidden to a user")
+	public void adminTracesShouldBeForbiddenToAUser() throws Exception {
+
+		//GIVEN
+		//WHEN
+		//THEN
+		mockMvc.perform(get("/admin/traces")
+						.with(user("user").roles("USER")))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	@Tag("TracingIT")
+	@DisplayName("services called outside of a request should not be traced")
+	public void servicesCalledOutsideOfARequestShouldNotBeTraced() {
+
+		//GIVEN
+		//WHEN
+		tradeRepository.findById(trade.getTradeId());
+
+		//THEN
+		assertThat(traceRecorder.getSlowestTraces(10)).isEmpty();
+	}
+}
@@ -0,0 +1,54 @@
+package com.poseidoninc.poseidon.validator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * unit test class for the PasswordPolicy
+ * @author olivier morel
+ */
+public class PasswordPolicyTest {
+
+    private final PasswordPolicy passwordPolicy = PasswordPolicy.getInstance();
+
+    @Test
+    @Tag("PasswordPolicyTest")
+    @DisplayName("violations Test should return messages of each violated rule")
+    public void violationsTestShouldReturnMessagesOfEachViolatedRule() {
+
+        //GIVEN
+        String password = "aaa1Pwd";
+
+        //WHEN
+        List<String> violations = passwordPolicy.violations(password);
+
+        //THEN
+        assertThat(violations).hasSize(3);
+        assertThat(passwordPolicy.violations("apw1=Passwd")).isEmpty();
+        assertThat(passwordPolicy.violations(null)).isNotEmpty();
+        assertThat(passwordPolicy.isValid(null)).isFalse();
+    }
+
+    @Test
+    @Tag("PasswordPolicyTest")
+    @DisplayName("generatePassword Test should always return a password valid against the whole policy")
+    public void generatePasswordTestShouldAlwaysReturnAPasswordValidAgainstTheWholePolicy() {
+
+        //GIVEN
+        //WHEN
+        List<String> passwords = IntStream.range(0, 200).parallel().mapToObj(i -> passwordPolicy.generatePassword()).toList();
+
+        //THEN
+        assertThat(passwords).hasSize(200).allSatisfy(password -> {
+            assertThat(password).hasSize(13);
+            assertThat(passwordPolicy.violations(password)).isEmpty();
+        });
+        assertThat(passwords).doesNotHaveDuplicates();
+    }
+}
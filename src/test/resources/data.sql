@@ -1,5 +1,5 @@
 CREATE TABLE `bidlist` (
-  `BidListId` tinyint NOT NULL AUTO_INCREMENT,
+  `BidListId` bigint NOT NULL,
   `account` varchar(30) NOT NULL,
   `type` varchar(30) NOT NULL,
   `bidQuantity` double DEFAULT NULL,
@@ -24,8 +24,11 @@ CREATE TABLE `bidlist` (
   PRIMARY KEY (`BidListId`)
 );
 
+CREATE INDEX `bidlist_account_idx` ON `bidlist` (`account`, `BidListId`);
+CREATE INDEX `bidlist_type_idx` ON `bidlist` (`type`, `BidListId`);
+
 CREATE TABLE `trade` (
-  `TradeId` tinyint NOT NULL AUTO_INCREMENT,
+  `TradeId` bigint NOT NULL,
   `account` varchar(30) NOT NULL,
   `type` varchar(30) NOT NULL,
   `buyQuantity` double DEFAULT NULL,
@@ -49,18 +52,31 @@ CREATE TABLE `trade` (
   PRIMARY KEY (`TradeId`)
 );
 
+CREATE INDEX `trade_account_idx` ON `trade` (`account`, `TradeId`);
+CREATE INDEX `trade_type_idx` ON `trade` (`type`, `TradeId`);
+
+CREATE TABLE `id_generator` (
+  `sequence_name` varchar(30) NOT NULL,
+  `next_val` bigint NOT NULL,
+  PRIMARY KEY (`sequence_name`)
+);
+
+INSERT INTO `id_generator` VALUES ('trade', 1), ('bidlist', 1), ('curvepoint', 1);
+
 CREATE TABLE `curvepoint` (
-  `Id` tinyint NOT NULL AUTO_INCREMENT,
-  `CurveId` tinyint NOT NULL UNIQUE,
-  `asOfDate` timestamp NULL DEFAULT NULL,
-  `term` double DEFAULT NULL,
+  `Id` bigint NOT NULL,
+  `CurveId` tinyint NOT NULL,
+  `asOfDate` timestamp NOT NULL,
+  `term` double NOT NULL,
   `value` double DEFAULT NULL,
   `creationDate` timestamp NULL DEFAULT NULL,
   PRIMARY KEY (`Id`)
 );
 
+CREATE UNIQUE INDEX `curvepoint_curve_idx` ON `curvepoint` (`CurveId`, `asOfDate`, `term`);
+
 CREATE TABLE `rating` (
-  `Id` tinyint NOT NULL AUTO_INCREMENT,
+  `Id` bigint NOT NULL AUTO_INCREMENT,
   `moodysRating` varchar(125) DEFAULT NULL,
   `sandPRating` varchar(125) DEFAULT NULL,
   `fitchRating` varchar(125) DEFAULT NULL,
@@ -69,7 +85,7 @@ CREATE TABLE `rating` (
 );
 
 CREATE TABLE `rulename` (
-  `Id` tinyint NOT NULL AUTO_INCREMENT,
+  `Id` bigint NOT NULL AUTO_INCREMENT,
   `name` varchar(125) DEFAULT NULL,
   `description` varchar(125) DEFAULT NULL,
   `json` varchar(125) DEFAULT NULL,
@@ -80,7 +96,7 @@ CREATE TABLE `rulename` (
 );
 
 CREATE TABLE `users` (
-  `Id` tinyint NOT NULL AUTO_INCREMENT,
+  `Id` bigint NOT NULL AUTO_INCREMENT,
   `username` varchar_ignorecase(125)NOT NULL UNIQUE ,
   `password` varchar(125) DEFAULT NULL,
   `fullname` varchar(125) DEFAULT NULL,